@@ -0,0 +1,153 @@
+package com.konecta.financeservice.service;
+
+import com.konecta.financeservice.dto.BalanceSheetAccountRowDTO;
+import com.konecta.financeservice.dto.BalanceSheetReportDTO;
+import com.konecta.financeservice.dto.GLRowDTO;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One million ledger rows through the report loops: the cents-based code in AnalyticsService against
+ * the BigDecimal accumulation it replaced (kept here verbatim as the baseline).
+ *
+ * Run with: mvn -Pjmh -pl finance-service test-compile exec:exec
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class GeneralLedgerBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final int ACCOUNTS = 50;
+    private static final String[] TYPES = {"ASSET", "LIABILITY", "EQUITY", "REVENUE", "EXPENSE"};
+
+    private List<GLRowDTO> glRows;
+    private Map<Long, BigDecimal> openings;
+    private List<Object[]> balanceSheetRows;
+    private AnalyticsService analytics;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(42);
+        glRows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            long cents = 100 + rnd.nextInt(5_000_000);
+            boolean debit = rnd.nextBoolean();
+            // amounts as the JDBC driver hands them over: scale 2
+            BigDecimal debitAmount = BigDecimal.valueOf(debit ? cents : 0, 2);
+            BigDecimal creditAmount = BigDecimal.valueOf(debit ? 0 : cents, 2);
+            glRows.add(new GLRowDTO((long) i, (long) i / 2, LocalDate.of(2025, 1, 1), (long) (i / (ROWS / ACCOUNTS)),
+                    "Account", debitAmount, creditAmount, debitAmount.subtract(creditAmount), null, null));
+        }
+        openings = new HashMap<>();
+        for (long a = 0; a < ACCOUNTS; a += 2) openings.put(a, BigDecimal.valueOf(rnd.nextInt(100_000_000), 2));
+
+        balanceSheetRows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            balanceSheetRows.add(new Object[]{(long) i, "A" + i, "Account", TYPES[i % TYPES.length], (i & 1) == 0,
+                    BigDecimal.valueOf(rnd.nextInt(100_000_000), 2), BigDecimal.valueOf(rnd.nextInt(100_000_000), 2)});
+        }
+        // buildBalanceSheet touches none of the collaborators
+        analytics = new AnalyticsService(null, null, null, null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public void runningBalanceBigDecimal(Blackhole bh) {
+        Long currentAccount = null;
+        BigDecimal running = BigDecimal.ZERO;
+        for (GLRowDTO row : glRows) {
+            if (!row.getAccountPK().equals(currentAccount)) {
+                currentAccount = row.getAccountPK();
+                running = openings.getOrDefault(currentAccount, BigDecimal.ZERO);
+            }
+            running = running.add(row.getSignedAmount());
+            row.setRunningBalance(running);
+        }
+        bh.consume(running);
+    }
+
+    @Benchmark
+    public void runningBalanceCents(Blackhole bh) {
+        AnalyticsService.applyRunningBalances(glRows, openings, -1, 0);
+        bh.consume(glRows.get(ROWS - 1).getRunningBalance());
+    }
+
+    @Benchmark
+    public BalanceSheetReportDTO balanceSheetBigDecimal() {
+        return buildBalanceSheetBigDecimal(LocalDate.of(2025, 12, 31), balanceSheetRows);
+    }
+
+    @Benchmark
+    public BalanceSheetReportDTO balanceSheetCents() {
+        return analytics.buildBalanceSheet(LocalDate.of(2025, 12, 31), balanceSheetRows);
+    }
+
+    private static BalanceSheetReportDTO buildBalanceSheetBigDecimal(LocalDate asOfDate, List<Object[]> raw) {
+        List<BalanceSheetAccountRowDTO> assetsCurrent = new ArrayList<>();
+        List<BalanceSheetAccountRowDTO> assetsNonCurrent = new ArrayList<>();
+        List<BalanceSheetAccountRowDTO> liabilitiesCurrent = new ArrayList<>();
+        List<BalanceSheetAccountRowDTO> liabilitiesNonCurrent = new ArrayList<>();
+        List<BalanceSheetAccountRowDTO> equityList = new ArrayList<>();
+
+        BigDecimal totalAssets = BigDecimal.ZERO;
+        BigDecimal totalLiabilities = BigDecimal.ZERO;
+        BigDecimal totalEquity = BigDecimal.ZERO;
+
+        for (Object[] r : raw) {
+            String accountType = (String) r[3];
+            Boolean isCurrent = r[4] == null ? Boolean.FALSE : ((Boolean) r[4]);
+            BigDecimal debits = (BigDecimal) r[5];
+            BigDecimal credits = (BigDecimal) r[6];
+
+            BigDecimal signed;
+            if ("ASSET".equalsIgnoreCase(accountType) || "EXPENSE".equalsIgnoreCase(accountType)) {
+                signed = debits.subtract(credits);
+            } else {
+                signed = credits.subtract(debits);
+            }
+
+            BalanceSheetAccountRowDTO row = new BalanceSheetAccountRowDTO();
+            row.setAccountPk(((Number) r[0]).longValue());
+            row.setAccountId((String) r[1]);
+            row.setAccountName((String) r[2]);
+            row.setAccountType(accountType);
+            row.setIsCurrent(isCurrent);
+            row.setTotalDebits(debits);
+            row.setTotalCredits(credits);
+            row.setSignedBalance(signed);
+
+            if ("ASSET".equalsIgnoreCase(accountType)) {
+                (isCurrent ? assetsCurrent : assetsNonCurrent).add(row);
+                totalAssets = totalAssets.add(signed);
+            } else if ("LIABILITY".equalsIgnoreCase(accountType)) {
+                (isCurrent ? liabilitiesCurrent : liabilitiesNonCurrent).add(row);
+                totalLiabilities = totalLiabilities.add(signed);
+            } else if ("EQUITY".equalsIgnoreCase(accountType)) {
+                equityList.add(row);
+                totalEquity = totalEquity.add(signed);
+            }
+        }
+
+        BigDecimal liabilitiesPlusEquity = totalLiabilities.add(totalEquity);
+        BalanceSheetReportDTO report = new BalanceSheetReportDTO();
+        report.setAsOfDate(asOfDate);
+        report.setAssetsCurrent(assetsCurrent);
+        report.setAssetsNonCurrent(assetsNonCurrent);
+        report.setLiabilitiesCurrent(liabilitiesCurrent);
+        report.setLiabilitiesNonCurrent(liabilitiesNonCurrent);
+        report.setEquity(equityList);
+        report.setTotalAssets(totalAssets);
+        report.setTotalLiabilities(totalLiabilities);
+        report.setTotalEquity(totalEquity);
+        report.setValidationStatus(totalAssets.compareTo(liabilitiesPlusEquity) == 0 ? "Balanced" : "Unbalanced");
+        return report;
+    }
+}
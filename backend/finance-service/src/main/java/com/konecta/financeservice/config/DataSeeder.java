@@ -220,6 +220,8 @@ public class DataSeeder implements CommandLineRunner {
         for (EntryRequest req : entries) {
             JournalEntry entry = new JournalEntry();
             entry.setTransaction(savedTx);
+            entry.setTransactionDate(date);
+            entry.setPeriodId(period.getPeriodId());
             entry.setAccount(req.account);
             entry.setDebitAmount(BigDecimal.valueOf(req.debit));
             entry.setCreditAmount(BigDecimal.valueOf(req.credit));
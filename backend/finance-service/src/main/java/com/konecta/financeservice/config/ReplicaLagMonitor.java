@@ -0,0 +1,165 @@
+package com.konecta.financeservice.config;
+
+import com.konecta.financeservice.event.AccountChangedEvent;
+import com.konecta.financeservice.event.JournalPostedEvent;
+import com.konecta.financeservice.event.PeriodChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls the replica's replay lag. The replica is usable while it answers, its lag is within the
+ * tolerance, and the last ledger write committed here is older than that lag plus one polling
+ * interval, so a report read right after a posting (and cached after the posting's invalidation)
+ * never misses it.
+ * <p>
+ * Lag is measured against the primary: every check samples the primary's current WAL position, and
+ * the lag is the age of the newest sample the replica has replayed (0 once it has replayed everything
+ * sampled, unknown until it has replayed one). A standby whose WAL receiver is not running is
+ * unusable, whatever it replayed.
+ */
+public class ReplicaLagMonitor {
+
+    private static final String PRIMARY_LSN_SQL = "SELECT pg_wal_lsn_diff(pg_current_wal_lsn(), '0/0')";
+
+    // pg_stat_wal_receiver only has a row while the receiver process runs, and its pid is visible to any role
+    private static final String REPLICA_SQL = """
+            SELECT pg_is_in_recovery(),
+                   pg_wal_lsn_diff(pg_last_wal_replay_lsn(), '0/0'),
+                   EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE pid IS NOT NULL)
+            """;
+
+    private record LsnSample(long lsn, long takenMillis) {
+    }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long maxLagMillis;
+    private final long checkIntervalMillis;
+    private final ScheduledExecutorService scheduler;
+    private final int maxSamples;
+    private final Deque<LsnSample> primarySamples = new ArrayDeque<>(); // oldest first, only touched by check()
+    private long caughtUpMillis = -1; // when the primary was last at a position the replica has replayed
+
+    private volatile boolean healthy;
+    private volatile long lagMillis = Long.MAX_VALUE;
+    private volatile long lastWriteMillis;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxLag, Duration checkInterval) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLagMillis = maxLag.toMillis();
+        this.checkIntervalMillis = Math.max(100, checkInterval.toMillis());
+        this.maxSamples = (int) Math.min(10_000, maxLagMillis / checkIntervalMillis + 2);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "replica-lag-monitor");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler.scheduleWithFixedDelay(this::check, 0, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isReplicaUsable() {
+        long lag = lagMillis;
+        return healthy && lag <= maxLagMillis
+                && System.currentTimeMillis() - lastWriteMillis > lag + checkIntervalMillis;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    /**
+     * Called when the replica refuses a connection; it stays out of rotation until the next successful check.
+     */
+    void replicaFailed() {
+        healthy = false;
+    }
+
+    synchronized void check() {
+        try {
+            // the primary is sampled first, so a replica at or past this position is fully caught up
+            long now = System.currentTimeMillis();
+            long primaryLsn = queryLong(primary, PRIMARY_LSN_SQL);
+            primarySamples.addLast(new LsnSample(primaryLsn, now));
+
+            try (Connection c = replica.getConnection();
+                 Statement st = c.createStatement();
+                 ResultSet rs = st.executeQuery(REPLICA_SQL)) {
+                rs.next();
+                if (!rs.getBoolean(1)) {
+                    // standalone instance, as in the local two-database setup: nothing to replay
+                    primarySamples.clear();
+                    lagMillis = 0;
+                    healthy = true;
+                    return;
+                }
+                long replayed = rs.getLong(2);
+                boolean replaying = !rs.wasNull();
+                boolean receiving = rs.getBoolean(3);
+                lagMillis = lagBehind(replaying ? replayed : Long.MIN_VALUE, now);
+                healthy = replaying && receiving;
+            }
+        } catch (Exception e) {
+            healthy = false;
+        }
+    }
+
+    private long lagBehind(long replayed, long now) {
+        while (!primarySamples.isEmpty() && primarySamples.peekFirst().lsn() <= replayed) {
+            caughtUpMillis = primarySamples.removeFirst().takenMillis();
+        }
+        if (primarySamples.isEmpty()) return 0;
+        // samples older than the tolerance can only confirm a lag that is already too large
+        while (primarySamples.size() > maxSamples) {
+            primarySamples.removeFirst();
+        }
+        return caughtUpMillis < 0 ? Long.MAX_VALUE : now - caughtUpMillis;
+    }
+
+    private static long queryLong(DataSource dataSource, String sql) throws SQLException {
+        try (Connection c = dataSource.getConnection();
+             Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onJournalPosted(JournalPostedEvent event) {
+        lastWriteMillis = System.currentTimeMillis();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        lastWriteMillis = System.currentTimeMillis();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPeriodChanged(PeriodChangedEvent event) {
+        lastWriteMillis = System.currentTimeMillis();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
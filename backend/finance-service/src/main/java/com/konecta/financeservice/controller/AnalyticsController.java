@@ -3,6 +3,9 @@ package com.konecta.financeservice.controller;
 import com.konecta.financeservice.dto.*;
 import com.konecta.financeservice.dto.response.ApiResponse;
 import com.konecta.financeservice.service.AnalyticsService;
+import com.konecta.financeservice.service.ComparativeReportService;
+import com.konecta.financeservice.service.FinancialPackService;
+import com.konecta.financeservice.service.PivotQueryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,10 +20,17 @@ import java.util.List;
 public class AnalyticsController {
 
     private final AnalyticsService analyticsService;
+    private final ComparativeReportService comparativeReportService;
+    private final FinancialPackService financialPackService;
+    private final PivotQueryService pivotQueryService;
 
     @Autowired
-    public AnalyticsController(AnalyticsService analyticsService) {
+    public AnalyticsController(AnalyticsService analyticsService, ComparativeReportService comparativeReportService,
+                               FinancialPackService financialPackService, PivotQueryService pivotQueryService) {
         this.analyticsService = analyticsService;
+        this.comparativeReportService = comparativeReportService;
+        this.financialPackService = financialPackService;
+        this.pivotQueryService = pivotQueryService;
     }
 
     @GetMapping("/trial-balance/{id}")
@@ -53,6 +63,25 @@ public class AnalyticsController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/gl/page")
+    @PreAuthorize("hasAuthority('CFO') or hasAuthority('ACCOUNTANT')")
+    public ResponseEntity<ApiResponse<GLPageDTO>> getGLPage(
+            @RequestParam("fromDate") LocalDate fromDate,
+            @RequestParam("toDate") LocalDate toDate,
+            @RequestParam(name = "accountPKs", required = false) List<Long> accountPKs,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "pageSize", defaultValue = "500") int pageSize
+    ) {
+        GLPageDTO dto = analyticsService.generateGLPage(fromDate, toDate, accountPKs, cursor, pageSize);
+        ApiResponse<GLPageDTO> response = ApiResponse.success(
+                dto,
+                HttpStatus.OK.value(),
+                "General Ledger page generated",
+                "General Ledger page of " + dto.getEntries().size() + " entries from " + fromDate + " to " + toDate + " generated"
+        );
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/income-statement/{id}")
     @PreAuthorize("hasAuthority('CFO') or hasAuthority('ACCOUNTANT')")
     public ResponseEntity<ApiResponse<IncomeStatementDTO>> getIncomeStatement(@PathVariable("id") Long periodId) {
@@ -92,4 +121,64 @@ public class AnalyticsController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/financial-pack/{id}")
+    @PreAuthorize("hasAuthority('CFO') or hasAuthority('ACCOUNTANT')")
+    public ResponseEntity<ApiResponse<FinancialPackDTO>> getFinancialPack(@PathVariable("id") Long periodId) {
+        FinancialPackDTO dto = financialPackService.generate(periodId);
+        ApiResponse<FinancialPackDTO> response = ApiResponse.success(
+                dto,
+                HttpStatus.OK.value(),
+                "Financial pack generated",
+                "Financial pack for period with id " + periodId + " generated successfully"
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/comparative/income-statement")
+    @PreAuthorize("hasAuthority('CFO') or hasAuthority('ACCOUNTANT')")
+    public ResponseEntity<ApiResponse<ComparativeIncomeStatementDTO>> getComparativeIncomeStatement(
+            @RequestParam(name = "periodIds", required = false) List<Long> periodIds,
+            @RequestParam(name = "fromPeriodId", required = false) Long fromPeriodId,
+            @RequestParam(name = "toPeriodId", required = false) Long toPeriodId
+    ) {
+        ComparativeIncomeStatementDTO dto = comparativeReportService.generateIncomeStatements(periodIds, fromPeriodId, toPeriodId);
+        ApiResponse<ComparativeIncomeStatementDTO> response = ApiResponse.success(
+                dto,
+                HttpStatus.OK.value(),
+                "Comparative income statement generated",
+                "Comparative income statement for " + dto.getPeriods().size() + " periods generated successfully"
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/comparative/trial-balance")
+    @PreAuthorize("hasAuthority('CFO') or hasAuthority('ACCOUNTANT')")
+    public ResponseEntity<ApiResponse<ComparativeTrialBalanceDTO>> getComparativeTrialBalance(
+            @RequestParam(name = "periodIds", required = false) List<Long> periodIds,
+            @RequestParam(name = "fromPeriodId", required = false) Long fromPeriodId,
+            @RequestParam(name = "toPeriodId", required = false) Long toPeriodId
+    ) {
+        ComparativeTrialBalanceDTO dto = comparativeReportService.generateTrialBalances(periodIds, fromPeriodId, toPeriodId);
+        ApiResponse<ComparativeTrialBalanceDTO> response = ApiResponse.success(
+                dto,
+                HttpStatus.OK.value(),
+                "Comparative trial balance generated",
+                "Comparative trial balance for " + dto.getPeriods().size() + " periods generated successfully"
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/pivot")
+    @PreAuthorize("hasAuthority('CFO') or hasAuthority('ACCOUNTANT')")
+    public ResponseEntity<ApiResponse<PivotResultDTO>> pivot(@RequestBody PivotQueryDTO dto) {
+        PivotResultDTO result = pivotQueryService.query(dto);
+        ApiResponse<PivotResultDTO> response = ApiResponse.success(
+                result,
+                HttpStatus.OK.value(),
+                "Pivot query executed",
+                "Pivot query returned " + result.getRows().size() + " rows" + (result.isTruncated() ? " (truncated)" : "")
+        );
+        return ResponseEntity.ok(response);
+    }
+
 }
@@ -0,0 +1,116 @@
+package com.konecta.financeservice.controller;
+
+import com.konecta.financeservice.dto.*;
+import com.konecta.financeservice.dto.response.ApiResponse;
+import com.konecta.financeservice.model.enums.ImportFormat;
+import com.konecta.financeservice.service.BankReconciliationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.Principal;
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/finance/reconciliation")
+public class BankReconciliationController {
+
+    private final BankReconciliationService reconciliationService;
+
+    @Autowired
+    public BankReconciliationController(BankReconciliationService reconciliationService) {
+        this.reconciliationService = reconciliationService;
+    }
+
+    /**
+     * Imports a bank statement of a cash account: CSV (booking_date, amount, reference, description;
+     * amounts signed, deposits positive) or CAMT.053 XML.
+     */
+    @PostMapping(value = "/accounts/{id}/statements", consumes = {"text/csv", "application/xml", "text/xml"})
+    @PreAuthorize("hasAuthority('CFO') or hasAuthority('ACCOUNTANT')")
+    public ResponseEntity<ApiResponse<BankStatementImportResultDTO>> importStatement(@PathVariable("id") Long accountPk,
+                                                                                  @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                                                  InputStream body, Principal principal) throws IOException {
+        ImportFormat format = contentType.startsWith("text/csv") ? ImportFormat.CSV : ImportFormat.CAMT;
+        BankStatementImportResultDTO result = reconciliationService.importStatement(accountPk, body, format,
+                principal != null ? principal.getName() : null);
+        ApiResponse<BankStatementImportResultDTO> response = ApiResponse.success(
+                result,
+                HttpStatus.OK.value(),
+                "Imported " + result.getLinesImported() + " statement lines, rejected " + result.getLinesRejected(),
+                "Bank statement import read " + result.getLinesRead() + " lines"
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/accounts/{id}/run")
+    @PreAuthorize("hasAuthority('CFO') or hasAuthority('ACCOUNTANT')")
+    public ResponseEntity<ApiResponse<ReconciliationRunDTO>> reconcile(
+            @PathVariable("id") Long accountPk,
+            @RequestParam("fromDate") LocalDate fromDate,
+            @RequestParam("toDate") LocalDate toDate,
+            @RequestParam(name = "dateWindowDays", defaultValue = "3") int dateWindowDays,
+            Principal principal
+    ) {
+        ReconciliationRunDTO dto = reconciliationService.reconcile(accountPk, fromDate, toDate, dateWindowDays,
+                principal != null ? principal.getName() : null);
+        ApiResponse<ReconciliationRunDTO> response = ApiResponse.success(
+                dto,
+                HttpStatus.OK.value(),
+                "Reconciliation run completed",
+                "Matched " + (dto.getMatchedByReference() + dto.getMatchedByAmountDate()) + " of " + dto.getLinesConsidered()
+                        + " statement lines on account " + accountPk
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/accounts/{id}/exceptions")
+    @PreAuthorize("hasAuthority('CFO') or hasAuthority('ACCOUNTANT')")
+    public ResponseEntity<ApiResponse<ReconciliationExceptionsDTO>> getExceptions(
+            @PathVariable("id") Long accountPk,
+            @RequestParam("fromDate") LocalDate fromDate,
+            @RequestParam("toDate") LocalDate toDate,
+            @RequestParam(name = "limit", defaultValue = "500") int limit
+    ) {
+        ReconciliationExceptionsDTO dto = reconciliationService.getExceptions(accountPk, fromDate, toDate, limit);
+        ApiResponse<ReconciliationExceptionsDTO> response = ApiResponse.success(
+                dto,
+                HttpStatus.OK.value(),
+                "Reconciliation exceptions retrieved",
+                dto.getUnmatchedLineCount() + " unmatched statement lines and " + dto.getUnmatchedEntryCount()
+                        + " unmatched entries on account " + accountPk
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/matches")
+    @PreAuthorize("hasAuthority('CFO') or hasAuthority('ACCOUNTANT')")
+    public ResponseEntity<ApiResponse<ReconciliationMatchDTO>> createMatch(@RequestBody CreateReconciliationMatchDTO dto, Principal principal) {
+        ReconciliationMatchDTO match = reconciliationService.createMatch(dto, principal != null ? principal.getName() : null);
+        ApiResponse<ReconciliationMatchDTO> response = ApiResponse.success(
+                match,
+                HttpStatus.CREATED.value(),
+                "Match created",
+                "Statement line " + match.getLineId() + " matched with journal entry " + match.getEntryId()
+        );
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    @DeleteMapping("/matches/{id}")
+    @PreAuthorize("hasAuthority('CFO') or hasAuthority('ACCOUNTANT')")
+    public ResponseEntity<ApiResponse<Void>> deleteMatch(@PathVariable("id") Long matchId) {
+        reconciliationService.deleteMatch(matchId);
+        ApiResponse<Void> response = ApiResponse.success(
+                null,
+                HttpStatus.OK.value(),
+                "Match removed",
+                "Reconciliation match " + matchId + " deleted"
+        );
+        return ResponseEntity.ok(response);
+    }
+}
@@ -2,13 +2,17 @@ package com.konecta.financeservice.controller;
 
 import com.konecta.financeservice.dto.*;
 import com.konecta.financeservice.service.AnalyticsService;
+import com.konecta.financeservice.service.ComparativeReportService;
 import com.konecta.financeservice.service.ExcelExportService;
+import com.konecta.financeservice.service.FinancialPackService;
+import com.konecta.financeservice.service.GLStreamService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.time.LocalDate;
@@ -20,11 +24,19 @@ public class ExcelExportController {
 
     private final AnalyticsService analyticsService;
     private final ExcelExportService excelExportService;
+    private final GLStreamService glStreamService;
+    private final ComparativeReportService comparativeReportService;
+    private final FinancialPackService financialPackService;
 
     @Autowired
-    public ExcelExportController(AnalyticsService analyticsService, ExcelExportService excelExportService) {
+    public ExcelExportController(AnalyticsService analyticsService, ExcelExportService excelExportService, GLStreamService glStreamService,
+                              ComparativeReportService comparativeReportService,
+                              FinancialPackService financialPackService) {
         this.analyticsService = analyticsService;
         this.excelExportService = excelExportService;
+        this.glStreamService = glStreamService;
+        this.comparativeReportService = comparativeReportService;
+        this.financialPackService = financialPackService;
     }
 
     @GetMapping("/trial-balance/{id}")
@@ -55,6 +67,28 @@ public class ExcelExportController {
                 .body(bytes);
     }
 
+    /**
+     * Same workbook as /gl, but rows go from a database cursor straight into the response,
+     * so heap use does not grow with the size of the ledger.
+     */
+    @GetMapping("/gl/stream")
+    @PreAuthorize("hasAuthority('CFO') or hasAuthority('ACCOUNTANT')")
+    public ResponseEntity<StreamingResponseBody> exportGLStreaming(@RequestParam("fromDate") LocalDate fromDate,
+                                                                   @RequestParam("toDate") LocalDate toDate,
+                                                                   @RequestParam(name = "accountPKs", required = false) List<Long> accountPKs) {
+        List<Long> pks = glStreamService.resolveAccountPKs(accountPKs);
+        List<String> accountIds = glStreamService.resolveAccountIds(pks);
+
+        StreamingResponseBody body = out -> excelExportService.exportGlStreaming(fromDate, toDate, accountIds,
+                handler -> glStreamService.streamEntries(fromDate, toDate, pks, handler), out);
+
+        String filename = "GL_" + fromDate + "_" + toDate + ".xlsx";
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
+                .body(body);
+    }
+
     @GetMapping("/income-statement/{id}")
     @PreAuthorize("hasAuthority('CFO') or hasAuthority('ACCOUNTANT')")
     public ResponseEntity<byte[]> exportIncomeStatement(@PathVariable("id") Long periodId) throws IOException {
@@ -94,4 +128,51 @@ public class ExcelExportController {
                 .body(bytes);
     }
 
+    @GetMapping("/financial-pack/{id}")
+    @PreAuthorize("hasAuthority('CFO') or hasAuthority('ACCOUNTANT')")
+    public ResponseEntity<byte[]> exportFinancialPack(@PathVariable("id") Long periodId) throws IOException {
+        FinancialPackDTO pack = financialPackService.generate(periodId);
+        byte[] bytes = excelExportService.exportFinancialPack(pack);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=financial_pack.xlsx")
+                .contentType(MediaType.parseMediaType(
+                        "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
+                .body(bytes);
+    }
+
+    @GetMapping("/comparative/income-statement")
+    @PreAuthorize("hasAuthority('CFO') or hasAuthority('ACCOUNTANT')")
+    public ResponseEntity<byte[]> exportComparativeIncomeStatement(
+            @RequestParam(name = "periodIds", required = false) List<Long> periodIds,
+            @RequestParam(name = "fromPeriodId", required = false) Long fromPeriodId,
+            @RequestParam(name = "toPeriodId", required = false) Long toPeriodId
+    ) throws IOException {
+        ComparativeIncomeStatementDTO report = comparativeReportService.generateIncomeStatements(periodIds, fromPeriodId, toPeriodId);
+        byte[] bytes = excelExportService.exportComparativeIncomeStatement(report);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=comparative_income_statement.xlsx")
+                .contentType(MediaType.parseMediaType(
+                        "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
+                .body(bytes);
+    }
+
+    @GetMapping("/comparative/trial-balance")
+    @PreAuthorize("hasAuthority('CFO') or hasAuthority('ACCOUNTANT')")
+    public ResponseEntity<byte[]> exportComparativeTrialBalance(
+            @RequestParam(name = "periodIds", required = false) List<Long> periodIds,
+            @RequestParam(name = "fromPeriodId", required = false) Long fromPeriodId,
+            @RequestParam(name = "toPeriodId", required = false) Long toPeriodId
+    ) throws IOException {
+        ComparativeTrialBalanceDTO report = comparativeReportService.generateTrialBalances(periodIds, fromPeriodId, toPeriodId);
+        byte[] bytes = excelExportService.exportComparativeTrialBalance(report);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=comparative_trial_balance.xlsx")
+                .contentType(MediaType.parseMediaType(
+                        "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
+                .body(bytes);
+    }
+
 }
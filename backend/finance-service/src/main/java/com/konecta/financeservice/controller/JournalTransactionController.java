@@ -1,15 +1,29 @@
 package com.konecta.financeservice.controller;
 
+import com.konecta.financeservice.dto.BulkImportResultDTO;
 import com.konecta.financeservice.dto.CreateJournalTransactionDTO;
+import com.konecta.financeservice.dto.JournalSearchResultDTO;
 import com.konecta.financeservice.dto.JournalTransactionDTO;
+import com.konecta.financeservice.dto.JournalTransactionPageDTO;
+import com.konecta.financeservice.dto.JournalTransactionSearchDTO;
+import com.konecta.financeservice.dto.SearchIndexRebuildDTO;
 import com.konecta.financeservice.dto.response.ApiResponse;
+import com.konecta.financeservice.model.enums.ImportFormat;
+import com.konecta.financeservice.service.JournalBulkImportService;
+import com.konecta.financeservice.service.JournalSearchService;
+import com.konecta.financeservice.service.JournalTransactionQueryService;
 import com.konecta.financeservice.service.JournalTransactionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -17,10 +31,17 @@ import java.util.List;
 public class JournalTransactionController {
 
     private final JournalTransactionService journalTransactionService;
+    private final JournalBulkImportService journalBulkImportService;
+    private final JournalTransactionQueryService journalTransactionQueryService;
+    private final JournalSearchService journalSearchService;
 
     @Autowired
-    public JournalTransactionController(JournalTransactionService journalTransactionService) {
+    public JournalTransactionController(JournalTransactionService journalTransactionService, JournalBulkImportService journalBulkImportService,
+                                        JournalTransactionQueryService journalTransactionQueryService, JournalSearchService journalSearchService) {
         this.journalTransactionService = journalTransactionService;
+        this.journalBulkImportService = journalBulkImportService;
+        this.journalTransactionQueryService = journalTransactionQueryService;
+        this.journalSearchService = journalSearchService;
     }
 
     @PostMapping
@@ -36,14 +57,87 @@ public class JournalTransactionController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    /**
+     * Streams many transactions in one request: NDJSON (one CreateJournalTransactionDTO per line)
+     * or CSV (one entry per row, rows grouped into transactions by their reference column).
+     */
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    @PreAuthorize("hasAuthority('ACCOUNTANT') or hasAuthority('CFO')")
+    public ResponseEntity<ApiResponse<BulkImportResultDTO>> importTransactions(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                                               InputStream body) throws IOException {
+        ImportFormat format = contentType.startsWith("text/csv") ? ImportFormat.CSV : ImportFormat.NDJSON;
+        BulkImportResultDTO result = journalBulkImportService.importTransactions(body, format);
+        ApiResponse<BulkImportResultDTO> response = ApiResponse.success(
+                result,
+                HttpStatus.OK.value(),
+                "Imported " + result.getTransactionsImported() + " transactions, rejected " + result.getTransactionsRejected(),
+                "Bulk import read " + result.getLinesRead() + " lines"
+        );
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping
     @PreAuthorize("hasAuthority('ACCOUNTANT') or hasAuthority('CFO')")
     public ResponseEntity<ApiResponse<List<JournalTransactionDTO>>> getAllTransactions() {
-        List<JournalTransactionDTO> transactions = journalTransactionService.getAllJournalTransactions();
+        List<JournalTransactionDTO> transactions = journalTransactionQueryService.getAllJournalTransactions();
         return ResponseEntity.ok(ApiResponse.success(
                 transactions,
                 HttpStatus.OK.value(),
                 "Transactions retrieved",
                 "Fetched " + transactions.size()));
     }
+
+    @GetMapping("/search")
+    @PreAuthorize("hasAuthority('ACCOUNTANT') or hasAuthority('CFO')")
+    public ResponseEntity<ApiResponse<JournalTransactionPageDTO>> searchTransactions(
+            @RequestParam(name = "periodId", required = false) Long periodId,
+            @RequestParam(name = "fromDate", required = false) LocalDate fromDate,
+            @RequestParam(name = "toDate", required = false) LocalDate toDate,
+            @RequestParam(name = "accountPKs", required = false) List<Long> accountPKs,
+            @RequestParam(name = "minAmount", required = false) BigDecimal minAmount,
+            @RequestParam(name = "maxAmount", required = false) BigDecimal maxAmount,
+            @RequestParam(name = "description", required = false) String description,
+            @RequestParam(name = "postedByUserId", required = false) String postedByUserId,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "pageSize", defaultValue = "100") int pageSize,
+            @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal
+    ) {
+        JournalTransactionSearchDTO filter = new JournalTransactionSearchDTO(periodId, fromDate, toDate, accountPKs,
+                minAmount, maxAmount, description, postedByUserId);
+        JournalTransactionPageDTO page = journalTransactionQueryService.search(filter, cursor, pageSize, includeTotal);
+        return ResponseEntity.ok(ApiResponse.success(
+                page,
+                HttpStatus.OK.value(),
+                "Transactions retrieved",
+                "Fetched page of " + page.getTransactions().size() + (page.getTotalCount() != null ? " of " + page.getTotalCount() : "")));
+    }
+
+    /**
+     * Ranked full-text search over descriptions and account names, e.g. ?q=rent or ?q="office supplies" -refund.
+     */
+    @GetMapping("/text-search")
+    @PreAuthorize("hasAuthority('ACCOUNTANT') or hasAuthority('CFO')")
+    public ResponseEntity<ApiResponse<JournalSearchResultDTO>> textSearch(
+            @RequestParam("q") String query,
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            @RequestParam(name = "pageSize", defaultValue = "20") int pageSize
+    ) {
+        JournalSearchResultDTO result = journalSearchService.search(query, page, pageSize);
+        return ResponseEntity.ok(ApiResponse.success(
+                result,
+                HttpStatus.OK.value(),
+                "Search completed",
+                "Found " + result.getTotalMatches() + " transactions matching '" + result.getQuery() + "'"));
+    }
+
+    @PostMapping("/text-search/rebuild")
+    @PreAuthorize("hasAuthority('CFO')")
+    public ResponseEntity<ApiResponse<SearchIndexRebuildDTO>> rebuildSearchIndex() {
+        SearchIndexRebuildDTO result = journalSearchService.rebuild();
+        return ResponseEntity.ok(ApiResponse.success(
+                result,
+                HttpStatus.OK.value(),
+                "Search index rebuilt",
+                "Indexed " + result.getDocumentsIndexed() + " transactions in " + result.getElapsedMillis() + " ms"));
+    }
 }
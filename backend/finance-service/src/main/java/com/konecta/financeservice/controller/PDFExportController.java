@@ -2,6 +2,9 @@ package com.konecta.financeservice.controller;
 
 import com.konecta.financeservice.dto.*;
 import com.konecta.financeservice.service.AnalyticsService;
+import com.konecta.financeservice.service.ComparativeReportService;
+import com.konecta.financeservice.service.FinancialPackService;
+import com.konecta.financeservice.service.GLStreamService;
 import com.konecta.financeservice.service.PDFExportService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
@@ -9,6 +12,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.time.LocalDate;
@@ -20,11 +24,19 @@ public class PDFExportController {
 
     private final AnalyticsService analyticsService;
     private final PDFExportService pdfExportService;
+    private final GLStreamService glStreamService;
+    private final ComparativeReportService comparativeReportService;
+    private final FinancialPackService financialPackService;
 
     @Autowired
-    public PDFExportController(AnalyticsService analyticsService, PDFExportService pdfExportService) {
+    public PDFExportController(AnalyticsService analyticsService, PDFExportService pdfExportService, GLStreamService glStreamService,
+                              ComparativeReportService comparativeReportService,
+                              FinancialPackService financialPackService) {
         this.analyticsService = analyticsService;
         this.pdfExportService = pdfExportService;
+        this.glStreamService = glStreamService;
+        this.comparativeReportService = comparativeReportService;
+        this.financialPackService = financialPackService;
     }
 
     @GetMapping("trial-balance/{id}")
@@ -54,6 +66,27 @@ public class PDFExportController {
                 .body(bytes);
     }
 
+    /**
+     * Large-report GL: rendered page by page from a database cursor with per-account subtotals.
+     */
+    @GetMapping("/gl/stream")
+    @PreAuthorize("hasAuthority('CFO') or hasAuthority('ACCOUNTANT')")
+    public ResponseEntity<StreamingResponseBody> exportGLStreaming(@RequestParam("fromDate") LocalDate fromDate,
+                                                                   @RequestParam("toDate") LocalDate toDate,
+                                                                   @RequestParam(name = "accountPKs", required = false) List<Long> accountPKs) {
+        List<Long> pks = glStreamService.resolveAccountPKs(accountPKs);
+        List<String> accountIds = glStreamService.resolveAccountIds(pks);
+
+        StreamingResponseBody body = out -> pdfExportService.exportGlStreaming(fromDate, toDate, accountIds,
+                handler -> glStreamService.streamEntries(fromDate, toDate, pks, handler), out);
+
+        String filename = "GL_" + fromDate + "_" + toDate + ".pdf";
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(MediaType.APPLICATION_PDF)
+                .body(body);
+    }
+
     @GetMapping("/income-statement/{id}")
     @PreAuthorize("hasAuthority('CFO') or hasAuthority('ACCOUNTANT')")
     public ResponseEntity<byte[]> exportIncomeStatement(@PathVariable("id") Long periodId) throws IOException {
@@ -89,6 +122,49 @@ public class PDFExportController {
                 .contentType(MediaType.APPLICATION_PDF)
                 .body(bytes);
     }
-}
 
+    @GetMapping("/financial-pack/{id}")
+    @PreAuthorize("hasAuthority('CFO') or hasAuthority('ACCOUNTANT')")
+    public ResponseEntity<byte[]> exportFinancialPack(@PathVariable("id") Long periodId) {
+        FinancialPackDTO pack = financialPackService.generate(periodId);
+        byte[] bytes = pdfExportService.exportFinancialPack(pack);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=financial_pack.pdf")
+                .contentType(MediaType.APPLICATION_PDF)
+                .body(bytes);
+    }
 
+    @GetMapping("/comparative/income-statement")
+    @PreAuthorize("hasAuthority('CFO') or hasAuthority('ACCOUNTANT')")
+    public ResponseEntity<byte[]> exportComparativeIncomeStatement(
+            @RequestParam(name = "periodIds", required = false) List<Long> periodIds,
+            @RequestParam(name = "fromPeriodId", required = false) Long fromPeriodId,
+            @RequestParam(name = "toPeriodId", required = false) Long toPeriodId
+    ) {
+        ComparativeIncomeStatementDTO report = comparativeReportService.generateIncomeStatements(periodIds, fromPeriodId, toPeriodId);
+        byte[] bytes = pdfExportService.exportComparativeIncomeStatement(report);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=comparative_income_statement.pdf")
+                .contentType(MediaType.APPLICATION_PDF)
+                .body(bytes);
+    }
+
+    @GetMapping("/comparative/trial-balance")
+    @PreAuthorize("hasAuthority('CFO') or hasAuthority('ACCOUNTANT')")
+    public ResponseEntity<byte[]> exportComparativeTrialBalance(
+            @RequestParam(name = "periodIds", required = false) List<Long> periodIds,
+            @RequestParam(name = "fromPeriodId", required = false) Long fromPeriodId,
+            @RequestParam(name = "toPeriodId", required = false) Long toPeriodId
+    ) {
+        ComparativeTrialBalanceDTO report = comparativeReportService.generateTrialBalances(periodIds, fromPeriodId, toPeriodId);
+        byte[] bytes = pdfExportService.exportComparativeTrialBalance(report);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=comparative_trial_balance.pdf")
+                .contentType(MediaType.APPLICATION_PDF)
+                .body(bytes);
+    }
+
+}
@@ -1,9 +1,15 @@
 package com.konecta.financeservice.controller;
 
 import com.konecta.financeservice.dto.CreatePeriodDTO;
+import com.konecta.financeservice.dto.LedgerArchiveDTO;
+import com.konecta.financeservice.dto.PeriodCloseValidationDTO;
 import com.konecta.financeservice.dto.PeriodDTO;
+import com.konecta.financeservice.dto.PeriodSnapshotDTO;
 import com.konecta.financeservice.dto.response.ApiResponse;
+import com.konecta.financeservice.service.LedgerArchiveService;
+import com.konecta.financeservice.service.PeriodCloseValidationService;
 import com.konecta.financeservice.service.PeriodService;
+import com.konecta.financeservice.service.PeriodSnapshotService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,10 +23,17 @@ import java.util.List;
 public class PeriodController {
 
     private final PeriodService periodService;
+    private final PeriodCloseValidationService periodCloseValidationService;
+    private final PeriodSnapshotService periodSnapshotService;
+    private final LedgerArchiveService archiveService;
 
     @Autowired
-    public PeriodController(PeriodService periodService) {
+    public PeriodController(PeriodService periodService, PeriodCloseValidationService periodCloseValidationService, PeriodSnapshotService periodSnapshotService,
+                            LedgerArchiveService archiveService) {
         this.periodService = periodService;
+        this.periodCloseValidationService = periodCloseValidationService;
+        this.periodSnapshotService = periodSnapshotService;
+        this.archiveService = archiveService;
     }
 
     @PostMapping
@@ -62,6 +75,19 @@ public class PeriodController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/close-validation/{id}")
+    @PreAuthorize("hasAuthority('CFO') or hasAuthority('ACCOUNTANT')")
+    public ResponseEntity<ApiResponse<PeriodCloseValidationDTO>> validateClose(@PathVariable("id") Long id) {
+        PeriodCloseValidationDTO validation = periodCloseValidationService.validate(id);
+        ApiResponse<PeriodCloseValidationDTO> response = ApiResponse.success(
+                validation,
+                HttpStatus.OK.value(),
+                validation.isBalanced() ? "Period is balanced" : "Period is unbalanced",
+                "Close validation for period with id " + id + " completed"
+        );
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/start-closing/{id}")
     @PreAuthorize("hasAuthority('CFO') or hasAuthority('ACCOUNTANT')")
     public ResponseEntity<ApiResponse<PeriodDTO>> startClosingPeriod(@PathVariable("id") Long id) {
@@ -87,4 +113,43 @@ public class PeriodController {
         );
         return ResponseEntity.ok(response);
     }
+
+    @PutMapping("/archive/{id}")
+    @PreAuthorize("hasAuthority('CFO')")
+    public ResponseEntity<ApiResponse<LedgerArchiveDTO>> archivePeriod(@PathVariable("id") Long id) {
+        LedgerArchiveDTO dto = archiveService.archivePeriod(id);
+        ApiResponse<LedgerArchiveDTO> response = ApiResponse.success(
+                dto,
+                HttpStatus.OK.value(),
+                "Period archived successfully",
+                "Archived " + dto.getEntryCount() + " journal entries of period with id " + id
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/archives")
+    @PreAuthorize("hasAuthority('CFO') or hasAuthority('ACCOUNTANT')")
+    public ResponseEntity<ApiResponse<List<LedgerArchiveDTO>>> getArchives() {
+        List<LedgerArchiveDTO> archives = archiveService.getArchives();
+        ApiResponse<List<LedgerArchiveDTO>> response = ApiResponse.success(
+                archives,
+                HttpStatus.OK.value(),
+                "Archives retrieved successfully",
+                "Retrieved " + archives.size() + " archived periods"
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    @PutMapping("/rebuild-snapshot/{id}")
+    @PreAuthorize("hasAuthority('CFO')")
+    public ResponseEntity<ApiResponse<PeriodSnapshotDTO>> rebuildSnapshot(@PathVariable("id") Long id) {
+        PeriodSnapshotDTO snapshot = periodSnapshotService.rebuildSnapshot(id);
+        ApiResponse<PeriodSnapshotDTO> response = ApiResponse.success(
+                snapshot,
+                HttpStatus.OK.value(),
+                "Report snapshot rebuilt successfully",
+                "Report snapshot for period with id " + id + " rebuilt successfully"
+        );
+        return ResponseEntity.ok(response);
+    }
 }
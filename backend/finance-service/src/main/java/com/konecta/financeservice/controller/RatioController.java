@@ -2,6 +2,7 @@ package com.konecta.financeservice.controller;
 
 import com.konecta.financeservice.dto.*;
 import com.konecta.financeservice.dto.response.ApiResponse;
+import com.konecta.financeservice.service.RatioEngineService;
 import com.konecta.financeservice.service.RatioService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -16,10 +17,12 @@ import java.util.List;
 public class RatioController {
 
     private final RatioService ratioService;
+    private final RatioEngineService ratioEngineService;
 
     @Autowired
-    public RatioController(RatioService ratioService) {
+    public RatioController(RatioService ratioService, RatioEngineService ratioEngineService) {
         this.ratioService = ratioService;
+        this.ratioEngineService = ratioEngineService;
     }
 
     @PostMapping
@@ -61,6 +64,23 @@ public class RatioController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/evaluate")
+    @PreAuthorize("hasAuthority('CFO') or hasAuthority('ACCOUNTANT')")
+    public ResponseEntity<ApiResponse<List<PeriodRatiosDTO>>> evaluateRatios(
+            @RequestParam(name = "periodIds", required = false) List<Long> periodIds,
+            @RequestParam(name = "fromPeriodId", required = false) Long fromPeriodId,
+            @RequestParam(name = "toPeriodId", required = false) Long toPeriodId
+    ) {
+        List<PeriodRatiosDTO> ratios = ratioEngineService.evaluate(periodIds, fromPeriodId, toPeriodId);
+        ApiResponse<List<PeriodRatiosDTO>> response = ApiResponse.success(
+                ratios,
+                HttpStatus.OK.value(),
+                "Ratios evaluated",
+                "Ratios evaluated for " + ratios.size() + " periods"
+        );
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAuthority('CFO')")
     public ResponseEntity<ApiResponse<RatioDTO>> getRatio(@PathVariable("id") Long id) {
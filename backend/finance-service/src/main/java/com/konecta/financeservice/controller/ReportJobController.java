@@ -0,0 +1,88 @@
+package com.konecta.financeservice.controller;
+
+import com.konecta.financeservice.dto.ReportJobDTO;
+import com.konecta.financeservice.dto.SubmitReportJobDTO;
+import com.konecta.financeservice.dto.response.ApiResponse;
+import com.konecta.financeservice.service.ReportJobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+import java.security.Principal;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/finance/report-jobs")
+public class ReportJobController {
+
+    private final ReportJobService reportJobService;
+
+    @Autowired
+    public ReportJobController(ReportJobService reportJobService) {
+        this.reportJobService = reportJobService;
+    }
+
+    @PostMapping
+    @PreAuthorize("hasAuthority('CFO') or hasAuthority('ACCOUNTANT')")
+    public ResponseEntity<ApiResponse<ReportJobDTO>> submitJob(@RequestBody SubmitReportJobDTO dto, Principal principal) {
+        ReportJobDTO job = reportJobService.submit(dto, principal != null ? principal.getName() : null);
+        ApiResponse<ReportJobDTO> response = ApiResponse.success(
+                job,
+                HttpStatus.ACCEPTED.value(),
+                "Report job accepted",
+                "Report job " + job.getJobId() + " is " + job.getStatus()
+        );
+        return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping
+    @PreAuthorize("hasAuthority('CFO') or hasAuthority('ACCOUNTANT')")
+    public ResponseEntity<ApiResponse<List<ReportJobDTO>>> getJobs(Authentication authentication) {
+        List<ReportJobDTO> jobs = reportJobService.getJobs(authentication.getName(), isCfo(authentication));
+        ApiResponse<List<ReportJobDTO>> response = ApiResponse.success(
+                jobs,
+                HttpStatus.OK.value(),
+                "Report jobs retrieved successfully",
+                "Retrieved " + jobs.size() + " report jobs"
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{jobId}")
+    @PreAuthorize("hasAuthority('CFO') or hasAuthority('ACCOUNTANT')")
+    public ResponseEntity<ApiResponse<ReportJobDTO>> getJob(@PathVariable("jobId") String jobId, Authentication authentication) {
+        ReportJobDTO job = reportJobService.getJob(jobId, authentication.getName(), isCfo(authentication));
+        ApiResponse<ReportJobDTO> response = ApiResponse.success(
+                job,
+                HttpStatus.OK.value(),
+                "Report job retrieved successfully",
+                "Report job " + jobId + " is " + job.getStatus()
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{jobId}/download")
+    @PreAuthorize("hasAuthority('CFO') or hasAuthority('ACCOUNTANT')")
+    public ResponseEntity<Resource> download(@PathVariable("jobId") String jobId, Authentication authentication) {
+        boolean cfo = isCfo(authentication);
+        ReportJobDTO job = reportJobService.getJob(jobId, authentication.getName(), cfo);
+        Path file = reportJobService.getResultFile(jobId, authentication.getName(), cfo);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + job.getFileName() + "\"")
+                .contentType(MediaType.parseMediaType(job.getFormat().getContentType()))
+                .body(new FileSystemResource(file));
+    }
+
+    private static boolean isCfo(Authentication authentication) {
+        return authentication.getAuthorities().stream().anyMatch(a -> "CFO".equals(a.getAuthority()));
+    }
+}
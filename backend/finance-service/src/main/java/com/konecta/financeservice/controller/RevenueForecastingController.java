@@ -1,7 +1,9 @@
 package com.konecta.financeservice.controller;
 
+import ai.onnxruntime.OrtException;
 import com.konecta.financeservice.dto.ForecastRequestDTO;
 import com.konecta.financeservice.dto.ForecastResponseDTO;
+import com.konecta.financeservice.dto.LedgerForecastDTO;
 import com.konecta.financeservice.dto.response.ApiResponse;
 import com.konecta.financeservice.service.RevenueForecastingService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +12,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
 @RestController
 @RequestMapping(("/api/finance/forecast"))
 public class RevenueForecastingController {
@@ -43,4 +49,44 @@ public class RevenueForecastingController {
             return ResponseEntity.internalServerError().body("Prediction failed: " + e.getMessage());
         }
     }
+
+    @PostMapping("/batch")
+    @PreAuthorize("hasAuthority('CFO') or hasAuthority('ACCOUNTANT')")
+    public ResponseEntity<ApiResponse<List<ForecastResponseDTO>>> getBatchForecast(@RequestBody List<ForecastRequestDTO> requests) throws OrtException {
+        if (requests == null) {
+            throw new IllegalArgumentException("At least one series is required.");
+        }
+        List<double[]> series = new ArrayList<>(requests.size());
+        for (ForecastRequestDTO r : requests) {
+            if (r == null || r.revenueTwoQuartersAgo == null || r.revenueLastQuarter == null) {
+                throw new IllegalArgumentException("Both revenue figures are required for every series.");
+            }
+            series.add(new double[]{r.revenueTwoQuartersAgo, r.revenueLastQuarter});
+        }
+        List<ForecastResponseDTO> predictions = forecastingService.predictBatch(series).stream()
+                .map(ForecastResponseDTO::new)
+                .toList();
+        ApiResponse<List<ForecastResponseDTO>> response = ApiResponse.success(
+                predictions,
+                HttpStatus.OK.value(),
+                "Prediction completed",
+                "Batch prediction completed for " + predictions.size() + " series"
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/ledger")
+    @PreAuthorize("hasAuthority('CFO') or hasAuthority('ACCOUNTANT')")
+    public ResponseEntity<ApiResponse<LedgerForecastDTO>> getLedgerForecast(
+            @RequestParam(name = "fromDate", required = false) LocalDate fromDate,
+            @RequestParam(name = "toDate", required = false) LocalDate toDate) throws OrtException {
+        LedgerForecastDTO forecast = forecastingService.forecastFromLedger(fromDate, toDate);
+        ApiResponse<LedgerForecastDTO> response = ApiResponse.success(
+                forecast,
+                HttpStatus.OK.value(),
+                "Prediction completed",
+                "Forecasted " + forecast.getForecasts().size() + " quarters from the ledger"
+        );
+        return ResponseEntity.ok(response);
+    }
 }
@@ -21,6 +21,7 @@ public class AccountDTO {
     private CashSource cashSource;
     private boolean isCashAccount;
     private boolean isCurrent;
+    private boolean isInventory;
     private String description;
     private AccountStatus status;
     private boolean hasTransactions;
@@ -0,0 +1,17 @@
+package com.konecta.financeservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AccountTotalsDTO {
+    private String accountId;
+    private String accountName;
+    private BigDecimal totalDebits;
+    private BigDecimal totalCredits;
+}
@@ -0,0 +1,20 @@
+package com.konecta.financeservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BankStatementImportResultDTO {
+    private Long statementId;
+    private long linesRead;
+    private long linesImported;
+    private long linesRejected;
+    private List<BulkImportErrorDTO> errors = new ArrayList<>(); // capped, see errorsTruncated
+    private boolean errorsTruncated;
+}
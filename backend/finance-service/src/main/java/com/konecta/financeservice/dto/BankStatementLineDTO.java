@@ -0,0 +1,20 @@
+package com.konecta.financeservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BankStatementLineDTO {
+    private Long lineId;
+    private Long statementId;
+    private LocalDate bookingDate;
+    private BigDecimal amount; // deposits positive, withdrawals negative
+    private String reference;
+    private String description;
+}
@@ -0,0 +1,13 @@
+package com.konecta.financeservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkImportErrorDTO {
+    private long lineNumber; // first line of the rejected transaction
+    private String message;
+}
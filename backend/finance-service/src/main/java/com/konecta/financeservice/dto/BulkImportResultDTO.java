@@ -0,0 +1,20 @@
+package com.konecta.financeservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkImportResultDTO {
+    private long linesRead;
+    private long transactionsImported;
+    private long entriesImported;
+    private long transactionsRejected;
+    private List<BulkImportErrorDTO> errors = new ArrayList<>(); // capped, see errorsTruncated
+    private boolean errorsTruncated;
+}
@@ -0,0 +1,15 @@
+package com.konecta.financeservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ComparativeIncomeStatementDTO {
+    private List<ComparativePeriodDTO> periods; // chronological
+    private List<ComparativeLineDTO> lines;
+}
@@ -0,0 +1,26 @@
+package com.konecta.financeservice.dto;
+
+import com.konecta.financeservice.model.enums.AccountType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * One line of a comparative statement. All lists are indexed like the statement's periods;
+ * changes[i] compares period i with period i - 1, so changes[0] and changePcts[0] are null.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ComparativeLineDTO {
+    private String code;               // account id, or the line key for income statement lines
+    private String label;
+    private AccountType accountType;   // trial balance lines only
+    private boolean subtotal;
+    private List<BigDecimal> values;
+    private List<BigDecimal> changes;
+    private List<BigDecimal> changePcts; // change / |previous| * 100, null when previous == 0
+}
@@ -0,0 +1,18 @@
+package com.konecta.financeservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ComparativePeriodDTO {
+    private Long periodId;
+    private String periodLabel;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String periodStatus;
+}
@@ -0,0 +1,19 @@
+package com.konecta.financeservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ComparativeTrialBalanceDTO {
+    private List<ComparativePeriodDTO> periods; // chronological
+    private List<ComparativeLineDTO> lines;     // one per account, balance in the account's normal sign
+    private List<BigDecimal> totalDebits;
+    private List<BigDecimal> totalCredits;
+    private List<String> tbStatuses;            // "Balanced" or "Unbalanced"
+}
@@ -28,6 +28,8 @@ public class CreateAccountDTO {
 
     private Boolean isCurrent;
 
+    private Boolean isInventory;
+
     private String description;
 
 }
@@ -0,0 +1,17 @@
+package com.konecta.financeservice.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CreateReconciliationMatchDTO {
+    @NotNull
+    private Long lineId;
+
+    @NotNull
+    private Long entryId;
+}
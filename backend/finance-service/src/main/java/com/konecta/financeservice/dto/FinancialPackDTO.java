@@ -0,0 +1,22 @@
+package com.konecta.financeservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FinancialPackDTO {
+    private Long periodId;
+    private String periodLabel;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String periodStatus;
+    private TrialBalanceReportDTO trialBalance;
+    private IncomeStatementDTO incomeStatement;
+    private BalanceSheetReportDTO balanceSheet;     // as of the period end date
+    private CashFlowReportDTO cashFlow;
+}
@@ -0,0 +1,20 @@
+package com.konecta.financeservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GLPageDTO {
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private List<GLRowDTO> entries;
+    private int pageSize;
+    private boolean hasMore;
+    private String nextCursor; // pass back as ?cursor= to get the following page; null on the last page
+}
@@ -0,0 +1,15 @@
+package com.konecta.financeservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class JournalSearchHitDTO {
+    private JournalTransactionDTO transaction;
+    private double rank;
+    private String descriptionHighlight; // matched words wrapped in <mark></mark>
+    private String accountHighlight;     // account names of the entries, marked the same way; null when none matched
+}
@@ -0,0 +1,19 @@
+package com.konecta.financeservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class JournalSearchResultDTO {
+    private String query;
+    private List<JournalSearchHitDTO> hits;
+    private int page;
+    private int pageSize;
+    private long totalMatches;
+    private boolean hasMore;
+}
@@ -0,0 +1,18 @@
+package com.konecta.financeservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class JournalTransactionPageDTO {
+    private List<JournalTransactionDTO> transactions;
+    private int pageSize;
+    private boolean hasMore;
+    private String nextCursor; // pass back as ?cursor= to get the following page; null on the last page
+    private Long totalCount;   // only counted when includeTotal=true
+}
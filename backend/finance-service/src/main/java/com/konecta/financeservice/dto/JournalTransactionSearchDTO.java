@@ -0,0 +1,23 @@
+package com.konecta.financeservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class JournalTransactionSearchDTO {
+    private Long periodId;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private List<Long> accountPKs;  // transactions with at least one entry on any of these accounts
+    private BigDecimal minAmount;   // bounds on the transaction total (sum of debits)
+    private BigDecimal maxAmount;
+    private String description;     // case-insensitive substring
+    private String postedByUserId;
+}
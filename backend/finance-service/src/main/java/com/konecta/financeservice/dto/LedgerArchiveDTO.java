@@ -0,0 +1,22 @@
+package com.konecta.financeservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LedgerArchiveDTO {
+    private Long periodId;
+    private String periodLabel;
+    private String fileName;
+    private long entryCount;
+    private BigDecimal totalDebits;
+    private BigDecimal totalCredits;
+    private long fileSizeBytes;
+    private LocalDateTime archivedAt;
+}
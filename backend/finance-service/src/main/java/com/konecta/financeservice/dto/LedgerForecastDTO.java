@@ -0,0 +1,15 @@
+package com.konecta.financeservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LedgerForecastDTO {
+    private List<QuarterRevenueDTO> quarters;
+    private List<QuarterForecastDTO> forecasts;
+}
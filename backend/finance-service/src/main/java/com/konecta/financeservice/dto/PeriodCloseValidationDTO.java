@@ -0,0 +1,24 @@
+package com.konecta.financeservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PeriodCloseValidationDTO {
+    private Long periodId;
+    private String periodLabel;
+    private long transactionCount;
+    private BigDecimal totalDebits;
+    private BigDecimal totalCredits;
+    private boolean balanced;
+
+    // diagnostics, only filled when the period does not balance
+    private List<UnbalancedTransactionDTO> unbalancedTransactions;
+    private List<AccountTotalsDTO> accountTotals;
+}
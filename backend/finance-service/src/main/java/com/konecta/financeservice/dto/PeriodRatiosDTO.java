@@ -0,0 +1,33 @@
+package com.konecta.financeservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PeriodRatiosDTO {
+    private Long periodId;
+    private String periodLabel;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    // balance sheet inputs, as of period end
+    private BigDecimal currentAssets;
+    private BigDecimal inventory;
+    private BigDecimal currentLiabilities;
+    private BigDecimal totalLiabilities;
+    private BigDecimal totalEquity;      // equity accounts plus cumulative net income not yet closed out
+
+    // income statement inputs, for the period
+    private BigDecimal revenue;
+    private BigDecimal grossProfit;
+    private BigDecimal netIncome;
+
+    private List<RatioResultDTO> ratios;
+}
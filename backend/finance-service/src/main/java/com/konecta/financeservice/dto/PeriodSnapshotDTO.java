@@ -0,0 +1,18 @@
+package com.konecta.financeservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PeriodSnapshotDTO {
+    private Long periodId;
+    private String periodLabel;
+    private int trialBalanceRows;
+    private String tbStatus;
+    private LocalDateTime generatedAt;
+}
@@ -0,0 +1,35 @@
+package com.konecta.financeservice.dto;
+
+import com.konecta.financeservice.model.enums.AccountType;
+import com.konecta.financeservice.model.enums.CashSource;
+import com.konecta.financeservice.model.enums.PivotDimension;
+import com.konecta.financeservice.model.enums.PivotMeasure;
+import com.konecta.financeservice.model.enums.ProfitLossMapping;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Rows are grouped by the dimensions in the given order; every filter is optional and empty lists match all.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PivotQueryDTO {
+    private List<PivotDimension> dimensions;
+    private List<PivotMeasure> measures;
+
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private List<Long> periodIds;
+    private List<Long> accountPKs;
+    private List<AccountType> accountTypes;
+    private List<ProfitLossMapping> plMappings;
+    private List<CashSource> cashSources;
+    private boolean includeInactive; // reports only cover active accounts by default
+
+    private Integer limit;
+}
@@ -0,0 +1,19 @@
+package com.konecta.financeservice.dto;
+
+import com.konecta.financeservice.model.enums.PivotDimension;
+import com.konecta.financeservice.model.enums.PivotMeasure;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PivotResultDTO {
+    private List<PivotDimension> dimensions;
+    private List<PivotMeasure> measures;
+    private List<PivotRowDTO> rows;
+    private boolean truncated; // more groups matched than the row limit
+}
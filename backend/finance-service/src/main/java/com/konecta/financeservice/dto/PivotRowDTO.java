@@ -0,0 +1,16 @@
+package com.konecta.financeservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PivotRowDTO {
+    private List<String> keys;        // one per dimension, in request order
+    private List<BigDecimal> values;  // one per measure, in request order
+}
@@ -0,0 +1,18 @@
+package com.konecta.financeservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class QuarterForecastDTO {
+    private String quarter;               // forecast target
+    private String twoQuartersAgo;        // t-2
+    private String lastQuarter;           // t-1
+    private Double predictedRevenue;      // null when an input quarter has negative revenue
+    private BigDecimal actualRevenue;     // null when the target quarter is not in the ledger yet
+}
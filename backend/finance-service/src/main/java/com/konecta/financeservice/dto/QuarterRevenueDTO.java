@@ -0,0 +1,19 @@
+package com.konecta.financeservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class QuarterRevenueDTO {
+    private String quarter; // e.g. 2025-Q3
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private int periodCount;
+    private BigDecimal revenue;
+}
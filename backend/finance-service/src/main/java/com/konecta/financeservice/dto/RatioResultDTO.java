@@ -0,0 +1,20 @@
+package com.konecta.financeservice.dto;
+
+import com.konecta.financeservice.model.enums.RatioType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RatioResultDTO {
+    private RatioType ratioType;
+    private Long ratioId;                // configured ratio, null if none matches
+    private BigDecimal value;            // null when the denominator is zero
+    private BigDecimal benchmarkValue;
+    private BigDecimal warningThreshold;
+    private String status;               // ON_TARGET, OFF_TARGET, WARNING, NOT_AVAILABLE or NOT_CONFIGURED
+}
@@ -0,0 +1,28 @@
+package com.konecta.financeservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Statement lines and cash entries of the range that are not matched. The lists are capped at the
+ * requested limit; counts and totals always cover everything unmatched.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReconciliationExceptionsDTO {
+    private Long accountPk;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private long unmatchedLineCount;
+    private BigDecimal unmatchedLineTotal;
+    private List<BankStatementLineDTO> unmatchedLines;
+    private long unmatchedEntryCount;
+    private BigDecimal unmatchedEntryTotal;
+    private List<UnreconciledEntryDTO> unmatchedEntries;
+}
@@ -0,0 +1,21 @@
+package com.konecta.financeservice.dto;
+
+import com.konecta.financeservice.model.enums.MatchRule;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReconciliationMatchDTO {
+    private Long matchId;
+    private Long lineId;
+    private Long entryId;
+    private Long transactionId;
+    private MatchRule rule;
+    private String matchedByUserId;
+    private LocalDateTime matchedAt;
+}
@@ -0,0 +1,23 @@
+package com.konecta.financeservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReconciliationRunDTO {
+    private Long accountPk;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private int dateWindowDays;
+    private long linesConsidered;      // unmatched lines in the range before the run
+    private long entriesConsidered;    // unmatched entries in the range widened by the window
+    private long matchedByReference;
+    private long matchedByAmountDate;
+    private long unmatchedLines;
+    private long elapsedMillis;
+}
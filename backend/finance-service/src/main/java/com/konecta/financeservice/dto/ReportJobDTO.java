@@ -0,0 +1,28 @@
+package com.konecta.financeservice.dto;
+
+import com.konecta.financeservice.model.enums.ReportFormat;
+import com.konecta.financeservice.model.enums.ReportJobStatus;
+import com.konecta.financeservice.model.enums.ReportJobType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReportJobDTO {
+    private String jobId;
+    private ReportJobType reportType;
+    private ReportFormat format;
+    private ReportJobStatus status;
+    private String requestedBy;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private LocalDateTime expiresAt;    // set once finished
+    private String fileName;
+    private Long fileSizeBytes;
+    private String error;
+}
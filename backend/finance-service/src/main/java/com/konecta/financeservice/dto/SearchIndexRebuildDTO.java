@@ -0,0 +1,14 @@
+package com.konecta.financeservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchIndexRebuildDTO {
+    private int documentsIndexed;
+    private int archivedDocuments; // of which rebuilt from archive files
+    private long elapsedMillis;
+}
@@ -0,0 +1,37 @@
+package com.konecta.financeservice.dto;
+
+import com.konecta.financeservice.model.enums.ReportFormat;
+import com.konecta.financeservice.model.enums.ReportJobType;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Parameters mirror the synchronous export endpoints; only those the report type uses are read.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SubmitReportJobDTO {
+    @NotNull
+    private ReportJobType reportType;
+
+    @NotNull
+    private ReportFormat format;
+
+    private Long periodId;          // trial balance, income statement, cash flow, financial pack
+
+    private LocalDate fromDate;     // general ledger
+    private LocalDate toDate;
+    private List<Long> accountPKs;
+
+    private LocalDate asOfDate;     // balance sheet
+
+    private List<Long> periodIds;   // comparative statements
+    private Long fromPeriodId;
+    private Long toPeriodId;
+}
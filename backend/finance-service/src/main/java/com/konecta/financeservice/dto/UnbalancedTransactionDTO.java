@@ -0,0 +1,20 @@
+package com.konecta.financeservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UnbalancedTransactionDTO {
+    private Long transactionId;
+    private LocalDate transactionDate;
+    private String description;
+    private BigDecimal totalDebits;
+    private BigDecimal totalCredits;
+    private BigDecimal difference; // debits - credits
+}
@@ -0,0 +1,19 @@
+package com.konecta.financeservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UnreconciledEntryDTO {
+    private Long entryId;
+    private Long transactionId;
+    private LocalDate transactionDate;
+    private BigDecimal amount; // debit - credit, comparable with statement line amounts
+    private String description;
+}
@@ -19,5 +19,6 @@ public class UpdateAccountDTO {
     private CashSource cashSource;
     private Boolean isCashAccount;
     private Boolean isCurrent;
+    private Boolean isInventory;
     private String description;
 }
@@ -50,6 +50,10 @@ public class Account {
     @Column(name = "is_current", nullable = false)
     private boolean isCurrent = true;
 
+    // excluded from quick assets; the default lets the column be added to an existing table
+    @Column(name = "is_inventory", nullable = false, columnDefinition = "boolean default false")
+    private boolean isInventory = false;
+
     @Column(name = "description", columnDefinition = "TEXT")
     private String description;
 
@@ -0,0 +1,45 @@
+package com.konecta.financeservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/*
+ * Running debit/credit totals of one account within one period.
+ * Maintained incrementally on every posting so reports can read
+ * O(accounts x periods) rows instead of scanning journal_entries.
+ */
+@Entity
+@Table(name = "account_period_balances",
+        uniqueConstraints = @UniqueConstraint(name = "uk_account_period_balance", columnNames = {"account_pk", "period_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountPeriodBalance {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "balance_id")
+    private Long balanceId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_pk", nullable = false)
+    private Account account;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "period_id", nullable = false)
+    private Period period;
+
+    @Column(name = "total_debits", precision = 19, scale = 2, nullable = false)
+    private BigDecimal totalDebits = BigDecimal.ZERO;
+
+    @Column(name = "total_credits", precision = 19, scale = 2, nullable = false)
+    private BigDecimal totalCredits = BigDecimal.ZERO;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,48 @@
+package com.konecta.financeservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/*
+ * Per-account, per-day totals of an archived period, kept in the database so balance
+ * queries that cut a period in the middle (balance sheet, GL opening balances) never
+ * have to open the archive file.
+ */
+@Entity
+@Table(name = "archived_account_days",
+        uniqueConstraints = @UniqueConstraint(name = "uk_archived_account_day", columnNames = {"period_id", "account_pk", "transaction_date"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedAccountDay {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "archived_day_id")
+    private Long archivedDayId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "period_id", nullable = false)
+    private Period period;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_pk", nullable = false)
+    private Account account;
+
+    @Column(name = "transaction_date", nullable = false)
+    private LocalDate transactionDate;
+
+    @Column(name = "entry_count", nullable = false)
+    private long entryCount;
+
+    @Column(name = "total_debits", precision = 19, scale = 2, nullable = false)
+    private BigDecimal totalDebits;
+
+    @Column(name = "total_credits", precision = 19, scale = 2, nullable = false)
+    private BigDecimal totalCredits;
+}
@@ -0,0 +1,49 @@
+package com.konecta.financeservice.entity;
+
+import com.konecta.financeservice.model.enums.MatchRule;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/*
+ * Pairs one bank statement line with one cash account journal entry. The entry is referenced by
+ * id only: entries of archived periods leave journal_entries, the match stays.
+ */
+@Entity
+@Table(name = "bank_reconciliation_matches",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_bank_reconciliation_match_line", columnNames = "line_id"),
+                @UniqueConstraint(name = "uk_bank_reconciliation_match_entry", columnNames = "entry_id")})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BankReconciliationMatch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "match_id")
+    private Long matchId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "line_id", nullable = false)
+    private BankStatementLine line;
+
+    @Column(name = "entry_id", nullable = false)
+    private Long entryId;
+
+    @Column(name = "transaction_id", nullable = false)
+    private Long transactionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "match_rule", nullable = false, length = 20)
+    private MatchRule rule;
+
+    @Column(name = "matched_by_user_id")
+    private String matchedByUserId;
+
+    @Column(name = "matched_at", nullable = false)
+    private LocalDateTime matchedAt;
+}
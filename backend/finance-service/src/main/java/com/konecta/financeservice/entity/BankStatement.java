@@ -0,0 +1,49 @@
+package com.konecta.financeservice.entity;
+
+import com.konecta.financeservice.model.enums.ImportFormat;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/*
+ * One imported bank statement file of a cash account; its lines are in bank_statement_lines.
+ */
+@Entity
+@Table(name = "bank_statements")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BankStatement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "statement_id")
+    private Long statementId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_pk", nullable = false)
+    private Account account;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format", nullable = false, length = 10)
+    private ImportFormat format;
+
+    @Column(name = "line_count", nullable = false)
+    private long lineCount;
+
+    @Column(name = "from_date")
+    private LocalDate fromDate;
+
+    @Column(name = "to_date")
+    private LocalDate toDate;
+
+    @Column(name = "imported_by_user_id")
+    private String importedByUserId;
+
+    @Column(name = "imported_at", nullable = false)
+    private LocalDateTime importedAt;
+}
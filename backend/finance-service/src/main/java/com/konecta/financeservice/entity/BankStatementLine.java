@@ -0,0 +1,50 @@
+package com.konecta.financeservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/*
+ * One booking on a bank statement. The amount is signed from the account's point of view:
+ * deposits are positive (a debit to the cash account), withdrawals negative.
+ */
+@Entity
+@Table(name = "bank_statement_lines",
+        indexes = @Index(name = "idx_bank_statement_lines_account_date", columnList = "account_pk, booking_date"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BankStatementLine {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "line_id")
+    private Long lineId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "statement_id", nullable = false)
+    private BankStatement statement;
+
+    // copied from the statement so matching reads one table
+    @Column(name = "account_pk", nullable = false)
+    private Long accountPk;
+
+    @Column(name = "line_number", nullable = false)
+    private long lineNumber;
+
+    @Column(name = "booking_date", nullable = false)
+    private LocalDate bookingDate;
+
+    @Column(name = "amount", precision = 19, scale = 2, nullable = false)
+    private BigDecimal amount;
+
+    @Column(name = "reference", length = 140)
+    private String reference;
+
+    @Column(name = "description", length = 500)
+    private String description;
+}
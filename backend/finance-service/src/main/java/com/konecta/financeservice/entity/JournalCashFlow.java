@@ -0,0 +1,45 @@
+package com.konecta.financeservice.entity;
+
+import com.konecta.financeservice.model.enums.CashSource;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/*
+ * Cash effect of one journal transaction within one cash flow section, classified when the
+ * transaction is posted. Each non-cash line moves cash by (credit - debit) in the section of its
+ * account, so the rows of a transaction always sum to its net cash movement.
+ */
+@Entity
+@Table(name = "journal_cash_flows",
+        uniqueConstraints = @UniqueConstraint(name = "uk_journal_cash_flow", columnNames = {"transaction_id", "section"}),
+        indexes = @Index(name = "idx_journal_cash_flows_date_section", columnList = "transaction_date, section, amount"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalCashFlow {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "cash_flow_id")
+    private Long cashFlowId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "transaction_id", nullable = false)
+    private JournalTransaction transaction;
+
+    // copied from the transaction so the cash flow report needs no join
+    @Column(name = "transaction_date", nullable = false)
+    private LocalDate transactionDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "section", nullable = false, length = 20)
+    private CashSource section;
+
+    @Column(name = "amount", precision = 19, scale = 2, nullable = false)
+    private BigDecimal amount;
+}
@@ -4,9 +4,14 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 @Entity
-@Table(name = "journal_entries")
+@Table(name = "journal_entries", indexes = {
+        @Index(name = "idx_journal_entries_transaction", columnList = "transaction_id"),
+        @Index(name = "idx_journal_entries_account_date", columnList = "account_pk, transaction_date, transaction_id, entry_id"),
+        @Index(name = "idx_journal_entries_period_date", columnList = "period_id, transaction_date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -26,6 +31,17 @@ public class JournalEntry {
     @JoinColumn(name = "transaction_id", nullable = false)
     private JournalTransaction transaction;
 
+    /*
+     * Copies of the transaction's date and period so report queries can filter entries
+     * without joining journal_transactions. Both are fixed once posted. Nullable only so
+     * the columns can be added to an existing table; rows are backfilled on startup.
+     */
+    @Column(name = "transaction_date")
+    private LocalDate transactionDate;
+
+    @Column(name = "period_id")
+    private Long periodId;
+
     /*
      * Each entry corresponds to a specific account in the chart of accounts.
      */
@@ -9,7 +9,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "journal_transactions")
+@Table(name = "journal_transactions", indexes = {
+        @Index(name = "idx_journal_transactions_period", columnList = "period_id"),
+        @Index(name = "idx_journal_transactions_date_id", columnList = "transaction_date, transaction_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,48 @@
+package com.konecta.financeservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/*
+ * Registry of CLOSED periods whose journal entries were moved out of journal_entries into an
+ * archive file. The transactions themselves stay in journal_transactions.
+ */
+@Entity
+@Table(name = "ledger_archives")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerArchive {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "archive_id")
+    private Long archiveId;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "period_id", nullable = false, unique = true)
+    private Period period;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "entry_count", nullable = false)
+    private long entryCount;
+
+    @Column(name = "total_debits", precision = 19, scale = 2, nullable = false)
+    private BigDecimal totalDebits;
+
+    @Column(name = "total_credits", precision = 19, scale = 2, nullable = false)
+    private BigDecimal totalCredits;
+
+    @Column(name = "file_size_bytes", nullable = false)
+    private long fileSizeBytes;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,88 @@
+package com.konecta.financeservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Report totals of a CLOSED period, computed once when the period is locked.
+ * Closed periods never receive postings, so these rows are served as-is
+ * instead of re-aggregating the ledger. Rebuilding replaces the snapshot.
+ */
+@Entity
+@Immutable
+@Table(name = "period_report_snapshots")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PeriodReportSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "snapshot_id")
+    private Long snapshotId;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "period_id", nullable = false, unique = true)
+    private Period period;
+
+    // Trial balance
+    @Column(name = "tb_total_debits", precision = 19, scale = 2, nullable = false)
+    private BigDecimal tbTotalDebits;
+
+    @Column(name = "tb_total_credits", precision = 19, scale = 2, nullable = false)
+    private BigDecimal tbTotalCredits;
+
+    @Column(name = "tb_status", length = 20, nullable = false)
+    private String tbStatus;
+
+    // Income statement actuals (budgets stay on the period)
+    @Column(name = "revenue_actual", precision = 19, scale = 2, nullable = false)
+    private BigDecimal revenueActual;
+
+    @Column(name = "cogs_actual", precision = 19, scale = 2, nullable = false)
+    private BigDecimal cogsActual;
+
+    @Column(name = "opex_actual", precision = 19, scale = 2, nullable = false)
+    private BigDecimal opexActual;
+
+    @Column(name = "other_income_actual", precision = 19, scale = 2, nullable = false)
+    private BigDecimal otherIncomeActual;
+
+    @Column(name = "other_expense_actual", precision = 19, scale = 2, nullable = false)
+    private BigDecimal otherExpenseActual;
+
+    // Cash flow section totals
+    @Column(name = "opening_cash", precision = 19, scale = 2, nullable = false)
+    private BigDecimal openingCash;
+
+    @Column(name = "cfo", precision = 19, scale = 2, nullable = false)
+    private BigDecimal cfo;
+
+    @Column(name = "cfi", precision = 19, scale = 2, nullable = false)
+    private BigDecimal cfi;
+
+    @Column(name = "cff", precision = 19, scale = 2, nullable = false)
+    private BigDecimal cff;
+
+    @Column(name = "balance_sheet_cash", precision = 19, scale = 2, nullable = false)
+    private BigDecimal balanceSheetCash;
+
+    @Column(name = "generated_at", nullable = false)
+    private LocalDateTime generatedAt;
+
+    @OneToMany(mappedBy = "snapshot", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("accountId")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<TrialBalanceSnapshotRow> trialBalanceRows = new ArrayList<>();
+}
@@ -0,0 +1,60 @@
+package com.konecta.financeservice.entity;
+
+import com.konecta.financeservice.model.enums.AccountType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+
+@Entity
+@Immutable
+@Table(name = "trial_balance_snapshot_rows", indexes = {
+        @Index(name = "idx_tb_snapshot_rows_snapshot", columnList = "snapshot_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrialBalanceSnapshotRow {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "row_id")
+    private Long rowId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "snapshot_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private PeriodReportSnapshot snapshot;
+
+    // Account attributes are copied so later renames do not alter a closed period
+    @Column(name = "account_id", length = 20, nullable = false)
+    private String accountId;
+
+    @Column(name = "account_name", length = 255, nullable = false)
+    private String accountName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "account_type", length = 20, nullable = false)
+    private AccountType accountType;
+
+    @Column(name = "total_debits", precision = 19, scale = 2, nullable = false)
+    private BigDecimal totalDebits;
+
+    @Column(name = "total_credits", precision = 19, scale = 2, nullable = false)
+    private BigDecimal totalCredits;
+
+    @Column(name = "debit_balance", precision = 19, scale = 2)
+    private BigDecimal debitBalance;
+
+    @Column(name = "credit_balance", precision = 19, scale = 2)
+    private BigDecimal creditBalance;
+
+    @Column(name = "abnormal", nullable = false)
+    private boolean abnormal;
+}
@@ -0,0 +1,7 @@
+package com.konecta.financeservice.event;
+
+/**
+ * Published when an account's classification (type, mapping, cash source, status, ...) changes.
+ */
+public record AccountChangedEvent(Long accountPk) {
+}
@@ -0,0 +1,14 @@
+package com.konecta.financeservice.event;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Published inside the posting transaction whenever journal entries are written;
+ * listeners that keep derived state should react after commit.
+ *
+ * @param periodIds    periods that received entries
+ * @param earliestDate earliest transaction date posted (balances from this date on changed)
+ */
+public record JournalPostedEvent(Set<Long> periodIds, LocalDate earliestDate) {
+}
@@ -0,0 +1,7 @@
+package com.konecta.financeservice.event;
+
+/**
+ * Published when a period's status or frozen report snapshot changes.
+ */
+public record PeriodChangedEvent(Long periodId) {
+}
@@ -0,0 +1,41 @@
+package com.konecta.financeservice.model;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Conversions between ledger amounts (scale 2, the scale of every amount column) and fixed-point
+ * cents. Report loops accumulate in the primitive {@code long} with overflow-checked arithmetic
+ * ({@link Math#addExact}) and only build a {@link BigDecimal} when filling a DTO.
+ */
+public final class Money {
+
+    private Money() {
+    }
+
+    /**
+     * Exact conversion; amounts with more than two decimals are rejected rather than rounded.
+     */
+    public static long cents(BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+
+    /**
+     * Conversion of a numeric JDBC value; null counts as zero. Floating point values are rounded
+     * to the cent from their decimal representation, never through binary arithmetic.
+     */
+    public static long cents(Object value) {
+        if (value == null) return 0;
+        if (value instanceof BigDecimal) return cents((BigDecimal) value);
+        if (value instanceof Long || value instanceof Integer || value instanceof Short) {
+            return Math.multiplyExact(((Number) value).longValue(), 100);
+        }
+        if (value instanceof BigInteger) return cents(new BigDecimal((BigInteger) value));
+        return cents(new BigDecimal(value.toString()).setScale(2, RoundingMode.HALF_UP));
+    }
+
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
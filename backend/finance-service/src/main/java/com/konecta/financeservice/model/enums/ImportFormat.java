@@ -0,0 +1,5 @@
+package com.konecta.financeservice.model.enums;
+
+public enum ImportFormat {
+    NDJSON, CSV, CAMT
+}
@@ -0,0 +1,7 @@
+package com.konecta.financeservice.model.enums;
+
+public enum MatchRule {
+    REFERENCE,      // same amount, bank reference found in the transaction description, within the date window
+    AMOUNT_DATE,    // same amount within the date window
+    MANUAL
+}
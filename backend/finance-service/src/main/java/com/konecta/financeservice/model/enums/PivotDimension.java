@@ -0,0 +1,10 @@
+package com.konecta.financeservice.model.enums;
+
+public enum PivotDimension {
+    ACCOUNT,
+    ACCOUNT_TYPE,
+    PL_MAPPING,
+    CASH_SOURCE,
+    MONTH,
+    PERIOD
+}
@@ -0,0 +1,7 @@
+package com.konecta.financeservice.model.enums;
+
+public enum PivotMeasure {
+    DEBIT,
+    CREDIT,
+    NET
+}
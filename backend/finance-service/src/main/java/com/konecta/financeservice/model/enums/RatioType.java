@@ -0,0 +1,33 @@
+package com.konecta.financeservice.model.enums;
+
+import java.util.Locale;
+
+public enum RatioType {
+    CURRENT_RATIO(true),
+    QUICK_RATIO(true),
+    GROSS_MARGIN(true),   // percent
+    NET_MARGIN(true),     // percent
+    DEBT_TO_EQUITY(false);
+
+    private final boolean higherIsBetter;
+
+    RatioType(boolean higherIsBetter) {
+        this.higherIsBetter = higherIsBetter;
+    }
+
+    public boolean isHigherIsBetter() {
+        return higherIsBetter;
+    }
+
+    /**
+     * Matches a configured ratio name such as "Current Ratio", "current-ratio" or "DEBT_TO_EQUITY"; null if none.
+     */
+    public static RatioType fromName(String name) {
+        if (name == null) return null;
+        String key = name.trim().toUpperCase(Locale.ROOT).replaceAll("[^A-Z]+", "_");
+        for (RatioType t : values()) {
+            if (t.name().equals(key)) return t;
+        }
+        return null;
+    }
+}
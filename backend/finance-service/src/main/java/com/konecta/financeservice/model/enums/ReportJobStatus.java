@@ -0,0 +1,5 @@
+package com.konecta.financeservice.model.enums;
+
+public enum ReportJobStatus {
+    QUEUED, RUNNING, COMPLETED, FAILED
+}
@@ -0,0 +1,12 @@
+package com.konecta.financeservice.model.enums;
+
+public enum ReportJobType {
+    TRIAL_BALANCE,
+    GENERAL_LEDGER,
+    INCOME_STATEMENT,
+    BALANCE_SHEET,
+    CASH_FLOW,
+    COMPARATIVE_INCOME_STATEMENT,
+    COMPARATIVE_TRIAL_BALANCE,
+    FINANCIAL_PACK
+}
@@ -0,0 +1,43 @@
+package com.konecta.financeservice.repository;
+
+import com.konecta.financeservice.entity.AccountPeriodBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+
+public interface AccountPeriodBalanceRepository extends JpaRepository<AccountPeriodBalance, Long> {
+
+    /**
+     * Adds the given debit/credit amounts to the (account, period) totals,
+     * creating the row on the first posting. Atomic under concurrent postings.
+     */
+    @Modifying
+    @Query(value = """
+                INSERT INTO account_period_balances (account_pk, period_id, total_debits, total_credits, updated_at)
+                VALUES (:accountPk, :periodId, :debits, :credits, now())
+                ON CONFLICT (account_pk, period_id) DO UPDATE
+                SET total_debits  = account_period_balances.total_debits + EXCLUDED.total_debits,
+                    total_credits = account_period_balances.total_credits + EXCLUDED.total_credits,
+                    updated_at    = now()
+            """, nativeQuery = true)
+    void applyDelta(@Param("accountPk") Long accountPk,
+                    @Param("periodId") Long periodId,
+                    @Param("debits") BigDecimal debits,
+                    @Param("credits") BigDecimal credits);
+
+    /**
+     * Recomputes every (account, period) total from the raw journal.
+     * Only meant for backfilling an empty projection.
+     */
+    @Modifying
+    @Query(value = """
+                INSERT INTO account_period_balances (account_pk, period_id, total_debits, total_credits, updated_at)
+                SELECT je.account_pk, je.period_id, SUM(je.debit_amount), SUM(je.credit_amount), now()
+                FROM journal_entries je
+                GROUP BY je.account_pk, je.period_id
+            """, nativeQuery = true)
+    int rebuildFromJournal();
+}
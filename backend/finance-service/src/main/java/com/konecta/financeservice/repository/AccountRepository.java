@@ -2,7 +2,11 @@ package com.konecta.financeservice.repository;
 
 import com.konecta.financeservice.entity.Account;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
 
 import java.util.List;
 
@@ -15,4 +19,12 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
      */
     @Query("SELECT a.accountPK FROM Account a WHERE a.status = com.konecta.financeservice.model.enums.AccountStatus.ACTIVE")
     List<Long> findAllActiveAccountPKs();
+
+    /**
+     * Flags the accounts as used by a posting. Accounts already flagged are left untouched,
+     * so repeat postings take no lock on the account row.
+     */
+    @Modifying
+    @Query("UPDATE Account a SET a.hasTransactions = true WHERE a.accountPK IN :pks AND a.hasTransactions = false")
+    int markHasTransactions(@Param("pks") Collection<Long> accountPKs);
 }
@@ -19,9 +19,8 @@ public interface AnalyticsRepository extends JpaRepository<Account, Long> {
                     SUM(je.creditAmount)
                 )
                 FROM JournalEntry je
-                JOIN je.transaction jt
                 JOIN je.account a
-                WHERE jt.transactionDate BETWEEN :startDate AND :endDate
+                WHERE je.transactionDate BETWEEN :startDate AND :endDate
                   AND a.status = 'ACTIVE'
                 GROUP BY a.accountId, a.accountName, a.accountType
                 ORDER BY a.accountId
@@ -29,5 +28,24 @@ public interface AnalyticsRepository extends JpaRepository<Account, Long> {
     List<TrialBalanceRowDTO> findTrialBalanceRows(@Param("startDate") LocalDate startDate,
                                                   @Param("endDate") LocalDate endDate);
 
+    /**
+     * Trial balance rows for one period, read from the account_period_balances
+     * projection instead of re-aggregating the journal.
+     */
+    @Query("""
+                SELECT new com.konecta.financeservice.dto.TrialBalanceRowDTO(
+                    a.accountId,
+                    a.accountName,
+                    a.accountType,
+                    b.totalDebits,
+                    b.totalCredits
+                )
+                FROM AccountPeriodBalance b
+                JOIN b.account a
+                WHERE b.period.periodId = :periodId
+                  AND a.status = 'ACTIVE'
+                ORDER BY a.accountId
+            """)
+    List<TrialBalanceRowDTO> findTrialBalanceRowsForPeriod(@Param("periodId") Long periodId);
 
 }
@@ -0,0 +1,10 @@
+package com.konecta.financeservice.repository;
+
+import com.konecta.financeservice.entity.BankReconciliationMatch;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BankReconciliationMatchRepository extends JpaRepository<BankReconciliationMatch, Long> {
+    boolean existsByLine_LineId(Long lineId);
+
+    boolean existsByEntryId(Long entryId);
+}
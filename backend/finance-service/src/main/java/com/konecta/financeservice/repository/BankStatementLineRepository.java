@@ -0,0 +1,7 @@
+package com.konecta.financeservice.repository;
+
+import com.konecta.financeservice.entity.BankStatementLine;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BankStatementLineRepository extends JpaRepository<BankStatementLine, Long> {
+}
@@ -0,0 +1,7 @@
+package com.konecta.financeservice.repository;
+
+import com.konecta.financeservice.entity.BankStatement;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BankStatementRepository extends JpaRepository<BankStatement, Long> {
+}
@@ -0,0 +1,53 @@
+package com.konecta.financeservice.repository;
+
+import com.konecta.financeservice.entity.JournalCashFlow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface JournalCashFlowRepository extends JpaRepository<JournalCashFlow, Long> {
+
+    /**
+     * Drops the classification of every transaction that has a line on the account.
+     */
+    @Modifying
+    @Query(value = """
+                DELETE FROM journal_cash_flows cf
+                WHERE cf.transaction_id IN (SELECT je.transaction_id FROM journal_entries je WHERE je.account_pk = :accountPk)
+            """, nativeQuery = true)
+    int deleteForAccount(@Param("accountPk") Long accountPk);
+
+    /**
+     * Classifies every transaction that has a line on the account from the current chart of accounts.
+     */
+    @Modifying
+    @Query(value = """
+                INSERT INTO journal_cash_flows (transaction_id, transaction_date, section, amount)
+                SELECT jt.transaction_id, jt.transaction_date, a.cash_source, SUM(je.credit_amount - je.debit_amount)
+                FROM journal_transactions jt
+                JOIN journal_entries je ON je.transaction_id = jt.transaction_id
+                JOIN accounts a ON a.account_pk = je.account_pk AND a.is_cash_account = FALSE
+                WHERE jt.transaction_id IN (SELECT t.transaction_id FROM journal_entries t WHERE t.account_pk = :accountPk)
+                  AND EXISTS (SELECT 1 FROM journal_entries c JOIN accounts ca ON ca.account_pk = c.account_pk
+                              WHERE c.transaction_id = jt.transaction_id AND ca.is_cash_account = TRUE)
+                GROUP BY jt.transaction_id, jt.transaction_date, a.cash_source
+            """, nativeQuery = true)
+    int insertForAccount(@Param("accountPk") Long accountPk);
+
+    /**
+     * Classifies the whole journal. Only meant for backfilling an empty table.
+     */
+    @Modifying
+    @Query(value = """
+                INSERT INTO journal_cash_flows (transaction_id, transaction_date, section, amount)
+                SELECT jt.transaction_id, jt.transaction_date, a.cash_source, SUM(je.credit_amount - je.debit_amount)
+                FROM journal_transactions jt
+                JOIN journal_entries je ON je.transaction_id = jt.transaction_id
+                JOIN accounts a ON a.account_pk = je.account_pk AND a.is_cash_account = FALSE
+                WHERE EXISTS (SELECT 1 FROM journal_entries c JOIN accounts ca ON ca.account_pk = c.account_pk
+                              WHERE c.transaction_id = jt.transaction_id AND ca.is_cash_account = TRUE)
+                GROUP BY jt.transaction_id, jt.transaction_date, a.cash_source
+            """, nativeQuery = true)
+    int rebuildFromJournal();
+}
@@ -2,10 +2,26 @@ package com.konecta.financeservice.repository;
 
 import com.konecta.financeservice.entity.JournalEntry;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
 public interface JournalEntryRepository extends JpaRepository<JournalEntry, Long> {
 
     List<JournalEntry> findAllByTransaction_TransactionId(Long transactionId);
+
+    /**
+     * Copies transaction_date and period_id from the owning transaction onto entries that
+     * were written before those columns existed.
+     */
+    @Modifying
+    @Query(value = """
+                UPDATE journal_entries je
+                SET transaction_date = jt.transaction_date, period_id = jt.period_id
+                FROM journal_transactions jt
+                WHERE je.transaction_id = jt.transaction_id
+                  AND (je.transaction_date IS NULL OR je.period_id IS NULL)
+            """, nativeQuery = true)
+    int backfillTransactionColumns();
 }
@@ -0,0 +1,10 @@
+package com.konecta.financeservice.repository;
+
+import com.konecta.financeservice.entity.LedgerArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface LedgerArchiveRepository extends JpaRepository<LedgerArchive, Long> {
+    Optional<LedgerArchive> findByPeriod_PeriodId(Long periodId);
+}
@@ -0,0 +1,21 @@
+package com.konecta.financeservice.repository;
+
+import com.konecta.financeservice.entity.PeriodReportSnapshot;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface PeriodReportSnapshotRepository extends JpaRepository<PeriodReportSnapshot, Long> {
+
+    Optional<PeriodReportSnapshot> findByPeriod_PeriodId(Long periodId);
+
+    @EntityGraph(attributePaths = "trialBalanceRows")
+    Optional<PeriodReportSnapshot> findWithRowsByPeriod_PeriodId(Long periodId);
+
+    List<PeriodReportSnapshot> findAllByPeriod_PeriodIdIn(List<Long> periodIds);
+
+    @EntityGraph(attributePaths = "trialBalanceRows")
+    List<PeriodReportSnapshot> findAllWithRowsByPeriod_PeriodIdIn(List<Long> periodIds);
+}
@@ -34,4 +34,6 @@ public interface PeriodRepository extends JpaRepository<Period, Long> {
 
     List<Period> findTop6ByOrderByEndDateDesc();
 
+    List<Period> findByStartDateBetweenOrderByStartDate(LocalDate from, LocalDate to);
+
 }
@@ -0,0 +1,72 @@
+package com.konecta.financeservice.service;
+
+import com.konecta.financeservice.entity.JournalEntry;
+import com.konecta.financeservice.repository.AccountPeriodBalanceRepository;
+import com.konecta.financeservice.repository.JournalEntryRepository;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the account_period_balances projection used by the analytics reports.
+ */
+@Service
+public class AccountBalanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountBalanceService.class);
+
+    private final AccountPeriodBalanceRepository balanceRepository;
+    private final JournalEntryRepository journalEntryRepository;
+
+    @Autowired
+    public AccountBalanceService(AccountPeriodBalanceRepository balanceRepository, JournalEntryRepository journalEntryRepository) {
+        this.balanceRepository = balanceRepository;
+        this.journalEntryRepository = journalEntryRepository;
+    }
+
+    /**
+     * Adds the entries of one posted transaction to the per-account totals of its period.
+     * Must run inside the posting transaction so the projection never drifts from the journal.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void applyPosting(Long periodId, List<JournalEntry> entries) {
+        Map<Long, BigDecimal[]> deltas = new LinkedHashMap<>();
+        for (JournalEntry e : entries) {
+            BigDecimal[] delta = deltas.computeIfAbsent(e.getAccount().getAccountPK(),
+                    k -> new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO});
+            delta[0] = delta[0].add(e.getDebitAmount());
+            delta[1] = delta[1].add(e.getCreditAmount());
+        }
+        deltas.forEach((accountPk, delta) -> applyDelta(accountPk, periodId, delta[0], delta[1]));
+    }
+
+    /**
+     * Adds pre-aggregated totals for one (account, period), e.g. from the bulk importer.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void applyDelta(Long accountPk, Long periodId, BigDecimal debits, BigDecimal credits) {
+        balanceRepository.applyDelta(accountPk, periodId, debits, credits);
+    }
+
+    /**
+     * Backfills the projection once for ledgers that were populated before it existed
+     * (or by the data seeder, which writes entries directly through the repositories).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (balanceRepository.count() == 0 && journalEntryRepository.count() > 0) {
+            int rows = balanceRepository.rebuildFromJournal();
+            logger.info("Backfilled {} account period balances from the journal", rows);
+        }
+    }
+}
@@ -4,11 +4,13 @@ import com.konecta.financeservice.dto.AccountDTO;
 import com.konecta.financeservice.dto.CreateAccountDTO;
 import com.konecta.financeservice.dto.UpdateAccountDTO;
 import com.konecta.financeservice.entity.Account;
+import com.konecta.financeservice.event.AccountChangedEvent;
 import com.konecta.financeservice.model.enums.AccountStatus;
 import com.konecta.financeservice.repository.AccountRepository;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -18,10 +20,14 @@ import java.util.stream.Collectors;
 public class AccountService {
 
     private final AccountRepository accountRepository;
+    private final CashFlowClassificationService cashFlowClassificationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public AccountService(AccountRepository accountRepository) {
+    public AccountService(AccountRepository accountRepository, CashFlowClassificationService cashFlowClassificationService, ApplicationEventPublisher eventPublisher) {
         this.accountRepository = accountRepository;
+        this.cashFlowClassificationService = cashFlowClassificationService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -42,8 +48,12 @@ public class AccountService {
         if (dto.getIsCurrent() != null) {
             account.setCurrent(dto.getIsCurrent());
         }
+        if (dto.getIsInventory() != null) {
+            account.setInventory(dto.getIsInventory());
+        }
         account.setDescription(dto.getDescription());
         Account savedAccount = accountRepository.save(account);
+        eventPublisher.publishEvent(new AccountChangedEvent(savedAccount.getAccountPK()));
         return convertToDTO(savedAccount);
     }
 
@@ -65,13 +75,19 @@ public class AccountService {
             if (dto.getAccountType() != null) account.setAccountType(dto.getAccountType());
             if (dto.getIsCashAccount() != null) account.setCashAccount(dto.getIsCashAccount());
         }
+        boolean cashSourceChanged = dto.getCashSource() != null && dto.getCashSource() != account.getCashSource();
         if (dto.getCashSource() != null) account.setCashSource(dto.getCashSource());
         if (dto.getIsCurrent() != null) account.setCurrent(dto.getIsCurrent());
+        if (dto.getIsInventory() != null) account.setInventory(dto.getIsInventory());
         if (dto.getAccountName() != null) account.setAccountName(dto.getAccountName());
         if (dto.getPlMapping() != null) account.setPlMapping(dto.getPlMapping());
         if (dto.getDescription() != null) account.setDescription(dto.getDescription());
 
         Account updatedAccount = accountRepository.save(account);
+        if (cashSourceChanged && updatedAccount.isHasTransactions()) {
+            cashFlowClassificationService.reclassifyAccount(updatedAccount.getAccountPK());
+        }
+        eventPublisher.publishEvent(new AccountChangedEvent(updatedAccount.getAccountPK()));
         return convertToDTO(updatedAccount);
     }
 
@@ -86,6 +102,7 @@ public class AccountService {
             account.setStatus(AccountStatus.INACTIVE);
         }
         Account updatedAccount = accountRepository.save(account);
+        eventPublisher.publishEvent(new AccountChangedEvent(updatedAccount.getAccountPK()));
         return convertToDTO(updatedAccount);
     }
 
@@ -99,6 +116,7 @@ public class AccountService {
         dto.setCashSource(account.getCashSource());
         dto.setCashAccount(account.isCashAccount());
         dto.setCurrent(account.isCurrent());
+        dto.setInventory(account.isInventory());
         dto.setDescription(account.getDescription());
         dto.setStatus(account.getStatus());
         dto.setHasTransactions(account.isHasTransactions());
@@ -3,48 +3,100 @@ package com.konecta.financeservice.service;
 import com.konecta.financeservice.dto.*;
 import com.konecta.financeservice.entity.Account;
 import com.konecta.financeservice.entity.Period;
+import com.konecta.financeservice.entity.PeriodReportSnapshot;
+import com.konecta.financeservice.entity.TrialBalanceSnapshotRow;
+import com.konecta.financeservice.model.Money;
 import com.konecta.financeservice.model.enums.AccountType;
+import com.konecta.financeservice.model.enums.PeriodStatus;
+import com.konecta.financeservice.model.enums.ProfitLossMapping;
 import com.konecta.financeservice.repository.AnalyticsRepository;
+import com.konecta.financeservice.repository.PeriodReportSnapshotRepository;
 import com.konecta.financeservice.repository.PeriodRepository;
 import com.konecta.financeservice.repository.AccountRepository;
+import com.konecta.financeservice.service.ReportCacheService.ReportKey;
+import com.konecta.financeservice.service.ReportCacheService.ReportType;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class AnalyticsService {
 
+    public static final int MAX_GL_PAGE_SIZE = 5000;
+
     private final AnalyticsRepository analyticsRepository;
     private final PeriodRepository periodRepository;
     private final AccountRepository accountRepository;
+    private final PeriodReportSnapshotRepository snapshotRepository;
+    private final ReportCacheService reportCache;
+    private final LedgerArchiveService archiveService;
+    private final LedgerColumnCache columnCache;
     private final EntityManager entityManager;
+    // report loads run read-only, which lets them go to the read replica when one is configured
+    private final TransactionTemplate readOnlyTransaction;
 
     @Autowired
-    public AnalyticsService(AnalyticsRepository analyticsRepository, PeriodRepository periodRepository, AccountRepository accountRepository, EntityManager entityManager) {
+    public AnalyticsService(AnalyticsRepository analyticsRepository, PeriodRepository periodRepository, AccountRepository accountRepository, PeriodReportSnapshotRepository snapshotRepository, ReportCacheService reportCache, LedgerArchiveService archiveService, LedgerColumnCache columnCache,
+                            EntityManager entityManager, PlatformTransactionManager transactionManager) {
         this.analyticsRepository = analyticsRepository;
         this.periodRepository = periodRepository;
         this.accountRepository = accountRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.reportCache = reportCache;
+        this.archiveService = archiveService;
+        this.columnCache = columnCache;
         this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     public TrialBalanceReportDTO generateTrialBalance(Long periodId) {
+        return reportCache.get(ReportKey.forPeriod(ReportType.TRIAL_BALANCE, periodId), () -> readOnlyTransaction.execute(status -> loadTrialBalance(periodId)));
+    }
+
+    private TrialBalanceReportDTO loadTrialBalance(Long periodId) {
         Period p = periodRepository.findById(periodId)
                 .orElseThrow(() -> new IllegalArgumentException("Period not found: " + periodId));
 
-        List<TrialBalanceRowDTO> rows = analyticsRepository.findTrialBalanceRows(p.getStartDate(), p.getEndDate());
+        if (p.getStatus() == PeriodStatus.CLOSED) {
+            Optional<PeriodReportSnapshot> snapshot = snapshotRepository.findWithRowsByPeriod_PeriodId(periodId);
+            if (snapshot.isPresent()) {
+                return trialBalanceFromSnapshot(p, snapshot.get());
+            }
+        }
+        List<TrialBalanceRowDTO> cached = columnCache.trialBalanceRows(p);
+        if (cached != null) {
+            return buildTrialBalance(p, cached);
+        }
+        return computeTrialBalance(p);
+    }
 
-        BigDecimal totalDebits = BigDecimal.ZERO;
-        BigDecimal totalCredits = BigDecimal.ZERO;
+    /**
+     * Computes the trial balance of a period from the ledger, bypassing any frozen snapshot.
+     */
+    public TrialBalanceReportDTO computeTrialBalance(Period p) {
+        return buildTrialBalance(p, analyticsRepository.findTrialBalanceRowsForPeriod(p.getPeriodId()));
+    }
+
+    TrialBalanceReportDTO buildTrialBalance(Period p, List<TrialBalanceRowDTO> rows) {
+        long totalDebits = 0;
+        long totalCredits = 0;
 
         for (TrialBalanceRowDTO r : rows) {
             boolean debitNormal = true;
@@ -53,52 +105,57 @@ public class AnalyticsService {
                     || r.getAccountType() == AccountType.REVENUE) {
                 debitNormal = false;
             }
-            BigDecimal signed;
-            if (debitNormal) {
-                signed = r.getTotalDebits().subtract(r.getTotalCredits());
-            } else {
-                signed = r.getTotalCredits().subtract(r.getTotalDebits());
-            }
+            long debits = Money.cents(r.getTotalDebits());
+            long credits = Money.cents(r.getTotalCredits());
+            long signed = debitNormal ? Math.subtractExact(debits, credits) : Math.subtractExact(credits, debits);
 
-            if (signed.compareTo(BigDecimal.ZERO) >= 0) {
+            if (signed >= 0) {
                 if (debitNormal) {
-                    r.setDebitBalance(signed);
+                    r.setDebitBalance(Money.toBigDecimal(signed));
                     r.setCreditBalance(null);
-                    totalDebits = totalDebits.add(signed);
+                    totalDebits = Math.addExact(totalDebits, signed);
                 } else {
-                    r.setCreditBalance(signed);
+                    r.setCreditBalance(Money.toBigDecimal(signed));
                     r.setDebitBalance(null);
-                    totalCredits = totalCredits.add(signed);
+                    totalCredits = Math.addExact(totalCredits, signed);
                 }
                 r.setAbnormal(false);
             } else {
                 // abnormal: opposite sign to normal
-                BigDecimal abs = signed.abs();
+                long abs = Math.negateExact(signed);
                 if (debitNormal) {
-                    r.setCreditBalance(abs); // asset with credit balance — shown on credit column
+                    r.setCreditBalance(Money.toBigDecimal(abs)); // asset with credit balance — shown on credit column
                     r.setDebitBalance(null);
-                    totalCredits = totalCredits.add(abs);
+                    totalCredits = Math.addExact(totalCredits, abs);
                 } else {
-                    r.setDebitBalance(abs);
+                    r.setDebitBalance(Money.toBigDecimal(abs));
                     r.setCreditBalance(null);
-                    totalDebits = totalDebits.add(abs);
+                    totalDebits = Math.addExact(totalDebits, abs);
                 }
                 r.setAbnormal(true);
             }
         }
 
-        String tbStatus = totalDebits.compareTo(totalCredits) == 0 ? "Balanced" : "Unbalanced";
+        String tbStatus = totalDebits == totalCredits ? "Balanced" : "Unbalanced";
 
-        return new TrialBalanceReportDTO(p.getLabel(), p.getStatus().name(), rows, totalDebits, totalCredits, tbStatus);
+        return new TrialBalanceReportDTO(p.getLabel(), p.getStatus().name(), rows,
+                Money.toBigDecimal(totalDebits), Money.toBigDecimal(totalCredits), tbStatus);
     }
 
     public GLResponseDTO generateGLResponse(LocalDate fromDate, LocalDate toDate, List<Long> accountPKs) {
+        return readOnlyTransaction.execute(status -> loadGLResponse(fromDate, toDate, accountPKs));
+    }
+
+    private GLResponseDTO loadGLResponse(LocalDate fromDate, LocalDate toDate, List<Long> accountPKs) {
         if (accountPKs == null || accountPKs.isEmpty()) {
             List<Long> allAccountPKs = accountRepository.findAllActiveAccountPKs();
             accountPKs = allAccountPKs;
         }
         List<OpeningBalanceDTO> openings = fetchOpeningBalances(fromDate, accountPKs);
         List<GLRowDTO> entries = fetchEntries(fromDate, toDate, accountPKs);
+        if (archiveService.overlaps(fromDate, toDate)) {
+            entries = mergeGLOrder(entries, archiveService.glRows(fromDate, toDate, accountPKs, null), Integer.MAX_VALUE);
+        }
         List<GLRowDTO> withRunning = computeRunningBalances(openings, entries);
         List<String> accountIds = analyticsRepository.findAllById(accountPKs)
                 .stream()
@@ -109,27 +166,138 @@ public class AnalyticsService {
         return dto;
     }
 
+    /**
+     * One page of the GL in (account, date, transaction, entry) order. Pages are addressed by keyset
+     * rather than offset, and the cursor carries the running balance, so fetching page N costs the same
+     * as fetching page 1.
+     */
+    public GLPageDTO generateGLPage(LocalDate fromDate, LocalDate toDate, List<Long> accountPKs, String cursor, int pageSize) {
+        if (pageSize < 1 || pageSize > MAX_GL_PAGE_SIZE) {
+            throw new IllegalArgumentException("pageSize must be between 1 and " + MAX_GL_PAGE_SIZE);
+        }
+        return readOnlyTransaction.execute(status -> loadGLPage(fromDate, toDate, accountPKs, cursor, pageSize));
+    }
+
+    private GLPageDTO loadGLPage(LocalDate fromDate, LocalDate toDate, List<Long> accountPKs, String cursor, int pageSize) {
+        // the filter as sent: a cursor for "all accounts" stays valid when accounts are added or deactivated
+        boolean allAccounts = accountPKs == null || accountPKs.isEmpty();
+        int filterHash = GLCursor.filterHash(fromDate, toDate, allAccounts ? List.of() : accountPKs);
+        GLCursor after = cursor == null || cursor.isBlank() ? null : GLCursor.decode(cursor);
+        if (after != null && after.filterHash() != filterHash) {
+            throw new IllegalArgumentException("Cursor does not belong to this date range and account filter");
+        }
+
+        if (allAccounts) {
+            accountPKs = accountRepository.findAllActiveAccountPKs();
+        }
+        if (accountPKs.isEmpty()) {
+            return new GLPageDTO(fromDate, toDate, new ArrayList<>(), pageSize, false, null);
+        }
+
+        String sql = "SELECT je.entry_id, je.transaction_id, je.transaction_date, je.account_pk, a.account_name, " +
+                "je.debit_amount, je.credit_amount, (je.debit_amount - je.credit_amount) AS signed_amount, jt.description " +
+                "FROM journal_entries je JOIN journal_transactions jt ON je.transaction_id = jt.transaction_id " +
+                "JOIN accounts a ON je.account_pk = a.account_pk " +
+                "WHERE je.transaction_date BETWEEN :fromDate AND :toDate AND a.status = 'ACTIVE' " +
+                "AND je.account_pk IN (:accountPKs) " +
+                (after != null ? "AND (je.account_pk, je.transaction_date, je.transaction_id, je.entry_id) > (:afterAccount, :afterDate, :afterTx, :afterEntry) " : "") +
+                "ORDER BY je.account_pk, je.transaction_date, je.transaction_id, je.entry_id " +
+                "LIMIT :limit";
+
+        Query q = entityManager.createNativeQuery(sql);
+        q.setParameter("fromDate", fromDate);
+        q.setParameter("toDate", toDate);
+        q.setParameter("accountPKs", accountPKs);
+        if (after != null) {
+            q.setParameter("afterAccount", after.accountPk());
+            q.setParameter("afterDate", after.transactionDate());
+            q.setParameter("afterTx", after.transactionId());
+            q.setParameter("afterEntry", after.entryId());
+        }
+        q.setParameter("limit", pageSize + 1); // one extra row tells whether another page exists
+
+        List<GLRowDTO> rows = mapGLRows(q.getResultList());
+        if (archiveService.overlaps(fromDate, toDate)) {
+            rows = mergeGLOrder(rows, archiveService.glRows(fromDate, toDate, accountPKs, after), pageSize + 1);
+        }
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        // opening balances are only needed for accounts that start on this page
+        Set<Long> startingAccounts = new LinkedHashSet<>();
+        for (GLRowDTO r : rows) {
+            if (after == null || r.getAccountPK() != after.accountPk()) startingAccounts.add(r.getAccountPK());
+        }
+        Map<Long, BigDecimal> openingMap = startingAccounts.isEmpty() ? Map.of()
+                : fetchOpeningBalances(fromDate, new ArrayList<>(startingAccounts)).stream()
+                .collect(Collectors.toMap(OpeningBalanceDTO::getAccountPK, OpeningBalanceDTO::getOpeningBalance));
+
+        if (after != null) {
+            applyRunningBalances(rows, openingMap, after.accountPk(), Money.cents(after.runningBalance()));
+        } else {
+            applyRunningBalances(rows, openingMap, -1, 0);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            GLRowDTO last = rows.get(rows.size() - 1);
+            nextCursor = new GLCursor(last.getAccountPK(), last.getTransactionDate(), last.getTransactionId(),
+                    last.getEntryId(), last.getRunningBalance(), filterHash).encode();
+        }
+
+        return new GLPageDTO(fromDate, toDate, new ArrayList<>(rows), pageSize, hasMore, nextCursor);
+    }
+
     public IncomeStatementDTO generateIncomeStatement(Long periodId) {
+        return reportCache.get(ReportKey.forPeriod(ReportType.INCOME_STATEMENT, periodId), () -> readOnlyTransaction.execute(status -> loadIncomeStatement(periodId)));
+    }
+
+    private IncomeStatementDTO loadIncomeStatement(Long periodId) {
         Period p = periodRepository.findById(periodId)
                 .orElseThrow(() -> new IllegalArgumentException("Period not found: " + periodId));
 
+        if (p.getStatus() == PeriodStatus.CLOSED) {
+            Optional<PeriodReportSnapshot> snapshot = snapshotRepository.findByPeriod_PeriodId(periodId);
+            if (snapshot.isPresent()) {
+                PeriodReportSnapshot ps = snapshot.get();
+                return buildIncomeStatement(p, ps.getRevenueActual(), ps.getCogsActual(), ps.getOpexActual(),
+                        ps.getOtherIncomeActual(), ps.getOtherExpenseActual());
+            }
+        }
+        long[] nets = columnCache.profitAndLossNets(p);
+        if (nets != null) {
+            // nets are debit - credit; income lines read credit - debit
+            return buildIncomeStatement(p,
+                    Money.toBigDecimal(-nets[ProfitLossMapping.REVENUE.ordinal()]),
+                    Money.toBigDecimal(nets[ProfitLossMapping.COGS.ordinal()]),
+                    Money.toBigDecimal(nets[ProfitLossMapping.OPEX.ordinal()]),
+                    Money.toBigDecimal(-nets[ProfitLossMapping.OTHER_INCOME.ordinal()]),
+                    Money.toBigDecimal(nets[ProfitLossMapping.OTHER_EXPENSE.ordinal()]));
+        }
+        return computeIncomeStatement(p);
+    }
+
+    /**
+     * Computes the income statement of a period from the ledger, bypassing any frozen snapshot.
+     */
+    public IncomeStatementDTO computeIncomeStatement(Period p) {
         String sql = """
                 SELECT
-                  COALESCE(SUM(CASE WHEN a.pl_mapping = 'REVENUE' THEN (je.credit_amount - je.debit_amount) END), 0) AS revenue,
-                  COALESCE(SUM(CASE WHEN a.pl_mapping = 'COGS' THEN (je.debit_amount - je.credit_amount) END), 0) AS cogs,
-                  COALESCE(SUM(CASE WHEN a.pl_mapping = 'OPEX' THEN (je.debit_amount - je.credit_amount) END), 0) AS opex,
-                  COALESCE(SUM(CASE WHEN a.pl_mapping = 'OTHER_INCOME' THEN (je.credit_amount - je.debit_amount) END), 0) AS other_income,
-                  COALESCE(SUM(CASE WHEN a.pl_mapping = 'OTHER_EXPENSE' THEN (je.debit_amount - je.credit_amount) END), 0) AS other_expense
-                FROM journal_entries je
-                JOIN journal_transactions jt ON je.transaction_id = jt.transaction_id
-                JOIN accounts a ON je.account_pk = a.account_pk
-                WHERE jt.transaction_date BETWEEN ?1 AND ?2
+                  COALESCE(SUM(CASE WHEN a.pl_mapping = 'REVENUE' THEN (b.total_credits - b.total_debits) END), 0) AS revenue,
+                  COALESCE(SUM(CASE WHEN a.pl_mapping = 'COGS' THEN (b.total_debits - b.total_credits) END), 0) AS cogs,
+                  COALESCE(SUM(CASE WHEN a.pl_mapping = 'OPEX' THEN (b.total_debits - b.total_credits) END), 0) AS opex,
+                  COALESCE(SUM(CASE WHEN a.pl_mapping = 'OTHER_INCOME' THEN (b.total_credits - b.total_debits) END), 0) AS other_income,
+                  COALESCE(SUM(CASE WHEN a.pl_mapping = 'OTHER_EXPENSE' THEN (b.total_debits - b.total_credits) END), 0) AS other_expense
+                FROM account_period_balances b
+                JOIN accounts a ON b.account_pk = a.account_pk
+                WHERE b.period_id = ?1
                   AND a.status = 'ACTIVE'
                 """;
 
         Query q = entityManager.createNativeQuery(sql);
-        q.setParameter(1, java.sql.Date.valueOf(p.getStartDate()));
-        q.setParameter(2, java.sql.Date.valueOf(p.getEndDate()));
+        q.setParameter(1, p.getPeriodId());
 
         Object[] row = (Object[]) q.getSingleResult();
 
@@ -139,6 +307,11 @@ public class AnalyticsService {
         BigDecimal otherIncomeActual = toBigDecimal(row[3]);
         BigDecimal otherExpenseActual = toBigDecimal(row[4]);
 
+        return buildIncomeStatement(p, revenueActual, cogsActual, opexActual, otherIncomeActual, otherExpenseActual);
+    }
+
+    IncomeStatementDTO buildIncomeStatement(Period p, BigDecimal revenueActual, BigDecimal cogsActual, BigDecimal opexActual,
+                                            BigDecimal otherIncomeActual, BigDecimal otherExpenseActual) {
         // budgets from period (null-safe)
         BigDecimal revenueBudget = nullSafe(p.getRevenueBudget());
         BigDecimal cogsBudget = nullSafe(p.getCogsBudget());
@@ -212,6 +385,10 @@ public class AnalyticsService {
     }
 
     public BalanceSheetReportDTO generateBalanceSheet(LocalDate asOfDate) {
+        return reportCache.get(new ReportKey(ReportType.BALANCE_SHEET, null, asOfDate), () -> readOnlyTransaction.execute(status -> computeBalanceSheet(asOfDate)));
+    }
+
+    private BalanceSheetReportDTO computeBalanceSheet(LocalDate asOfDate) {
         String sql = """
                 SELECT
                   a.account_pk,
@@ -219,32 +396,37 @@ public class AnalyticsService {
                   a.account_name,
                   a.account_type,
                   a.is_current,
-                  COALESCE(SUM(je.debit_amount), 0) AS total_debits,
-                  COALESCE(SUM(je.credit_amount), 0) AS total_credits
-                FROM journal_entries je
-                JOIN journal_transactions jt ON je.transaction_id = jt.transaction_id
-                JOIN accounts a ON je.account_pk = a.account_pk
-                WHERE jt.transaction_date <= ?1
-                  AND a.status = 'ACTIVE'
+                  COALESCE(SUM(x.debits), 0) AS total_debits,
+                  COALESCE(SUM(x.credits), 0) AS total_credits
+                FROM (%s) x
+                JOIN accounts a ON x.account_pk = a.account_pk
+                WHERE a.status = 'ACTIVE'
                 GROUP BY a.account_pk, a.account_id, a.account_name, a.account_type, a.is_current
                 ORDER BY a.account_type, a.is_current DESC, a.account_id
-                """;
+                """.formatted(balancesUpTo(true));
 
         Query q = entityManager.createNativeQuery(sql);
-        q.setParameter(1, java.sql.Date.valueOf(asOfDate));
+        q.setParameter("cutoff", java.sql.Date.valueOf(asOfDate));
 
         @SuppressWarnings("unchecked")
         List<Object[]> raw = q.getResultList();
+        return buildBalanceSheet(asOfDate, raw);
+    }
 
+    /**
+     * Rows are (account_pk, account_id, account_name, account_type, is_current, total_debits, total_credits)
+     * of active accounts, in balance sheet order.
+     */
+    BalanceSheetReportDTO buildBalanceSheet(LocalDate asOfDate, List<Object[]> raw) {
         List<BalanceSheetAccountRowDTO> assetsCurrent = new ArrayList<>();
         List<BalanceSheetAccountRowDTO> assetsNonCurrent = new ArrayList<>();
         List<BalanceSheetAccountRowDTO> liabilitiesCurrent = new ArrayList<>();
         List<BalanceSheetAccountRowDTO> liabilitiesNonCurrent = new ArrayList<>();
         List<BalanceSheetAccountRowDTO> equityList = new ArrayList<>();
 
-        BigDecimal totalAssets = BigDecimal.ZERO;
-        BigDecimal totalLiabilities = BigDecimal.ZERO;
-        BigDecimal totalEquity = BigDecimal.ZERO;
+        long totalAssets = 0;
+        long totalLiabilities = 0;
+        long totalEquity = 0;
 
         for (Object[] r : raw) {
             Long accountPk = ((Number) r[0]).longValue();
@@ -256,11 +438,11 @@ public class AnalyticsService {
             BigDecimal credits = toBigDecimal(r[6]);
 
             // compute signed balance according to account type
-            BigDecimal signed;
+            long signed;
             if ("ASSET".equalsIgnoreCase(accountType) || "EXPENSE".equalsIgnoreCase(accountType)) {
-                signed = debits.subtract(credits); // debit-positive
+                signed = Math.subtractExact(Money.cents(debits), Money.cents(credits)); // debit-positive
             } else { // LIABILITY, EQUITY, REVENUE
-                signed = credits.subtract(debits); // credit-positive
+                signed = Math.subtractExact(Money.cents(credits), Money.cents(debits)); // credit-positive
             }
 
             BalanceSheetAccountRowDTO row = new BalanceSheetAccountRowDTO();
@@ -271,7 +453,7 @@ public class AnalyticsService {
             row.setIsCurrent(isCurrent);
             row.setTotalDebits(debits);
             row.setTotalCredits(credits);
-            row.setSignedBalance(signed);
+            row.setSignedBalance(Money.toBigDecimal(signed));
 
             // place row in correct bucket and accumulate totals using natural sign
             if ("ASSET".equalsIgnoreCase(accountType)) {
@@ -281,7 +463,7 @@ public class AnalyticsService {
                     assetsNonCurrent.add(row);
                 }
                 // assets total = sum(debit - credit) for assets
-                totalAssets = totalAssets.add(signed);
+                totalAssets = Math.addExact(totalAssets, signed);
             } else if ("LIABILITY".equalsIgnoreCase(accountType)) {
                 if (isCurrent) {
                     liabilitiesCurrent.add(row);
@@ -289,18 +471,18 @@ public class AnalyticsService {
                     liabilitiesNonCurrent.add(row);
                 }
                 // liabilities total = sum(credit - debit)
-                totalLiabilities = totalLiabilities.add(signed);
+                totalLiabilities = Math.addExact(totalLiabilities, signed);
             } else if ("EQUITY".equalsIgnoreCase(accountType)) {
                 equityList.add(row);
-                totalEquity = totalEquity.add(signed);
+                totalEquity = Math.addExact(totalEquity, signed);
             } else {
                 // ignore revenue/expense accounts for balance sheet; or handle retained earnings mapping
             }
         }
 
         // Compute Validation Status: Assets ?= Liabilities + Equity
-        BigDecimal liabilitiesPlusEquity = totalLiabilities.add(totalEquity);
-        String status = totalAssets.compareTo(liabilitiesPlusEquity) == 0 ? "Balanced" : "Unbalanced";
+        long liabilitiesPlusEquity = Math.addExact(totalLiabilities, totalEquity);
+        String status = totalAssets == liabilitiesPlusEquity ? "Balanced" : "Unbalanced";
 
         BalanceSheetReportDTO report = new BalanceSheetReportDTO();
         report.setAsOfDate(asOfDate);
@@ -309,9 +491,9 @@ public class AnalyticsService {
         report.setLiabilitiesCurrent(liabilitiesCurrent);
         report.setLiabilitiesNonCurrent(liabilitiesNonCurrent);
         report.setEquity(equityList);
-        report.setTotalAssets(totalAssets);
-        report.setTotalLiabilities(totalLiabilities);
-        report.setTotalEquity(totalEquity);
+        report.setTotalAssets(Money.toBigDecimal(totalAssets));
+        report.setTotalLiabilities(Money.toBigDecimal(totalLiabilities));
+        report.setTotalEquity(Money.toBigDecimal(totalEquity));
         report.setValidationStatus(status);
 
         return report;
@@ -321,26 +503,58 @@ public class AnalyticsService {
         Period p = periodRepository.findById(periodId)
                 .orElseThrow(() -> new IllegalArgumentException("Period not found"));
 
+        // keyed by end date too: postings in earlier periods move this period's opening cash
+        return reportCache.get(new ReportKey(ReportType.CASH_FLOW, periodId, p.getEndDate()), () -> readOnlyTransaction.execute(status -> loadCashFlow(p)));
+    }
+
+    private CashFlowReportDTO loadCashFlow(Period p) {
+        if (p.getStatus() == PeriodStatus.CLOSED) {
+            Optional<PeriodReportSnapshot> snapshot = snapshotRepository.findByPeriod_PeriodId(p.getPeriodId());
+            if (snapshot.isPresent()) {
+                PeriodReportSnapshot ps = snapshot.get();
+                return buildCashFlow(p, ps.getOpeningCash(), ps.getCfo(), ps.getCfi(), ps.getCff(), ps.getBalanceSheetCash());
+            }
+        }
+        Map<String, BigDecimal> cached = columnCache.cashMovementsBySection(p);
+        if (cached != null) {
+            return computeCashFlow(p, cached);
+        }
+        return computeCashFlow(p);
+    }
+
+    /**
+     * Computes the cash flow statement of a period from the ledger, bypassing any frozen snapshot.
+     */
+    public CashFlowReportDTO computeCashFlow(Period p) {
+        return computeCashFlow(p, getCashMovementsBySection(p.getStartDate(), p.getEndDate()));
+    }
+
+    // opening and closing cash span all history, including closed periods, so they stay on SQL
+    private CashFlowReportDTO computeCashFlow(Period p, Map<String, BigDecimal> sectionNet) {
         LocalDate start = p.getStartDate();
         LocalDate end = p.getEndDate();
 
         BigDecimal openingCash = getOpeningCash(start);
-        Map<String, BigDecimal> sectionNet = getCashMovementsBySection(start, end);
 
         BigDecimal cfo = sectionNet.getOrDefault("CFO", BigDecimal.ZERO);
         BigDecimal cfi = sectionNet.getOrDefault("CFI", BigDecimal.ZERO);
         BigDecimal cff = sectionNet.getOrDefault("CFF", BigDecimal.ZERO);
 
+        BigDecimal bsCash = getBalanceSheetCash(end); // same logic as for opening but up to end
+
+        return buildCashFlow(p, openingCash, cfo, cfi, cff, bsCash);
+    }
+
+    CashFlowReportDTO buildCashFlow(Period p, BigDecimal openingCash, BigDecimal cfo, BigDecimal cfi, BigDecimal cff,
+                                    BigDecimal bsCash) {
         BigDecimal netChange = cfo.add(cfi).add(cff); // CFI/ CFF signs come from query
         BigDecimal endingCash = openingCash.add(netChange);
 
-        BigDecimal bsCash = getBalanceSheetCash(end); // same logic as for opening but up to end
-
         boolean reconciled = endingCash.compareTo(bsCash) == 0;
 
         // build DTO
         CashFlowReportDTO dto = new CashFlowReportDTO();
-        dto.setPeriodId(periodId);
+        dto.setPeriodId(p.getPeriodId());
         dto.setPeriodLabel(p.getLabel());
         dto.setOpeningCash(openingCash);
         dto.setCfo(cfo);
@@ -353,39 +567,39 @@ public class AnalyticsService {
         return dto;
     }
 
+    TrialBalanceReportDTO trialBalanceFromSnapshot(Period p, PeriodReportSnapshot snapshot) {
+        List<TrialBalanceRowDTO> rows = new ArrayList<>();
+        for (TrialBalanceSnapshotRow r : snapshot.getTrialBalanceRows()) {
+            TrialBalanceRowDTO row = new TrialBalanceRowDTO(r.getAccountId(), r.getAccountName(), r.getAccountType(),
+                    r.getTotalDebits(), r.getTotalCredits());
+            row.setDebitBalance(r.getDebitBalance());
+            row.setCreditBalance(r.getCreditBalance());
+            row.setAbnormal(r.isAbnormal());
+            rows.add(row);
+        }
+        return new TrialBalanceReportDTO(p.getLabel(), p.getStatus().name(), rows,
+                snapshot.getTbTotalDebits(), snapshot.getTbTotalCredits(), snapshot.getTbStatus());
+    }
+
     private BigDecimal getOpeningCash(LocalDate start) {
         String sql = """
-                  SELECT COALESCE(SUM(je.debit_amount - je.credit_amount), 0)
-                  FROM journal_entries je
-                  JOIN journal_transactions jt ON je.transaction_id = jt.transaction_id
-                  JOIN accounts a ON je.account_pk = a.account_pk
-                  WHERE jt.transaction_date < ?1
-                    AND a.is_cash_account = TRUE
-                """;
+                  SELECT COALESCE(SUM(x.debits - x.credits), 0)
+                  FROM (%s) x
+                  JOIN accounts a ON x.account_pk = a.account_pk
+                  WHERE a.is_cash_account = TRUE
+                """.formatted(balancesUpTo(false));
         Query q = entityManager.createNativeQuery(sql);
-        q.setParameter(1, java.sql.Date.valueOf(start));
+        q.setParameter("cutoff", java.sql.Date.valueOf(start));
         return toBigDecimal(q.getSingleResult());
     }
 
-    private Map<String, BigDecimal> getCashMovementsBySection(LocalDate start, LocalDate end) {
+    Map<String, BigDecimal> getCashMovementsBySection(LocalDate start, LocalDate end) {
+        // classified once at posting time (journal_cash_flows), so this no longer depends on lines per transaction
         String sql = """
-                  SELECT COALESCE(other.cash_source, 'NONE') AS cash_section,
-                         SUM(
-                           CASE
-                             WHEN cash_line.debit_amount > 0 THEN cash_line.debit_amount
-                             WHEN cash_line.credit_amount > 0 THEN -cash_line.credit_amount
-                             ELSE 0
-                           END
-                         ) AS net_cash
-                  FROM journal_transactions jt
-                  JOIN journal_entries cash_line ON jt.transaction_id = cash_line.transaction_id
-                  JOIN accounts cash_acc ON cash_line.account_pk = cash_acc.account_pk
-                    AND cash_acc.is_cash_account = TRUE
-                  JOIN journal_entries other_line ON other_line.transaction_id = jt.transaction_id
-                    AND other_line.entry_id <> cash_line.entry_id
-                  JOIN accounts other ON other_line.account_pk = other.account_pk
-                  WHERE jt.transaction_date BETWEEN ?1 AND ?2
-                  GROUP BY COALESCE(other.cash_source, 'NONE')
+                  SELECT cf.section, SUM(cf.amount) AS net_cash
+                  FROM journal_cash_flows cf
+                  WHERE cf.transaction_date BETWEEN ?1 AND ?2
+                  GROUP BY cf.section
                 """;
         Query q = entityManager.createNativeQuery(sql);
         q.setParameter(1, java.sql.Date.valueOf(start));
@@ -403,33 +617,36 @@ public class AnalyticsService {
 
     private BigDecimal getBalanceSheetCash(LocalDate asOf) {
         String sql = """
-                  SELECT COALESCE(SUM(je.debit_amount - je.credit_amount), 0)
-                  FROM journal_entries je
-                  JOIN journal_transactions jt ON je.transaction_id = jt.transaction_id
-                  JOIN accounts a ON je.account_pk = a.account_pk
-                  WHERE jt.transaction_date <= ?1
-                    AND a.is_cash_account = TRUE
-                """;
+                  SELECT COALESCE(SUM(x.debits - x.credits), 0)
+                  FROM (%s) x
+                  JOIN accounts a ON x.account_pk = a.account_pk
+                  WHERE a.is_cash_account = TRUE
+                """.formatted(balancesUpTo(true));
         Query q = entityManager.createNativeQuery(sql);
-        q.setParameter(1, java.sql.Date.valueOf(asOf));
+        q.setParameter("cutoff", java.sql.Date.valueOf(asOf));
         return toBigDecimal(q.getSingleResult());
     }
 
     private List<GLRowDTO> fetchEntries(LocalDate fromDate, LocalDate toDate, List<Long> accountPKs) {
-        String sql = "SELECT je.entry_id, jt.transaction_id, jt.transaction_date, je.account_pk, a.account_name, " +
+        String sql = "SELECT je.entry_id, je.transaction_id, je.transaction_date, je.account_pk, a.account_name, " +
                 "je.debit_amount, je.credit_amount, (je.debit_amount - je.credit_amount) AS signed_amount, jt.description " +
                 "FROM journal_entries je JOIN journal_transactions jt ON je.transaction_id = jt.transaction_id " +
                 "JOIN accounts a ON je.account_pk = a.account_pk " +
-                "WHERE jt.transaction_date BETWEEN :fromDate AND :toDate AND a.status = 'ACTIVE' " +
+                "WHERE je.transaction_date BETWEEN :fromDate AND :toDate AND a.status = 'ACTIVE' " +
                 (accountPKs != null ? " AND je.account_pk IN (:accountPKs) " : "") +
-                "ORDER BY je.account_pk, jt.transaction_date, jt.transaction_id, je.entry_id";
+                "ORDER BY je.account_pk, je.transaction_date, je.transaction_id, je.entry_id";
 
         Query q = entityManager.createNativeQuery(sql);
         q.setParameter("fromDate", fromDate);
         q.setParameter("toDate", toDate);
         if (accountPKs != null) q.setParameter("accountPKs", accountPKs);
 
-        List<Object[]> raw = q.getResultList();
+        return mapGLRows(q.getResultList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<GLRowDTO> mapGLRows(List<?> resultList) {
+        List<Object[]> raw = (List<Object[]>) resultList;
         List<GLRowDTO> rows = new ArrayList<>();
         for (Object[] r : raw) {
             GLRowDTO dto = new GLRowDTO();
@@ -447,15 +664,17 @@ public class AnalyticsService {
         return rows;
     }
 
-    private List<OpeningBalanceDTO> fetchOpeningBalances(LocalDate fromDate, List<Long> accountPKs) {
-        String sql = "SELECT je.account_pk, SUM(je.debit_amount - je.credit_amount) AS opening_balance " +
-                "FROM journal_entries je JOIN journal_transactions jt ON je.transaction_id = jt.transaction_id " +
-                "WHERE jt.transaction_date < :fromDate " +
-                (accountPKs != null ? " AND je.account_pk IN (:accountPKs) " : "") +
-                "GROUP BY je.account_pk";
+    /**
+     * Signed (debit - credit) balance of each account before fromDate; accounts without history are omitted.
+     */
+    public List<OpeningBalanceDTO> fetchOpeningBalances(LocalDate fromDate, List<Long> accountPKs) {
+        String sql = "SELECT x.account_pk, SUM(x.debits - x.credits) AS opening_balance " +
+                "FROM (" + balancesUpTo(false) + ") x " +
+                (accountPKs != null ? "WHERE x.account_pk IN (:accountPKs) " : "") +
+                "GROUP BY x.account_pk";
 
         Query q = entityManager.createNativeQuery(sql);
-        q.setParameter("fromDate", fromDate);
+        q.setParameter("cutoff", fromDate);
         if (accountPKs != null) q.setParameter("accountPKs", accountPKs);
         List<Object[]> raw = q.getResultList();
 
@@ -466,32 +685,90 @@ public class AnalyticsService {
         return out;
     }
 
+    /*
+     * Merges live rows with archived rows (both already in GL order), keeping at most limit rows.
+     */
+    private static List<GLRowDTO> mergeGLOrder(List<GLRowDTO> live, Iterator<GLRowDTO> archived, int limit) {
+        if (!archived.hasNext()) return live;
+        List<GLRowDTO> out = new ArrayList<>();
+        int i = 0;
+        GLRowDTO next = archived.next();
+        while (out.size() < limit && (i < live.size() || next != null)) {
+            if (next == null || (i < live.size() && LedgerArchiveService.GL_ORDER.compare(live.get(i), next) < 0)) {
+                out.add(live.get(i++));
+            } else {
+                out.add(next);
+                next = archived.hasNext() ? archived.next() : null;
+            }
+        }
+        return out;
+    }
+
     private List<GLRowDTO> computeRunningBalances(List<OpeningBalanceDTO> openings, List<GLRowDTO> entries) {
         Map<Long, BigDecimal> openingMap = openings.stream()
                 .collect(Collectors.toMap(OpeningBalanceDTO::getAccountPK, OpeningBalanceDTO::getOpeningBalance));
 
-        List<GLRowDTO> out = new ArrayList<>();
-        Long currentAccount = null;
-        BigDecimal running = BigDecimal.ZERO;
+        List<GLRowDTO> out = new ArrayList<>(entries);
+        applyRunningBalances(out, openingMap, -1, 0);
+        return out;
+    }
 
-        for (GLRowDTO row : entries) {
-            if (!row.getAccountPK().equals(currentAccount)) {
-                currentAccount = row.getAccountPK();
-                running = openingMap.getOrDefault(currentAccount, BigDecimal.ZERO);
+    /*
+     * Sets runningBalance on rows in GL order, restarting from the opening balance at every account change.
+     * Rows continuing startAccount (-1 for none) carry on from startCents. The sum is kept in cents and only
+     * the DTO value is built per row; an indexed loop over primitives lets the JIT drop the conversion temporaries.
+     */
+    static void applyRunningBalances(List<GLRowDTO> rows, Map<Long, BigDecimal> openings, long startAccount, long startCents) {
+        long currentAccount = startAccount;
+        long running = startCents;
+        for (int i = 0, n = rows.size(); i < n; i++) {
+            GLRowDTO row = rows.get(i);
+            long account = row.getAccountPK();
+            if (account != currentAccount) {
+                currentAccount = account;
+                BigDecimal opening = openings.get(row.getAccountPK());
+                running = opening == null ? 0 : Money.cents(opening);
             }
             // update running by signed amount (debit - credit)
-            running = running.add(row.getSignedAmount());
-            row.setRunningBalance(running);
-            out.add(row);
+            running = Math.addExact(running, Money.cents(row.getSignedAmount()));
+            row.setRunningBalance(Money.toBigDecimal(running));
         }
-        return out;
+    }
+
+    /**
+     * SQL source of per-account (account_pk, debits, credits) rows covering every posting dated
+     * before the :cutoff parameter (or on it, when inclusive). Periods that end before the cut-off
+     * come from the account_period_balances projection; only the period straddling the cut-off
+     * is summed from raw journal entries, or from the daily totals when that period is archived.
+     */
+    private static String balancesUpTo(boolean inclusive) {
+        String op = inclusive ? "<=" : "<";
+        return """
+                SELECT b.account_pk, b.total_debits AS debits, b.total_credits AS credits
+                FROM account_period_balances b
+                JOIN periods p ON b.period_id = p.period_id
+                WHERE p.end_date %1$s :cutoff
+                UNION ALL
+                SELECT je.account_pk, je.debit_amount, je.credit_amount
+                FROM journal_entries je
+                JOIN periods p ON je.period_id = p.period_id
+                WHERE p.start_date %1$s :cutoff
+                  AND NOT (p.end_date %1$s :cutoff)
+                  AND je.transaction_date %1$s :cutoff
+                UNION ALL
+                SELECT d.account_pk, d.total_debits, d.total_credits
+                FROM archived_account_days d
+                JOIN periods p ON d.period_id = p.period_id
+                WHERE p.start_date %1$s :cutoff
+                  AND NOT (p.end_date %1$s :cutoff)
+                  AND d.transaction_date %1$s :cutoff
+                """.formatted(op);
     }
 
     private BigDecimal toBigDecimal(Object val) {
         if (val == null) return BigDecimal.ZERO;
         if (val instanceof BigDecimal) return (BigDecimal) val;
-        if (val instanceof Number) return BigDecimal.valueOf(((Number) val).doubleValue());
-        return new BigDecimal(val.toString());
+        return Money.toBigDecimal(Money.cents(val));
     }
 
     private BigDecimal computePct(BigDecimal variance, BigDecimal budget) {
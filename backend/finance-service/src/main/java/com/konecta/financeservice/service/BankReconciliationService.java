@@ -0,0 +1,527 @@
+package com.konecta.financeservice.service;
+
+import com.konecta.financeservice.dto.*;
+import com.konecta.financeservice.entity.BankReconciliationMatch;
+import com.konecta.financeservice.entity.BankStatement;
+import com.konecta.financeservice.entity.BankStatementLine;
+import com.konecta.financeservice.entity.JournalEntry;
+import com.konecta.financeservice.model.Money;
+import com.konecta.financeservice.model.enums.ImportFormat;
+import com.konecta.financeservice.model.enums.MatchRule;
+import com.konecta.financeservice.repository.AccountRepository;
+import com.konecta.financeservice.repository.BankReconciliationMatchRepository;
+import com.konecta.financeservice.repository.BankStatementLineRepository;
+import com.konecta.financeservice.repository.BankStatementRepository;
+import com.konecta.financeservice.repository.JournalEntryRepository;
+import com.konecta.financeservice.service.LedgerIndexService.IndexedAccount;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Reconciles cash accounts against bank statements. Statements are streamed from CSV or CAMT.053
+ * XML into bank_statement_lines; a run loads the unmatched lines and unmatched cash entries of a
+ * date range with two queries, matches them in memory ({@link ReconciliationMatcher}) and writes
+ * the matches with one statement. Whatever stays unmatched on either side is an exception.
+ * <p>
+ * Only live entries take part: runs, exception reports and manual matches refuse dates inside an
+ * archived period, whose entries have left journal_entries. Matches made before archiving are kept.
+ */
+@Service
+public class BankReconciliationService {
+
+    public static final int MAX_DATE_WINDOW_DAYS = 31;
+
+    // PostgreSQL only honours the fetch size (server-side cursor) inside a transaction
+    private static final int FETCH_SIZE = 5000;
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_REFERENCE_LENGTH = 140;
+    private static final int MAX_DESCRIPTION_LENGTH = 500;
+
+    private static final List<String> CSV_COLUMNS = List.of("booking_date", "amount", "reference", "description");
+
+    private final LedgerIndexService ledgerIndex;
+    private final AccountRepository accountRepository;
+    private final BankStatementRepository statementRepository;
+    private final BankStatementLineRepository lineRepository;
+    private final BankReconciliationMatchRepository matchRepository;
+    private final JournalEntryRepository journalEntryRepository;
+    private final LedgerArchiveService archiveService;
+    private final JdbcTemplate cursorTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Autowired
+    public BankReconciliationService(LedgerIndexService ledgerIndex, AccountRepository accountRepository, BankStatementRepository statementRepository,
+                                     BankStatementLineRepository lineRepository, BankReconciliationMatchRepository matchRepository,
+                                     JournalEntryRepository journalEntryRepository, LedgerArchiveService archiveService, DataSource dataSource,
+                                     PlatformTransactionManager transactionManager) {
+        this.ledgerIndex = ledgerIndex;
+        this.accountRepository = accountRepository;
+        this.statementRepository = statementRepository;
+        this.lineRepository = lineRepository;
+        this.matchRepository = matchRepository;
+        this.journalEntryRepository = journalEntryRepository;
+        this.archiveService = archiveService;
+        this.cursorTemplate = new JdbcTemplate(dataSource);
+        this.cursorTemplate.setFetchSize(FETCH_SIZE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    private static final class ImportContext {
+        final IndexedAccount account;
+        final ImportFormat format;
+        final String userId;
+        BankStatement statement;
+        long linesRead;
+        long linesImported;
+        long linesRejected;
+        LocalDate fromDate;
+        LocalDate toDate;
+        final List<Object[]> pending = new ArrayList<>();
+        final List<BulkImportErrorDTO> errors = new ArrayList<>();
+
+        ImportContext(IndexedAccount account, ImportFormat format, String userId) {
+            this.account = account;
+            this.format = format;
+            this.userId = userId;
+        }
+    }
+
+    /**
+     * Imports one statement file. Invalid lines are reported with their line number and skipped;
+     * a file without any valid line creates no statement.
+     */
+    @Transactional(rollbackOn = Exception.class)
+    public BankStatementImportResultDTO importStatement(Long accountPk, InputStream body, ImportFormat format, String userId) throws IOException {
+        ImportContext ctx = new ImportContext(requireCashAccount(accountPk), format, userId);
+        if (format == ImportFormat.CAMT) {
+            readCamt(body, ctx);
+        } else {
+            readCsv(new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)), ctx);
+        }
+        flush(ctx);
+
+        if (ctx.statement != null) {
+            ctx.statement.setLineCount(ctx.linesImported);
+            ctx.statement.setFromDate(ctx.fromDate);
+            ctx.statement.setToDate(ctx.toDate);
+            statementRepository.save(ctx.statement);
+        }
+        return new BankStatementImportResultDTO(ctx.statement == null ? null : ctx.statement.getStatementId(),
+                ctx.linesRead, ctx.linesImported, ctx.linesRejected, ctx.errors, ctx.linesRejected > ctx.errors.size());
+    }
+
+    /*
+     * One line per row, amount signed (deposits positive). The header row is required and may list
+     * the columns in any order; reference and description are optional.
+     */
+    private void readCsv(BufferedReader reader, ImportContext ctx) throws IOException {
+        String header = reader.readLine();
+        if (header == null) return;
+        ctx.linesRead++;
+
+        List<String> names = JournalBulkImportService.parseCsvLine(header.replace("\uFEFF", ""));
+        int[] idx = new int[CSV_COLUMNS.size()];
+        for (int i = 0; i < idx.length; i++) {
+            idx[i] = names.indexOf(CSV_COLUMNS.get(i));
+            if (idx[i] < 0 && i < 2) {
+                throw new IllegalArgumentException("CSV header is missing column '" + CSV_COLUMNS.get(i) + "'");
+            }
+        }
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            long lineNumber = ++ctx.linesRead;
+            if (line.isBlank()) continue;
+
+            List<String> cols = JournalBulkImportService.parseCsvLine(line);
+            LocalDate date;
+            BigDecimal amount;
+            try {
+                date = LocalDate.parse(Objects.requireNonNull(JournalBulkImportService.column(cols, idx[0])));
+            } catch (DateTimeParseException | NullPointerException e) {
+                reject(ctx, lineNumber, "invalid booking_date");
+                continue;
+            }
+            try {
+                amount = new BigDecimal(Objects.requireNonNull(JournalBulkImportService.column(cols, idx[1])));
+            } catch (NumberFormatException | NullPointerException e) {
+                reject(ctx, lineNumber, "invalid amount");
+                continue;
+            }
+            accept(ctx, lineNumber, date, amount,
+                    idx[2] < 0 ? null : JournalBulkImportService.column(cols, idx[2]),
+                    idx[3] < 0 ? null : JournalBulkImportService.column(cols, idx[3]));
+        }
+    }
+
+    /*
+     * Streams the Ntry elements of a camt.053 (or camt.052/054) document; namespaces and versions
+     * are ignored. Line numbers are those of the Ntry start tags.
+     */
+    private void readCamt(InputStream body, ImportContext ctx) {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        try {
+            XMLStreamReader r = factory.createXMLStreamReader(body);
+            Deque<String> path = new ArrayDeque<>();
+            long entryLine = 0;
+            String amount = null, indicator = null, date = null, endToEndId = null, entryRef = null, servicerRef = null,
+                    remittance = null, info = null;
+
+            while (r.hasNext()) {
+                int event = r.next();
+                if (event == XMLStreamConstants.END_ELEMENT) {
+                    String name = path.pop();
+                    if (name.equals("Ntry")) {
+                        ctx.linesRead++;
+                        acceptCamt(ctx, entryLine, amount, indicator, date,
+                                endToEndId != null && !endToEndId.equalsIgnoreCase("NOTPROVIDED") ? endToEndId
+                                        : entryRef != null ? entryRef : servicerRef,
+                                remittance != null ? remittance : info);
+                        entryLine = 0;
+                    }
+                    continue;
+                }
+                if (event != XMLStreamConstants.START_ELEMENT) continue;
+
+                String name = r.getLocalName();
+                String parent = path.peek();
+                if (name.equals("Ntry")) {
+                    entryLine = r.getLocation().getLineNumber();
+                    amount = indicator = date = endToEndId = entryRef = servicerRef = remittance = info = null;
+                } else if (entryLine > 0) {
+                    // text-only elements are consumed up to their end tag and never enter the path
+                    if ("Ntry".equals(parent)) {
+                        switch (name) {
+                            case "Amt" -> { amount = r.getElementText().trim(); continue; }
+                            case "CdtDbtInd" -> { indicator = r.getElementText().trim(); continue; }
+                            case "NtryRef" -> { entryRef = r.getElementText().trim(); continue; }
+                            case "AcctSvcrRef" -> { servicerRef = r.getElementText().trim(); continue; }
+                            case "AddtlNtryInf" -> { info = r.getElementText().trim(); continue; }
+                            default -> { }
+                        }
+                    } else if ("BookgDt".equals(parent) && (name.equals("Dt") || name.equals("DtTm"))) {
+                        date = r.getElementText().trim();
+                        continue;
+                    } else if ("Refs".equals(parent) && name.equals("EndToEndId") && endToEndId == null) {
+                        endToEndId = r.getElementText().trim();
+                        continue;
+                    } else if (name.equals("Ustrd") && remittance == null) {
+                        remittance = r.getElementText().trim();
+                        continue;
+                    }
+                }
+                path.push(name);
+            }
+        } catch (XMLStreamException e) {
+            throw new IllegalArgumentException("Malformed CAMT document: " + e.getMessage());
+        }
+    }
+
+    private void acceptCamt(ImportContext ctx, long lineNumber, String amount, String indicator, String date,
+                            String reference, String description) {
+        LocalDate bookingDate;
+        BigDecimal value;
+        try {
+            // DtTm carries a time of day; the date part is enough
+            bookingDate = LocalDate.parse(Objects.requireNonNull(date).substring(0, Math.min(10, date.length())));
+        } catch (DateTimeParseException | NullPointerException e) {
+            reject(ctx, lineNumber, "missing or invalid BookgDt");
+            return;
+        }
+        try {
+            value = new BigDecimal(Objects.requireNonNull(amount));
+        } catch (NumberFormatException | NullPointerException e) {
+            reject(ctx, lineNumber, "missing or invalid Amt");
+            return;
+        }
+        if (!"CRDT".equals(indicator) && !"DBIT".equals(indicator)) {
+            reject(ctx, lineNumber, "CdtDbtInd must be CRDT or DBIT");
+            return;
+        }
+        accept(ctx, lineNumber, bookingDate, "DBIT".equals(indicator) ? value.negate() : value, reference, description);
+    }
+
+    private void accept(ImportContext ctx, long lineNumber, LocalDate date, BigDecimal amount, String reference, String description) {
+        if (amount.signum() == 0) {
+            reject(ctx, lineNumber, "amount must not be zero");
+            return;
+        }
+        if (amount.stripTrailingZeros().scale() > 2) {
+            reject(ctx, lineNumber, "amount has more than two decimals");
+            return;
+        }
+        if (reference != null && reference.length() > MAX_REFERENCE_LENGTH) {
+            reject(ctx, lineNumber, "reference must be at most " + MAX_REFERENCE_LENGTH + " characters");
+            return;
+        }
+        if (description != null && description.length() > MAX_DESCRIPTION_LENGTH) {
+            description = description.substring(0, MAX_DESCRIPTION_LENGTH);
+        }
+
+        if (ctx.statement == null) {
+            BankStatement statement = new BankStatement();
+            statement.setAccount(accountRepository.getReferenceById(ctx.account.accountPK()));
+            statement.setFormat(ctx.format);
+            statement.setImportedByUserId(ctx.userId);
+            statement.setImportedAt(LocalDateTime.now());
+            ctx.statement = statementRepository.save(statement);
+        }
+        if (ctx.fromDate == null || date.isBefore(ctx.fromDate)) ctx.fromDate = date;
+        if (ctx.toDate == null || date.isAfter(ctx.toDate)) ctx.toDate = date;
+
+        ctx.pending.add(new Object[]{ctx.statement.getStatementId(), ctx.account.accountPK(), lineNumber,
+                Date.valueOf(date), amount, reference, description});
+        ctx.linesImported++;
+        if (ctx.pending.size() >= BATCH_SIZE) {
+            flush(ctx);
+        }
+    }
+
+    private void reject(ImportContext ctx, long lineNumber, String message) {
+        ctx.linesRejected++;
+        if (ctx.errors.size() < MAX_REPORTED_ERRORS) {
+            ctx.errors.add(new BulkImportErrorDTO(lineNumber, message));
+        }
+    }
+
+    private void flush(ImportContext ctx) {
+        if (ctx.pending.isEmpty()) return;
+        cursorTemplate.batchUpdate("""
+                INSERT INTO bank_statement_lines (statement_id, account_pk, line_number, booking_date, amount, reference, description)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """, ctx.pending);
+        ctx.pending.clear();
+    }
+
+    /**
+     * Matches the unmatched statement lines booked within the range against the unmatched entries of
+     * the account dated within the range widened by the window on both sides.
+     */
+    @Transactional
+    public ReconciliationRunDTO reconcile(Long accountPk, LocalDate fromDate, LocalDate toDate, int dateWindowDays, String userId) {
+        requireCashAccount(accountPk);
+        if (fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("fromDate must not be after toDate");
+        }
+        if (dateWindowDays < 0 || dateWindowDays > MAX_DATE_WINDOW_DAYS) {
+            throw new IllegalArgumentException("dateWindowDays must be between 0 and " + MAX_DATE_WINDOW_DAYS);
+        }
+        requireLive(fromDate.minusDays(dateWindowDays), toDate.plusDays(dateWindowDays));
+        long started = System.nanoTime();
+
+        // runs on the same account are serialized; their candidates would overlap
+        cursorTemplate.queryForObject("SELECT account_pk FROM accounts WHERE account_pk = ? FOR UPDATE", Long.class, accountPk);
+
+        ReconciliationMatcher matcher = new ReconciliationMatcher(dateWindowDays);
+        cursorTemplate.query("""
+                SELECT l.line_id, l.amount, l.booking_date, l.reference
+                FROM bank_statement_lines l
+                WHERE l.account_pk = ?
+                  AND l.booking_date BETWEEN ? AND ?
+                  AND NOT EXISTS (SELECT 1 FROM bank_reconciliation_matches m WHERE m.line_id = l.line_id)
+                ORDER BY l.amount, l.booking_date, l.line_id
+                """, rs -> {
+            matcher.addLine(rs.getLong(1), Money.cents(rs.getBigDecimal(2)), (int) rs.getDate(3).toLocalDate().toEpochDay(), rs.getString(4));
+        }, accountPk, Date.valueOf(fromDate), Date.valueOf(toDate));
+
+        cursorTemplate.query("""
+                SELECT je.entry_id, je.transaction_id, je.debit_amount - je.credit_amount AS amount, je.transaction_date, jt.description
+                FROM journal_entries je
+                JOIN journal_transactions jt ON jt.transaction_id = je.transaction_id
+                WHERE je.account_pk = ?
+                  AND je.transaction_date BETWEEN ? AND ?
+                  AND je.debit_amount <> je.credit_amount
+                  AND NOT EXISTS (SELECT 1 FROM bank_reconciliation_matches m WHERE m.entry_id = je.entry_id)
+                ORDER BY amount, je.transaction_date, je.entry_id
+                """, rs -> {
+            matcher.addEntry(rs.getLong(1), rs.getLong(2), Money.cents(rs.getBigDecimal(3)),
+                    (int) rs.getDate(4).toLocalDate().toEpochDay(), rs.getString(5));
+        }, accountPk, Date.valueOf(fromDate.minusDays(dateWindowDays)), Date.valueOf(toDate.plusDays(dateWindowDays)));
+
+        matcher.match();
+
+        int matched = 0;
+        for (int l = 0; l < matcher.lineCount(); l++) {
+            if (matcher.matchOf(l) >= 0) matched++;
+        }
+        Long[] lineIds = new Long[matched], entryIds = new Long[matched], transactionIds = new Long[matched];
+        String[] rules = new String[matched];
+        long byReference = 0;
+        for (int l = 0, k = 0; l < matcher.lineCount(); l++) {
+            int e = matcher.matchOf(l);
+            if (e < 0) continue;
+            MatchRule rule = matcher.ruleOf(l);
+            if (rule == MatchRule.REFERENCE) byReference++;
+            lineIds[k] = matcher.lineId(l);
+            entryIds[k] = matcher.entryId(e);
+            transactionIds[k] = matcher.entryTransactionId(e);
+            rules[k++] = rule.name();
+        }
+        if (matched > 0) {
+            // one statement with array parameters; a JDBC batch costs a round trip per few hundred rows
+            java.sql.Timestamp now = java.sql.Timestamp.valueOf(LocalDateTime.now());
+            cursorTemplate.update("""
+                    INSERT INTO bank_reconciliation_matches (line_id, entry_id, transaction_id, match_rule, matched_by_user_id, matched_at)
+                    SELECT t.line_id, t.entry_id, t.transaction_id, t.match_rule, ?, ?
+                    FROM unnest(?::bigint[], ?::bigint[], ?::bigint[], ?::varchar[]) AS t(line_id, entry_id, transaction_id, match_rule)
+                    """, ps -> {
+                ps.setString(1, userId);
+                ps.setTimestamp(2, now);
+                ps.setArray(3, ps.getConnection().createArrayOf("bigint", lineIds));
+                ps.setArray(4, ps.getConnection().createArrayOf("bigint", entryIds));
+                ps.setArray(5, ps.getConnection().createArrayOf("bigint", transactionIds));
+                ps.setArray(6, ps.getConnection().createArrayOf("varchar", rules));
+            });
+        }
+
+        return new ReconciliationRunDTO(accountPk, fromDate, toDate, dateWindowDays, matcher.lineCount(), matcher.entryCount(),
+                byReference, matched - byReference, matcher.lineCount() - matched, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Unmatched statement lines and cash entries dated within the range, oldest first.
+     */
+    public ReconciliationExceptionsDTO getExceptions(Long accountPk, LocalDate fromDate, LocalDate toDate, int limit) {
+        requireCashAccount(accountPk);
+        if (fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("fromDate must not be after toDate");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        requireLive(fromDate, toDate);
+
+        return readOnlyTransaction.execute(status -> {
+            ReconciliationExceptionsDTO dto = new ReconciliationExceptionsDTO(accountPk, fromDate, toDate,
+                    0, BigDecimal.ZERO.setScale(2), new ArrayList<>(), 0, BigDecimal.ZERO.setScale(2), new ArrayList<>());
+
+            // totals come from window aggregates over the full result, before the limit applies
+            cursorTemplate.query("""
+                    SELECT l.line_id, l.statement_id, l.booking_date, l.amount, l.reference, l.description,
+                           COUNT(*) OVER () AS total_count, SUM(l.amount) OVER () AS total_amount
+                    FROM bank_statement_lines l
+                    WHERE l.account_pk = ?
+                      AND l.booking_date BETWEEN ? AND ?
+                      AND NOT EXISTS (SELECT 1 FROM bank_reconciliation_matches m WHERE m.line_id = l.line_id)
+                    ORDER BY l.booking_date, l.line_id
+                    LIMIT ?
+                    """, rs -> {
+                dto.setUnmatchedLineCount(rs.getLong(7));
+                dto.setUnmatchedLineTotal(rs.getBigDecimal(8));
+                dto.getUnmatchedLines().add(new BankStatementLineDTO(rs.getLong(1), rs.getLong(2), rs.getDate(3).toLocalDate(),
+                        rs.getBigDecimal(4), rs.getString(5), rs.getString(6)));
+            }, accountPk, Date.valueOf(fromDate), Date.valueOf(toDate), limit);
+
+            cursorTemplate.query("""
+                    SELECT je.entry_id, je.transaction_id, je.transaction_date, je.debit_amount - je.credit_amount, jt.description,
+                           COUNT(*) OVER () AS total_count, SUM(je.debit_amount - je.credit_amount) OVER () AS total_amount
+                    FROM journal_entries je
+                    JOIN journal_transactions jt ON jt.transaction_id = je.transaction_id
+                    WHERE je.account_pk = ?
+                      AND je.transaction_date BETWEEN ? AND ?
+                      AND je.debit_amount <> je.credit_amount
+                      AND NOT EXISTS (SELECT 1 FROM bank_reconciliation_matches m WHERE m.entry_id = je.entry_id)
+                    ORDER BY je.transaction_date, je.entry_id
+                    LIMIT ?
+                    """, rs -> {
+                dto.setUnmatchedEntryCount(rs.getLong(6));
+                dto.setUnmatchedEntryTotal(rs.getBigDecimal(7));
+                dto.getUnmatchedEntries().add(new UnreconciledEntryDTO(rs.getLong(1), rs.getLong(2), rs.getDate(3).toLocalDate(),
+                        rs.getBigDecimal(4), rs.getString(5)));
+            }, accountPk, Date.valueOf(fromDate), Date.valueOf(toDate), limit);
+
+            return dto;
+        });
+    }
+
+    /**
+     * Pairs a line and an entry by hand, whatever their amounts and dates; both must be unmatched
+     * and belong to the same account.
+     */
+    @Transactional
+    public ReconciliationMatchDTO createMatch(CreateReconciliationMatchDTO dto, String userId) {
+        if (dto.getLineId() == null || dto.getEntryId() == null) {
+            throw new IllegalArgumentException("lineId and entryId are required");
+        }
+        BankStatementLine line = lineRepository.findById(dto.getLineId())
+                .orElseThrow(() -> new EntityNotFoundException("Statement line not found with id " + dto.getLineId()));
+        JournalEntry entry = journalEntryRepository.findById(dto.getEntryId())
+                .orElseThrow(() -> new EntityNotFoundException("Journal entry not found with id " + dto.getEntryId()
+                        + "; entries of archived periods cannot be reconciled"));
+        requireLive(line.getBookingDate(), line.getBookingDate());
+        if (!entry.getAccount().getAccountPK().equals(line.getAccountPk())) {
+            throw new IllegalArgumentException("The entry is not on the statement's account");
+        }
+        if (matchRepository.existsByLine_LineId(line.getLineId())) {
+            throw new IllegalStateException("Statement line " + line.getLineId() + " is already matched");
+        }
+        if (matchRepository.existsByEntryId(entry.getEntryId())) {
+            throw new IllegalStateException("Journal entry " + entry.getEntryId() + " is already matched");
+        }
+
+        BankReconciliationMatch match = new BankReconciliationMatch(null, line, entry.getEntryId(),
+                entry.getTransaction().getTransactionId(), MatchRule.MANUAL, userId, LocalDateTime.now());
+        return toDTO(matchRepository.save(match));
+    }
+
+    @Transactional
+    public void deleteMatch(Long matchId) {
+        BankReconciliationMatch match = matchRepository.findById(matchId)
+                .orElseThrow(() -> new EntityNotFoundException("Reconciliation match not found with id " + matchId));
+        matchRepository.delete(match);
+    }
+
+    private IndexedAccount requireCashAccount(Long accountPk) {
+        IndexedAccount account = ledgerIndex.findAccount(accountPk);
+        if (account == null) {
+            throw new EntityNotFoundException("Account not found with id " + accountPk);
+        }
+        if (!account.cashAccount()) {
+            throw new IllegalArgumentException("Only cash accounts can be reconciled against bank statements");
+        }
+        return account;
+    }
+
+    /*
+     * Archived entries are only in the archive files, which this service does not read; a range that
+     * reaches into an archived period would report its entries as missing instead of matched.
+     */
+    private void requireLive(LocalDate fromDate, LocalDate toDate) {
+        if (archiveService.overlaps(fromDate, toDate)) {
+            throw new IllegalArgumentException("The range " + fromDate + " to " + toDate
+                    + " overlaps an archived period; entries of archived periods cannot be reconciled");
+        }
+    }
+
+    private static ReconciliationMatchDTO toDTO(BankReconciliationMatch m) {
+        return new ReconciliationMatchDTO(m.getMatchId(), m.getLine().getLineId(), m.getEntryId(), m.getTransactionId(),
+                m.getRule(), m.getMatchedByUserId(), m.getMatchedAt());
+    }
+}
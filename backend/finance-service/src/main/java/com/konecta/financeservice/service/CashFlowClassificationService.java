@@ -0,0 +1,116 @@
+package com.konecta.financeservice.service;
+
+import com.konecta.financeservice.dto.CreateJournalEntryDTO;
+import com.konecta.financeservice.entity.JournalCashFlow;
+import com.konecta.financeservice.entity.JournalEntry;
+import com.konecta.financeservice.entity.JournalTransaction;
+import com.konecta.financeservice.model.enums.CashSource;
+import com.konecta.financeservice.repository.JournalCashFlowRepository;
+import com.konecta.financeservice.repository.JournalEntryRepository;
+import com.konecta.financeservice.service.LedgerIndexService.IndexedAccount;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Classifies the cash movement of each posted transaction into cash flow sections (journal_cash_flows),
+ * so the cash flow report is a single GROUP BY over that table. A transaction touching a cash account
+ * moves cash by (credit - debit) of each non-cash line, in the cash source section of that line's account.
+ */
+@Service
+public class CashFlowClassificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CashFlowClassificationService.class);
+
+    private final JournalCashFlowRepository cashFlowRepository;
+    private final JournalEntryRepository journalEntryRepository;
+    private final LedgerIndexService ledgerIndex;
+    private final EntityManager entityManager;
+
+    @Autowired
+    public CashFlowClassificationService(JournalCashFlowRepository cashFlowRepository, JournalEntryRepository journalEntryRepository, LedgerIndexService ledgerIndex, EntityManager entityManager) {
+        this.cashFlowRepository = cashFlowRepository;
+        this.journalEntryRepository = journalEntryRepository;
+        this.ledgerIndex = ledgerIndex;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Stores the classification of one posted transaction and returns it. Runs inside the posting transaction.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public Map<CashSource, BigDecimal> recordPosting(JournalTransaction transaction, List<JournalEntry> entries) {
+        Map<CashSource, BigDecimal> sections = classify(entries, e -> e.getAccount().getAccountPK(),
+                JournalEntry::getDebitAmount, JournalEntry::getCreditAmount);
+        if (sections.isEmpty()) return sections;
+
+        List<JournalCashFlow> rows = new ArrayList<>(sections.size());
+        sections.forEach((section, amount) ->
+                rows.add(new JournalCashFlow(null, transaction, transaction.getTransactionDate(), section, amount)));
+        cashFlowRepository.saveAll(rows);
+        return sections;
+    }
+
+    /**
+     * Cash effect per section of a transaction's lines; empty when no line is on a cash account.
+     */
+    public Map<CashSource, BigDecimal> classifyLines(List<CreateJournalEntryDTO> lines) {
+        return classify(lines, CreateJournalEntryDTO::getAccountPK,
+                CreateJournalEntryDTO::getDebitAmount, CreateJournalEntryDTO::getCreditAmount);
+    }
+
+    /**
+     * Re-derives the classification of every transaction on the account, e.g. after its cash source changed.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void reclassifyAccount(Long accountPk) {
+        entityManager.flush(); // the SQL below reads the account's pending changes
+        cashFlowRepository.deleteForAccount(accountPk);
+        cashFlowRepository.insertForAccount(accountPk);
+    }
+
+    /**
+     * Backfills the table once for ledgers that were populated before it existed
+     * (or by the data seeder, which writes entries directly through the repositories).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (cashFlowRepository.count() == 0 && journalEntryRepository.count() > 0) {
+            int rows = cashFlowRepository.rebuildFromJournal();
+            logger.info("Backfilled {} cash flow classifications from the journal", rows);
+        }
+    }
+
+    private <E> Map<CashSource, BigDecimal> classify(List<E> lines, Function<E, Long> accountPk,
+                                                     Function<E, BigDecimal> debit, Function<E, BigDecimal> credit) {
+        Map<CashSource, BigDecimal> sections = new EnumMap<>(CashSource.class);
+        boolean touchesCash = false;
+        for (E line : lines) {
+            IndexedAccount account = ledgerIndex.findAccount(accountPk.apply(line));
+            if (account.cashAccount()) {
+                touchesCash = true;
+                continue;
+            }
+            BigDecimal effect = nullSafe(credit.apply(line)).subtract(nullSafe(debit.apply(line)));
+            sections.merge(account.cashSource(), effect, BigDecimal::add);
+        }
+        return touchesCash ? sections : Map.of();
+    }
+
+    private static BigDecimal nullSafe(BigDecimal v) {
+        return v == null ? BigDecimal.ZERO : v;
+    }
+}
@@ -0,0 +1,272 @@
+package com.konecta.financeservice.service;
+
+import com.konecta.financeservice.dto.*;
+import com.konecta.financeservice.entity.Period;
+import com.konecta.financeservice.entity.PeriodReportSnapshot;
+import com.konecta.financeservice.entity.TrialBalanceSnapshotRow;
+import com.konecta.financeservice.model.Money;
+import com.konecta.financeservice.model.enums.AccountType;
+import com.konecta.financeservice.model.enums.PeriodStatus;
+import com.konecta.financeservice.model.enums.ProfitLossMapping;
+import com.konecta.financeservice.repository.PeriodReportSnapshotRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Income statements and trial balances for several periods side by side. Every column comes from
+ * the same grouped pass over account_period_balances (closed periods with a frozen snapshot are
+ * read from their snapshots in one more query), instead of one report per period.
+ */
+@Service
+public class ComparativeReportService {
+
+    public static final int MAX_PERIODS = 36;
+
+    private final PeriodService periodService;
+    private final PeriodReportSnapshotRepository snapshotRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Autowired
+    public ComparativeReportService(PeriodService periodService, PeriodReportSnapshotRepository snapshotRepository,
+                                    EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.periodService = periodService;
+        this.snapshotRepository = snapshotRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public ComparativeIncomeStatementDTO generateIncomeStatements(List<Long> periodIds, Long fromPeriodId, Long toPeriodId) {
+        return readOnlyTransaction.execute(status -> loadIncomeStatements(periodIds, fromPeriodId, toPeriodId));
+    }
+
+    public ComparativeTrialBalanceDTO generateTrialBalances(List<Long> periodIds, Long fromPeriodId, Long toPeriodId) {
+        return readOnlyTransaction.execute(status -> loadTrialBalances(periodIds, fromPeriodId, toPeriodId));
+    }
+
+    private ComparativeIncomeStatementDTO loadIncomeStatements(List<Long> periodIds, Long fromPeriodId, Long toPeriodId) {
+        List<Period> periods = periodService.resolvePeriods(periodIds, fromPeriodId, toPeriodId, MAX_PERIODS);
+        int n = periods.size();
+        Map<Long, Integer> column = columnIndex(periods);
+
+        // [column][mapping ordinal], each mapping in its natural sign
+        BigDecimal[][] actuals = new BigDecimal[n][ProfitLossMapping.values().length];
+        for (BigDecimal[] col : actuals) Arrays.fill(col, BigDecimal.ZERO);
+
+        Set<Long> fromLedger = new HashSet<>(column.keySet());
+        for (PeriodReportSnapshot ps : snapshots(periods, snapshotRepository::findAllByPeriod_PeriodIdIn)) {
+            BigDecimal[] col = actuals[column.get(ps.getPeriod().getPeriodId())];
+            col[ProfitLossMapping.REVENUE.ordinal()] = ps.getRevenueActual();
+            col[ProfitLossMapping.COGS.ordinal()] = ps.getCogsActual();
+            col[ProfitLossMapping.OPEX.ordinal()] = ps.getOpexActual();
+            col[ProfitLossMapping.OTHER_INCOME.ordinal()] = ps.getOtherIncomeActual();
+            col[ProfitLossMapping.OTHER_EXPENSE.ordinal()] = ps.getOtherExpenseActual();
+            fromLedger.remove(ps.getPeriod().getPeriodId());
+        }
+
+        if (!fromLedger.isEmpty()) {
+            String sql = """
+                    SELECT b.period_id, a.pl_mapping,
+                      SUM(CASE WHEN a.pl_mapping IN ('REVENUE', 'OTHER_INCOME') THEN b.total_credits - b.total_debits
+                               ELSE b.total_debits - b.total_credits END) AS amount
+                    FROM account_period_balances b
+                    JOIN accounts a ON b.account_pk = a.account_pk
+                    WHERE b.period_id IN (:periodIds)
+                      AND a.status = 'ACTIVE'
+                      AND a.pl_mapping <> 'NONE'
+                    GROUP BY b.period_id, a.pl_mapping
+                    """;
+            Query q = entityManager.createNativeQuery(sql);
+            q.setParameter("periodIds", fromLedger);
+
+            @SuppressWarnings("unchecked")
+            List<Object[]> raw = q.getResultList();
+            for (Object[] r : raw) {
+                int c = column.get(((Number) r[0]).longValue());
+                actuals[c][ProfitLossMapping.valueOf((String) r[1]).ordinal()] = toBigDecimal(r[2]);
+            }
+        }
+
+        BigDecimal[] revenue = new BigDecimal[n], cogs = new BigDecimal[n], grossProfit = new BigDecimal[n],
+                opex = new BigDecimal[n], ebit = new BigDecimal[n], otherIncome = new BigDecimal[n],
+                otherExpense = new BigDecimal[n], netIncome = new BigDecimal[n];
+        for (int c = 0; c < n; c++) {
+            revenue[c] = actuals[c][ProfitLossMapping.REVENUE.ordinal()];
+            cogs[c] = actuals[c][ProfitLossMapping.COGS.ordinal()];
+            opex[c] = actuals[c][ProfitLossMapping.OPEX.ordinal()];
+            otherIncome[c] = actuals[c][ProfitLossMapping.OTHER_INCOME.ordinal()];
+            otherExpense[c] = actuals[c][ProfitLossMapping.OTHER_EXPENSE.ordinal()];
+            grossProfit[c] = revenue[c].subtract(cogs[c]);
+            ebit[c] = grossProfit[c].subtract(opex[c]);
+            netIncome[c] = ebit[c].add(otherIncome[c]).subtract(otherExpense[c]);
+        }
+
+        List<ComparativeLineDTO> lines = new ArrayList<>();
+        lines.add(line("REVENUE", "Revenue", null, false, revenue));
+        lines.add(line("COGS", "Cost of Goods Sold (COGS)", null, false, cogs));
+        lines.add(line("GROSS_PROFIT", "Gross Profit", null, true, grossProfit));
+        lines.add(line("OPEX", "Operating Expenses (OpEx)", null, false, opex));
+        lines.add(line("EBIT", "EBIT", null, true, ebit));
+        lines.add(line("OTHER_INCOME", "Other Income", null, false, otherIncome));
+        lines.add(line("OTHER_EXPENSE", "Other Expense", null, false, otherExpense));
+        lines.add(line("NET_INCOME", "Net Income", null, true, netIncome));
+
+        return new ComparativeIncomeStatementDTO(toColumns(periods), lines);
+    }
+
+    private ComparativeTrialBalanceDTO loadTrialBalances(List<Long> periodIds, Long fromPeriodId, Long toPeriodId) {
+        List<Period> periods = periodService.resolvePeriods(periodIds, fromPeriodId, toPeriodId, MAX_PERIODS);
+        int n = periods.size();
+        Map<Long, Integer> column = columnIndex(periods);
+
+        // accountId -> row; TreeMap keeps the trial balance's account order
+        Map<String, TrialBalanceAccumulator> accounts = new TreeMap<>();
+
+        Set<Long> fromLedger = new HashSet<>(column.keySet());
+        for (PeriodReportSnapshot ps : snapshots(periods, snapshotRepository::findAllWithRowsByPeriod_PeriodIdIn)) {
+            int c = column.get(ps.getPeriod().getPeriodId());
+            for (TrialBalanceSnapshotRow r : ps.getTrialBalanceRows()) {
+                accounts.computeIfAbsent(r.getAccountId(), id -> new TrialBalanceAccumulator(n))
+                        .add(c, r.getAccountName(), r.getAccountType(), r.getTotalDebits(), r.getTotalCredits());
+            }
+            fromLedger.remove(ps.getPeriod().getPeriodId());
+        }
+
+        if (!fromLedger.isEmpty()) {
+            String sql = """
+                    SELECT b.period_id, a.account_id, a.account_name, a.account_type,
+                      SUM(b.total_debits) AS total_debits, SUM(b.total_credits) AS total_credits
+                    FROM account_period_balances b
+                    JOIN accounts a ON b.account_pk = a.account_pk
+                    WHERE b.period_id IN (:periodIds)
+                      AND a.status = 'ACTIVE'
+                    GROUP BY b.period_id, a.account_id, a.account_name, a.account_type
+                    """;
+            Query q = entityManager.createNativeQuery(sql);
+            q.setParameter("periodIds", fromLedger);
+
+            @SuppressWarnings("unchecked")
+            List<Object[]> raw = q.getResultList();
+            for (Object[] r : raw) {
+                int c = column.get(((Number) r[0]).longValue());
+                accounts.computeIfAbsent((String) r[1], id -> new TrialBalanceAccumulator(n))
+                        .add(c, (String) r[2], AccountType.valueOf((String) r[3]), toBigDecimal(r[4]), toBigDecimal(r[5]));
+            }
+        }
+
+        List<ComparativeLineDTO> lines = new ArrayList<>();
+        BigDecimal[] totalDebits = new BigDecimal[n];
+        BigDecimal[] totalCredits = new BigDecimal[n];
+        Arrays.fill(totalDebits, BigDecimal.ZERO);
+        Arrays.fill(totalCredits, BigDecimal.ZERO);
+
+        for (Map.Entry<String, TrialBalanceAccumulator> e : accounts.entrySet()) {
+            TrialBalanceAccumulator acc = e.getValue();
+            boolean debitNormal = !(acc.accountType == AccountType.LIABILITY
+                    || acc.accountType == AccountType.EQUITY
+                    || acc.accountType == AccountType.REVENUE);
+
+            BigDecimal[] balances = new BigDecimal[n];
+            for (int c = 0; c < n; c++) {
+                BigDecimal net = acc.debits[c].subtract(acc.credits[c]);
+                balances[c] = debitNormal ? net : net.negate();
+                // same column placement as the single-period trial balance, abnormal balances included
+                if (net.signum() >= 0) {
+                    totalDebits[c] = totalDebits[c].add(net);
+                } else {
+                    totalCredits[c] = totalCredits[c].add(net.negate());
+                }
+            }
+            lines.add(line(e.getKey(), acc.accountName, acc.accountType, false, balances));
+        }
+
+        List<String> statuses = new ArrayList<>(n);
+        for (int c = 0; c < n; c++) {
+            statuses.add(totalDebits[c].compareTo(totalCredits[c]) == 0 ? "Balanced" : "Unbalanced");
+        }
+
+        return new ComparativeTrialBalanceDTO(toColumns(periods), lines,
+                Arrays.asList(totalDebits), Arrays.asList(totalCredits), statuses);
+    }
+
+    private static Map<Long, Integer> columnIndex(List<Period> periods) {
+        Map<Long, Integer> column = new HashMap<>();
+        for (int i = 0; i < periods.size(); i++) {
+            column.put(periods.get(i).getPeriodId(), i);
+        }
+        return column;
+    }
+
+    // closed periods report from their frozen snapshot, like the single-period reports do
+    private static List<PeriodReportSnapshot> snapshots(List<Period> periods,
+                                                        Function<List<Long>, List<PeriodReportSnapshot>> finder) {
+        List<Long> closed = periods.stream().filter(p -> p.getStatus() == PeriodStatus.CLOSED).map(Period::getPeriodId).toList();
+        return closed.isEmpty() ? List.of() : finder.apply(closed);
+    }
+
+    private static List<ComparativePeriodDTO> toColumns(List<Period> periods) {
+        return periods.stream()
+                .map(p -> new ComparativePeriodDTO(p.getPeriodId(), p.getLabel(), p.getStartDate(), p.getEndDate(), p.getStatus().name()))
+                .toList();
+    }
+
+    private static ComparativeLineDTO line(String code, String label, AccountType accountType, boolean subtotal, BigDecimal[] values) {
+        List<BigDecimal> changes = new ArrayList<>(values.length);
+        List<BigDecimal> changePcts = new ArrayList<>(values.length);
+        for (int i = 0; i < values.length; i++) {
+            if (i == 0) {
+                changes.add(null);
+                changePcts.add(null);
+                continue;
+            }
+            BigDecimal previous = values[i - 1];
+            BigDecimal change = values[i].subtract(previous);
+            changes.add(change);
+            changePcts.add(previous.signum() == 0 ? null
+                    : change.divide(previous.abs(), 6, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100)));
+        }
+        return new ComparativeLineDTO(code, label, accountType, subtotal, Arrays.asList(values), changes, changePcts);
+    }
+
+    private static BigDecimal toBigDecimal(Object val) {
+        if (val == null) return BigDecimal.ZERO;
+        if (val instanceof BigDecimal) return (BigDecimal) val;
+        return Money.toBigDecimal(Money.cents(val));
+    }
+
+    private static final class TrialBalanceAccumulator {
+        final BigDecimal[] debits;
+        final BigDecimal[] credits;
+        String accountName;
+        AccountType accountType;
+        int namedFrom = -1;
+
+        TrialBalanceAccumulator(int columns) {
+            debits = new BigDecimal[columns];
+            credits = new BigDecimal[columns];
+            Arrays.fill(debits, BigDecimal.ZERO);
+            Arrays.fill(credits, BigDecimal.ZERO);
+        }
+
+        // columns arrive in any order; the latest period's name and type win
+        void add(int column, String name, AccountType type, BigDecimal totalDebits, BigDecimal totalCredits) {
+            debits[column] = debits[column].add(totalDebits);
+            credits[column] = credits[column].add(totalCredits);
+            if (column > namedFrom) {
+                namedFrom = column;
+                accountName = name;
+                accountType = type;
+            }
+        }
+    }
+}
@@ -9,53 +9,31 @@ import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 @Service
 public class ExcelExportService {
 
     private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
+    private static final String[] GL_COLUMNS = {"Account ID", "Account Name", "Tx Date", "Tx ID", "Entry ID",
+            "Description", "Debit", "Credit", "Running Balance"};
+    private static final int[] GL_COLUMN_WIDTHS = {12, 30, 12, 10, 10, 45, 16, 16, 18};
+
+    // leave room below the xlsx limit of 1,048,576 rows for the header block
+    private static final int MAX_GL_ROWS_PER_SHEET = 1_048_000;
+
     public byte[] exportTrialBalance(TrialBalanceReportDTO report) throws IOException {
         try (Workbook workbook = new XSSFWorkbook()) {
             Sheet sheet = workbook.createSheet("Trial Balance");
-
-            int rowIdx = 0;
-
-            // Header
-            Row header = sheet.createRow(rowIdx++);
-            header.createCell(0).setCellValue("Account ID");
-            header.createCell(1).setCellValue("Account Name");
-            header.createCell(2).setCellValue("Type");
-            header.createCell(3).setCellValue("Debit");
-            header.createCell(4).setCellValue("Credit");
-            header.createCell(5).setCellValue("Abnormal?");
-
-            // Rows
-            for (TrialBalanceRowDTO row : report.getRows()) {
-                Row r = sheet.createRow(rowIdx++);
-                r.createCell(0).setCellValue(row.getAccountId());
-                r.createCell(1).setCellValue(row.getAccountName());
-                r.createCell(2).setCellValue(row.getAccountType().toString());
-                r.createCell(3).setCellValue(
-                        row.getDebitBalance() != null ? row.getDebitBalance().doubleValue() : 0);
-                r.createCell(4).setCellValue(
-                        row.getCreditBalance() != null ? row.getCreditBalance().doubleValue() : 0);
-                r.createCell(5).setCellValue(row.isAbnormal() ? "Yes" : "No");
-            }
-
-            // Totals
-            Row totals = sheet.createRow(rowIdx + 1);
-            totals.createCell(2).setCellValue("TOTALS");
-            totals.createCell(3).setCellValue(report.getTotalDebits().doubleValue());
-            totals.createCell(4).setCellValue(report.getTotalCredits().doubleValue());
-
-            // Auto-size columns
-            for (int i = 0; i <= 5; i++) sheet.autoSizeColumn(i);
+            writeTrialBalanceSheet(sheet, report);
 
             ByteArrayOutputStream out = new ByteArrayOutputStream();
             workbook.write(out);
@@ -63,6 +41,41 @@ public class ExcelExportService {
         }
     }
 
+    private void writeTrialBalanceSheet(Sheet sheet, TrialBalanceReportDTO report) {
+        int rowIdx = 0;
+
+        // Header
+        Row header = sheet.createRow(rowIdx++);
+        header.createCell(0).setCellValue("Account ID");
+        header.createCell(1).setCellValue("Account Name");
+        header.createCell(2).setCellValue("Type");
+        header.createCell(3).setCellValue("Debit");
+        header.createCell(4).setCellValue("Credit");
+        header.createCell(5).setCellValue("Abnormal?");
+
+        // Rows
+        for (TrialBalanceRowDTO row : report.getRows()) {
+            Row r = sheet.createRow(rowIdx++);
+            r.createCell(0).setCellValue(row.getAccountId());
+            r.createCell(1).setCellValue(row.getAccountName());
+            r.createCell(2).setCellValue(row.getAccountType().toString());
+            r.createCell(3).setCellValue(
+                    row.getDebitBalance() != null ? row.getDebitBalance().doubleValue() : 0);
+            r.createCell(4).setCellValue(
+                    row.getCreditBalance() != null ? row.getCreditBalance().doubleValue() : 0);
+            r.createCell(5).setCellValue(row.isAbnormal() ? "Yes" : "No");
+        }
+
+        // Totals
+        Row totals = sheet.createRow(rowIdx + 1);
+        totals.createCell(2).setCellValue("TOTALS");
+        totals.createCell(3).setCellValue(report.getTotalDebits().doubleValue());
+        totals.createCell(4).setCellValue(report.getTotalCredits().doubleValue());
+
+        // Auto-size columns
+        for (int i = 0; i <= 5; i++) sheet.autoSizeColumn(i);
+    }
+
     public byte[] exportGl(GLResponseDTO response) throws IOException {
         try (SXSSFWorkbook wb = new SXSSFWorkbook(null, 100, true, true)) {
             SXSSFSheet sheet = wb.createSheet("General Ledger");
@@ -86,73 +99,19 @@ public class ExcelExportService {
             abnormalStyle.setFillForegroundColor(IndexedColors.ROSE.getIndex());
             abnormalStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
 
-            int rowIdx = 0;
-
-            // Header info (filters)
-            Row meta = sheet.createRow(rowIdx++);
-            meta.createCell(0).setCellValue("GL Report");
-            meta.getCell(0).setCellStyle(headerStyle);
-
-            Row filter = sheet.createRow(rowIdx++);
-            filter.createCell(0).setCellValue("From:");
-            filter.createCell(1).setCellValue(response.getFromDate().format(DATE_FMT));
-            filter.createCell(3).setCellValue("To:");
-            filter.createCell(4).setCellValue(response.getToDate().format(DATE_FMT));
-            if (response.getFilteredAccounts() != null && !response.getFilteredAccounts().isEmpty()) {
-                Row accRow = sheet.createRow(rowIdx++);
-                accRow.createCell(0).setCellValue("Accounts:");
-                accRow.createCell(1).setCellValue(String.join(", ", response.getFilteredAccounts()));
-            } else {
-                rowIdx++;
-            }
-            rowIdx++; // blank row
-
-            // Column headers — create at the current rowIdx (not at 0)
-            String[] cols = {"Account ID", "Account Name", "Tx Date", "Tx ID", "Entry ID",
-                    "Description", "Debit", "Credit", "Running Balance"};
-            Row headerRow = sheet.createRow(rowIdx++);
-            for (int i = 0; i < cols.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(cols[i]);
-                cell.setCellStyle(headerStyle);
-            }
+            int rowIdx = writeGlHeader(sheet, headerStyle, response.getFromDate(), response.getToDate(), response.getFilteredAccounts());
 
             // Data rows
             List<GLRowDTO> rows = response.getEntries();
             for (GLRowDTO r : rows) {
-                Row row = sheet.createRow(rowIdx++);
-                int c = 0;
-                row.createCell(c++).setCellValue(r.getAccountPK());
-                row.createCell(c++).setCellValue(r.getAccountName());
-                row.createCell(c++).setCellValue(r.getTransactionDate().toString());
-                row.createCell(c++).setCellValue(r.getTransactionId() != null ? r.getTransactionId() : 0);
-                row.createCell(c++).setCellValue(r.getEntryId() != null ? r.getEntryId() : 0);
-                row.createCell(c++).setCellValue(r.getDescription() != null ? r.getDescription() : "");
-
-                // Debit
-                Cell debitCell = row.createCell(c++);
-                BigDecimal debit = r.getDebitAmount() != null ? r.getDebitAmount() : BigDecimal.ZERO;
-                debitCell.setCellValue(debit.doubleValue());
-                debitCell.setCellStyle(currencyStyle);
-
-                // Credit
-                Cell creditCell = row.createCell(c++);
-                BigDecimal credit = r.getCreditAmount() != null ? r.getCreditAmount() : BigDecimal.ZERO;
-                creditCell.setCellValue(credit.doubleValue());
-                creditCell.setCellStyle(currencyStyle);
-
-                // Running balance
-                Cell runningCell = row.createCell(c++);
-                BigDecimal running = r.getRunningBalance() != null ? r.getRunningBalance() : BigDecimal.ZERO;
-                runningCell.setCellValue(running.doubleValue());
-                runningCell.setCellStyle(currencyStyle);
+                writeGlRow(sheet.createRow(rowIdx++), r, currencyStyle);
 
                 // Optionally set abnormal style if you have that flag
                 // if (r.isAbnormal()) { debitCell.setCellStyle(abnormalStyle); ... }
             }
 
             // Autosize columns (wrap in try to be defensive)
-            for (int i = 0; i < cols.length; i++) {
+            for (int i = 0; i < GL_COLUMNS.length; i++) {
                 try {
                     sheet.autoSizeColumn(i);
                 } catch (IllegalStateException ex) {
@@ -169,86 +128,120 @@ public class ExcelExportService {
         }
     }
 
-    public byte[] exportIncomeStatement(IncomeStatementDTO dto) throws IOException {
-        // Use SXSSF as in your example
-        try (SXSSFWorkbook wb = new SXSSFWorkbook(null, 100, true, true)) {
-            SXSSFSheet sheet = wb.createSheet("Income Statement");
-
-            // IMPORTANT: enable tracking for autosizing
-            sheet.trackAllColumnsForAutoSizing();
-
-            // --- Define Styles ---
-            Map<String, CellStyle> styles = createExcelStyles(wb);
+    /**
+     * Streaming variant of {@link #exportGl}: rows are pulled from {@code source} and flushed to
+     * temp files by SXSSF as they arrive, and the finished workbook goes straight to {@code out}.
+     * Columns have fixed widths because auto-sizing needs every row. Ledgers longer than one
+     * sheet continue on "General Ledger (2)", "(3)", ...
+     */
+    public void exportGlStreaming(LocalDate fromDate, LocalDate toDate, List<String> filteredAccounts,
+                                  Consumer<GLRowHandler> source, OutputStream out) throws IOException {
+        SXSSFWorkbook wb = new SXSSFWorkbook(null, 100, true, true);
+        try {
+            CellStyle headerStyle = wb.createCellStyle();
+            Font bold = wb.createFont();
+            bold.setBold(true);
+            headerStyle.setFont(bold);
 
-            int rowIdx = 0;
-
-            // Header info (Period)
-            Row titleRow = sheet.createRow(rowIdx++);
-            Cell titleCell = titleRow.createCell(0);
-            titleCell.setCellValue("Income Statement (Profit & Loss)");
-            titleCell.setCellStyle(styles.get("title"));
-
-            Row periodRow = sheet.createRow(rowIdx++);
-            periodRow.createCell(0).setCellValue("Period:");
-            periodRow.createCell(1).setCellValue(dto.getPeriodLabel());
-            periodRow.createCell(3).setCellValue("From:");
-            periodRow.createCell(4).setCellValue(dto.getStartDate().format(DATE_FMT));
-            periodRow.createCell(6).setCellValue("To:");
-            periodRow.createCell(7).setCellValue(dto.getEndDate().format(DATE_FMT));
-
-            rowIdx += 2; // Blank rows
-
-            // Column headers
-            String[] cols = {"Line Item", "Actual", "Budget", "Variance", "Variance %"};
-            Row headerRow = sheet.createRow(rowIdx++);
-            for (int i = 0; i < cols.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(cols[i]);
-                cell.setCellStyle(styles.get("header"));
-            }
+            CellStyle currencyStyle = wb.createCellStyle();
+            currencyStyle.setDataFormat(wb.createDataFormat().getFormat("#,##0.00"));
 
-            // --- Data Rows ---
-            rowIdx = addExcelRow(sheet, rowIdx, "Revenue", dto.getRevenueActual(), dto.getRevenueBudget(),
-                    dto.getRevenueVariance(), dto.getRevenueVariancePct(), styles, "data");
+            SXSSFSheet[] sheet = {newGlSheet(wb, "General Ledger")};
+            int[] rowIdx = {writeGlHeader(sheet[0], headerStyle, fromDate, toDate, filteredAccounts)};
+            int[] sheetNo = {1};
 
-            rowIdx = addExcelRow(sheet, rowIdx, "Cost of Goods Sold (COGS)", dto.getCogsActual(), dto.getCogsBudget(),
-                    dto.getCogsVariance(), null, styles, "data");
+            source.accept(r -> {
+                if (rowIdx[0] >= MAX_GL_ROWS_PER_SHEET) {
+                    sheet[0] = newGlSheet(wb, "General Ledger (" + (++sheetNo[0]) + ")");
+                    rowIdx[0] = writeGlColumnHeaders(sheet[0], headerStyle, 0);
+                }
+                writeGlRow(sheet[0].createRow(rowIdx[0]++), r, currencyStyle);
+            });
 
-            // Gross Profit (Bold)
-            rowIdx++; // Spacer
-            rowIdx = addExcelRow(sheet, rowIdx, "Gross Profit", dto.getGrossProfitActual(), dto.getGrossProfitBudget(),
-                    dto.getGrossProfitVariance(), dto.getGrossProfitVariancePct(), styles, "bold");
-            rowIdx++; // Spacer
+            wb.write(out);
+        } finally {
+            // dispose of temporary files
+            wb.dispose();
+            wb.close();
+        }
+    }
 
-            // OpEx
-            rowIdx = addExcelRow(sheet, rowIdx, "Operating Expenses (OpEx)", dto.getOpexActual(), dto.getOpexBudget(),
-                    null, null, styles, "data");
+    private SXSSFSheet newGlSheet(SXSSFWorkbook wb, String name) {
+        SXSSFSheet sheet = wb.createSheet(name);
+        for (int i = 0; i < GL_COLUMN_WIDTHS.length; i++) {
+            sheet.setColumnWidth(i, GL_COLUMN_WIDTHS[i] * 256);
+        }
+        return sheet;
+    }
 
-            // EBIT (Bold)
-            rowIdx = addExcelRow(sheet, rowIdx, "EBIT", dto.getEbitActual(), dto.getEbitBudget(),
-                    dto.getEbitVariance(), dto.getEbitVariancePct(), styles, "bold");
-            rowIdx++; // Spacer
+    private int writeGlHeader(Sheet sheet, CellStyle headerStyle, LocalDate fromDate, LocalDate toDate, List<String> filteredAccounts) {
+        int rowIdx = 0;
+
+        // Header info (filters)
+        Row meta = sheet.createRow(rowIdx++);
+        meta.createCell(0).setCellValue("GL Report");
+        meta.getCell(0).setCellStyle(headerStyle);
+
+        Row filter = sheet.createRow(rowIdx++);
+        filter.createCell(0).setCellValue("From:");
+        filter.createCell(1).setCellValue(fromDate.format(DATE_FMT));
+        filter.createCell(3).setCellValue("To:");
+        filter.createCell(4).setCellValue(toDate.format(DATE_FMT));
+        if (filteredAccounts != null && !filteredAccounts.isEmpty()) {
+            Row accRow = sheet.createRow(rowIdx++);
+            accRow.createCell(0).setCellValue("Accounts:");
+            accRow.createCell(1).setCellValue(String.join(", ", filteredAccounts));
+        } else {
+            rowIdx++;
+        }
+        rowIdx++; // blank row
 
-            // Other Income/Expense
-            rowIdx = addExcelRow(sheet, rowIdx, "Other Income", dto.getOtherIncomeActual(), dto.getOtherIncomeBudget(),
-                    null, null, styles, "data");
-            rowIdx = addExcelRow(sheet, rowIdx, "Other Expense", dto.getOtherExpenseActual(), dto.getOtherExpenseBudget(),
-                    null, null, styles, "data");
-            rowIdx++; // Spacer
+        return writeGlColumnHeaders(sheet, headerStyle, rowIdx);
+    }
 
-            // Net Income (Bold)
-            rowIdx = addExcelRow(sheet, rowIdx, "Net Income", dto.getNetIncomeActual(), dto.getNetIncomeBudget(),
-                    dto.getNetIncomeVariance(), dto.getNetIncomeVariancePct(), styles, "bold");
+    private int writeGlColumnHeaders(Sheet sheet, CellStyle headerStyle, int rowIdx) {
+        Row headerRow = sheet.createRow(rowIdx++);
+        for (int i = 0; i < GL_COLUMNS.length; i++) {
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(GL_COLUMNS[i]);
+            cell.setCellStyle(headerStyle);
+        }
+        return rowIdx;
+    }
 
+    private void writeGlRow(Row row, GLRowDTO r, CellStyle currencyStyle) {
+        int c = 0;
+        row.createCell(c++).setCellValue(r.getAccountPK());
+        row.createCell(c++).setCellValue(r.getAccountName());
+        row.createCell(c++).setCellValue(r.getTransactionDate().toString());
+        row.createCell(c++).setCellValue(r.getTransactionId() != null ? r.getTransactionId() : 0);
+        row.createCell(c++).setCellValue(r.getEntryId() != null ? r.getEntryId() : 0);
+        row.createCell(c++).setCellValue(r.getDescription() != null ? r.getDescription() : "");
+
+        // Debit
+        Cell debitCell = row.createCell(c++);
+        BigDecimal debit = r.getDebitAmount() != null ? r.getDebitAmount() : BigDecimal.ZERO;
+        debitCell.setCellValue(debit.doubleValue());
+        debitCell.setCellStyle(currencyStyle);
+
+        // Credit
+        Cell creditCell = row.createCell(c++);
+        BigDecimal credit = r.getCreditAmount() != null ? r.getCreditAmount() : BigDecimal.ZERO;
+        creditCell.setCellValue(credit.doubleValue());
+        creditCell.setCellStyle(currencyStyle);
+
+        // Running balance
+        Cell runningCell = row.createCell(c++);
+        BigDecimal running = r.getRunningBalance() != null ? r.getRunningBalance() : BigDecimal.ZERO;
+        runningCell.setCellValue(running.doubleValue());
+        runningCell.setCellStyle(currencyStyle);
+    }
 
-            // Autosize columns
-            for (int i = 0; i < cols.length; i++) {
-                try {
-                    sheet.autoSizeColumn(i);
-                } catch (Exception e) {
-                    sheet.setColumnWidth(i, 20 * 256); // Fallback
-                }
-            }
+    public byte[] exportIncomeStatement(IncomeStatementDTO dto) throws IOException {
+        // Use SXSSF as in your example
+        try (SXSSFWorkbook wb = new SXSSFWorkbook(null, 100, true, true)) {
+            SXSSFSheet sheet = wb.createSheet("Income Statement");
+            writeIncomeStatementSheet(sheet, dto);
 
             ByteArrayOutputStream out = new ByteArrayOutputStream();
             wb.write(out);
@@ -257,372 +250,477 @@ public class ExcelExportService {
         }
     }
 
+    private void writeIncomeStatementSheet(SXSSFSheet sheet, IncomeStatementDTO dto) {
+        Workbook wb = sheet.getWorkbook();
+        // IMPORTANT: enable tracking for autosizing
+        sheet.trackAllColumnsForAutoSizing();
+
+        // --- Define Styles ---
+        Map<String, CellStyle> styles = createExcelStyles(wb);
+
+        int rowIdx = 0;
+
+        // Header info (Period)
+        Row titleRow = sheet.createRow(rowIdx++);
+        Cell titleCell = titleRow.createCell(0);
+        titleCell.setCellValue("Income Statement (Profit & Loss)");
+        titleCell.setCellStyle(styles.get("title"));
+
+        Row periodRow = sheet.createRow(rowIdx++);
+        periodRow.createCell(0).setCellValue("Period:");
+        periodRow.createCell(1).setCellValue(dto.getPeriodLabel());
+        periodRow.createCell(3).setCellValue("From:");
+        periodRow.createCell(4).setCellValue(dto.getStartDate().format(DATE_FMT));
+        periodRow.createCell(6).setCellValue("To:");
+        periodRow.createCell(7).setCellValue(dto.getEndDate().format(DATE_FMT));
+
+        rowIdx += 2; // Blank rows
+
+        // Column headers
+        String[] cols = {"Line Item", "Actual", "Budget", "Variance", "Variance %"};
+        Row headerRow = sheet.createRow(rowIdx++);
+        for (int i = 0; i < cols.length; i++) {
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(cols[i]);
+            cell.setCellStyle(styles.get("header"));
+        }
+
+        // --- Data Rows ---
+        rowIdx = addExcelRow(sheet, rowIdx, "Revenue", dto.getRevenueActual(), dto.getRevenueBudget(),
+                dto.getRevenueVariance(), dto.getRevenueVariancePct(), styles, "data");
+
+        rowIdx = addExcelRow(sheet, rowIdx, "Cost of Goods Sold (COGS)", dto.getCogsActual(), dto.getCogsBudget(),
+                dto.getCogsVariance(), null, styles, "data");
+
+        // Gross Profit (Bold)
+        rowIdx++; // Spacer
+        rowIdx = addExcelRow(sheet, rowIdx, "Gross Profit", dto.getGrossProfitActual(), dto.getGrossProfitBudget(),
+                dto.getGrossProfitVariance(), dto.getGrossProfitVariancePct(), styles, "bold");
+        rowIdx++; // Spacer
+
+        // OpEx
+        rowIdx = addExcelRow(sheet, rowIdx, "Operating Expenses (OpEx)", dto.getOpexActual(), dto.getOpexBudget(),
+                null, null, styles, "data");
+
+        // EBIT (Bold)
+        rowIdx = addExcelRow(sheet, rowIdx, "EBIT", dto.getEbitActual(), dto.getEbitBudget(),
+                dto.getEbitVariance(), dto.getEbitVariancePct(), styles, "bold");
+        rowIdx++; // Spacer
+
+        // Other Income/Expense
+        rowIdx = addExcelRow(sheet, rowIdx, "Other Income", dto.getOtherIncomeActual(), dto.getOtherIncomeBudget(),
+                null, null, styles, "data");
+        rowIdx = addExcelRow(sheet, rowIdx, "Other Expense", dto.getOtherExpenseActual(), dto.getOtherExpenseBudget(),
+                null, null, styles, "data");
+        rowIdx++; // Spacer
+
+        // Net Income (Bold)
+        rowIdx = addExcelRow(sheet, rowIdx, "Net Income", dto.getNetIncomeActual(), dto.getNetIncomeBudget(),
+                dto.getNetIncomeVariance(), dto.getNetIncomeVariancePct(), styles, "bold");
+
+
+        // Autosize columns
+        for (int i = 0; i < cols.length; i++) {
+            try {
+                sheet.autoSizeColumn(i);
+            } catch (Exception e) {
+                sheet.setColumnWidth(i, 20 * 256); // Fallback
+            }
+        }
+    }
+
     public byte[] exportBalanceSheet(BalanceSheetReportDTO dto) throws IOException {
 
         try (SXSSFWorkbook wb = new SXSSFWorkbook(null, 100, true, true)) {
             SXSSFSheet sheet = wb.createSheet("Balance Sheet");
+            writeBalanceSheet(sheet, dto);
 
-            // IMPORTANT: enable tracking for autosizing
-            sheet.trackAllColumnsForAutoSizing();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            wb.write(out);
+            wb.dispose(); // dispose of temporary files
+            return out.toByteArray();
+        }
+    }
 
-            // --- [INLINED] Define Styles ---
-            Map<String, CellStyle> styles = new HashMap<>();
-            DataFormat df = wb.createDataFormat();
+    private void writeBalanceSheet(SXSSFSheet sheet, BalanceSheetReportDTO dto) {
+        Workbook wb = sheet.getWorkbook();
+        // IMPORTANT: enable tracking for autosizing
+        sheet.trackAllColumnsForAutoSizing();
 
-            Font boldFont = wb.createFont();
-            boldFont.setBold(true);
+        // --- [INLINED] Define Styles ---
+        Map<String, CellStyle> styles = new HashMap<>();
+        DataFormat df = wb.createDataFormat();
 
-            Font titleFont = wb.createFont();
-            titleFont.setBold(true);
-            titleFont.setFontHeightInPoints((short) 14);
+        Font boldFont = wb.createFont();
+        boldFont.setBold(true);
 
-            Font sectionFont = wb.createFont();
-            sectionFont.setBold(true);
-            sectionFont.setColor(IndexedColors.BLUE.getIndex());
+        Font titleFont = wb.createFont();
+        titleFont.setBold(true);
+        titleFont.setFontHeightInPoints((short) 14);
 
-            // Title style
-            CellStyle titleStyle = wb.createCellStyle();
-            titleStyle.setFont(titleFont);
-            styles.put("title", titleStyle);
+        Font sectionFont = wb.createFont();
+        sectionFont.setBold(true);
+        sectionFont.setColor(IndexedColors.BLUE.getIndex());
 
-            // Header style
-            CellStyle headerStyle = wb.createCellStyle();
-            headerStyle.setFont(boldFont);
-            styles.put("header", headerStyle);
-
-            // Section Header style
-            CellStyle sectionHeaderStyle = wb.createCellStyle();
-            sectionHeaderStyle.setFont(sectionFont);
-            styles.put("section_header", sectionHeaderStyle);
-
-            // Data label style (indented)
-            CellStyle dataLabelStyle = wb.createCellStyle();
-            dataLabelStyle.setIndention((short) 1);
-            styles.put("data_label", dataLabelStyle);
-
-            // Total label style (bold)
-            CellStyle totalLabelStyle = wb.createCellStyle();
-            totalLabelStyle.setFont(boldFont);
-            totalLabelStyle.setAlignment(HorizontalAlignment.RIGHT);
-            styles.put("total_label", totalLabelStyle);
-
-            // Currency style
-            CellStyle currencyStyle = wb.createCellStyle();
-            currencyStyle.setDataFormat(df.getFormat("_(* #,##0.00_);_(* (#,##0.00);_(* \"-\"??_);_(@_)"));
-            styles.put("data_currency", currencyStyle);
-
-            // Total currency style (bold)
-            CellStyle totalCurrencyStyle = wb.createCellStyle();
-            totalCurrencyStyle.setFont(boldFont);
-            totalCurrencyStyle.setDataFormat(currencyStyle.getDataFormat());
-            styles.put("total_currency", totalCurrencyStyle);
-
-            // Status - Balanced (Green)
-            Font balancedFont = wb.createFont();
-            balancedFont.setBold(true);
-            balancedFont.setColor(IndexedColors.GREEN.getIndex());
-            CellStyle balancedStyle = wb.createCellStyle();
-            balancedStyle.setFont(balancedFont);
-            styles.put("status_balanced", balancedStyle);
-
-            // Status - Unbalanced (Red)
-            Font unbalancedFont = wb.createFont();
-            unbalancedFont.setBold(true);
-            unbalancedFont.setColor(IndexedColors.RED.getIndex());
-            CellStyle unbalancedStyle = wb.createCellStyle();
-            unbalancedStyle.setFont(unbalancedFont);
-            styles.put("status_unbalanced", unbalancedStyle);
-            // --- End [INLINED] Styles ---
-
-
-            int rowIdx = 0;
-
-            // Header info
-            Row titleRow = sheet.createRow(rowIdx++);
-            Cell titleCell = titleRow.createCell(0);
-            titleCell.setCellValue("Balance Sheet");
-            titleCell.setCellStyle(styles.get("title"));
-
-            Row dateRow = sheet.createRow(rowIdx++);
-            dateRow.createCell(0).setCellValue("As-of Date:");
-            dateRow.createCell(1).setCellValue(dto.getAsOfDate().format(DATE_FMT));
-
-            // Validation Status
-            Row statusRow = sheet.createRow(rowIdx++);
-            statusRow.createCell(0).setCellValue("Validation Status:");
-            Cell statusCell = statusRow.createCell(1);
-            statusCell.setCellValue(dto.getValidationStatus());
-
-            boolean isBalanced = "Balanced".equalsIgnoreCase(dto.getValidationStatus());
-            statusCell.setCellStyle(isBalanced ? styles.get("status_balanced") : styles.get("status_unbalanced"));
-
-            rowIdx += 2; // Blank rows
-
-            // Column headers
-            String[] cols = {"Account ID", "Account Name", "Balance"};
-            Row headerRow = sheet.createRow(rowIdx++);
-            for (int i = 0; i < cols.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(cols[i]);
-                cell.setCellStyle(styles.get("header"));
-            }
+        // Title style
+        CellStyle titleStyle = wb.createCellStyle();
+        titleStyle.setFont(titleFont);
+        styles.put("title", titleStyle);
 
-            // --- [INLINED] Data Rows ---
+        // Header style
+        CellStyle headerStyle = wb.createCellStyle();
+        headerStyle.setFont(boldFont);
+        styles.put("header", headerStyle);
 
-            // === Assets ===
-            // [INLINED] Section Header: Current Assets
-            Row assetCurrentHeader = sheet.createRow(rowIdx++);
-            Cell assetCurrentCell = assetCurrentHeader.createCell(0);
-            assetCurrentCell.setCellValue("Current Assets");
-            assetCurrentCell.setCellStyle(styles.get("section_header"));
+        // Section Header style
+        CellStyle sectionHeaderStyle = wb.createCellStyle();
+        sectionHeaderStyle.setFont(sectionFont);
+        styles.put("section_header", sectionHeaderStyle);
 
-            // [INLINED] Account Rows
-            for (BalanceSheetAccountRowDTO acctRow : dto.getAssetsCurrent()) {
-                Row row = sheet.createRow(rowIdx++);
+        // Data label style (indented)
+        CellStyle dataLabelStyle = wb.createCellStyle();
+        dataLabelStyle.setIndention((short) 1);
+        styles.put("data_label", dataLabelStyle);
 
-                Cell idCell = row.createCell(0);
-                idCell.setCellValue(acctRow.getAccountId());
-                idCell.setCellStyle(styles.get("data_label"));
+        // Total label style (bold)
+        CellStyle totalLabelStyle = wb.createCellStyle();
+        totalLabelStyle.setFont(boldFont);
+        totalLabelStyle.setAlignment(HorizontalAlignment.RIGHT);
+        styles.put("total_label", totalLabelStyle);
 
-                Cell nameCell = row.createCell(1);
-                nameCell.setCellValue(acctRow.getAccountName());
+        // Currency style
+        CellStyle currencyStyle = wb.createCellStyle();
+        currencyStyle.setDataFormat(df.getFormat("_(* #,##0.00_);_(* (#,##0.00);_(* \"-\"??_);_(@_)"));
+        styles.put("data_currency", currencyStyle);
 
-                Cell balanceCell = row.createCell(2);
-                if (acctRow.getSignedBalance() != null) {
-                    balanceCell.setCellValue(acctRow.getSignedBalance().doubleValue());
-                }
-                balanceCell.setCellStyle(styles.get("data_currency"));
-            }
+        // Total currency style (bold)
+        CellStyle totalCurrencyStyle = wb.createCellStyle();
+        totalCurrencyStyle.setFont(boldFont);
+        totalCurrencyStyle.setDataFormat(currencyStyle.getDataFormat());
+        styles.put("total_currency", totalCurrencyStyle);
+
+        // Status - Balanced (Green)
+        Font balancedFont = wb.createFont();
+        balancedFont.setBold(true);
+        balancedFont.setColor(IndexedColors.GREEN.getIndex());
+        CellStyle balancedStyle = wb.createCellStyle();
+        balancedStyle.setFont(balancedFont);
+        styles.put("status_balanced", balancedStyle);
+
+        // Status - Unbalanced (Red)
+        Font unbalancedFont = wb.createFont();
+        unbalancedFont.setBold(true);
+        unbalancedFont.setColor(IndexedColors.RED.getIndex());
+        CellStyle unbalancedStyle = wb.createCellStyle();
+        unbalancedStyle.setFont(unbalancedFont);
+        styles.put("status_unbalanced", unbalancedStyle);
+        // --- End [INLINED] Styles ---
+
+
+        int rowIdx = 0;
+
+        // Header info
+        Row titleRow = sheet.createRow(rowIdx++);
+        Cell titleCell = titleRow.createCell(0);
+        titleCell.setCellValue("Balance Sheet");
+        titleCell.setCellStyle(styles.get("title"));
+
+        Row dateRow = sheet.createRow(rowIdx++);
+        dateRow.createCell(0).setCellValue("As-of Date:");
+        dateRow.createCell(1).setCellValue(dto.getAsOfDate().format(DATE_FMT));
+
+        // Validation Status
+        Row statusRow = sheet.createRow(rowIdx++);
+        statusRow.createCell(0).setCellValue("Validation Status:");
+        Cell statusCell = statusRow.createCell(1);
+        statusCell.setCellValue(dto.getValidationStatus());
+
+        boolean isBalanced = "Balanced".equalsIgnoreCase(dto.getValidationStatus());
+        statusCell.setCellStyle(isBalanced ? styles.get("status_balanced") : styles.get("status_unbalanced"));
+
+        rowIdx += 2; // Blank rows
+
+        // Column headers
+        String[] cols = {"Account ID", "Account Name", "Balance"};
+        Row headerRow = sheet.createRow(rowIdx++);
+        for (int i = 0; i < cols.length; i++) {
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(cols[i]);
+            cell.setCellStyle(styles.get("header"));
+        }
 
-            // [INLINED] Section Header: Non-Current Assets
-            Row assetNonCurrentHeader = sheet.createRow(rowIdx++);
-            Cell assetNonCurrentCell = assetNonCurrentHeader.createCell(0);
-            assetNonCurrentCell.setCellValue("Non-Current Assets");
-            assetNonCurrentCell.setCellStyle(styles.get("section_header"));
+        // --- [INLINED] Data Rows ---
 
-            // [INLINED] Account Rows
-            for (BalanceSheetAccountRowDTO acctRow : dto.getAssetsNonCurrent()) {
-                Row row = sheet.createRow(rowIdx++);
+        // === Assets ===
+        // [INLINED] Section Header: Current Assets
+        Row assetCurrentHeader = sheet.createRow(rowIdx++);
+        Cell assetCurrentCell = assetCurrentHeader.createCell(0);
+        assetCurrentCell.setCellValue("Current Assets");
+        assetCurrentCell.setCellStyle(styles.get("section_header"));
 
-                Cell idCell = row.createCell(0);
-                idCell.setCellValue(acctRow.getAccountId());
-                idCell.setCellStyle(styles.get("data_label"));
+        // [INLINED] Account Rows
+        for (BalanceSheetAccountRowDTO acctRow : dto.getAssetsCurrent()) {
+            Row row = sheet.createRow(rowIdx++);
 
-                Cell nameCell = row.createCell(1);
-                nameCell.setCellValue(acctRow.getAccountName());
+            Cell idCell = row.createCell(0);
+            idCell.setCellValue(acctRow.getAccountId());
+            idCell.setCellStyle(styles.get("data_label"));
 
-                Cell balanceCell = row.createCell(2);
-                if (acctRow.getSignedBalance() != null) {
-                    balanceCell.setCellValue(acctRow.getSignedBalance().doubleValue());
-                }
-                balanceCell.setCellStyle(styles.get("data_currency"));
+            Cell nameCell = row.createCell(1);
+            nameCell.setCellValue(acctRow.getAccountName());
+
+            Cell balanceCell = row.createCell(2);
+            if (acctRow.getSignedBalance() != null) {
+                balanceCell.setCellValue(acctRow.getSignedBalance().doubleValue());
             }
+            balanceCell.setCellStyle(styles.get("data_currency"));
+        }
+
+        // [INLINED] Section Header: Non-Current Assets
+        Row assetNonCurrentHeader = sheet.createRow(rowIdx++);
+        Cell assetNonCurrentCell = assetNonCurrentHeader.createCell(0);
+        assetNonCurrentCell.setCellValue("Non-Current Assets");
+        assetNonCurrentCell.setCellStyle(styles.get("section_header"));
 
-            // [INLINED] Total Row: Total Assets
-            Row totalAssetRow = sheet.createRow(rowIdx++);
+        // [INLINED] Account Rows
+        for (BalanceSheetAccountRowDTO acctRow : dto.getAssetsNonCurrent()) {
+            Row row = sheet.createRow(rowIdx++);
 
-            Cell assetLabelCell = totalAssetRow.createCell(1);
-            assetLabelCell.setCellValue("Total Assets");
-            assetLabelCell.setCellStyle(styles.get("total_label"));
+            Cell idCell = row.createCell(0);
+            idCell.setCellValue(acctRow.getAccountId());
+            idCell.setCellStyle(styles.get("data_label"));
 
-            Cell assetTotalCell = totalAssetRow.createCell(2);
-            if (dto.getTotalAssets() != null) {
-                assetTotalCell.setCellValue(dto.getTotalAssets().doubleValue());
+            Cell nameCell = row.createCell(1);
+            nameCell.setCellValue(acctRow.getAccountName());
+
+            Cell balanceCell = row.createCell(2);
+            if (acctRow.getSignedBalance() != null) {
+                balanceCell.setCellValue(acctRow.getSignedBalance().doubleValue());
             }
-            assetTotalCell.setCellStyle(styles.get("total_currency"));
+            balanceCell.setCellStyle(styles.get("data_currency"));
+        }
 
-            rowIdx++; // Spacer
+        // [INLINED] Total Row: Total Assets
+        Row totalAssetRow = sheet.createRow(rowIdx++);
 
-            // === Liabilities ===
-            // [INLINED] Section Header: Current Liabilities
-            Row liabCurrentHeader = sheet.createRow(rowIdx++);
-            Cell liabCurrentCell = liabCurrentHeader.createCell(0);
-            liabCurrentCell.setCellValue("Current Liabilities");
-            liabCurrentCell.setCellStyle(styles.get("section_header"));
+        Cell assetLabelCell = totalAssetRow.createCell(1);
+        assetLabelCell.setCellValue("Total Assets");
+        assetLabelCell.setCellStyle(styles.get("total_label"));
 
-            // [INLINED] Account Rows
-            for (BalanceSheetAccountRowDTO acctRow : dto.getLiabilitiesCurrent()) {
-                Row row = sheet.createRow(rowIdx++);
+        Cell assetTotalCell = totalAssetRow.createCell(2);
+        if (dto.getTotalAssets() != null) {
+            assetTotalCell.setCellValue(dto.getTotalAssets().doubleValue());
+        }
+        assetTotalCell.setCellStyle(styles.get("total_currency"));
 
-                Cell idCell = row.createCell(0);
-                idCell.setCellValue(acctRow.getAccountId());
-                idCell.setCellStyle(styles.get("data_label"));
+        rowIdx++; // Spacer
 
-                Cell nameCell = row.createCell(1);
-                nameCell.setCellValue(acctRow.getAccountName());
+        // === Liabilities ===
+        // [INLINED] Section Header: Current Liabilities
+        Row liabCurrentHeader = sheet.createRow(rowIdx++);
+        Cell liabCurrentCell = liabCurrentHeader.createCell(0);
+        liabCurrentCell.setCellValue("Current Liabilities");
+        liabCurrentCell.setCellStyle(styles.get("section_header"));
 
-                Cell balanceCell = row.createCell(2);
-                if (acctRow.getSignedBalance() != null) {
-                    balanceCell.setCellValue(acctRow.getSignedBalance().doubleValue());
-                }
-                balanceCell.setCellStyle(styles.get("data_currency"));
+        // [INLINED] Account Rows
+        for (BalanceSheetAccountRowDTO acctRow : dto.getLiabilitiesCurrent()) {
+            Row row = sheet.createRow(rowIdx++);
+
+            Cell idCell = row.createCell(0);
+            idCell.setCellValue(acctRow.getAccountId());
+            idCell.setCellStyle(styles.get("data_label"));
+
+            Cell nameCell = row.createCell(1);
+            nameCell.setCellValue(acctRow.getAccountName());
+
+            Cell balanceCell = row.createCell(2);
+            if (acctRow.getSignedBalance() != null) {
+                balanceCell.setCellValue(acctRow.getSignedBalance().doubleValue());
             }
+            balanceCell.setCellStyle(styles.get("data_currency"));
+        }
 
-            // [INLINED] Section Header: Non-Current Liabilities
-            Row liabNonCurrentHeader = sheet.createRow(rowIdx++);
-            Cell liabNonCurrentCell = liabNonCurrentHeader.createCell(0);
-            liabNonCurrentCell.setCellValue("Non-Current Liabilities");
-            liabNonCurrentCell.setCellStyle(styles.get("section_header"));
+        // [INLINED] Section Header: Non-Current Liabilities
+        Row liabNonCurrentHeader = sheet.createRow(rowIdx++);
+        Cell liabNonCurrentCell = liabNonCurrentHeader.createCell(0);
+        liabNonCurrentCell.setCellValue("Non-Current Liabilities");
+        liabNonCurrentCell.setCellStyle(styles.get("section_header"));
 
-            // [INLINED] Account Rows
-            for (BalanceSheetAccountRowDTO acctRow : dto.getLiabilitiesNonCurrent()) {
-                Row row = sheet.createRow(rowIdx++);
+        // [INLINED] Account Rows
+        for (BalanceSheetAccountRowDTO acctRow : dto.getLiabilitiesNonCurrent()) {
+            Row row = sheet.createRow(rowIdx++);
 
-                Cell idCell = row.createCell(0);
-                idCell.setCellValue(acctRow.getAccountId());
-                idCell.setCellStyle(styles.get("data_label"));
+            Cell idCell = row.createCell(0);
+            idCell.setCellValue(acctRow.getAccountId());
+            idCell.setCellStyle(styles.get("data_label"));
 
-                Cell nameCell = row.createCell(1);
-                nameCell.setCellValue(acctRow.getAccountName());
+            Cell nameCell = row.createCell(1);
+            nameCell.setCellValue(acctRow.getAccountName());
 
-                Cell balanceCell = row.createCell(2);
-                if (acctRow.getSignedBalance() != null) {
-                    balanceCell.setCellValue(acctRow.getSignedBalance().doubleValue());
-                }
-                balanceCell.setCellStyle(styles.get("data_currency"));
+            Cell balanceCell = row.createCell(2);
+            if (acctRow.getSignedBalance() != null) {
+                balanceCell.setCellValue(acctRow.getSignedBalance().doubleValue());
             }
+            balanceCell.setCellStyle(styles.get("data_currency"));
+        }
 
-            // [INLINED] Total Row: Total Liabilities
-            Row totalLiabRow = sheet.createRow(rowIdx++);
+        // [INLINED] Total Row: Total Liabilities
+        Row totalLiabRow = sheet.createRow(rowIdx++);
 
-            Cell liabLabelCell = totalLiabRow.createCell(1);
-            liabLabelCell.setCellValue("Total Liabilities");
-            liabLabelCell.setCellStyle(styles.get("total_label"));
+        Cell liabLabelCell = totalLiabRow.createCell(1);
+        liabLabelCell.setCellValue("Total Liabilities");
+        liabLabelCell.setCellStyle(styles.get("total_label"));
 
-            Cell liabTotalCell = totalLiabRow.createCell(2);
-            if (dto.getTotalLiabilities() != null) {
-                liabTotalCell.setCellValue(dto.getTotalLiabilities().doubleValue());
-            }
-            liabTotalCell.setCellStyle(styles.get("total_currency"));
+        Cell liabTotalCell = totalLiabRow.createCell(2);
+        if (dto.getTotalLiabilities() != null) {
+            liabTotalCell.setCellValue(dto.getTotalLiabilities().doubleValue());
+        }
+        liabTotalCell.setCellStyle(styles.get("total_currency"));
 
-            rowIdx++; // Spacer
+        rowIdx++; // Spacer
 
-            // === Equity ===
-            // [INLINED] Section Header: Equity
-            Row equityHeader = sheet.createRow(rowIdx++);
-            Cell equityCell = equityHeader.createCell(0);
-            equityCell.setCellValue("Equity");
-            equityCell.setCellStyle(styles.get("section_header"));
+        // === Equity ===
+        // [INLINED] Section Header: Equity
+        Row equityHeader = sheet.createRow(rowIdx++);
+        Cell equityCell = equityHeader.createCell(0);
+        equityCell.setCellValue("Equity");
+        equityCell.setCellStyle(styles.get("section_header"));
 
-            // [INLINED] Account Rows
-            for (BalanceSheetAccountRowDTO acctRow : dto.getEquity()) {
-                Row row = sheet.createRow(rowIdx++);
+        // [INLINED] Account Rows
+        for (BalanceSheetAccountRowDTO acctRow : dto.getEquity()) {
+            Row row = sheet.createRow(rowIdx++);
 
-                Cell idCell = row.createCell(0);
-                idCell.setCellValue(acctRow.getAccountId());
-                idCell.setCellStyle(styles.get("data_label"));
+            Cell idCell = row.createCell(0);
+            idCell.setCellValue(acctRow.getAccountId());
+            idCell.setCellStyle(styles.get("data_label"));
 
-                Cell nameCell = row.createCell(1);
-                nameCell.setCellValue(acctRow.getAccountName());
+            Cell nameCell = row.createCell(1);
+            nameCell.setCellValue(acctRow.getAccountName());
 
-                Cell balanceCell = row.createCell(2);
-                if (acctRow.getSignedBalance() != null) {
-                    balanceCell.setCellValue(acctRow.getSignedBalance().doubleValue());
-                }
-                balanceCell.setCellStyle(styles.get("data_currency"));
+            Cell balanceCell = row.createCell(2);
+            if (acctRow.getSignedBalance() != null) {
+                balanceCell.setCellValue(acctRow.getSignedBalance().doubleValue());
             }
+            balanceCell.setCellStyle(styles.get("data_currency"));
+        }
 
-            // [INLINED] Total Row: Total Equity
-            Row totalEquityRow = sheet.createRow(rowIdx++);
+        // [INLINED] Total Row: Total Equity
+        Row totalEquityRow = sheet.createRow(rowIdx++);
 
-            Cell equityLabelCell = totalEquityRow.createCell(1);
-            equityLabelCell.setCellValue("Total Equity");
-            equityLabelCell.setCellStyle(styles.get("total_label"));
+        Cell equityLabelCell = totalEquityRow.createCell(1);
+        equityLabelCell.setCellValue("Total Equity");
+        equityLabelCell.setCellStyle(styles.get("total_label"));
 
-            Cell equityTotalCell = totalEquityRow.createCell(2);
-            if (dto.getTotalEquity() != null) {
-                equityTotalCell.setCellValue(dto.getTotalEquity().doubleValue());
-            }
-            equityTotalCell.setCellStyle(styles.get("total_currency"));
+        Cell equityTotalCell = totalEquityRow.createCell(2);
+        if (dto.getTotalEquity() != null) {
+            equityTotalCell.setCellValue(dto.getTotalEquity().doubleValue());
+        }
+        equityTotalCell.setCellStyle(styles.get("total_currency"));
 
-            rowIdx++; // Spacer
+        rowIdx++; // Spacer
 
-            // [INLINED] Total Row: Total Liabilities + Equity
-            BigDecimal totalLE = dto.getTotalLiabilities().add(dto.getTotalEquity());
-            Row totalLERow = sheet.createRow(rowIdx++);
+        // [INLINED] Total Row: Total Liabilities + Equity
+        BigDecimal totalLE = dto.getTotalLiabilities().add(dto.getTotalEquity());
+        Row totalLERow = sheet.createRow(rowIdx++);
 
-            Cell leLabelCell = totalLERow.createCell(1);
-            leLabelCell.setCellValue("Total Liabilities + Equity");
-            leLabelCell.setCellStyle(styles.get("total_label"));
+        Cell leLabelCell = totalLERow.createCell(1);
+        leLabelCell.setCellValue("Total Liabilities + Equity");
+        leLabelCell.setCellStyle(styles.get("total_label"));
 
-            Cell leTotalCell = totalLERow.createCell(2);
-            if (totalLE != null) {
-                leTotalCell.setCellValue(totalLE.doubleValue());
-            }
-            leTotalCell.setCellStyle(styles.get("total_currency"));
-            // --- End [INLINED] Data Rows ---
+        Cell leTotalCell = totalLERow.createCell(2);
+        if (totalLE != null) {
+            leTotalCell.setCellValue(totalLE.doubleValue());
+        }
+        leTotalCell.setCellStyle(styles.get("total_currency"));
+        // --- End [INLINED] Data Rows ---
 
 
-            // Autosize columns
-            for (int i = 0; i < cols.length; i++) {
-                try {
-                    sheet.autoSizeColumn(i);
-                } catch (Exception e) {
-                    sheet.setColumnWidth(i, 25 * 256); // Fallback (25 chars)
-                }
+        // Autosize columns
+        for (int i = 0; i < cols.length; i++) {
+            try {
+                sheet.autoSizeColumn(i);
+            } catch (Exception e) {
+                sheet.setColumnWidth(i, 25 * 256); // Fallback (25 chars)
             }
-
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            wb.write(out);
-            wb.dispose(); // dispose of temporary files
-            return out.toByteArray();
         }
     }
 
     public byte[] exportCashFlow(CashFlowReportDTO report) throws IOException {
         try (SXSSFWorkbook wb = new SXSSFWorkbook()) {
             SXSSFSheet sheet = wb.createSheet("Cash Flow Statement");
+            writeCashFlowSheet(sheet, report);
 
-            Workbook wbRef = sheet.getWorkbook();
-            CellStyle headerStyle = wbRef.createCellStyle();
-            Font bold = wbRef.createFont();
-            bold.setBold(true);
-            headerStyle.setFont(bold);
-
-            DataFormat df = wbRef.createDataFormat();
-            CellStyle currencyStyle = wbRef.createCellStyle();
-            currencyStyle.setDataFormat(df.getFormat("#,##0.00"));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            wb.write(out);
+            wb.dispose();
+            return out.toByteArray();
+        }
+    }
 
-            int rowIdx = 0;
-
-            // Header
-            Row title = sheet.createRow(rowIdx++);
-            title.createCell(0).setCellValue("Cash Flow Statement");
-            title.getCell(0).setCellStyle(headerStyle);
-
-            Row periodRow = sheet.createRow(rowIdx++);
-            periodRow.createCell(0).setCellValue("Period:");
-            periodRow.createCell(1).setCellValue(report.getPeriodLabel());
-
-            sheet.createRow(rowIdx++); // blank
-
-            // Main Data
-            String[][] data = {
-                    {"Opening Cash Balance", report.getOpeningCash().toString()},
-                    {"Cash Flow from Operations (CFO)", report.getCfo().toString()},
-                    {"Cash Flow from Investing (CFI)", report.getCfi().toString()},
-                    {"Cash Flow from Financing (CFF)", report.getCff().toString()},
-                    {"Net Change in Cash", report.getNetChange().toString()},
-                    {"Ending Cash Balance", report.getEndingCash().toString()},
-                    {"Cash (from Balance Sheet)", report.getBalanceSheetCash().toString()},
-                    {"Reconciled", report.isReconciled() ? "Yes" : "No"}
-            };
-
-            for (String[] line : data) {
-                Row row = sheet.createRow(rowIdx++);
-                row.createCell(0).setCellValue(line[0]);
-                Cell val = row.createCell(1);
-                if (line[0].equals("Reconciled")) {
-                    val.setCellValue(line[1]);
-                } else {
-                    val.setCellValue(new BigDecimal(line[1]).doubleValue());
-                    val.setCellStyle(currencyStyle);
-                }
+    private void writeCashFlowSheet(SXSSFSheet sheet, CashFlowReportDTO report) {
+        Workbook wbRef = sheet.getWorkbook();
+        CellStyle headerStyle = wbRef.createCellStyle();
+        Font bold = wbRef.createFont();
+        bold.setBold(true);
+        headerStyle.setFont(bold);
+
+        DataFormat df = wbRef.createDataFormat();
+        CellStyle currencyStyle = wbRef.createCellStyle();
+        currencyStyle.setDataFormat(df.getFormat("#,##0.00"));
+
+        int rowIdx = 0;
+
+        // Header
+        Row title = sheet.createRow(rowIdx++);
+        title.createCell(0).setCellValue("Cash Flow Statement");
+        title.getCell(0).setCellStyle(headerStyle);
+
+        Row periodRow = sheet.createRow(rowIdx++);
+        periodRow.createCell(0).setCellValue("Period:");
+        periodRow.createCell(1).setCellValue(report.getPeriodLabel());
+
+        sheet.createRow(rowIdx++); // blank
+
+        // Main Data
+        String[][] data = {
+                {"Opening Cash Balance", report.getOpeningCash().toString()},
+                {"Cash Flow from Operations (CFO)", report.getCfo().toString()},
+                {"Cash Flow from Investing (CFI)", report.getCfi().toString()},
+                {"Cash Flow from Financing (CFF)", report.getCff().toString()},
+                {"Net Change in Cash", report.getNetChange().toString()},
+                {"Ending Cash Balance", report.getEndingCash().toString()},
+                {"Cash (from Balance Sheet)", report.getBalanceSheetCash().toString()},
+                {"Reconciled", report.isReconciled() ? "Yes" : "No"}
+        };
+
+        for (String[] line : data) {
+            Row row = sheet.createRow(rowIdx++);
+            row.createCell(0).setCellValue(line[0]);
+            Cell val = row.createCell(1);
+            if (line[0].equals("Reconciled")) {
+                val.setCellValue(line[1]);
+            } else {
+                val.setCellValue(new BigDecimal(line[1]).doubleValue());
+                val.setCellStyle(currencyStyle);
             }
+        }
 
-            // Autosize
-            sheet.trackAllColumnsForAutoSizing();
-            for (int i = 0; i < 2; i++) sheet.autoSizeColumn(i);
+        // Autosize
+        sheet.trackAllColumnsForAutoSizing();
+        for (int i = 0; i < 2; i++) sheet.autoSizeColumn(i);
+    }
+
+    /**
+     * One workbook with the trial balance, income statement, balance sheet and cash flow sheets.
+     */
+    public byte[] exportFinancialPack(FinancialPackDTO pack) throws IOException {
+        try (SXSSFWorkbook wb = new SXSSFWorkbook(null, 100, true, true)) {
+            SXSSFSheet tbSheet = wb.createSheet("Trial Balance");
+            tbSheet.trackAllColumnsForAutoSizing();
+            writeTrialBalanceSheet(tbSheet, pack.getTrialBalance());
+            writeIncomeStatementSheet(wb.createSheet("Income Statement"), pack.getIncomeStatement());
+            writeBalanceSheet(wb.createSheet("Balance Sheet"), pack.getBalanceSheet());
+            writeCashFlowSheet(wb.createSheet("Cash Flow Statement"), pack.getCashFlow());
 
             ByteArrayOutputStream out = new ByteArrayOutputStream();
             wb.write(out);
@@ -631,6 +729,151 @@ public class ExcelExportService {
         }
     }
 
+    public byte[] exportComparativeIncomeStatement(ComparativeIncomeStatementDTO dto) throws IOException {
+        try (SXSSFWorkbook wb = new SXSSFWorkbook(null, 100, true, true)) {
+            SXSSFSheet sheet = wb.createSheet("Comparative Income Statement");
+            sheet.trackAllColumnsForAutoSizing();
+            Map<String, CellStyle> styles = createExcelStyles(wb);
+
+            int rowIdx = writeComparativeHeader(sheet, styles, "Comparative Income Statement", dto.getPeriods(), false);
+            for (ComparativeLineDTO line : dto.getLines()) {
+                if (line.isSubtotal()) rowIdx++; // Spacer
+                rowIdx = addComparativeExcelRow(sheet, rowIdx, line, false, styles);
+            }
+
+            return finishComparativeSheet(wb, sheet, 1 + comparativeColumnCount(dto.getPeriods().size()));
+        }
+    }
+
+    public byte[] exportComparativeTrialBalance(ComparativeTrialBalanceDTO dto) throws IOException {
+        try (SXSSFWorkbook wb = new SXSSFWorkbook(null, 100, true, true)) {
+            SXSSFSheet sheet = wb.createSheet("Comparative Trial Balance");
+            sheet.trackAllColumnsForAutoSizing();
+            Map<String, CellStyle> styles = createExcelStyles(wb);
+
+            int rowIdx = writeComparativeHeader(sheet, styles, "Comparative Trial Balance", dto.getPeriods(), true);
+            for (ComparativeLineDTO line : dto.getLines()) {
+                rowIdx = addComparativeExcelRow(sheet, rowIdx, line, true, styles);
+            }
+
+            // Totals per period, under each period's balance column
+            rowIdx++;
+            Row debitRow = sheet.createRow(rowIdx++);
+            Row creditRow = sheet.createRow(rowIdx++);
+            Row statusRow = sheet.createRow(rowIdx++);
+            debitRow.createCell(1).setCellValue("Total Debits");
+            creditRow.createCell(1).setCellValue("Total Credits");
+            statusRow.createCell(1).setCellValue("Status");
+            for (Row r : List.of(debitRow, creditRow, statusRow)) r.getCell(1).setCellStyle(styles.get("bold_label"));
+            for (int i = 0; i < dto.getPeriods().size(); i++) {
+                int col = 2 + comparativeColumnCount(i);
+                Cell debit = debitRow.createCell(col);
+                debit.setCellValue(dto.getTotalDebits().get(i).doubleValue());
+                debit.setCellStyle(styles.get("bold_currency"));
+                Cell credit = creditRow.createCell(col);
+                credit.setCellValue(dto.getTotalCredits().get(i).doubleValue());
+                credit.setCellStyle(styles.get("bold_currency"));
+                statusRow.createCell(col).setCellValue(dto.getTbStatuses().get(i));
+            }
+
+            return finishComparativeSheet(wb, sheet, 2 + comparativeColumnCount(dto.getPeriods().size()));
+        }
+    }
+
+    // each period has a value column; every period after the first also has change and change % columns
+    private static int comparativeColumnCount(int periods) {
+        return periods == 0 ? 0 : 3 * periods - 2;
+    }
+
+    private int writeComparativeHeader(SXSSFSheet sheet, Map<String, CellStyle> styles, String title,
+                                       List<ComparativePeriodDTO> periods, boolean accountColumns) {
+        int rowIdx = 0;
+
+        Row titleRow = sheet.createRow(rowIdx++);
+        Cell titleCell = titleRow.createCell(0);
+        titleCell.setCellValue(title);
+        titleCell.setCellStyle(styles.get("title"));
+
+        if (!periods.isEmpty()) {
+            Row rangeRow = sheet.createRow(rowIdx++);
+            rangeRow.createCell(0).setCellValue("From:");
+            rangeRow.createCell(1).setCellValue(periods.get(0).getStartDate().format(DATE_FMT));
+            rangeRow.createCell(3).setCellValue("To:");
+            rangeRow.createCell(4).setCellValue(periods.get(periods.size() - 1).getEndDate().format(DATE_FMT));
+        }
+
+        rowIdx += 1; // Blank row
+
+        Row headerRow = sheet.createRow(rowIdx++);
+        int c = 0;
+        if (accountColumns) {
+            headerRow.createCell(c++).setCellValue("Account ID");
+            headerRow.createCell(c++).setCellValue("Account Name");
+        } else {
+            headerRow.createCell(c++).setCellValue("Line Item");
+        }
+        for (int i = 0; i < periods.size(); i++) {
+            headerRow.createCell(c++).setCellValue(periods.get(i).getPeriodLabel());
+            if (i > 0) {
+                headerRow.createCell(c++).setCellValue("Change");
+                headerRow.createCell(c++).setCellValue("Change %");
+            }
+        }
+        for (Cell cell : headerRow) cell.setCellStyle(styles.get("header"));
+
+        return rowIdx;
+    }
+
+    private int addComparativeExcelRow(SXSSFSheet sheet, int rowIdx, ComparativeLineDTO line, boolean accountColumns,
+                                       Map<String, CellStyle> styles) {
+        String stylePrefix = line.isSubtotal() ? "bold" : "data";
+        Row row = sheet.createRow(rowIdx);
+        int c = 0;
+
+        if (accountColumns) {
+            row.createCell(c++).setCellValue(line.getCode());
+        }
+        Cell labelCell = row.createCell(c++);
+        labelCell.setCellValue(line.getLabel());
+        labelCell.setCellStyle(styles.get(stylePrefix + "_label"));
+
+        for (int i = 0; i < line.getValues().size(); i++) {
+            Cell valueCell = row.createCell(c++);
+            valueCell.setCellValue(line.getValues().get(i).doubleValue());
+            valueCell.setCellStyle(styles.get(stylePrefix + "_currency"));
+            if (i > 0) {
+                Cell changeCell = row.createCell(c++);
+                changeCell.setCellValue(line.getChanges().get(i).doubleValue());
+                changeCell.setCellStyle(styles.get(stylePrefix + "_currency"));
+
+                Cell pctCell = row.createCell(c++);
+                BigDecimal pct = line.getChangePcts().get(i);
+                if (pct != null) {
+                    // POI % format expects a decimal (e.g., 0.5 for 50%)
+                    pctCell.setCellValue(pct.doubleValue() / 100.0);
+                }
+                pctCell.setCellStyle(styles.get(stylePrefix + "_pct"));
+            }
+        }
+
+        return rowIdx + 1;
+    }
+
+    private byte[] finishComparativeSheet(SXSSFWorkbook wb, SXSSFSheet sheet, int columns) throws IOException {
+        for (int i = 0; i < columns; i++) {
+            try {
+                sheet.autoSizeColumn(i);
+            } catch (Exception e) {
+                sheet.setColumnWidth(i, 16 * 256); // Fallback
+            }
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        wb.write(out);
+        wb.dispose(); // dispose of temporary files
+        return out.toByteArray();
+    }
+
     /**
      * Excel Helper to create all necessary cell styles.
      */
@@ -0,0 +1,253 @@
+package com.konecta.financeservice.service;
+
+import com.konecta.financeservice.dto.*;
+import com.konecta.financeservice.entity.Period;
+import com.konecta.financeservice.entity.PeriodReportSnapshot;
+import com.konecta.financeservice.model.enums.AccountType;
+import com.konecta.financeservice.model.enums.PeriodStatus;
+import com.konecta.financeservice.repository.PeriodReportSnapshotRepository;
+import com.konecta.financeservice.repository.PeriodRepository;
+import com.konecta.financeservice.service.ReportCacheService.ReportKey;
+import com.konecta.financeservice.service.ReportCacheService.ReportType;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Builds the month-end pack (trial balance, income statement, balance sheet as of the period end and
+ * cash flow) of one period. The four statements are built concurrently and go through the report
+ * cache under the same keys as the single-report endpoints. Whatever is not cached comes from one
+ * period lookup, one per-account balance fetch and, for closed periods, one snapshot read, shared by
+ * all four; the cash flow sections are the only separate query.
+ */
+@Service
+public class FinancialPackService {
+
+    /**
+     * One row per account with a balance row in the period or before it.
+     */
+    record AccountBalances(Long accountPk, String accountId, String accountName, String accountType,
+                           boolean current, boolean cashAccount, String plMapping, boolean active,
+                           BigDecimal periodDebits, BigDecimal periodCredits,      // null without a row in the period
+                           BigDecimal totalDebits, BigDecimal totalCredits,        // up to the period end
+                           BigDecimal openingNet) {                                // debits - credits before the period, null if none
+    }
+
+    /**
+     * Loaded by whichever statement needs it first; the others wait on the monitor rather than on a
+     * queued task, so packs cannot deadlock the executor.
+     */
+    private static final class Shared<T> {
+        private final Supplier<T> loader;
+        private T value;
+
+        Shared(Supplier<T> loader) {
+            this.loader = loader;
+        }
+
+        synchronized T get() {
+            if (value == null) value = loader.get();
+            return value;
+        }
+    }
+
+    private final AnalyticsService analyticsService;
+    private final PeriodRepository periodRepository;
+    private final PeriodReportSnapshotRepository snapshotRepository;
+    private final ReportCacheService reportCache;
+    private final EntityManager entityManager;
+    private final ExecutorService executor;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Autowired
+    public FinancialPackService(AnalyticsService analyticsService, PeriodRepository periodRepository,
+                                PeriodReportSnapshotRepository snapshotRepository, ReportCacheService reportCache,
+                                EntityManager entityManager, PlatformTransactionManager transactionManager,
+                                @Value("${finance.financial-pack.threads:4}") int threads) {
+        this.analyticsService = analyticsService;
+        this.periodRepository = periodRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.reportCache = reportCache;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        AtomicInteger n = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "financial-pack-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public FinancialPackDTO generate(Long periodId) {
+        Period p = periodRepository.findById(periodId)
+                .orElseThrow(() -> new IllegalArgumentException("Period not found: " + periodId));
+
+        Shared<List<AccountBalances>> balances = new Shared<>(() -> readOnlyTransaction.execute(status -> fetchBalances(p)));
+        Shared<Optional<PeriodReportSnapshot>> snapshot = new Shared<>(() -> p.getStatus() == PeriodStatus.CLOSED
+                ? readOnlyTransaction.execute(status -> snapshotRepository.findWithRowsByPeriod_PeriodId(periodId))
+                : Optional.empty());
+
+        CompletableFuture<TrialBalanceReportDTO> tb = CompletableFuture.supplyAsync(() ->
+                reportCache.get(ReportKey.forPeriod(ReportType.TRIAL_BALANCE, periodId), () -> snapshot.get()
+                        .map(s -> analyticsService.trialBalanceFromSnapshot(p, s))
+                        .orElseGet(() -> trialBalance(p, balances.get()))), executor);
+
+        CompletableFuture<IncomeStatementDTO> is = CompletableFuture.supplyAsync(() ->
+                reportCache.get(ReportKey.forPeriod(ReportType.INCOME_STATEMENT, periodId), () -> snapshot.get()
+                        .map(s -> analyticsService.buildIncomeStatement(p, s.getRevenueActual(), s.getCogsActual(),
+                                s.getOpexActual(), s.getOtherIncomeActual(), s.getOtherExpenseActual()))
+                        .orElseGet(() -> incomeStatement(p, balances.get()))), executor);
+
+        CompletableFuture<BalanceSheetReportDTO> bs = CompletableFuture.supplyAsync(() ->
+                reportCache.get(new ReportKey(ReportType.BALANCE_SHEET, null, p.getEndDate()),
+                        () -> balanceSheet(p.getEndDate(), balances.get())), executor);
+
+        CompletableFuture<CashFlowReportDTO> cf = CompletableFuture.supplyAsync(() ->
+                reportCache.get(new ReportKey(ReportType.CASH_FLOW, periodId, p.getEndDate()), () -> snapshot.get()
+                        .map(s -> analyticsService.buildCashFlow(p, s.getOpeningCash(), s.getCfo(), s.getCfi(), s.getCff(),
+                                s.getBalanceSheetCash()))
+                        .orElseGet(() -> cashFlow(p, balances))), executor);
+
+        try {
+            CompletableFuture.allOf(tb, is, bs, cf).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+        return new FinancialPackDTO(p.getPeriodId(), p.getLabel(), p.getStartDate(), p.getEndDate(), p.getStatus().name(),
+                tb.join(), is.join(), bs.join(), cf.join());
+    }
+
+    private List<AccountBalances> fetchBalances(Period p) {
+        // period boundaries are the cut-offs, so whole-period balance rows cover both sums
+        String sql = """
+                SELECT a.account_pk, a.account_id, a.account_name, a.account_type, a.is_current, a.is_cash_account,
+                       a.pl_mapping, a.status,
+                       mv.account_pk IS NOT NULL AS in_period, mv.total_debits, mv.total_credits,
+                       cum.debits, cum.credits, cum.opening_net
+                FROM accounts a
+                LEFT JOIN account_period_balances mv ON mv.account_pk = a.account_pk AND mv.period_id = :periodId
+                LEFT JOIN (SELECT b.account_pk,
+                                  SUM(b.total_debits) AS debits,
+                                  SUM(b.total_credits) AS credits,
+                                  SUM(CASE WHEN p.end_date < :startDate THEN b.total_debits - b.total_credits END) AS opening_net
+                           FROM account_period_balances b
+                           JOIN periods p ON b.period_id = p.period_id
+                           WHERE p.end_date <= :endDate
+                           GROUP BY b.account_pk) cum ON cum.account_pk = a.account_pk
+                WHERE mv.account_pk IS NOT NULL OR cum.account_pk IS NOT NULL
+                ORDER BY a.account_id
+                """;
+        Query q = entityManager.createNativeQuery(sql);
+        q.setParameter("periodId", p.getPeriodId());
+        q.setParameter("startDate", java.sql.Date.valueOf(p.getStartDate()));
+        q.setParameter("endDate", java.sql.Date.valueOf(p.getEndDate()));
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> raw = q.getResultList();
+
+        List<AccountBalances> rows = new ArrayList<>(raw.size());
+        for (Object[] r : raw) {
+            boolean inPeriod = Boolean.TRUE.equals(r[8]);
+            rows.add(new AccountBalances(((Number) r[0]).longValue(), (String) r[1], (String) r[2], (String) r[3],
+                    Boolean.TRUE.equals(r[4]), Boolean.TRUE.equals(r[5]), (String) r[6], "ACTIVE".equals(r[7]),
+                    inPeriod ? (BigDecimal) r[9] : null, inPeriod ? (BigDecimal) r[10] : null,
+                    (BigDecimal) r[11], (BigDecimal) r[12], (BigDecimal) r[13]));
+        }
+        return rows;
+    }
+
+    private TrialBalanceReportDTO trialBalance(Period p, List<AccountBalances> balances) {
+        List<TrialBalanceRowDTO> rows = new ArrayList<>();
+        for (AccountBalances b : balances) {
+            if (!b.active() || b.periodDebits() == null) continue;
+            rows.add(new TrialBalanceRowDTO(b.accountId(), b.accountName(), AccountType.valueOf(b.accountType()),
+                    b.periodDebits(), b.periodCredits()));
+        }
+        return analyticsService.buildTrialBalance(p, rows);
+    }
+
+    private IncomeStatementDTO incomeStatement(Period p, List<AccountBalances> balances) {
+        BigDecimal revenue = null, cogs = null, opex = null, otherIncome = null, otherExpense = null;
+        for (AccountBalances b : balances) {
+            if (!b.active() || b.periodDebits() == null) continue;
+            BigDecimal debitNet = b.periodDebits().subtract(b.periodCredits());
+            switch (b.plMapping()) {
+                case "REVENUE" -> revenue = add(revenue, debitNet.negate());
+                case "COGS" -> cogs = add(cogs, debitNet);
+                case "OPEX" -> opex = add(opex, debitNet);
+                case "OTHER_INCOME" -> otherIncome = add(otherIncome, debitNet.negate());
+                case "OTHER_EXPENSE" -> otherExpense = add(otherExpense, debitNet);
+                default -> {
+                }
+            }
+        }
+        return analyticsService.buildIncomeStatement(p, orZero(revenue), orZero(cogs), orZero(opex),
+                orZero(otherIncome), orZero(otherExpense));
+    }
+
+    private BalanceSheetReportDTO balanceSheet(LocalDate asOfDate, List<AccountBalances> balances) {
+        List<AccountBalances> accounts = new ArrayList<>();
+        for (AccountBalances b : balances) {
+            if (b.active() && b.totalDebits() != null) accounts.add(b);
+        }
+        // balance sheet order; the sort is stable, so account_id order from the fetch is kept within a group
+        accounts.sort(Comparator.comparing(AccountBalances::accountType)
+                .thenComparing(AccountBalances::current, Comparator.reverseOrder()));
+
+        List<Object[]> rows = new ArrayList<>(accounts.size());
+        for (AccountBalances b : accounts) {
+            rows.add(new Object[]{b.accountPk(), b.accountId(), b.accountName(), b.accountType(), b.current(),
+                    b.totalDebits(), b.totalCredits()});
+        }
+        return analyticsService.buildBalanceSheet(asOfDate, rows);
+    }
+
+    private CashFlowReportDTO cashFlow(Period p, Shared<List<AccountBalances>> balances) {
+        Map<String, BigDecimal> sectionNet = readOnlyTransaction.execute(status ->
+                analyticsService.getCashMovementsBySection(p.getStartDate(), p.getEndDate()));
+
+        // cash accounts are not restricted to active ones, as in the single report
+        BigDecimal openingCash = null, bsCash = null;
+        for (AccountBalances b : balances.get()) {
+            if (!b.cashAccount() || b.totalDebits() == null) continue;
+            if (b.openingNet() != null) openingCash = add(openingCash, b.openingNet());
+            bsCash = add(bsCash, b.totalDebits().subtract(b.totalCredits()));
+        }
+
+        return analyticsService.buildCashFlow(p, orZero(openingCash),
+                sectionNet.getOrDefault("CFO", BigDecimal.ZERO),
+                sectionNet.getOrDefault("CFI", BigDecimal.ZERO),
+                sectionNet.getOrDefault("CFF", BigDecimal.ZERO),
+                orZero(bsCash));
+    }
+
+    private static BigDecimal add(BigDecimal sum, BigDecimal value) {
+        return sum == null ? value : sum.add(value);
+    }
+
+    private static BigDecimal orZero(BigDecimal v) {
+        return v == null ? BigDecimal.ZERO : v;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
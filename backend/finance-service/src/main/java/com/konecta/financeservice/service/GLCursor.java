@@ -0,0 +1,42 @@
+package com.konecta.financeservice.service;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Opaque keyset cursor for the paginated GL: the sort key of the last row returned plus the
+ * running balance of its account at that row, so the next page continues the balance without
+ * rescanning earlier pages. The filter fingerprint rejects cursors replayed against other filters.
+ */
+record GLCursor(long accountPk, LocalDate transactionDate, long transactionId, long entryId,
+                BigDecimal runningBalance, int filterHash) {
+
+    private static final String VERSION = "v1";
+
+    static int filterHash(LocalDate fromDate, LocalDate toDate, List<Long> accountPKs) {
+        return List.of(fromDate, toDate, accountPKs.stream().sorted().toList()).hashCode();
+    }
+
+    String encode() {
+        String raw = String.join("|", VERSION, String.valueOf(accountPk), transactionDate.toString(),
+                String.valueOf(transactionId), String.valueOf(entryId), runningBalance.toPlainString(),
+                String.valueOf(filterHash));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static GLCursor decode(String cursor) {
+        try {
+            String[] p = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (p.length != 7 || !VERSION.equals(p[0])) {
+                throw new IllegalArgumentException("Invalid GL cursor");
+            }
+            return new GLCursor(Long.parseLong(p[1]), LocalDate.parse(p[2]), Long.parseLong(p[3]),
+                    Long.parseLong(p[4]), new BigDecimal(p[5]), Integer.parseInt(p[6]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid GL cursor");
+        }
+    }
+}
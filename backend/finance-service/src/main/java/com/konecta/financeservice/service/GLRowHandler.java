@@ -0,0 +1,12 @@
+package com.konecta.financeservice.service;
+
+import com.konecta.financeservice.dto.GLRowDTO;
+
+/**
+ * Receives general ledger rows one at a time, in (account, date, transaction, entry) order,
+ * with the running balance already filled in. Rows must not be retained.
+ */
+@FunctionalInterface
+public interface GLRowHandler {
+    void onRow(GLRowDTO row);
+}
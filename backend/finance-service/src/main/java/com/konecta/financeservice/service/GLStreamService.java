@@ -0,0 +1,144 @@
+package com.konecta.financeservice.service;
+
+import com.konecta.financeservice.dto.GLRowDTO;
+import com.konecta.financeservice.dto.OpeningBalanceDTO;
+import com.konecta.financeservice.entity.Account;
+import com.konecta.financeservice.repository.AccountRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the general ledger through a forward-only JDBC cursor so exports never hold more
+ * than one fetch batch of rows in memory, whatever the date range.
+ */
+@Service
+public class GLStreamService {
+
+    // PostgreSQL only honours the fetch size (server-side cursor) inside a transaction
+    private static final int FETCH_SIZE = 2000;
+
+    private final AnalyticsService analyticsService;
+    private final LedgerArchiveService archiveService;
+    private final AccountRepository accountRepository;
+    private final NamedParameterJdbcTemplate cursorTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Autowired
+    public GLStreamService(AnalyticsService analyticsService, LedgerArchiveService archiveService, AccountRepository accountRepository, DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.analyticsService = analyticsService;
+        this.archiveService = archiveService;
+        this.accountRepository = accountRepository;
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.cursorTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Same default as the in-memory GL: no filter means every active account.
+     */
+    public List<Long> resolveAccountPKs(List<Long> accountPKs) {
+        if (accountPKs == null || accountPKs.isEmpty()) {
+            return accountRepository.findAllActiveAccountPKs();
+        }
+        return accountPKs;
+    }
+
+    public List<String> resolveAccountIds(List<Long> accountPKs) {
+        return accountRepository.findAllById(accountPKs).stream().map(Account::getAccountId).toList();
+    }
+
+    /**
+     * Pushes every GL row in the range to the handler as it comes off the cursor. Rows of archived
+     * periods are read from their archive files and merged in as the cursor passes them.
+     *
+     * @return number of rows streamed
+     */
+    public long streamEntries(LocalDate fromDate, LocalDate toDate, List<Long> accountPKs, GLRowHandler handler) {
+        if (accountPKs.isEmpty()) return 0;
+
+        Long count = readOnlyTransaction.execute(status -> {
+            Map<Long, BigDecimal> openings = new HashMap<>();
+            for (OpeningBalanceDTO o : analyticsService.fetchOpeningBalances(fromDate, accountPKs)) {
+                openings.put(o.getAccountPK(), o.getOpeningBalance());
+            }
+
+            String sql = """
+                    SELECT je.entry_id, je.transaction_id, je.transaction_date, je.account_pk, a.account_name,
+                           je.debit_amount, je.credit_amount, jt.description
+                    FROM journal_entries je
+                    JOIN journal_transactions jt ON je.transaction_id = jt.transaction_id
+                    JOIN accounts a ON je.account_pk = a.account_pk
+                    WHERE je.transaction_date BETWEEN :fromDate AND :toDate
+                      AND a.status = 'ACTIVE'
+                      AND je.account_pk IN (:accountPKs)
+                    ORDER BY je.account_pk, je.transaction_date, je.transaction_id, je.entry_id
+                    """;
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("fromDate", java.sql.Date.valueOf(fromDate))
+                    .addValue("toDate", java.sql.Date.valueOf(toDate))
+                    .addValue("accountPKs", accountPKs);
+
+            long[] rows = {0};
+            Long[] currentAccount = {null};
+            BigDecimal[] running = {BigDecimal.ZERO};
+            GLRowHandler emit = row -> {
+                if (!row.getAccountPK().equals(currentAccount[0])) {
+                    currentAccount[0] = row.getAccountPK();
+                    running[0] = openings.getOrDefault(row.getAccountPK(), BigDecimal.ZERO);
+                }
+                running[0] = running[0].add(row.getSignedAmount());
+                row.setRunningBalance(running[0]);
+                handler.onRow(row);
+                rows[0]++;
+            };
+
+            Iterator<GLRowDTO> archived = archiveService.glRows(fromDate, toDate, accountPKs, null);
+            GLRowDTO[] pending = {archived.hasNext() ? archived.next() : null};
+
+            cursorTemplate.query(sql, params, rs -> {
+                BigDecimal debit = rs.getBigDecimal(6);
+                BigDecimal credit = rs.getBigDecimal(7);
+
+                GLRowDTO row = new GLRowDTO();
+                row.setEntryId(rs.getLong(1));
+                row.setTransactionId(rs.getLong(2));
+                row.setTransactionDate(rs.getDate(3).toLocalDate());
+                row.setAccountPK(rs.getLong(4));
+                row.setAccountName(rs.getString(5));
+                row.setDebitAmount(debit);
+                row.setCreditAmount(credit);
+                row.setSignedAmount(debit.subtract(credit));
+                row.setDescription(rs.getString(8));
+
+                while (pending[0] != null && LedgerArchiveService.GL_ORDER.compare(pending[0], row) < 0) {
+                    emit.onRow(pending[0]);
+                    pending[0] = archived.hasNext() ? archived.next() : null;
+                }
+                emit.onRow(row);
+            });
+            while (pending[0] != null) {
+                emit.onRow(pending[0]);
+                pending[0] = archived.hasNext() ? archived.next() : null;
+            }
+            return rows[0];
+        });
+        return count == null ? 0 : count;
+    }
+}
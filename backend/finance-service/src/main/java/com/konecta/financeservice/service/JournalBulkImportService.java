@@ -0,0 +1,405 @@
+package com.konecta.financeservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.konecta.financeservice.dto.BulkImportErrorDTO;
+import com.konecta.financeservice.dto.BulkImportResultDTO;
+import com.konecta.financeservice.dto.CreateJournalEntryDTO;
+import com.konecta.financeservice.dto.CreateJournalTransactionDTO;
+import com.konecta.financeservice.event.JournalPostedEvent;
+import com.konecta.financeservice.model.enums.AccountStatus;
+import com.konecta.financeservice.model.enums.ImportFormat;
+import com.konecta.financeservice.model.enums.PeriodStatus;
+import com.konecta.financeservice.service.LedgerIndexService.IndexedAccount;
+import com.konecta.financeservice.service.LedgerIndexService.IndexedPeriod;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Streams journal transactions from an NDJSON or CSV body and writes them in chunks with JDBC batches.
+ * Accounts and periods are resolved from the in-memory ledger index; IDs are taken from the
+ * tables' identity sequences up front so entries can reference their transaction without a round trip.
+ * A rejected transaction is reported with its line number and never aborts the rest of the file.
+ */
+@Service
+public class JournalBulkImportService {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final List<String> CSV_COLUMNS = List.of(
+            "reference", "transaction_date", "description", "posted_by_user_id", "account_pk", "debit_amount", "credit_amount");
+
+    private final LedgerIndexService ledgerIndex;
+    private final AccountBalanceService accountBalanceService;
+    private final CashFlowClassificationService cashFlowClassificationService;
+    private final LedgerColumnCache columnCache;
+    private final JournalSearchService searchService;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public JournalBulkImportService(LedgerIndexService ledgerIndex, AccountBalanceService accountBalanceService, CashFlowClassificationService cashFlowClassificationService, LedgerColumnCache columnCache, JournalSearchService searchService, JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate, PlatformTransactionManager transactionManager, ObjectMapper objectMapper, ApplicationEventPublisher eventPublisher) {
+        this.ledgerIndex = ledgerIndex;
+        this.accountBalanceService = accountBalanceService;
+        this.cashFlowClassificationService = cashFlowClassificationService;
+        this.columnCache = columnCache;
+        this.searchService = searchService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public BulkImportResultDTO importTransactions(InputStream body, ImportFormat format) throws IOException {
+        ImportContext ctx = new ImportContext();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+
+        if (format == ImportFormat.CSV) {
+            readCsv(reader, ctx);
+        } else {
+            readNdjson(reader, ctx);
+        }
+        flush(ctx);
+
+        return new BulkImportResultDTO(ctx.linesRead, ctx.transactionsImported, ctx.entriesImported,
+                ctx.transactionsRejected, ctx.errors, ctx.transactionsRejected > ctx.errors.size());
+    }
+
+    private void readNdjson(BufferedReader reader, ImportContext ctx) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            long lineNumber = ++ctx.linesRead;
+            if (line.isBlank()) continue;
+            try {
+                accept(ctx, lineNumber, objectMapper.readValue(line, CreateJournalTransactionDTO.class));
+            } catch (JsonProcessingException e) {
+                reject(ctx, lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    /*
+     * One entry per row; consecutive rows sharing a reference form one transaction.
+     * The header row is required and may list the columns in any order.
+     */
+    private void readCsv(BufferedReader reader, ImportContext ctx) throws IOException {
+        String header = reader.readLine();
+        if (header == null) return;
+        ctx.linesRead++;
+
+        List<String> names = parseCsvLine(header.replace("\uFEFF", ""));
+        int[] idx = new int[CSV_COLUMNS.size()];
+        for (int i = 0; i < idx.length; i++) {
+            idx[i] = names.indexOf(CSV_COLUMNS.get(i));
+            if (idx[i] < 0) {
+                throw new IllegalArgumentException("CSV header is missing column '" + CSV_COLUMNS.get(i) + "'");
+            }
+        }
+
+        String currentRef = null;
+        CreateJournalTransactionDTO current = null;
+        long currentLine = 0;
+        String currentError = null;
+        long errorLine = 0; // an invalid row fails its whole transaction and is reported by its own line
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            long lineNumber = ++ctx.linesRead;
+            if (line.isBlank()) continue;
+
+            List<String> cols = parseCsvLine(line);
+            String ref = column(cols, idx[0]);
+
+            if (current == null || !Objects.equals(ref, currentRef)) {
+                if (current != null) {
+                    if (currentError == null) accept(ctx, currentLine, current);
+                    else reject(ctx, errorLine, currentError);
+                }
+                currentRef = ref;
+                currentLine = errorLine = lineNumber;
+                currentError = null;
+                current = new CreateJournalTransactionDTO();
+                current.setEntries(new ArrayList<>());
+                try {
+                    current.setTransactionDate(LocalDate.parse(column(cols, idx[1])));
+                } catch (DateTimeParseException | NullPointerException e) {
+                    currentError = "invalid transaction_date";
+                }
+                current.setDescription(column(cols, idx[2]));
+                current.setPostedByUserId(column(cols, idx[3]));
+                if (ref == null) {
+                    currentError = "reference is required";
+                }
+            }
+
+            if (currentError != null) continue;
+            try {
+                CreateJournalEntryDTO entry = new CreateJournalEntryDTO();
+                entry.setAccountPK(Long.valueOf(column(cols, idx[4])));
+                String debit = column(cols, idx[5]);
+                String credit = column(cols, idx[6]);
+                entry.setDebitAmount(debit == null ? BigDecimal.ZERO : new BigDecimal(debit));
+                entry.setCreditAmount(credit == null ? BigDecimal.ZERO : new BigDecimal(credit));
+                current.getEntries().add(entry);
+            } catch (NumberFormatException e) {
+                currentError = "invalid account_pk or amount";
+                errorLine = lineNumber;
+            }
+        }
+
+        if (current != null) {
+            if (currentError == null) accept(ctx, currentLine, current);
+            else reject(ctx, errorLine, currentError);
+        }
+    }
+
+    private void accept(ImportContext ctx, long lineNumber, CreateJournalTransactionDTO dto) {
+        String error = validate(ctx, dto);
+        if (error != null) {
+            reject(ctx, lineNumber, error);
+            return;
+        }
+        ctx.pending.add(new PendingTransaction(lineNumber, dto, ledgerIndex.findPeriod(dto.getTransactionDate())));
+        if (ctx.pending.size() >= CHUNK_SIZE) {
+            flush(ctx);
+        }
+    }
+
+    private String validate(ImportContext ctx, CreateJournalTransactionDTO dto) {
+        if (dto.getTransactionDate() == null) return "transactionDate is required";
+        if (dto.getDescription() == null || dto.getDescription().isBlank()) return "description is required";
+        if (dto.getDescription().length() > 255) return "description must be at most 255 characters";
+        if (dto.getPostedByUserId() == null || dto.getPostedByUserId().isBlank()) return "postedByUserId is required";
+        if (dto.getEntries() == null || dto.getEntries().isEmpty()) return "A transaction needs at least one entry";
+
+        IndexedPeriod period = ledgerIndex.findPeriod(dto.getTransactionDate());
+        if (period == null) return "Cannot create a transaction at a date not covered by a period";
+        if (period.status() == PeriodStatus.CLOSED) return "Cannot create a transaction within a closed period";
+
+        BigDecimal totalDebit = BigDecimal.ZERO;
+        BigDecimal totalCredit = BigDecimal.ZERO;
+        for (CreateJournalEntryDTO e : dto.getEntries()) {
+            if (e.getAccountPK() == null) return "accountPK is required on every entry";
+            IndexedAccount account = ledgerIndex.findAccount(e.getAccountPK());
+            if (account == null) return "Account not found with PK: " + e.getAccountPK();
+            if (account.status() == AccountStatus.INACTIVE) return "An inactive account cannot be used for a transaction";
+
+            if (e.getDebitAmount() == null) e.setDebitAmount(BigDecimal.ZERO);
+            if (e.getCreditAmount() == null) e.setCreditAmount(BigDecimal.ZERO);
+            if (e.getDebitAmount().signum() < 0 || e.getCreditAmount().signum() < 0) return "Amounts must not be negative";
+
+            totalDebit = totalDebit.add(e.getDebitAmount());
+            totalCredit = totalCredit.add(e.getCreditAmount());
+        }
+        if (totalDebit.compareTo(totalCredit) != 0) {
+            return "Total debit amount must equal total credit amount for a transaction";
+        }
+        return null;
+    }
+
+    private void reject(ImportContext ctx, long lineNumber, String message) {
+        ctx.transactionsRejected++;
+        if (ctx.errors.size() < MAX_REPORTED_ERRORS) {
+            ctx.errors.add(new BulkImportErrorDTO(lineNumber, message));
+        }
+    }
+
+    private void flush(ImportContext ctx) {
+        if (ctx.pending.isEmpty()) return;
+        List<PendingTransaction> chunk = new ArrayList<>(ctx.pending);
+        ctx.pending.clear();
+
+        try {
+            int entries = transactionTemplate.execute(status -> writeChunk(chunk));
+            ctx.transactionsImported += chunk.size();
+            ctx.entriesImported += entries;
+        } catch (RuntimeException e) {
+            // the whole chunk was rolled back; report every transaction in it
+            String message = "Write failed: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            for (PendingTransaction p : chunk) {
+                reject(ctx, p.lineNumber, message);
+            }
+        }
+    }
+
+    private int writeChunk(List<PendingTransaction> chunk) {
+        int entryCount = 0;
+        for (PendingTransaction p : chunk) entryCount += p.dto.getEntries().size();
+
+        long[] transactionIds = allocateIds("journal_transactions", "transaction_id", chunk.size());
+        long[] entryIds = allocateIds("journal_entries", "entry_id", entryCount);
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> transactionRows = new ArrayList<>(chunk.size());
+        List<Object[]> entryRows = new ArrayList<>(entryCount);
+        List<Object[]> cashFlowRows = new ArrayList<>();
+        Map<Long, Map<Long, BigDecimal[]>> deltas = new HashMap<>();
+        Set<Long> newlyUsedAccounts = new HashSet<>();
+        LedgerColumnCache.Batch cacheBatch = new LedgerColumnCache.Batch();
+        List<JournalSearchService.Document> searchDocuments = new ArrayList<>(chunk.size());
+
+        LocalDate earliestDate = null;
+        int e = 0;
+        for (int t = 0; t < chunk.size(); t++) {
+            PendingTransaction p = chunk.get(t);
+            long transactionId = transactionIds[t];
+            if (earliestDate == null || p.dto.getTransactionDate().isBefore(earliestDate)) {
+                earliestDate = p.dto.getTransactionDate();
+            }
+            Long periodId = p.period.periodId();
+            transactionRows.add(new Object[]{
+                    transactionId, periodId, Date.valueOf(p.dto.getTransactionDate()),
+                    p.dto.getDescription(), p.dto.getPostedByUserId(), now});
+            searchDocuments.add(new JournalSearchService.Document(transactionId, p.dto.getDescription(),
+                    p.dto.getEntries().stream().map(CreateJournalEntryDTO::getAccountPK).toList()));
+            cashFlowClassificationService.classifyLines(p.dto.getEntries()).forEach((section, amount) -> {
+                cashFlowRows.add(new Object[]{transactionId, Date.valueOf(p.dto.getTransactionDate()), section.name(), amount});
+                cacheBatch.cashFlow(transactionId, p.dto.getTransactionDate(), section, amount);
+            });
+
+            Map<Long, BigDecimal[]> periodDeltas = deltas.computeIfAbsent(periodId, k -> new HashMap<>());
+            for (CreateJournalEntryDTO entry : p.dto.getEntries()) {
+                entryRows.add(new Object[]{
+                        entryIds[e++], transactionId, periodId, Date.valueOf(p.dto.getTransactionDate()),
+                        entry.getAccountPK(), entry.getDebitAmount(), entry.getCreditAmount()});
+                cacheBatch.entry(transactionId, entry.getAccountPK(), p.dto.getTransactionDate(),
+                        entry.getDebitAmount(), entry.getCreditAmount());
+
+                BigDecimal[] delta = periodDeltas.computeIfAbsent(entry.getAccountPK(),
+                        k -> new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO});
+                delta[0] = delta[0].add(entry.getDebitAmount());
+                delta[1] = delta[1].add(entry.getCreditAmount());
+
+                if (!ledgerIndex.findAccount(entry.getAccountPK()).hasTransactions()) {
+                    newlyUsedAccounts.add(entry.getAccountPK());
+                }
+            }
+        }
+
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO journal_transactions (transaction_id, period_id, transaction_date, description, posted_by_user_id, created_at)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """, transactionRows);
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO journal_entries (entry_id, transaction_id, period_id, transaction_date, account_pk, debit_amount, credit_amount)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """, entryRows);
+        if (!cashFlowRows.isEmpty()) {
+            jdbcTemplate.batchUpdate("""
+                    INSERT INTO journal_cash_flows (transaction_id, transaction_date, section, amount)
+                    VALUES (?, ?, ?, ?)
+                    """, cashFlowRows);
+        }
+
+        searchService.index(searchDocuments);
+
+        deltas.forEach((periodId, byAccount) -> byAccount.forEach((accountPk, delta) ->
+                accountBalanceService.applyDelta(accountPk, periodId, delta[0], delta[1])));
+        columnCache.appendAfterCommit(cacheBatch);
+        eventPublisher.publishEvent(new JournalPostedEvent(new HashSet<>(deltas.keySet()), earliestDate));
+
+        if (!newlyUsedAccounts.isEmpty()) {
+            namedJdbcTemplate.update("UPDATE accounts SET has_transactions = true WHERE account_pk IN (:ids) AND has_transactions = false",
+                    new MapSqlParameterSource("ids", newlyUsedAccounts));
+            // only trust the in-memory flag once the chunk has actually committed
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ledgerIndex.markHasTransactions(newlyUsedAccounts);
+                }
+            });
+        }
+
+        return entryCount;
+    }
+
+    /*
+     * Reserves n consecutive values of the identity sequence behind table.column in one round trip.
+     */
+    private long[] allocateIds(String table, String column, int n) {
+        if (n == 0) return new long[0];
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT nextval(pg_get_serial_sequence(?, ?)) FROM generate_series(1, ?)",
+                Long.class, table, column, n);
+        long[] result = new long[n];
+        for (int i = 0; i < n; i++) result[i] = ids.get(i);
+        return result;
+    }
+
+    static String column(List<String> cols, int i) {
+        if (i >= cols.size()) return null;
+        String v = cols.get(i).trim();
+        return v.isEmpty() ? null : v;
+    }
+
+    // RFC 4180 style: commas separate fields, double quotes wrap fields and "" escapes a quote
+    static List<String> parseCsvLine(String line) {
+        List<String> out = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    sb.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    sb.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                out.add(sb.toString());
+                sb.setLength(0);
+            } else {
+                sb.append(c);
+            }
+        }
+        out.add(sb.toString());
+        return out;
+    }
+
+    private record PendingTransaction(long lineNumber, CreateJournalTransactionDTO dto, IndexedPeriod period) {
+    }
+
+    /*
+     * Per-import counters and the chunk being assembled.
+     */
+    private static class ImportContext {
+        final List<BulkImportErrorDTO> errors = new ArrayList<>();
+        long linesRead;
+        long transactionsImported;
+        long entriesImported;
+        long transactionsRejected;
+        final List<PendingTransaction> pending = new ArrayList<>(CHUNK_SIZE);
+    }
+}
@@ -0,0 +1,47 @@
+package com.konecta.financeservice.service;
+
+import com.konecta.financeservice.dto.JournalTransactionSearchDTO;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Opaque keyset cursor for the journal transaction search: the (date, id) of the last transaction
+ * returned, newest first. The filter fingerprint rejects cursors replayed against other filters.
+ */
+record JournalSearchCursor(LocalDate transactionDate, long transactionId, int filterHash) {
+
+    private static final String VERSION = "v1";
+
+    static int filterHash(JournalTransactionSearchDTO f) {
+        return Objects.hash(f.getPeriodId(), f.getFromDate(), f.getToDate(),
+                f.getAccountPKs() == null ? null : f.getAccountPKs().stream().sorted().distinct().toList(),
+                normalize(f.getMinAmount()), normalize(f.getMaxAmount()), f.getDescription(), f.getPostedByUserId());
+    }
+
+    // 10 and 10.00 are the same bound
+    private static BigDecimal normalize(BigDecimal amount) {
+        return amount == null ? null : amount.stripTrailingZeros();
+    }
+
+    String encode() {
+        String raw = String.join("|", VERSION, transactionDate.toString(), String.valueOf(transactionId),
+                String.valueOf(filterHash));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static JournalSearchCursor decode(String cursor) {
+        try {
+            String[] p = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (p.length != 4 || !VERSION.equals(p[0])) {
+                throw new IllegalArgumentException("Invalid search cursor");
+            }
+            return new JournalSearchCursor(LocalDate.parse(p[1]), Long.parseLong(p[2]), Integer.parseInt(p[3]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid search cursor");
+        }
+    }
+}
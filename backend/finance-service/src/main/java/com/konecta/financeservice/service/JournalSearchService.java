@@ -0,0 +1,337 @@
+package com.konecta.financeservice.service;
+
+import com.konecta.financeservice.dto.JournalSearchHitDTO;
+import com.konecta.financeservice.dto.JournalSearchResultDTO;
+import com.konecta.financeservice.dto.JournalTransactionDTO;
+import com.konecta.financeservice.dto.SearchIndexRebuildDTO;
+import com.konecta.financeservice.event.AccountChangedEvent;
+import com.konecta.financeservice.service.LedgerIndexService.IndexedAccount;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Full-text search over journal descriptions and the names of the accounts each transaction posts
+ * to. Every transaction has one row in journal_search_documents holding a tsvector (description
+ * weighted above account names) behind a GIN index, which is Postgres' inverted index. Rows are
+ * written in the same transaction as the posting, rewritten when an account is renamed, and can be
+ * rebuilt from journal_transactions, journal_entries and the archive files.
+ */
+@Service
+public class JournalSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JournalSearchService.class);
+
+    public static final int MAX_PAGE_SIZE = 100;
+    // deep pages cost a sort of every match; past this, the query should be narrowed instead
+    private static final int MAX_RESULT_WINDOW = 10_000;
+
+    private static final String HIGHLIGHT_OPTIONS = "StartSel=<mark>, StopSel=</mark>, HighlightAll=true";
+    /*
+     * The parser reads "INV-1001" as "inv" and the signed number "-1001", so a search for 1001 would
+     * miss it. A separator between two letters or digits becomes a space, one character for one, in
+     * documents and queries alike; headlines are computed on that text and mapped back onto the original.
+     */
+    private static final String NORMALIZE = "regexp_replace(%s, '([[:alnum:]])[-/_#](?=[[:alnum:]])', '\\1 ', 'g')";
+    private static final String DOCUMENT = "setweight(to_tsvector('english', " + NORMALIZE + "), 'A') || " +
+            "setweight(to_tsvector('english', " + NORMALIZE + "), 'B')";
+    private static final String QUERY = "websearch_to_tsquery('english', " + NORMALIZE.formatted("?") + ")";
+
+    /**
+     * What gets indexed for one posted transaction.
+     */
+    public record Document(long transactionId, String description, Collection<Long> accountPKs) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LedgerIndexService ledgerIndex;
+    private final LedgerArchiveService archiveService;
+    private final JournalTransactionQueryService queryService;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService indexer;
+
+    @Autowired
+    public JournalSearchService(JdbcTemplate jdbcTemplate, LedgerIndexService ledgerIndex, LedgerArchiveService archiveService,
+                                JournalTransactionQueryService queryService, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ledgerIndex = ledgerIndex;
+        this.archiveService = archiveService;
+        this.queryService = queryService;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.indexer = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "journal-search-indexer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /*
+     * Hibernate cannot declare tsvector columns or GIN indexes, so the table is created here.
+     */
+    @PostConstruct
+    public void createSchema() {
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS journal_search_documents (
+                    transaction_id bigint PRIMARY KEY,
+                    account_pks bigint[] NOT NULL,
+                    account_names text NOT NULL,
+                    document tsvector NOT NULL
+                )""");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_journal_search_documents_document " +
+                "ON journal_search_documents USING GIN (document)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_journal_search_documents_accounts " +
+                "ON journal_search_documents USING GIN (account_pks)");
+    }
+
+    /**
+     * Writes the documents of freshly posted transactions; call inside the posting transaction so the
+     * index commits or rolls back with it.
+     */
+    public void index(List<Document> documents) {
+        if (documents.isEmpty()) return;
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO journal_search_documents (transaction_id, account_pks, account_names, document)
+                VALUES (?, ?, ?, %s)
+                ON CONFLICT (transaction_id) DO UPDATE
+                SET account_pks = EXCLUDED.account_pks, account_names = EXCLUDED.account_names, document = EXCLUDED.document
+                """.formatted(DOCUMENT.formatted("?", "?")), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Document d = documents.get(i);
+                Long[] accountPks = new TreeSet<>(d.accountPKs()).toArray(new Long[0]);
+                String names = accountNames(accountPks);
+                ps.setLong(1, d.transactionId());
+                ps.setArray(2, ps.getConnection().createArrayOf("bigint", accountPks));
+                ps.setString(3, names);
+                ps.setString(4, d.description());
+                ps.setString(5, names);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return documents.size();
+            }
+        });
+    }
+
+    // distinct names in name order, like the string_agg of the SQL paths below
+    private String accountNames(Long[] accountPks) {
+        TreeSet<String> names = new TreeSet<>();
+        for (Long pk : accountPks) {
+            IndexedAccount account = ledgerIndex.findAccount(pk);
+            if (account != null && account.accountName() != null) names.add(account.accountName());
+        }
+        return String.join(", ", names);
+    }
+
+    /**
+     * Transactions matching the query, best match first. The query takes web search syntax: words are
+     * ANDed, "quoted phrases" match in order, "or" between words and a leading "-" to exclude. Words
+     * are stemmed, so "rent" also finds "rents" and "renting".
+     */
+    public JournalSearchResultDTO search(String query, int page, int pageSize) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("pageSize must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (page < 0 || (long) (page + 1) * pageSize > MAX_RESULT_WINDOW) {
+            throw new IllegalArgumentException("Only the first " + MAX_RESULT_WINDOW + " matches can be paged; refine the query");
+        }
+        String q = query.trim();
+        return readOnlyTransaction.execute(status -> {
+            List<Long> ids = new ArrayList<>();
+            List<JournalSearchHitDTO> hits = new ArrayList<>();
+            long[] total = {0};
+            // the window count is taken over all matches before the limit; headlines only for the page
+            jdbcTemplate.query("""
+                    WITH q AS (SELECT %s AS query)
+                    SELECT h.transaction_id, h.rank, h.total,
+                           jt.description, ts_headline('english', %s, q.query, ?),
+                           h.account_names, ts_headline('english', %s, q.query, ?)
+                    FROM (SELECT d.transaction_id, d.account_names, ts_rank_cd(d.document, q.query) AS rank,
+                                 COUNT(*) OVER () AS total
+                          FROM journal_search_documents d, q
+                          WHERE d.document @@ q.query
+                          ORDER BY rank DESC, d.transaction_id DESC
+                          LIMIT ? OFFSET ?) h
+                    JOIN journal_transactions jt ON jt.transaction_id = h.transaction_id
+                    CROSS JOIN q
+                    ORDER BY h.rank DESC, h.transaction_id DESC
+                    """.formatted(QUERY, NORMALIZE.formatted("jt.description"), NORMALIZE.formatted("h.account_names")), rs -> {
+                ids.add(rs.getLong(1));
+                total[0] = rs.getLong(3);
+                String accountHighlight = restore(rs.getString(7), rs.getString(6));
+                hits.add(new JournalSearchHitDTO(null, rs.getFloat(2), restore(rs.getString(5), rs.getString(4)),
+                        accountHighlight.contains("<mark>") ? accountHighlight : null));
+            }, q, HIGHLIGHT_OPTIONS, HIGHLIGHT_OPTIONS, pageSize, page * pageSize);
+
+            if (hits.isEmpty() && page > 0) {
+                // past the last page the window count is lost with the rows
+                total[0] = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM journal_search_documents " +
+                        "WHERE document @@ " + QUERY, Long.class, q);
+            }
+
+            List<JournalTransactionDTO> transactions = queryService.getJournalTransactions(ids);
+            Map<Long, JournalTransactionDTO> byId = new HashMap<>();
+            for (JournalTransactionDTO t : transactions) byId.put(t.getTransactionId(), t);
+            for (int i = 0; i < hits.size(); i++) {
+                hits.get(i).setTransaction(byId.get(ids.get(i)));
+            }
+            boolean hasMore = (long) page * pageSize + hits.size() < total[0];
+            return new JournalSearchResultDTO(q, hits, page, pageSize, total[0], hasMore);
+        });
+    }
+
+    /*
+     * Puts the original characters back into a headline of the normalized text, keeping the marks.
+     * Both texts have the same length; if they somehow do not line up, the headline is kept as is.
+     */
+    private static String restore(String headline, String original) {
+        StringBuilder sb = new StringBuilder(headline.length());
+        int pos = 0;
+        for (int i = 0; i < headline.length(); ) {
+            if (headline.startsWith("<mark>", i)) {
+                sb.append("<mark>");
+                i += 6;
+            } else if (headline.startsWith("</mark>", i)) {
+                sb.append("</mark>");
+                i += 7;
+            } else {
+                if (pos >= original.length()) return headline;
+                sb.append(original.charAt(pos++));
+                i++;
+            }
+        }
+        return pos == original.length() ? sb.toString() : headline;
+    }
+
+    /**
+     * Drops every document and indexes all transactions again.
+     */
+    public synchronized SearchIndexRebuildDTO rebuild() {
+        long start = System.nanoTime();
+        int[] counts = writeTransaction.execute(status -> {
+            jdbcTemplate.update("DELETE FROM journal_search_documents");
+            return indexMissing();
+        });
+        return new SearchIndexRebuildDTO(counts[0], counts[1], (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /*
+     * Indexes transactions that have no document yet: all of them after a rebuild or on first start,
+     * otherwise rows written around the services (the data seeder). Transactions of archived periods
+     * have no entries left, so their accounts are read from the archive files. Returns the number of
+     * documents written and how many of those came from archives.
+     */
+    private int[] indexMissing() {
+        int inserted = jdbcTemplate.update("""
+                INSERT INTO journal_search_documents (transaction_id, account_pks, account_names, document)
+                SELECT jt.transaction_id, COALESCE(e.pks, '{}'), COALESCE(e.names, ''), %s
+                FROM journal_transactions jt
+                LEFT JOIN (SELECT je.transaction_id,
+                                  array_agg(DISTINCT je.account_pk ORDER BY je.account_pk) AS pks,
+                                  string_agg(DISTINCT a.account_name, ', ' ORDER BY a.account_name) AS names
+                           FROM journal_entries je JOIN accounts a ON a.account_pk = je.account_pk
+                           GROUP BY je.transaction_id) e ON e.transaction_id = jt.transaction_id
+                WHERE NOT EXISTS (SELECT 1 FROM journal_search_documents d WHERE d.transaction_id = jt.transaction_id)
+                ON CONFLICT (transaction_id) DO NOTHING
+                """.formatted(DOCUMENT.formatted("jt.description", "COALESCE(e.names, '')")));
+
+        Map<Long, List<Long>> byPeriod = new HashMap<>();
+        Map<Long, String> descriptions = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT jt.transaction_id, jt.period_id, jt.description
+                FROM journal_search_documents d JOIN journal_transactions jt ON jt.transaction_id = d.transaction_id
+                WHERE cardinality(d.account_pks) = 0 AND jt.period_id IN (SELECT la.period_id FROM ledger_archives la)
+                """, rs -> {
+            byPeriod.computeIfAbsent(rs.getLong(2), k -> new ArrayList<>()).add(rs.getLong(1));
+            descriptions.put(rs.getLong(1), rs.getString(3));
+        });
+        List<Document> archived = new ArrayList<>();
+        byPeriod.forEach((periodId, transactionIds) -> {
+            Map<Long, Set<Long>> accounts = archiveService.transactionAccounts(periodId);
+            for (Long id : transactionIds) {
+                Set<Long> pks = accounts.get(id);
+                if (pks != null) archived.add(new Document(id, descriptions.get(id), pks));
+            }
+        });
+        index(archived);
+        return new int[]{inserted, archived.size()};
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onReady() {
+        indexer.execute(() -> {
+            try {
+                synchronized (this) {
+                    int[] counts = writeTransaction.execute(status -> indexMissing());
+                    if (counts[0] > 0) {
+                        logger.info("Indexed {} journal transactions for search", counts[0]);
+                    }
+                }
+            } catch (RuntimeException e) {
+                logger.error("Indexing journal transactions for search failed", e);
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        indexer.execute(() -> {
+            try {
+                reindexAccount(event.accountPk());
+            } catch (RuntimeException e) {
+                logger.error("Reindexing search documents of account {} failed", event.accountPk(), e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        indexer.shutdownNow();
+    }
+
+    /*
+     * Rewrites the documents of every transaction on the account whose indexed account names no longer
+     * match. The GIN index on account_pks finds those transactions, archived or not; when the name did not
+     * change (a status-only update) nothing is written.
+     */
+    private void reindexAccount(Long accountPk) {
+        jdbcTemplate.update("""
+                UPDATE journal_search_documents d
+                SET account_names = x.names, document = %s
+                FROM (SELECT s.transaction_id, jt.description,
+                             (SELECT COALESCE(string_agg(DISTINCT a.account_name, ', ' ORDER BY a.account_name), '')
+                              FROM accounts a WHERE a.account_pk = ANY(s.account_pks)) AS names
+                      FROM journal_search_documents s
+                      JOIN journal_transactions jt ON jt.transaction_id = s.transaction_id
+                      WHERE s.account_pks @> ARRAY[?]::bigint[]) x
+                WHERE d.transaction_id = x.transaction_id AND d.account_names <> x.names
+                """.formatted(DOCUMENT.formatted("x.description", "x.names")), accountPk);
+    }
+}
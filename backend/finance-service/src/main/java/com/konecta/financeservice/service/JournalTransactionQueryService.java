@@ -0,0 +1,294 @@
+package com.konecta.financeservice.service;
+
+import com.konecta.financeservice.dto.GLRowDTO;
+import com.konecta.financeservice.dto.JournalEntryDTO;
+import com.konecta.financeservice.dto.JournalTransactionDTO;
+import com.konecta.financeservice.dto.JournalTransactionPageDTO;
+import com.konecta.financeservice.dto.JournalTransactionSearchDTO;
+import com.konecta.financeservice.service.LedgerIndexService.IndexedAccount;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Read side of the journal: transactions are loaded with one query and all of their entries, with the
+ * account columns joined in, with a second one, instead of one entry query per transaction.
+ */
+@Service
+public class JournalTransactionQueryService {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private static final String TRANSACTION_COLUMNS =
+            "SELECT jt.transaction_id, jt.period_id, jt.transaction_date, jt.description, jt.posted_by_user_id, jt.created_at " +
+            "FROM journal_transactions jt ";
+
+    private static final String ENTRY_COLUMNS =
+            "SELECT je.transaction_id, je.entry_id, je.account_pk, a.account_id, a.account_name, je.debit_amount, je.credit_amount " +
+            "FROM journal_entries je JOIN accounts a ON a.account_pk = je.account_pk ";
+
+    private final EntityManager entityManager;
+    private final LedgerArchiveService archiveService;
+    private final LedgerIndexService ledgerIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Autowired
+    public JournalTransactionQueryService(EntityManager entityManager, LedgerArchiveService archiveService,
+                                          LedgerIndexService ledgerIndex, JdbcTemplate jdbcTemplate,
+                                          PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.archiveService = archiveService;
+        this.ledgerIndex = ledgerIndex;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /*
+     * The (date, id) index that serves the search cursor replaced a date-only one; ddl-auto=update
+     * creates the new index but never drops the old.
+     */
+    @PostConstruct
+    public void dropReplacedIndexes() {
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_journal_transactions_date");
+    }
+
+    public List<JournalTransactionDTO> getAllJournalTransactions() {
+        return readOnlyTransaction.execute(status -> {
+            List<JournalTransactionDTO> transactions = mapTransactions(entityManager
+                    .createNativeQuery(TRANSACTION_COLUMNS + "ORDER BY jt.transaction_id"));
+            attachEntries(transactions, entityManager.createNativeQuery(ENTRY_COLUMNS + "ORDER BY je.transaction_id, je.entry_id"));
+            return transactions;
+        });
+    }
+
+    /**
+     * The given transactions with their entries, in the order of the ids; unknown ids are skipped.
+     */
+    public List<JournalTransactionDTO> getJournalTransactions(List<Long> transactionIds) {
+        if (transactionIds.isEmpty()) return new ArrayList<>();
+        return readOnlyTransaction.execute(status -> {
+            Query q = entityManager.createNativeQuery(TRANSACTION_COLUMNS + "WHERE jt.transaction_id IN (:ids)");
+            q.setParameter("ids", transactionIds);
+            Map<Long, JournalTransactionDTO> byId = new HashMap<>();
+            for (JournalTransactionDTO t : mapTransactions(q)) byId.put(t.getTransactionId(), t);
+
+            List<JournalTransactionDTO> transactions = new ArrayList<>(byId.size());
+            for (Long id : transactionIds) {
+                JournalTransactionDTO t = byId.get(id);
+                if (t != null) transactions.add(t);
+            }
+            if (!transactions.isEmpty()) {
+                attachEntries(transactions, entriesOf(transactions));
+            }
+            return transactions;
+        });
+    }
+
+    /**
+     * One page of the transactions matching every given filter, newest first. Pages are addressed by a
+     * keyset cursor on (date, id); the total is only counted when asked for, as it costs a full scan of
+     * the matching rows. Account and amount filters look at journal_entries, so they never match
+     * transactions of archived periods.
+     */
+    public JournalTransactionPageDTO search(JournalTransactionSearchDTO filter, String cursor, int pageSize, boolean includeTotal) {
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("pageSize must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (filter.getFromDate() != null && filter.getToDate() != null && filter.getFromDate().isAfter(filter.getToDate())) {
+            throw new IllegalArgumentException("fromDate must not be after toDate");
+        }
+        if (filter.getMinAmount() != null && filter.getMaxAmount() != null && filter.getMinAmount().compareTo(filter.getMaxAmount()) > 0) {
+            throw new IllegalArgumentException("minAmount must not be greater than maxAmount");
+        }
+        // normalized on a copy; the caller's filter is left as it was
+        JournalTransactionSearchDTO normalized = new JournalTransactionSearchDTO(filter.getPeriodId(), filter.getFromDate(),
+                filter.getToDate(), filter.getAccountPKs() == null || filter.getAccountPKs().isEmpty() ? null : filter.getAccountPKs(),
+                filter.getMinAmount(), filter.getMaxAmount(), blankToNull(filter.getDescription()), blankToNull(filter.getPostedByUserId()));
+
+        int filterHash = JournalSearchCursor.filterHash(normalized);
+        JournalSearchCursor after = cursor == null || cursor.isBlank() ? null : JournalSearchCursor.decode(cursor);
+        if (after != null && after.filterHash() != filterHash) {
+            throw new IllegalArgumentException("Cursor does not belong to this search filter");
+        }
+        return readOnlyTransaction.execute(status -> loadPage(normalized, after, filterHash, pageSize, includeTotal));
+    }
+
+    private JournalTransactionPageDTO loadPage(JournalTransactionSearchDTO filter, JournalSearchCursor after, int filterHash,
+                                               int pageSize, boolean includeTotal) {
+        Map<String, Object> params = new HashMap<>();
+        List<String> where = filterConditions(filter, params);
+
+        List<String> pageWhere = new ArrayList<>(where);
+        if (after != null) {
+            pageWhere.add("(jt.transaction_date, jt.transaction_id) < (:afterDate, :afterTx)");
+            params.put("afterDate", after.transactionDate());
+            params.put("afterTx", after.transactionId());
+        }
+        Query q = entityManager.createNativeQuery(TRANSACTION_COLUMNS + whereClause(pageWhere) +
+                "ORDER BY jt.transaction_date DESC, jt.transaction_id DESC LIMIT :limit");
+        params.forEach(q::setParameter);
+        q.setParameter("limit", pageSize + 1); // one extra row tells whether another page exists
+
+        List<JournalTransactionDTO> transactions = mapTransactions(q);
+        boolean hasMore = transactions.size() > pageSize;
+        if (hasMore) {
+            transactions = new ArrayList<>(transactions.subList(0, pageSize));
+        }
+
+        if (!transactions.isEmpty()) {
+            attachEntries(transactions, entriesOf(transactions));
+        }
+
+        Long totalCount = null;
+        if (includeTotal) {
+            Query count = entityManager.createNativeQuery("SELECT COUNT(*) FROM journal_transactions jt " + whereClause(where));
+            params.forEach((name, value) -> {
+                if (!name.startsWith("after")) count.setParameter(name, value);
+            });
+            totalCount = ((Number) count.getSingleResult()).longValue();
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            JournalTransactionDTO last = transactions.get(transactions.size() - 1);
+            nextCursor = new JournalSearchCursor(last.getTransactionDate(), last.getTransactionId(), filterHash).encode();
+        }
+        return new JournalTransactionPageDTO(transactions, pageSize, hasMore, nextCursor, totalCount);
+    }
+
+    private Query entriesOf(List<JournalTransactionDTO> transactions) {
+        Query entries = entityManager.createNativeQuery(ENTRY_COLUMNS +
+                "WHERE je.transaction_id IN (:ids) ORDER BY je.transaction_id, je.entry_id");
+        entries.setParameter("ids", transactions.stream().map(JournalTransactionDTO::getTransactionId).toList());
+        return entries;
+    }
+
+    private static List<String> filterConditions(JournalTransactionSearchDTO filter, Map<String, Object> params) {
+        List<String> where = new ArrayList<>();
+        if (filter.getPeriodId() != null) {
+            where.add("jt.period_id = :periodId");
+            params.put("periodId", filter.getPeriodId());
+        }
+        if (filter.getFromDate() != null) {
+            where.add("jt.transaction_date >= :fromDate");
+            params.put("fromDate", filter.getFromDate());
+        }
+        if (filter.getToDate() != null) {
+            where.add("jt.transaction_date <= :toDate");
+            params.put("toDate", filter.getToDate());
+        }
+        if (filter.getPostedByUserId() != null) {
+            where.add("jt.posted_by_user_id = :postedBy");
+            params.put("postedBy", filter.getPostedByUserId());
+        }
+        if (filter.getDescription() != null) {
+            where.add("jt.description ILIKE :description ESCAPE '\\'");
+            params.put("description", "%" + escapeLike(filter.getDescription()) + "%");
+        }
+        if (filter.getAccountPKs() != null) {
+            where.add("EXISTS (SELECT 1 FROM journal_entries je WHERE je.transaction_id = jt.transaction_id " +
+                    "AND je.account_pk IN (:accountPKs))");
+            params.put("accountPKs", filter.getAccountPKs());
+        }
+        if (filter.getMinAmount() != null || filter.getMaxAmount() != null) {
+            String total = "(SELECT COALESCE(SUM(je.debit_amount), 0) FROM journal_entries je WHERE je.transaction_id = jt.transaction_id)";
+            if (filter.getMinAmount() != null && filter.getMaxAmount() != null) {
+                where.add(total + " BETWEEN :minAmount AND :maxAmount");
+            } else if (filter.getMinAmount() != null) {
+                where.add(total + " >= :minAmount");
+            } else {
+                where.add(total + " <= :maxAmount");
+            }
+            if (filter.getMinAmount() != null) params.put("minAmount", filter.getMinAmount());
+            if (filter.getMaxAmount() != null) params.put("maxAmount", filter.getMaxAmount());
+        }
+        return where;
+    }
+
+    private static String whereClause(List<String> conditions) {
+        return conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions) + " ";
+    }
+
+    private static String escapeLike(String s) {
+        return s.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static String blankToNull(String s) {
+        return s == null || s.isBlank() ? null : s.trim();
+    }
+
+    private static List<JournalTransactionDTO> mapTransactions(Query q) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> raw = q.getResultList();
+        List<JournalTransactionDTO> transactions = new ArrayList<>(raw.size());
+        for (Object[] r : raw) {
+            JournalTransactionDTO dto = new JournalTransactionDTO();
+            dto.setTransactionId(((Number) r[0]).longValue());
+            dto.setPeriodId(((Number) r[1]).longValue());
+            dto.setTransactionDate(((java.sql.Date) r[2]).toLocalDate());
+            dto.setDescription((String) r[3]);
+            dto.setPostedByUserId((String) r[4]);
+            dto.setCreatedAt(r[5] instanceof java.sql.Timestamp t ? t.toLocalDateTime() : (LocalDateTime) r[5]);
+            dto.setEntries(new ArrayList<>());
+            transactions.add(dto);
+        }
+        return transactions;
+    }
+
+    /*
+     * Rows come ordered by transaction, so each transaction's entries are one run of the result.
+     * Transactions of archived periods have no live entries; their rows are read from the archive
+     * file, one pass per period.
+     */
+    private void attachEntries(List<JournalTransactionDTO> transactions, Query entries) {
+        Map<Long, JournalTransactionDTO> byId = new HashMap<>(transactions.size() * 2);
+        for (JournalTransactionDTO t : transactions) byId.put(t.getTransactionId(), t);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> raw = entries.getResultList();
+        for (Object[] r : raw) {
+            JournalTransactionDTO t = byId.get(((Number) r[0]).longValue());
+            if (t == null) continue;
+            JournalEntryDTO entryDto = new JournalEntryDTO();
+            entryDto.setEntryID(((Number) r[1]).longValue());
+            entryDto.setAccountPK(((Number) r[2]).longValue());
+            entryDto.setAccountId((String) r[3]);
+            entryDto.setAccountName((String) r[4]);
+            entryDto.setDebitAmount((BigDecimal) r[5]);
+            entryDto.setCreditAmount((BigDecimal) r[6]);
+            t.getEntries().add(entryDto);
+        }
+
+        Map<Long, Set<Long>> archived = new HashMap<>();
+        for (JournalTransactionDTO t : transactions) {
+            if (t.getEntries().isEmpty() && archiveService.isArchived(t.getPeriodId())) {
+                archived.computeIfAbsent(t.getPeriodId(), id -> new HashSet<>()).add(t.getTransactionId());
+            }
+        }
+        archived.forEach((periodId, ids) -> archiveService.transactionRows(periodId, ids).forEach((transactionId, rows) -> {
+            List<JournalEntryDTO> target = byId.get(transactionId).getEntries();
+            for (GLRowDTO row : rows) {
+                IndexedAccount account = ledgerIndex.findAccount(row.getAccountPK());
+                JournalEntryDTO entryDto = new JournalEntryDTO();
+                entryDto.setEntryID(row.getEntryId());
+                entryDto.setAccountPK(row.getAccountPK());
+                entryDto.setAccountId(account != null ? account.accountId() : null);
+                entryDto.setAccountName(row.getAccountName());
+                entryDto.setDebitAmount(row.getDebitAmount());
+                entryDto.setCreditAmount(row.getCreditAmount());
+                target.add(entryDto);
+            }
+        }));
+    }
+}
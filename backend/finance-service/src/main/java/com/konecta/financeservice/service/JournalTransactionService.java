@@ -4,71 +4,103 @@ import com.konecta.financeservice.dto.CreateJournalEntryDTO;
 import com.konecta.financeservice.dto.CreateJournalTransactionDTO;
 import com.konecta.financeservice.dto.JournalEntryDTO;
 import com.konecta.financeservice.dto.JournalTransactionDTO;
-import com.konecta.financeservice.entity.Account;
 import com.konecta.financeservice.entity.JournalEntry;
 import com.konecta.financeservice.entity.JournalTransaction;
-import com.konecta.financeservice.entity.Period;
+import com.konecta.financeservice.event.JournalPostedEvent;
+import com.konecta.financeservice.model.enums.CashSource;
 import com.konecta.financeservice.model.enums.AccountStatus;
 import com.konecta.financeservice.model.enums.PeriodStatus;
 import com.konecta.financeservice.repository.AccountRepository;
 import com.konecta.financeservice.repository.JournalEntryRepository;
 import com.konecta.financeservice.repository.JournalTransactionRepository;
 import com.konecta.financeservice.repository.PeriodRepository;
+import com.konecta.financeservice.service.LedgerIndexService.IndexedAccount;
+import com.konecta.financeservice.service.LedgerIndexService.IndexedPeriod;
 import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 public class JournalTransactionService {
 
+    private static final Logger logger = LoggerFactory.getLogger(JournalTransactionService.class);
+
     private final JournalTransactionRepository journalTransactionRepository;
     private final JournalEntryRepository journalEntryRepository;
     private final PeriodRepository periodRepository;
     private final AccountRepository accountRepository;
+    private final AccountBalanceService accountBalanceService;
+    private final CashFlowClassificationService cashFlowClassificationService;
+    private final LedgerIndexService ledgerIndex;
+    private final LedgerColumnCache columnCache;
+    private final JournalSearchService searchService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public JournalTransactionService(JournalTransactionRepository journalTransactionRepository, JournalEntryRepository journalEntryRepository, PeriodRepository periodRepository, AccountRepository accountRepository) {
+    public JournalTransactionService(JournalTransactionRepository journalTransactionRepository, JournalEntryRepository journalEntryRepository, PeriodRepository periodRepository, AccountRepository accountRepository, AccountBalanceService accountBalanceService, CashFlowClassificationService cashFlowClassificationService, LedgerIndexService ledgerIndex, LedgerColumnCache columnCache, JournalSearchService searchService, ApplicationEventPublisher eventPublisher) {
         this.journalTransactionRepository = journalTransactionRepository;
         this.journalEntryRepository = journalEntryRepository;
         this.periodRepository = periodRepository;
         this.accountRepository = accountRepository;
+        this.accountBalanceService = accountBalanceService;
+        this.cashFlowClassificationService = cashFlowClassificationService;
+        this.ledgerIndex = ledgerIndex;
+        this.columnCache = columnCache;
+        this.searchService = searchService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
     public JournalTransactionDTO createJournalTransaction(CreateJournalTransactionDTO dto) {
-        Period period = periodRepository.findPeriodToMatchTransactionDate(dto.getTransactionDate())
-                .orElseThrow(() -> new IllegalArgumentException("Cannot create a transaction at a date not covered by a period"));
-        if (period.getStatus() == PeriodStatus.CLOSED) {
+        IndexedPeriod period = ledgerIndex.findPeriod(dto.getTransactionDate());
+        if (period == null) {
+            throw new IllegalArgumentException("Cannot create a transaction at a date not covered by a period");
+        }
+        if (period.status() == PeriodStatus.CLOSED) {
             throw new IllegalArgumentException("Cannot create a transaction within a closed period");
         }
 
         JournalTransaction transaction = new JournalTransaction();
-        transaction.setPeriod(period);
+        // references only: accounts and periods come from the index, never loaded here
+        transaction.setPeriod(periodRepository.getReferenceById(period.periodId()));
         transaction.setTransactionDate(dto.getTransactionDate());
         transaction.setDescription(dto.getDescription());
         transaction.setPostedByUserId(dto.getPostedByUserId());
         JournalTransaction savedTransaction = journalTransactionRepository.save(transaction);
 
         List<JournalEntry> entriesToSave = new ArrayList<>();
+        Map<Long, IndexedAccount> accounts = new HashMap<>();
         BigDecimal totalDebit = BigDecimal.ZERO;
         BigDecimal totalCredit = BigDecimal.ZERO;
 
         for (CreateJournalEntryDTO entryDto : dto.getEntries()) {
-            // load managed Account (throws if not found)
-            Account account = accountRepository.findById(entryDto.getAccountPK())
-                    .orElseThrow(() -> new IllegalArgumentException("Account not found with PK: " + entryDto.getAccountPK()));
+            IndexedAccount account = ledgerIndex.findAccount(entryDto.getAccountPK());
+            if (account == null) {
+                throw new IllegalArgumentException("Account not found with PK: " + entryDto.getAccountPK());
+            }
 
-            if (account.getStatus() == AccountStatus.INACTIVE) {
+            if (account.status() == AccountStatus.INACTIVE) {
                 throw new IllegalArgumentException("An inactive account cannot be used for a transaction");
             }
+            accounts.put(account.accountPK(), account);
 
             JournalEntry entry = new JournalEntry();
             entry.setTransaction(savedTransaction);
-            entry.setAccount(account);
+            entry.setTransactionDate(dto.getTransactionDate());
+            entry.setPeriodId(period.periodId());
+            entry.setAccount(accountRepository.getReferenceById(account.accountPK()));
 
             if (entryDto.getDebitAmount() != null) {
                 entry.setDebitAmount(entryDto.getDebitAmount());
@@ -87,24 +119,59 @@ public class JournalTransactionService {
         }
 
         List<JournalEntry> savedEntries = journalEntryRepository.saveAll(entriesToSave);
+        accountBalanceService.applyPosting(period.periodId(), savedEntries);
+        Map<CashSource, BigDecimal> sections = cashFlowClassificationService.recordPosting(savedTransaction, savedEntries);
+        searchService.index(List.of(new JournalSearchService.Document(savedTransaction.getTransactionId(),
+                dto.getDescription(), accounts.keySet())));
+        if (columnCache.isEnabled()) {
+            LedgerColumnCache.Batch batch = new LedgerColumnCache.Batch();
+            for (JournalEntry e : savedEntries) {
+                batch.entry(savedTransaction.getTransactionId(), e.getAccount().getAccountPK(), dto.getTransactionDate(),
+                        e.getDebitAmount(), e.getCreditAmount());
+            }
+            sections.forEach((section, amount) ->
+                    batch.cashFlow(savedTransaction.getTransactionId(), dto.getTransactionDate(), section, amount));
+            columnCache.appendAfterCommit(batch);
+        }
+        eventPublisher.publishEvent(new JournalPostedEvent(Set.of(period.periodId()), dto.getTransactionDate()));
+
+        // flag first-time accounts only; re-saving hot accounts like Cash on every posting just adds row locks
+        List<Long> firstUse = accounts.values().stream()
+                .filter(a -> !a.hasTransactions())
+                .map(IndexedAccount::accountPK)
+                .toList();
+        if (!firstUse.isEmpty()) {
+            accountRepository.markHasTransactions(firstUse);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ledgerIndex.markHasTransactions(firstUse);
+                }
+            });
+        }
 
-        Set<Account> accountsToUpdate = savedEntries.stream()
-                .map(JournalEntry::getAccount)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
+        return convertToDTO(savedTransaction, period.periodId(), savedEntries, accounts);
+    }
 
-        for (Account acc : accountsToUpdate) {
-            acc.setHasTransactions(true);
+    /**
+     * Fills the denormalized transaction_date and period_id of entries posted before the columns
+     * existed. Runs ahead of the other startup backfills, which read those columns.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void backfillEntryColumns() {
+        int rows = journalEntryRepository.backfillTransactionColumns();
+        if (rows > 0) {
+            logger.info("Backfilled transaction date and period on {} journal entries", rows);
         }
-        accountRepository.saveAll(new ArrayList<>(accountsToUpdate));
-
-        return convertToDTO(savedTransaction, savedEntries);
     }
 
-    public JournalTransactionDTO convertToDTO(JournalTransaction transaction, List<JournalEntry> entries) {
+    private JournalTransactionDTO convertToDTO(JournalTransaction transaction, Long periodId, List<JournalEntry> entries,
+                                               Map<Long, IndexedAccount> accounts) {
         JournalTransactionDTO dto = new JournalTransactionDTO();
         dto.setTransactionId(transaction.getTransactionId());
-        dto.setPeriodId(transaction.getPeriod().getPeriodId());
+        dto.setPeriodId(periodId);
         dto.setTransactionDate(transaction.getTransactionDate());
         dto.setDescription(transaction.getDescription());
         dto.setEntries(new ArrayList<>());
@@ -112,11 +179,12 @@ public class JournalTransactionService {
         dto.setCreatedAt(transaction.getCreatedAt());
 
         for (JournalEntry e : entries) {
+            IndexedAccount account = accounts.get(e.getAccount().getAccountPK());
             JournalEntryDTO entryDto = new JournalEntryDTO();
             entryDto.setEntryID(e.getEntryId());
-            entryDto.setAccountPK(e.getAccount().getAccountPK());
-            entryDto.setAccountId(e.getAccount().getAccountId());
-            entryDto.setAccountName(e.getAccount().getAccountName());
+            entryDto.setAccountPK(account.accountPK());
+            entryDto.setAccountId(account.accountId());
+            entryDto.setAccountName(account.accountName());
             entryDto.setDebitAmount(e.getDebitAmount());
             entryDto.setCreditAmount(e.getCreditAmount());
             dto.getEntries().add(entryDto);
@@ -125,30 +193,16 @@ public class JournalTransactionService {
         return dto;
     }
 
-    public List<JournalTransactionDTO> getAllJournalTransactions() {
-        List<JournalTransaction> transactions = journalTransactionRepository.findAll();
-        
-    
-        return transactions.stream()
-                .map(this::convertToDTOWithEntries)
-                .collect(Collectors.toList());
-    }
-
-    // Helper to map Entity -> DTO
-    private JournalTransactionDTO convertToDTOWithEntries(JournalTransaction transaction) {
+    public JournalTransactionDTO convertToDTO(JournalTransaction transaction, List<JournalEntry> entries) {
         JournalTransactionDTO dto = new JournalTransactionDTO();
         dto.setTransactionId(transaction.getTransactionId());
         dto.setPeriodId(transaction.getPeriod().getPeriodId());
         dto.setTransactionDate(transaction.getTransactionDate());
         dto.setDescription(transaction.getDescription());
+        dto.setEntries(new ArrayList<>());
         dto.setPostedByUserId(transaction.getPostedByUserId());
         dto.setCreatedAt(transaction.getCreatedAt());
 
-    
-        List<JournalEntryDTO> entryDTOs = new ArrayList<>();
-        
-        List<JournalEntry> entries = journalEntryRepository.findAllByTransaction_TransactionId(transaction.getTransactionId());
-
         for (JournalEntry e : entries) {
             JournalEntryDTO entryDto = new JournalEntryDTO();
             entryDto.setEntryID(e.getEntryId());
@@ -157,11 +211,9 @@ public class JournalTransactionService {
             entryDto.setAccountName(e.getAccount().getAccountName());
             entryDto.setDebitAmount(e.getDebitAmount());
             entryDto.setCreditAmount(e.getCreditAmount());
-            entryDTOs.add(entryDto);
+            dto.getEntries().add(entryDto);
         }
-        
-        dto.setEntries(entryDTOs);
+
         return dto;
     }
-
 }
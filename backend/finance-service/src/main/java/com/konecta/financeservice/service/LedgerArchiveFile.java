@@ -0,0 +1,413 @@
+package com.konecta.financeservice.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/*
+ * Immutable on-disk image of the journal entries of one archived period.
+ *
+ * Rows are grouped into one segment per account, in GL order (date, transaction, entry). Inside a
+ * segment every column is stored separately as zig-zag varint deltas, which packs sorted ids and
+ * dates into a byte or two per row. Transaction descriptions are kept once per transaction in a
+ * deflated block. A CRC32 of the whole file sits in the last 8 bytes.
+ *
+ * Layout: header | segments | transaction table | account directory | crc
+ */
+final class LedgerArchiveFile {
+
+    private static final int MAGIC = 0x4B4C4131; // "KLA1"
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 2 + 8 + 8 + 4 + 4 + 8 + 8 + 8 + 8;
+
+    record ArchivedRow(long entryId, long transactionId, LocalDate date, long debitCents, long creditCents) {
+    }
+
+    private LedgerArchiveFile() {
+    }
+
+    /*
+     * Accumulates rows (which must arrive in account, date, transaction, entry order) and writes the file.
+     */
+    static final class Writer {
+        private final long periodId;
+        private final ByteArrayOutputStream segments = new ByteArrayOutputStream();
+        private final List<long[]> directory = new ArrayList<>(); // accountPk, rowCount, offset, length
+        private final TreeMap<Long, String> descriptions = new TreeMap<>();
+        private Segment current;
+        private long rowCount;
+        private long totalDebitCents;
+        private long totalCreditCents;
+
+        Writer(long periodId) {
+            this.periodId = periodId;
+        }
+
+        void add(long accountPk, long entryId, long transactionId, LocalDate date,
+                 long debitCents, long creditCents, String description) {
+            if (current == null || current.accountPk != accountPk) {
+                if (current != null && accountPk < current.accountPk) {
+                    throw new IllegalStateException("Archive rows must be ordered by account");
+                }
+                finishSegment();
+                current = new Segment(accountPk);
+            }
+            current.add(entryId, transactionId, date.toEpochDay(), debitCents, creditCents);
+            descriptions.putIfAbsent(transactionId, description);
+            rowCount++;
+            totalDebitCents += debitCents;
+            totalCreditCents += creditCents;
+        }
+
+        long rowCount() {
+            return rowCount;
+        }
+
+        long totalDebitCents() {
+            return totalDebitCents;
+        }
+
+        long totalCreditCents() {
+            return totalCreditCents;
+        }
+
+        /*
+         * Writes to a temporary file next to the target, forces it to disk and moves it into place.
+         *
+         * @return size of the file in bytes
+         */
+        long writeTo(Path target) throws IOException {
+            finishSegment();
+
+            ByteArrayOutputStream txTable = new ByteArrayOutputStream();
+            ByteArrayOutputStream txIds = new ByteArrayOutputStream();
+            ByteArrayOutputStream text = new ByteArrayOutputStream();
+            long prevTx = 0;
+            for (Map.Entry<Long, String> e : descriptions.entrySet()) {
+                writeVarLong(txIds, zigzag(e.getKey() - prevTx));
+                prevTx = e.getKey();
+                byte[] utf8 = (e.getValue() == null ? "" : e.getValue()).getBytes(StandardCharsets.UTF_8);
+                writeVarLong(text, utf8.length);
+                text.write(utf8);
+            }
+            writeBlock(txTable, txIds.toByteArray());
+            byte[] raw = text.toByteArray();
+            byte[] deflated = deflate(raw);
+            writeInt(txTable, raw.length);
+            writeBlock(txTable, deflated);
+
+            long txTableOffset = HEADER_SIZE + segments.size();
+            long directoryOffset = txTableOffset + txTable.size();
+
+            ByteArrayOutputStream file = new ByteArrayOutputStream(
+                    (int) directoryOffset + directory.size() * 24 + 8);
+            DataOutputStream out = new DataOutputStream(file);
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(periodId);
+            out.writeLong(rowCount);
+            out.writeInt(directory.size());
+            out.writeInt(descriptions.size());
+            out.writeLong(totalDebitCents);
+            out.writeLong(totalCreditCents);
+            out.writeLong(txTableOffset);
+            out.writeLong(directoryOffset);
+            segments.writeTo(out);
+            txTable.writeTo(out);
+            for (long[] d : directory) {
+                out.writeLong(d[0]);
+                out.writeInt((int) d[1]);
+                out.writeLong(d[2]);
+                out.writeInt((int) d[3]);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(file.toByteArray());
+            out.writeLong(crc.getValue());
+            out.flush();
+
+            Files.createDirectories(target.toAbsolutePath().getParent());
+            Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE)) {
+                ByteBuffer bytes = ByteBuffer.wrap(file.toByteArray());
+                while (bytes.hasRemaining()) ch.write(bytes);
+                ch.force(true);
+            }
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return file.size();
+        }
+
+        private void finishSegment() {
+            if (current == null || current.rows == 0) return;
+            long offset = HEADER_SIZE + segments.size();
+            for (ByteArrayOutputStream column : current.columns()) {
+                writeBlock(segments, column.toByteArray());
+            }
+            directory.add(new long[]{current.accountPk, current.rows, offset, HEADER_SIZE + segments.size() - offset});
+            current = null;
+        }
+    }
+
+    private static final class Segment {
+        final long accountPk;
+        final ByteArrayOutputStream dates = new ByteArrayOutputStream();
+        final ByteArrayOutputStream txIds = new ByteArrayOutputStream();
+        final ByteArrayOutputStream entryIds = new ByteArrayOutputStream();
+        final ByteArrayOutputStream debits = new ByteArrayOutputStream();
+        final ByteArrayOutputStream credits = new ByteArrayOutputStream();
+        long prevDate, prevTx, prevEntry;
+        int rows;
+
+        Segment(long accountPk) {
+            this.accountPk = accountPk;
+        }
+
+        void add(long entryId, long transactionId, long epochDay, long debitCents, long creditCents) {
+            writeVarLong(dates, zigzag(epochDay - prevDate));
+            writeVarLong(txIds, zigzag(transactionId - prevTx));
+            writeVarLong(entryIds, zigzag(entryId - prevEntry));
+            writeVarLong(debits, zigzag(debitCents));
+            writeVarLong(credits, zigzag(creditCents));
+            prevDate = epochDay;
+            prevTx = transactionId;
+            prevEntry = entryId;
+            rows++;
+        }
+
+        List<ByteArrayOutputStream> columns() {
+            return List.of(dates, txIds, entryIds, debits, credits);
+        }
+    }
+
+    /*
+     * Read-only, memory-mapped view of an archive file. Safe for concurrent readers.
+     */
+    static final class Reader {
+        final long periodId;
+        final long rowCount;
+        final long totalDebitCents;
+        final long totalCreditCents;
+        final long sizeBytes;
+        private final MappedByteBuffer buffer;
+        private final long[] txIds;
+        private final String[] descriptions;
+        private final long[] accountPks;
+        private final int[] accountRows;
+        private final int[] segmentOffsets;
+
+        private Reader(MappedByteBuffer buffer, long sizeBytes) throws IOException {
+            this.buffer = buffer;
+            this.sizeBytes = sizeBytes;
+            ByteBuffer b = buffer.duplicate();
+
+            CRC32 crc = new CRC32();
+            crc.update(b.duplicate().limit((int) sizeBytes - 8));
+            if (crc.getValue() != b.getLong((int) sizeBytes - 8)) {
+                throw new IOException("Archive checksum mismatch");
+            }
+            if (b.getInt() != MAGIC || b.getShort() != VERSION) {
+                throw new IOException("Not a ledger archive file");
+            }
+            periodId = b.getLong();
+            rowCount = b.getLong();
+            int accountCount = b.getInt();
+            int txCount = b.getInt();
+            totalDebitCents = b.getLong();
+            totalCreditCents = b.getLong();
+            int txTableOffset = (int) b.getLong();
+            int directoryOffset = (int) b.getLong();
+
+            b.position(txTableOffset);
+            ByteBuffer ids = block(b);
+            txIds = new long[txCount];
+            long prev = 0;
+            for (int i = 0; i < txCount; i++) {
+                prev += unzigzag(readVarLong(ids));
+                txIds[i] = prev;
+            }
+            int rawLength = b.getInt();
+            ByteBuffer text = ByteBuffer.wrap(inflate(block(b), rawLength));
+            descriptions = new String[txCount];
+            for (int i = 0; i < txCount; i++) {
+                byte[] utf8 = new byte[(int) readVarLong(text)];
+                text.get(utf8);
+                descriptions[i] = new String(utf8, StandardCharsets.UTF_8);
+            }
+
+            b.position(directoryOffset);
+            accountPks = new long[accountCount];
+            accountRows = new int[accountCount];
+            segmentOffsets = new int[accountCount];
+            for (int i = 0; i < accountCount; i++) {
+                accountPks[i] = b.getLong();
+                accountRows[i] = b.getInt();
+                segmentOffsets[i] = (int) b.getLong();
+                b.getInt(); // segment length
+            }
+        }
+
+        static Reader open(Path path) throws IOException {
+            try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+                long size = ch.size();
+                if (size > Integer.MAX_VALUE) throw new IOException("Archive file too large to map: " + path);
+                if (size < HEADER_SIZE + 8) throw new IOException("Archive file is truncated: " + path);
+                // the mapping stays valid after the channel is closed
+                return new Reader(ch.map(FileChannel.MapMode.READ_ONLY, 0, size), size);
+            }
+        }
+
+        long[] accountPks() {
+            return accountPks.clone();
+        }
+
+        /*
+         * Rows of one account in GL order; empty when the account has no entries in this period.
+         */
+        List<ArchivedRow> rows(long accountPk) {
+            int i = Arrays.binarySearch(accountPks, accountPk);
+            if (i < 0) return List.of();
+
+            int n = accountRows[i];
+            ByteBuffer b = buffer.duplicate();
+            b.position(segmentOffsets[i]);
+            ByteBuffer dates = block(b), txs = block(b), entries = block(b), debits = block(b), credits = block(b);
+
+            List<ArchivedRow> out = new ArrayList<>(n);
+            long date = 0, tx = 0, entry = 0;
+            for (int r = 0; r < n; r++) {
+                date += unzigzag(readVarLong(dates));
+                tx += unzigzag(readVarLong(txs));
+                entry += unzigzag(readVarLong(entries));
+                out.add(new ArchivedRow(entry, tx, LocalDate.ofEpochDay(date),
+                        unzigzag(readVarLong(debits)), unzigzag(readVarLong(credits))));
+            }
+            return out;
+        }
+
+        /*
+         * Decodes every segment and checks that the rows add up to the expected count and totals, both as
+         * recorded in the header and as given by the caller. Catches a file that has a valid checksum but
+         * does not hold what was meant to be written.
+         */
+        void verify(long expectedRows, long expectedDebitCents, long expectedCreditCents) throws IOException {
+            long rows = 0, debits = 0, credits = 0;
+            for (long accountPk : accountPks) {
+                for (ArchivedRow row : rows(accountPk)) {
+                    rows++;
+                    debits += row.debitCents();
+                    credits += row.creditCents();
+                    if (Arrays.binarySearch(txIds, row.transactionId()) < 0) {
+                        throw new IOException("Archive row " + row.entryId() + " has no transaction record");
+                    }
+                }
+            }
+            if (rows != rowCount || debits != totalDebitCents || credits != totalCreditCents) {
+                throw new IOException("Archive segments do not match the header totals");
+            }
+            if (rowCount != expectedRows || totalDebitCents != expectedDebitCents
+                    || totalCreditCents != expectedCreditCents) {
+                throw new IOException("Archive totals do not match the rows written");
+            }
+        }
+
+        String description(long transactionId) {
+            int i = Arrays.binarySearch(txIds, transactionId);
+            return i < 0 ? null : descriptions[i];
+        }
+    }
+
+    private static ByteBuffer block(ByteBuffer b) {
+        int length = b.getInt();
+        ByteBuffer slice = b.slice(b.position(), length);
+        b.position(b.position() + length);
+        return slice;
+    }
+
+    private static void writeBlock(ByteArrayOutputStream out, byte[] bytes) {
+        writeInt(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int v) {
+        out.write(v >>> 24);
+        out.write(v >>> 16);
+        out.write(v >>> 8);
+        out.write(v);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long v) {
+        while ((v & ~0x7FL) != 0) {
+            out.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+
+    private static long readVarLong(ByteBuffer b) {
+        long result = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte next = b.get();
+            result |= (long) (next & 0x7F) << shift;
+            if ((next & 0x80) == 0) return result;
+        }
+    }
+
+    private static long zigzag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    private static long unzigzag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+            byte[] buf = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buf, 0, deflater.deflate(buf));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(ByteBuffer compressed, int rawLength) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[rawLength];
+            int n = 0;
+            while (n < rawLength && !inflater.finished()) {
+                int read = inflater.inflate(raw, n, rawLength - n);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Truncated archive description block");
+                }
+                n += read;
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt archive description block", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,416 @@
+package com.konecta.financeservice.service;
+
+import com.konecta.financeservice.dto.GLRowDTO;
+import com.konecta.financeservice.dto.LedgerArchiveDTO;
+import com.konecta.financeservice.entity.LedgerArchive;
+import com.konecta.financeservice.entity.Period;
+import com.konecta.financeservice.event.PeriodChangedEvent;
+import com.konecta.financeservice.model.Money;
+import com.konecta.financeservice.model.enums.AccountStatus;
+import com.konecta.financeservice.model.enums.PeriodStatus;
+import com.konecta.financeservice.repository.LedgerArchiveRepository;
+import com.konecta.financeservice.repository.PeriodRepository;
+import com.konecta.financeservice.service.LedgerArchiveFile.ArchivedRow;
+import com.konecta.financeservice.service.LedgerIndexService.IndexedAccount;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Archive tier for CLOSED periods. Archiving writes a period's journal entries to an immutable
+ * columnar file (see {@link LedgerArchiveFile}), records per-account daily totals in
+ * archived_account_days and then deletes the entries from journal_entries, so the live table and
+ * its indexes only hold periods that can still change. GL readers merge archived rows back in
+ * GL order; balance queries use the daily totals.
+ */
+@Service
+public class LedgerArchiveService {
+
+    /**
+     * Order of every GL listing: account, date, transaction, entry.
+     */
+    public static final Comparator<GLRowDTO> GL_ORDER = Comparator.comparing(GLRowDTO::getAccountPK)
+            .thenComparing(GLRowDTO::getTransactionDate)
+            .thenComparing(GLRowDTO::getTransactionId)
+            .thenComparing(GLRowDTO::getEntryId);
+
+    private record ArchivedPeriod(Long periodId, LocalDate startDate, LocalDate endDate, String fileName) {
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerArchiveService.class);
+
+    private final PeriodRepository periodRepository;
+    private final LedgerArchiveRepository archiveRepository;
+    private final LedgerIndexService ledgerIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String archiveDir;
+    private final boolean autoArchive;
+    private final ExecutorService autoArchiveExecutor;
+
+    private volatile List<ArchivedPeriod> archived; // sorted by start date
+    private final Map<Long, LedgerArchiveFile.Reader> readers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LedgerArchiveService(PeriodRepository periodRepository, LedgerArchiveRepository archiveRepository, LedgerIndexService ledgerIndex,
+                                JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                @Value("${finance.archive.dir:}") String archiveDir,
+                                @Value("${finance.archive.auto:false}") boolean autoArchive) {
+        this.periodRepository = periodRepository;
+        this.archiveRepository = archiveRepository;
+        this.ledgerIndex = ledgerIndex;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archiveDir = archiveDir;
+        this.autoArchive = autoArchive;
+        this.autoArchiveExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "ledger-archiver");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Moves the journal entries of a CLOSED period into an archive file. The file is written and
+     * verified before the entries are deleted, in one transaction that re-checks the period status.
+     */
+    public synchronized LedgerArchiveDTO archivePeriod(Long periodId) {
+        Period period = periodRepository.findById(periodId)
+                .orElseThrow(() -> new IllegalArgumentException("Period not found"));
+        if (period.getStatus() != PeriodStatus.CLOSED) {
+            throw new IllegalArgumentException("Only closed periods can be archived");
+        }
+        if (findArchived(periodId) != null) {
+            throw new IllegalArgumentException("Period is already archived");
+        }
+
+        String fileName = "period-" + periodId + ".kla";
+        Path file = archiveDir().resolve(fileName);
+        LedgerArchiveFile.Writer writer = new LedgerArchiveFile.Writer(periodId);
+        jdbcTemplate.query("""
+                SELECT je.account_pk, je.entry_id, je.transaction_id, je.transaction_date,
+                       je.debit_amount, je.credit_amount, jt.description
+                FROM journal_entries je
+                JOIN journal_transactions jt ON je.transaction_id = jt.transaction_id
+                WHERE je.period_id = ?
+                ORDER BY je.account_pk, je.transaction_date, je.transaction_id, je.entry_id
+                """, rs -> {
+            writer.add(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getDate(4).toLocalDate(),
+                    Money.cents(rs.getBigDecimal(5)), Money.cents(rs.getBigDecimal(6)), rs.getString(7));
+        }, periodId);
+
+        LedgerArchiveFile.Reader reader;
+        long fileSize;
+        try {
+            fileSize = writer.writeTo(file);
+            // re-read what landed on disk: checksum, then every segment against the rows just written
+            reader = LedgerArchiveFile.Reader.open(file);
+            reader.verify(writer.rowCount(), writer.totalDebitCents(), writer.totalCreditCents());
+        } catch (IOException e) {
+            deleteQuietly(file);
+            throw new UncheckedIOException("Could not write archive for period " + periodId, e);
+        }
+
+        LedgerArchive saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                Integer current = jdbcTemplate.queryForObject(
+                        "SELECT status FROM periods WHERE period_id = ? FOR UPDATE", Integer.class, periodId);
+                if (current == null || current != PeriodStatus.CLOSED.ordinal()) {
+                    throw new IllegalStateException("Period is no longer closed");
+                }
+
+                // the file must hold exactly what is about to be deleted
+                Map<String, Object> live = jdbcTemplate.queryForMap("""
+                        SELECT COUNT(*) AS n, COALESCE(SUM(je.debit_amount), 0) AS debits, COALESCE(SUM(je.credit_amount), 0) AS credits
+                        FROM journal_entries je
+                        WHERE je.period_id = ?
+                        """, periodId);
+                if (((Number) live.get("n")).longValue() != reader.rowCount
+                        || Money.cents((BigDecimal) live.get("debits")) != reader.totalDebitCents
+                        || Money.cents((BigDecimal) live.get("credits")) != reader.totalCreditCents) {
+                    throw new IllegalStateException("Archive verification failed for period " + periodId);
+                }
+
+                jdbcTemplate.update("""
+                        INSERT INTO archived_account_days (period_id, account_pk, transaction_date, entry_count, total_debits, total_credits)
+                        SELECT je.period_id, je.account_pk, je.transaction_date, COUNT(*), SUM(je.debit_amount), SUM(je.credit_amount)
+                        FROM journal_entries je
+                        WHERE je.period_id = ?
+                        GROUP BY je.period_id, je.account_pk, je.transaction_date
+                        """, periodId);
+                jdbcTemplate.update("""
+                        DELETE FROM journal_entries
+                        WHERE period_id = ?
+                        """, periodId);
+
+                LedgerArchive archive = new LedgerArchive(null, period, fileName, reader.rowCount,
+                        BigDecimal.valueOf(reader.totalDebitCents, 2), BigDecimal.valueOf(reader.totalCreditCents, 2),
+                        fileSize, LocalDateTime.now());
+                return archiveRepository.save(archive);
+            });
+        } catch (RuntimeException e) {
+            deleteQuietly(file);
+            throw e;
+        }
+
+        readers.put(periodId, reader);
+        register(new ArchivedPeriod(periodId, period.getStartDate(), period.getEndDate(), fileName));
+        return convertToDTO(saved, period);
+    }
+
+    public List<LedgerArchiveDTO> getArchives() {
+        return archiveRepository.findAll().stream()
+                .map(a -> convertToDTO(a, periodRepository.findById(a.getPeriod().getPeriodId()).orElseThrow()))
+                .toList();
+    }
+
+    public boolean isArchived(Long periodId) {
+        return findArchived(periodId) != null;
+    }
+
+    /**
+     * Whether any archived period overlaps the date range; lets readers skip the archive entirely.
+     */
+    public boolean overlaps(LocalDate fromDate, LocalDate toDate) {
+        for (ArchivedPeriod a : archivedPeriods()) {
+            if (!a.startDate().isAfter(toDate) && !a.endDate().isBefore(fromDate)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Archived GL rows in the range for the given accounts (active accounts only, like the live GL),
+     * in GL order and strictly after the cursor when one is given. Decodes one account segment of one
+     * archive file at a time, so memory stays bounded by the busiest account of a period.
+     */
+    Iterator<GLRowDTO> glRows(LocalDate fromDate, LocalDate toDate, Collection<Long> accountPKs, GLCursor after) {
+        List<ArchivedPeriod> periods = archivedPeriods().stream()
+                .filter(a -> !a.startDate().isAfter(toDate) && !a.endDate().isBefore(fromDate))
+                .toList();
+        if (periods.isEmpty()) return Collections.emptyIterator();
+
+        Iterator<Long> accounts = new TreeSet<>(accountPKs).iterator();
+        return new Iterator<>() {
+            private Iterator<ArchivedPeriod> periodIt = Collections.emptyIterator();
+            private IndexedAccount account;
+            private Iterator<GLRowDTO> rows = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!rows.hasNext()) {
+                    if (!periodIt.hasNext()) {
+                        if (!accounts.hasNext()) return false;
+                        account = ledgerIndex.findAccount(accounts.next());
+                        if (account == null || account.status() != AccountStatus.ACTIVE) continue;
+                        if (after != null && account.accountPK() < after.accountPk()) continue;
+                        periodIt = periods.iterator();
+                        continue;
+                    }
+                    rows = segment(periodIt.next(), account, fromDate, toDate, after).iterator();
+                }
+                return true;
+            }
+
+            @Override
+            public GLRowDTO next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return rows.next();
+            }
+        };
+    }
+
+    /**
+     * Entries of one archived transaction as GL rows (without running balances), or an empty list.
+     */
+    public List<GLRowDTO> transactionRows(Long periodId, Long transactionId) {
+        return transactionRows(periodId, Set.of(transactionId)).getOrDefault(transactionId, List.of());
+    }
+
+    /**
+     * Entries of several archived transactions of one period, keyed by transaction id, in one pass
+     * over the archive file. Transactions without archived rows are absent from the map.
+     */
+    public Map<Long, List<GLRowDTO>> transactionRows(Long periodId, Set<Long> transactionIds) {
+        ArchivedPeriod a = findArchived(periodId);
+        if (a == null || transactionIds.isEmpty()) return Map.of();
+        LedgerArchiveFile.Reader reader = reader(a);
+        Map<Long, List<GLRowDTO>> out = new HashMap<>();
+        for (long accountPk : reader.accountPks()) {
+            IndexedAccount account = ledgerIndex.findAccount(accountPk);
+            for (ArchivedRow r : reader.rows(accountPk)) {
+                if (transactionIds.contains(r.transactionId())) {
+                    out.computeIfAbsent(r.transactionId(), id -> new ArrayList<>()).add(toRow(reader, account, accountPk, r));
+                }
+            }
+        }
+        out.values().forEach(rows -> rows.sort(Comparator.comparing(GLRowDTO::getEntryId)));
+        return out;
+    }
+
+    /**
+     * Accounts touched by each archived transaction of one period, keyed by transaction id.
+     */
+    public Map<Long, Set<Long>> transactionAccounts(Long periodId) {
+        ArchivedPeriod a = findArchived(periodId);
+        if (a == null) return Map.of();
+        LedgerArchiveFile.Reader reader = reader(a);
+        Map<Long, Set<Long>> out = new HashMap<>();
+        for (long accountPk : reader.accountPks()) {
+            for (ArchivedRow r : reader.rows(accountPk)) {
+                out.computeIfAbsent(r.transactionId(), id -> new TreeSet<>()).add(accountPk);
+            }
+        }
+        return out;
+    }
+
+    private List<GLRowDTO> segment(ArchivedPeriod period, IndexedAccount account, LocalDate fromDate, LocalDate toDate, GLCursor after) {
+        LedgerArchiveFile.Reader reader = reader(period);
+        List<GLRowDTO> out = new ArrayList<>();
+        for (ArchivedRow r : reader.rows(account.accountPK())) {
+            if (r.date().isBefore(fromDate) || r.date().isAfter(toDate)) continue;
+            if (after != null && !isAfter(account.accountPK(), r, after)) continue;
+            out.add(toRow(reader, account, account.accountPK(), r));
+        }
+        return out;
+    }
+
+    private static boolean isAfter(long accountPk, ArchivedRow r, GLCursor c) {
+        if (accountPk != c.accountPk()) return accountPk > c.accountPk();
+        int byDate = r.date().compareTo(c.transactionDate());
+        if (byDate != 0) return byDate > 0;
+        if (r.transactionId() != c.transactionId()) return r.transactionId() > c.transactionId();
+        return r.entryId() > c.entryId();
+    }
+
+    private static GLRowDTO toRow(LedgerArchiveFile.Reader reader, IndexedAccount account, long accountPk, ArchivedRow r) {
+        BigDecimal debit = BigDecimal.valueOf(r.debitCents(), 2);
+        BigDecimal credit = BigDecimal.valueOf(r.creditCents(), 2);
+        GLRowDTO row = new GLRowDTO();
+        row.setEntryId(r.entryId());
+        row.setTransactionId(r.transactionId());
+        row.setTransactionDate(r.date());
+        row.setAccountPK(accountPk);
+        row.setAccountName(account != null ? account.accountName() : null);
+        row.setDebitAmount(debit);
+        row.setCreditAmount(credit);
+        row.setSignedAmount(debit.subtract(credit));
+        row.setDescription(reader.description(r.transactionId()));
+        return row;
+    }
+
+    private LedgerArchiveFile.Reader reader(ArchivedPeriod a) {
+        return readers.computeIfAbsent(a.periodId(), id -> {
+            try {
+                return LedgerArchiveFile.Reader.open(archiveDir().resolve(a.fileName()));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Archive file for period " + id + " is unreadable", e);
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPeriodChanged(PeriodChangedEvent event) {
+        if (!autoArchive || isArchived(event.periodId())) return;
+        autoArchiveExecutor.submit(() -> {
+            try {
+                Period p = periodRepository.findById(event.periodId()).orElse(null);
+                if (p != null && p.getStatus() == PeriodStatus.CLOSED && !isArchived(p.getPeriodId())) {
+                    archivePeriod(p.getPeriodId());
+                }
+            } catch (Exception e) {
+                logger.error("Auto-archive of period {} failed", event.periodId(), e);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        List<ArchivedPeriod> loaded = new ArrayList<>();
+        for (LedgerArchive a : archiveRepository.findAll()) {
+            Period p = periodRepository.findById(a.getPeriod().getPeriodId()).orElseThrow();
+            loaded.add(new ArchivedPeriod(p.getPeriodId(), p.getStartDate(), p.getEndDate(), a.getFileName()));
+        }
+        loaded.sort(Comparator.comparing(ArchivedPeriod::startDate));
+        archived = List.copyOf(loaded);
+        // only fail startup when something is, or is about to be, served from archive files
+        if (autoArchive || !loaded.isEmpty()
+                || Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM archived_account_days)", Boolean.class))) {
+            archiveDir();
+        }
+    }
+
+    /**
+     * Archived entries exist only in these files once deleted from journal_entries, so the directory
+     * must be an absolute path on persistent storage before anything is written to or read from it.
+     */
+    private Path archiveDir() {
+        if (archiveDir.isBlank() || !Path.of(archiveDir).isAbsolute()) {
+            throw new IllegalStateException("finance.archive.dir must be set to an absolute path on persistent storage");
+        }
+        return Path.of(archiveDir);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        autoArchiveExecutor.shutdownNow();
+    }
+
+    private List<ArchivedPeriod> archivedPeriods() {
+        if (archived == null) {
+            synchronized (this) {
+                if (archived == null) reload();
+            }
+        }
+        return archived;
+    }
+
+    private ArchivedPeriod findArchived(Long periodId) {
+        for (ArchivedPeriod a : archivedPeriods()) {
+            if (a.periodId().equals(periodId)) return a;
+        }
+        return null;
+    }
+
+    private synchronized void register(ArchivedPeriod period) {
+        List<ArchivedPeriod> copy = new ArrayList<>(archivedPeriods());
+        copy.add(period);
+        copy.sort(Comparator.comparing(ArchivedPeriod::startDate));
+        archived = List.copyOf(copy);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // a stray file without a registry row is never read
+        }
+    }
+
+    private LedgerArchiveDTO convertToDTO(LedgerArchive a, Period p) {
+        return new LedgerArchiveDTO(p.getPeriodId(), p.getLabel(), a.getFileName(), a.getEntryCount(),
+                a.getTotalDebits(), a.getTotalCredits(), a.getFileSizeBytes(), a.getArchivedAt());
+    }
+}
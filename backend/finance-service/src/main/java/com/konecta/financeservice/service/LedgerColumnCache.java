@@ -0,0 +1,519 @@
+package com.konecta.financeservice.service;
+
+import com.konecta.financeservice.dto.TrialBalanceRowDTO;
+import com.konecta.financeservice.entity.Period;
+import com.konecta.financeservice.event.AccountChangedEvent;
+import com.konecta.financeservice.event.PeriodChangedEvent;
+import com.konecta.financeservice.model.Money;
+import com.konecta.financeservice.model.enums.AccountStatus;
+import com.konecta.financeservice.model.enums.AccountType;
+import com.konecta.financeservice.model.enums.CashSource;
+import com.konecta.financeservice.model.enums.PeriodStatus;
+import com.konecta.financeservice.model.enums.ProfitLossMapping;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+/**
+ * Optional in-process columnar copy of the journal entries and cash flow classifications of every
+ * period that is not closed: primitive arrays of account index, epoch day and amounts in cents.
+ * Postings are appended after their commit; any account or period change rebuilds the copy in the
+ * background. Trial balance, P&amp;L mapping and cash movement sums of those periods run as loops
+ * over the arrays, split across cores when large. Every method returns null whenever the copy
+ * cannot answer (disabled, loading, closed or unknown period) and callers fall back to SQL.
+ */
+@Service
+public class LedgerColumnCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerColumnCache.class);
+
+    private static final int PARALLEL_THRESHOLD = 1 << 17;
+    private static final int CHUNK = 1 << 15;
+    private static final int INITIAL_CAPACITY = 1 << 12;
+
+    private static final CashSource[] SECTIONS = CashSource.values();
+
+    /**
+     * Lines of committed transactions, in the order they should be appended.
+     */
+    public static final class Batch {
+        private final List<EntryLine> entries = new ArrayList<>();
+        private final List<CashLine> cashFlows = new ArrayList<>();
+
+        public Batch entry(long transactionId, long accountPk, LocalDate date, BigDecimal debit, BigDecimal credit) {
+            entries.add(new EntryLine(transactionId, accountPk, (int) date.toEpochDay(), cents(debit), cents(credit)));
+            return this;
+        }
+
+        public Batch cashFlow(long transactionId, LocalDate date, CashSource section, BigDecimal amount) {
+            cashFlows.add(new CashLine(transactionId, (int) date.toEpochDay(), section.ordinal(), cents(amount)));
+            return this;
+        }
+
+        // rounded the way the scale-2 columns store the amount
+        private static long cents(BigDecimal amount) {
+            return amount == null ? 0 : Money.cents(amount.setScale(2, RoundingMode.HALF_UP));
+        }
+    }
+
+    private record EntryLine(long transactionId, long accountPk, int day, long debit, long credit) {
+    }
+
+    private record CashLine(long transactionId, int day, int section, long amount) {
+    }
+
+    // accounts are indexed in account_id order, so per-account results come out sorted
+    private record Accounts(Map<Long, Integer> indexByPk, String[] accountId, String[] accountName,
+                            AccountType[] type, int[] plMapping, boolean[] active) {
+        int size() {
+            return accountId.length;
+        }
+    }
+
+    private record CachedPeriod(long periodId, int startDay, int endDay) {
+    }
+
+    // slots below size never change once published; appends write past size, then publish a new record
+    private record EntryColumns(int[] account, int[] day, long[] debit, long[] credit, int size) {
+    }
+
+    private record CashColumns(int[] day, int[] section, long[] amount, int size) {
+    }
+
+    private record State(Accounts accounts, Map<Long, CachedPeriod> periods, Set<Long> transactionIds,
+                         EntryColumns entries, CashColumns cashFlows) {
+    }
+
+    @FunctionalInterface
+    private interface RangeSum {
+        void add(int from, int to, long[] acc);
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshotTransaction;
+    private final boolean enabled;
+    private final ExecutorService loader;
+
+    private final Object lock = new Object();
+    private volatile State state;
+    private List<Batch> pending;   // appends that arrive while a load runs; guarded by lock
+    private boolean reloadRequested;
+    private boolean loaderRunning;
+
+    @Autowired
+    public LedgerColumnCache(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             @Value("${finance.ledger-cache.enabled:false}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        // one snapshot for all columns; not read-only, so it never goes to a lagging replica
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.enabled = enabled;
+        this.loader = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "ledger-cache-loader");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Appends the batch once the surrounding transaction commits, ahead of the after-commit listeners
+     * that invalidate cached reports. Transactions that are already in the copy are skipped.
+     */
+    public void appendAfterCommit(Batch batch) {
+        if (!enabled || batch.entries.isEmpty()) return;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(batch);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCommit() {
+                append(batch);
+            }
+        });
+    }
+
+    /**
+     * Per-account totals of the period's entries, as the trial balance projection query returns them
+     * (active accounts with postings, in account_id order).
+     */
+    public List<TrialBalanceRowDTO> trialBalanceRows(Period p) {
+        State s = state;
+        CachedPeriod cp = covered(s, p);
+        if (cp == null) return null;
+
+        Accounts accounts = s.accounts();
+        EntryColumns c = s.entries();
+        int from = cp.startDay(), to = cp.endDay();
+        int[] account = c.account(), day = c.day();
+        long[] debit = c.debit(), credit = c.credit();
+        // per account: debits, credits, line count
+        long[] totals = sum(c.size(), 3 * accounts.size(), (lo, hi, acc) -> {
+            for (int i = lo; i < hi; i++) {
+                int d = day[i];
+                if (d < from || d > to) continue;
+                int a = 3 * account[i];
+                acc[a] += debit[i];
+                acc[a + 1] += credit[i];
+                acc[a + 2]++;
+            }
+        });
+
+        List<TrialBalanceRowDTO> rows = new ArrayList<>();
+        for (int a = 0; a < accounts.size(); a++) {
+            if (totals[3 * a + 2] == 0 || !accounts.active()[a]) continue;
+            rows.add(new TrialBalanceRowDTO(accounts.accountId()[a], accounts.accountName()[a], accounts.type()[a],
+                    Money.toBigDecimal(totals[3 * a]), Money.toBigDecimal(totals[3 * a + 1])));
+        }
+        return rows;
+    }
+
+    /**
+     * Net (debit - credit) cents of the period's entries on active accounts, indexed by
+     * {@link ProfitLossMapping#ordinal()}.
+     */
+    public long[] profitAndLossNets(Period p) {
+        State s = state;
+        CachedPeriod cp = covered(s, p);
+        if (cp == null) return null;
+
+        EntryColumns c = s.entries();
+        int from = cp.startDay(), to = cp.endDay();
+        int[] account = c.account(), day = c.day();
+        long[] debit = c.debit(), credit = c.credit();
+        // inactive and unmapped accounts fall into NONE, which callers ignore
+        int[] mapping = new int[s.accounts().size()];
+        for (int a = 0; a < mapping.length; a++) {
+            mapping[a] = s.accounts().active()[a] ? s.accounts().plMapping()[a] : ProfitLossMapping.NONE.ordinal();
+        }
+        return sum(c.size(), ProfitLossMapping.values().length, (lo, hi, acc) -> {
+            for (int i = lo; i < hi; i++) {
+                int d = day[i];
+                if (d < from || d > to) continue;
+                acc[mapping[account[i]]] += debit[i] - credit[i];
+            }
+        });
+    }
+
+    /**
+     * Net cash movement per section within the period, keyed like the journal_cash_flows query
+     * (only sections that have rows).
+     */
+    public Map<String, BigDecimal> cashMovementsBySection(Period p) {
+        State s = state;
+        CachedPeriod cp = covered(s, p);
+        if (cp == null) return null;
+
+        CashColumns c = s.cashFlows();
+        int from = cp.startDay(), to = cp.endDay();
+        int[] day = c.day(), section = c.section();
+        long[] amount = c.amount();
+        int n = SECTIONS.length;
+        // per section: amount, then row count
+        long[] totals = sum(c.size(), 2 * n, (lo, hi, acc) -> {
+            for (int i = lo; i < hi; i++) {
+                int d = day[i];
+                if (d < from || d > to) continue;
+                acc[section[i]] += amount[i];
+                acc[n + section[i]]++;
+            }
+        });
+
+        Map<String, BigDecimal> map = new HashMap<>();
+        for (int k = 0; k < n; k++) {
+            if (totals[n + k] > 0) map.put(SECTIONS[k].name(), Money.toBigDecimal(totals[k]));
+        }
+        return map;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        requestReload();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        requestReload();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPeriodChanged(PeriodChangedEvent event) {
+        requestReload();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loader.shutdownNow();
+    }
+
+    private static CachedPeriod covered(State s, Period p) {
+        if (s == null || p.getStatus() == PeriodStatus.CLOSED) return null;
+        CachedPeriod cp = s.periods().get(p.getPeriodId());
+        if (cp == null || cp.startDay() != p.getStartDate().toEpochDay() || cp.endDay() != p.getEndDate().toEpochDay()) {
+            return null;
+        }
+        return cp;
+    }
+
+    /*
+     * Sums [0, size) into an acc array of the given width; large ranges are split into chunks that run
+     * on the common pool, each with its own accumulator, merged at the end.
+     */
+    private static long[] sum(int size, int width, RangeSum rangeSum) {
+        if (size < PARALLEL_THRESHOLD) {
+            long[] acc = new long[width];
+            rangeSum.add(0, size, acc);
+            return acc;
+        }
+        int chunks = (size + CHUNK - 1) / CHUNK;
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(k -> {
+                    long[] acc = new long[width];
+                    rangeSum.add(k * CHUNK, Math.min(size, (k + 1) * CHUNK), acc);
+                    return acc;
+                })
+                .reduce((x, y) -> {
+                    for (int i = 0; i < width; i++) x[i] += y[i];
+                    return x;
+                })
+                .orElseGet(() -> new long[width]);
+    }
+
+    private void requestReload() {
+        if (!enabled) return;
+        synchronized (lock) {
+            reloadRequested = true;
+            state = null; // whatever triggered the reload may make the current copy wrong
+            if (loaderRunning) return;
+            loaderRunning = true;
+        }
+        loader.execute(this::runLoads);
+    }
+
+    private void runLoads() {
+        while (true) {
+            synchronized (lock) {
+                if (!reloadRequested) {
+                    loaderRunning = false;
+                    return;
+                }
+                reloadRequested = false;
+                pending = new ArrayList<>();
+            }
+            State loaded;
+            try {
+                loaded = snapshotTransaction.execute(status -> load());
+            } catch (RuntimeException e) {
+                // readers keep going to the database until the next reload succeeds
+                logger.error("Loading the ledger column cache failed; the cache stays disabled", e);
+                loaded = null;
+            }
+            synchronized (lock) {
+                State s = loaded;
+                for (Batch b : pending) {
+                    if (s != null) s = appendTo(s, b);
+                }
+                pending = null;
+                // a reload requested meanwhile means this snapshot may already be stale
+                if (!reloadRequested) state = s;
+            }
+        }
+    }
+
+    private void append(Batch batch) {
+        synchronized (lock) {
+            if (pending != null) {
+                pending.add(batch);
+            } else if (state != null) {
+                State s = appendTo(state, batch);
+                if (s != null) {
+                    state = s;
+                } else {
+                    requestReload();
+                }
+            }
+            // neither loaded nor loading: the next load reads the committed rows
+        }
+    }
+
+    /*
+     * New state with the batch appended, or null when the batch refers to an account or date the copy
+     * does not know (the copy is then out of date and has to be reloaded).
+     */
+    private static State appendTo(State s, Batch batch) {
+        Set<Long> fresh = new HashSet<>();
+        for (EntryLine e : batch.entries) {
+            if (!s.transactionIds().contains(e.transactionId())) fresh.add(e.transactionId());
+        }
+        if (fresh.isEmpty()) return s;
+
+        EntryColumns ec = s.entries();
+        int[] account = ec.account(), day = ec.day();
+        long[] debit = ec.debit(), credit = ec.credit();
+        int n = ec.size();
+        for (EntryLine e : batch.entries) {
+            if (!fresh.contains(e.transactionId())) continue;
+            Integer idx = s.accounts().indexByPk().get(e.accountPk());
+            if (idx == null || !inCachedPeriod(s, e.day())) return null;
+            if (n == account.length) {
+                int capacity = grow(n);
+                account = Arrays.copyOf(account, capacity);
+                day = Arrays.copyOf(day, capacity);
+                debit = Arrays.copyOf(debit, capacity);
+                credit = Arrays.copyOf(credit, capacity);
+            }
+            account[n] = idx;
+            day[n] = e.day();
+            debit[n] = e.debit();
+            credit[n] = e.credit();
+            n++;
+        }
+
+        CashColumns cc = s.cashFlows();
+        int[] cashDay = cc.day(), section = cc.section();
+        long[] amount = cc.amount();
+        int m = cc.size();
+        for (CashLine l : batch.cashFlows) {
+            if (!fresh.contains(l.transactionId())) continue;
+            if (m == cashDay.length) {
+                int capacity = grow(m);
+                cashDay = Arrays.copyOf(cashDay, capacity);
+                section = Arrays.copyOf(section, capacity);
+                amount = Arrays.copyOf(amount, capacity);
+            }
+            cashDay[m] = l.day();
+            section[m] = l.section();
+            amount[m] = l.amount();
+            m++;
+        }
+
+        // only touched under the lock; readers never look at the id set
+        s.transactionIds().addAll(fresh);
+        return new State(s.accounts(), s.periods(), s.transactionIds(),
+                new EntryColumns(account, day, debit, credit, n), new CashColumns(cashDay, section, amount, m));
+    }
+
+    private static boolean inCachedPeriod(State s, int day) {
+        for (CachedPeriod p : s.periods().values()) {
+            if (day >= p.startDay() && day <= p.endDay()) return true;
+        }
+        return false;
+    }
+
+    private static int grow(int size) {
+        return Math.max(INITIAL_CAPACITY, size + (size >> 1));
+    }
+
+    private State load() {
+        int closed = PeriodStatus.CLOSED.ordinal();
+
+        List<Object[]> accountRows = jdbcTemplate.query(
+                "SELECT account_pk, account_id, account_name, account_type, pl_mapping, status FROM accounts ORDER BY account_id",
+                (rs, i) -> new Object[]{rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5), rs.getString(6)});
+        int na = accountRows.size();
+        Map<Long, Integer> indexByPk = new HashMap<>();
+        String[] accountId = new String[na], accountName = new String[na];
+        AccountType[] type = new AccountType[na];
+        int[] plMapping = new int[na];
+        boolean[] active = new boolean[na];
+        for (int a = 0; a < na; a++) {
+            Object[] r = accountRows.get(a);
+            indexByPk.put((Long) r[0], a);
+            accountId[a] = (String) r[1];
+            accountName[a] = (String) r[2];
+            type[a] = r[3] == null ? null : AccountType.valueOf((String) r[3]);
+            plMapping[a] = r[4] == null ? ProfitLossMapping.NONE.ordinal() : ProfitLossMapping.valueOf((String) r[4]).ordinal();
+            active[a] = AccountStatus.ACTIVE.name().equals(r[5]);
+        }
+        Accounts accounts = new Accounts(Map.copyOf(indexByPk), accountId, accountName, type, plMapping, active);
+
+        Map<Long, CachedPeriod> periods = new HashMap<>();
+        jdbcTemplate.query("SELECT period_id, start_date, end_date FROM periods WHERE status <> ?", rs -> {
+            long id = rs.getLong(1);
+            periods.put(id, new CachedPeriod(id, (int) rs.getDate(2).toLocalDate().toEpochDay(),
+                    (int) rs.getDate(3).toLocalDate().toEpochDay()));
+        }, closed);
+
+        Set<Long> transactionIds = new HashSet<>();
+        int[][] ints = {new int[INITIAL_CAPACITY], new int[INITIAL_CAPACITY]};
+        long[][] longs = {new long[INITIAL_CAPACITY], new long[INITIAL_CAPACITY]};
+        int[] n = {0};
+        jdbcTemplate.query("""
+                SELECT je.transaction_id, je.account_pk, je.transaction_date, je.debit_amount, je.credit_amount
+                FROM journal_entries je
+                JOIN periods p ON je.period_id = p.period_id
+                WHERE p.status <> ?
+                """, rs -> {
+            int i = n[0]++;
+            if (i == ints[0].length) {
+                int capacity = grow(i);
+                ints[0] = Arrays.copyOf(ints[0], capacity);
+                ints[1] = Arrays.copyOf(ints[1], capacity);
+                longs[0] = Arrays.copyOf(longs[0], capacity);
+                longs[1] = Arrays.copyOf(longs[1], capacity);
+            }
+            transactionIds.add(rs.getLong(1));
+            ints[0][i] = indexByPk.get(rs.getLong(2));
+            ints[1][i] = (int) rs.getDate(3).toLocalDate().toEpochDay();
+            longs[0][i] = Money.cents(rs.getBigDecimal(4));
+            longs[1][i] = Money.cents(rs.getBigDecimal(5));
+        }, closed);
+        EntryColumns entries = new EntryColumns(ints[0], ints[1], longs[0], longs[1], n[0]);
+
+        int[][] cashInts = {new int[INITIAL_CAPACITY], new int[INITIAL_CAPACITY]};
+        long[][] cashAmount = {new long[INITIAL_CAPACITY]};
+        int[] m = {0};
+        jdbcTemplate.query("""
+                SELECT cf.transaction_date, cf.section, cf.amount
+                FROM journal_cash_flows cf
+                JOIN journal_transactions jt ON cf.transaction_id = jt.transaction_id
+                JOIN periods p ON jt.period_id = p.period_id
+                WHERE p.status <> ?
+                """, rs -> {
+            int i = m[0]++;
+            if (i == cashInts[0].length) {
+                int capacity = grow(i);
+                cashInts[0] = Arrays.copyOf(cashInts[0], capacity);
+                cashInts[1] = Arrays.copyOf(cashInts[1], capacity);
+                cashAmount[0] = Arrays.copyOf(cashAmount[0], capacity);
+            }
+            cashInts[0][i] = (int) rs.getDate(1).toLocalDate().toEpochDay();
+            cashInts[1][i] = CashSource.valueOf(rs.getString(2)).ordinal();
+            cashAmount[0][i] = Money.cents(rs.getBigDecimal(3));
+        }, closed);
+        CashColumns cashFlows = new CashColumns(cashInts[0], cashInts[1], cashAmount[0], m[0]);
+
+        return new State(accounts, Map.copyOf(periods), transactionIds, entries, cashFlows);
+    }
+}
@@ -0,0 +1,147 @@
+package com.konecta.financeservice.service;
+
+import com.konecta.financeservice.entity.Account;
+import com.konecta.financeservice.entity.Period;
+import com.konecta.financeservice.event.AccountChangedEvent;
+import com.konecta.financeservice.event.PeriodChangedEvent;
+import com.konecta.financeservice.model.enums.AccountStatus;
+import com.konecta.financeservice.model.enums.CashSource;
+import com.konecta.financeservice.model.enums.PeriodStatus;
+import com.konecta.financeservice.repository.AccountRepository;
+import com.konecta.financeservice.repository.PeriodRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Read-mostly, in-memory copy of the chart of accounts and the period calendar used by the posting
+ * paths, so a posting needs no lookup queries. Readers see immutable snapshots; writers replace them
+ * after the commit of any account or period change.
+ */
+@Service
+public class LedgerIndexService {
+
+    public record IndexedAccount(Long accountPK, String accountId, String accountName,
+                                 AccountStatus status, boolean hasTransactions,
+                                 boolean cashAccount, CashSource cashSource) {
+    }
+
+    public record IndexedPeriod(Long periodId, String label, LocalDate startDate, LocalDate endDate,
+                                PeriodStatus status) {
+    }
+
+    private final AccountRepository accountRepository;
+    private final PeriodRepository periodRepository;
+
+    private volatile Map<Long, IndexedAccount> accounts;
+    private volatile IndexedPeriod[] periods; // sorted by start date, non-overlapping
+
+    @Autowired
+    public LedgerIndexService(AccountRepository accountRepository, PeriodRepository periodRepository) {
+        this.accountRepository = accountRepository;
+        this.periodRepository = periodRepository;
+    }
+
+    public IndexedAccount findAccount(Long accountPK) {
+        return ensureLoaded().accounts.get(accountPK);
+    }
+
+    /**
+     * The period whose [startDate, endDate] contains the date, or null.
+     */
+    public IndexedPeriod findPeriod(LocalDate date) {
+        IndexedPeriod[] sorted = ensureLoaded().periods;
+        int lo = 0, hi = sorted.length - 1;
+        IndexedPeriod candidate = null;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (!sorted[mid].startDate().isAfter(date)) {
+                candidate = sorted[mid];
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return candidate != null && !candidate.endDate().isBefore(date) ? candidate : null;
+    }
+
+    /**
+     * Records that the accounts now carry postings. Call after the flag was committed to the database.
+     */
+    public synchronized void markHasTransactions(Collection<Long> accountPKs) {
+        Map<Long, IndexedAccount> copy = new HashMap<>(ensureLoaded().accounts);
+        for (Long pk : accountPKs) {
+            IndexedAccount a = copy.get(pk);
+            if (a != null && !a.hasTransactions()) {
+                copy.put(pk, new IndexedAccount(a.accountPK(), a.accountId(), a.accountName(), a.status(), true,
+                        a.cashAccount(), a.cashSource()));
+            }
+        }
+        accounts = Map.copyOf(copy);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onAccountChanged(AccountChangedEvent event) {
+        if (accounts == null) return; // not loaded yet; the first read loads fresh data
+        Map<Long, IndexedAccount> copy = new HashMap<>(accounts);
+        accountRepository.findById(event.accountPk()).ifPresentOrElse(
+                a -> copy.put(a.getAccountPK(), toIndexed(a)),
+                () -> copy.remove(event.accountPk()));
+        accounts = Map.copyOf(copy);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onPeriodChanged(PeriodChangedEvent event) {
+        if (periods == null) return;
+        List<IndexedPeriod> copy = new ArrayList<>(Arrays.asList(periods));
+        copy.removeIf(p -> p.periodId().equals(event.periodId()));
+        periodRepository.findById(event.periodId()).ifPresent(p -> copy.add(toIndexed(p)));
+        periods = sorted(copy);
+    }
+
+    /**
+     * Full reload; runs once the data seeder (which bypasses the services) has finished.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        Map<Long, IndexedAccount> loadedAccounts = new HashMap<>();
+        for (Account a : accountRepository.findAll()) {
+            loadedAccounts.put(a.getAccountPK(), toIndexed(a));
+        }
+        List<IndexedPeriod> loadedPeriods = new ArrayList<>();
+        for (Period p : periodRepository.findAll()) {
+            loadedPeriods.add(toIndexed(p));
+        }
+        periods = sorted(loadedPeriods);
+        accounts = Map.copyOf(loadedAccounts);
+    }
+
+    private LedgerIndexService ensureLoaded() {
+        if (accounts == null || periods == null) {
+            synchronized (this) {
+                if (accounts == null || periods == null) reload();
+            }
+        }
+        return this;
+    }
+
+    private static IndexedPeriod[] sorted(List<IndexedPeriod> list) {
+        list.sort(Comparator.comparing(IndexedPeriod::startDate));
+        return list.toArray(new IndexedPeriod[0]);
+    }
+
+    private static IndexedAccount toIndexed(Account a) {
+        return new IndexedAccount(a.getAccountPK(), a.getAccountId(), a.getAccountName(), a.getStatus(), a.isHasTransactions(),
+                a.isCashAccount(), a.getCashSource());
+    }
+
+    private static IndexedPeriod toIndexed(Period p) {
+        return new IndexedPeriod(p.getPeriodId(), p.getLabel(), p.getStartDate(), p.getEndDate(), p.getStatus());
+    }
+}
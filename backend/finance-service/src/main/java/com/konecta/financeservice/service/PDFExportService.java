@@ -11,10 +11,14 @@ import org.apache.commons.io.output.ByteArrayOutputStream;
 import org.springframework.stereotype.Service;
 
 import java.awt.*;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.text.DecimalFormat;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 @Service
 public class PDFExportService {
@@ -24,7 +28,12 @@ public class PDFExportService {
         Document doc = new Document(PageSize.A4.rotate());
         PdfWriter.getInstance(doc, out);
         doc.open();
+        writeTrialBalanceSection(doc, report);
+        doc.close();
+        return out.toByteArray();
+    }
 
+    private void writeTrialBalanceSection(Document doc, TrialBalanceReportDTO report) {
         // Title
         Font titleFont = new Font(Font.HELVETICA, 16, Font.BOLD);
         doc.add(new Paragraph("Trial Balance - " + report.getPeriodLabel(), titleFont));
@@ -58,13 +67,14 @@ public class PDFExportService {
         table.addCell("");
 
         doc.add(table);
-        doc.close();
-        return out.toByteArray();
     }
 
     private static final DecimalFormat DEC = new DecimalFormat("#,##0.00");
     private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
+    // rows laid out per doc.add() in the streaming GL; bounds what the incomplete table holds
+    private static final int GL_ROWS_PER_FLUSH = 200;
+
     // Fonts for PDF
     private static final Font TITLE_FONT = new Font(Font.HELVETICA, 16, Font.BOLD);
     private static final Font HEADER_FONT = new Font(Font.HELVETICA, 10, Font.BOLD);
@@ -76,6 +86,11 @@ public class PDFExportService {
     private static final Font STATUS_UNBALANCED_FONT = new Font(Font.HELVETICA, 12, Font.BOLD, Color.RED);
     private static final Font SECTION_HEADER_FONT = new Font(Font.HELVETICA, 10, Font.BOLD, Color.BLUE);
 
+    // comparative statements carry up to 36 period columns
+    private static final Font COMPARATIVE_FONT = new Font(Font.HELVETICA, 7, Font.NORMAL);
+    private static final Font COMPARATIVE_BOLD_FONT = new Font(Font.HELVETICA, 7, Font.BOLD);
+    private static final Font COMPARATIVE_UNBALANCED_FONT = new Font(Font.HELVETICA, 7, Font.BOLD, Color.RED);
+
     public byte[] exportGl(GLResponseDTO response) {
         Document doc = new Document(PageSize.A4.rotate(), 36, 36, 72, 72);
         ByteArrayOutputStream out = new ByteArrayOutputStream();
@@ -149,6 +164,120 @@ public class PDFExportService {
         }
     }
 
+    /**
+     * Large-report variant of {@link #exportGl}. The table is marked incomplete and handed to the
+     * document every {@code GL_ROWS_PER_FLUSH} rows, so OpenPDF lays out and writes those rows
+     * (repeating the header row on each page) and then drops them; the PDF goes straight to
+     * {@code out}. A subtotal row closes each account and a grand total closes the report.
+     */
+    public void exportGlStreaming(LocalDate fromDate, LocalDate toDate, java.util.List<String> filteredAccounts,
+                                  Consumer<GLRowHandler> source, OutputStream out) {
+        Document doc = new Document(PageSize.A4.rotate(), 36, 36, 72, 72);
+        PdfWriter writer = PdfWriter.getInstance(doc, out);
+        writer.setCloseStream(false); // the servlet container owns the response stream
+        doc.open();
+
+        // DEC is shared between requests; a long-running export gets its own formatter
+        DecimalFormat dec = new DecimalFormat("#,##0.00");
+
+        Paragraph title = new Paragraph("General Ledger", TITLE_FONT);
+        title.setAlignment(Element.ALIGN_CENTER);
+        doc.add(title);
+        doc.add(new Paragraph("From: " + fromDate.format(DATE_FMT) + "    To: " + toDate.format(DATE_FMT)));
+        if (filteredAccounts != null && !filteredAccounts.isEmpty()) {
+            doc.add(new Paragraph("Accounts: " + String.join(", ", filteredAccounts)));
+        }
+        doc.add(Chunk.NEWLINE);
+
+        PdfPTable table = new PdfPTable(9);
+        table.setWidthPercentage(100);
+        table.setWidths(new float[]{2f, 3f, 2f, 1.5f, 1.5f, 4f, 1.8f, 1.8f, 2f});
+        table.setHeaderRows(1);
+        table.setComplete(false);
+        for (String h : new String[]{"Account ID", "Account Name", "Tx Date", "Tx ID", "Entry ID", "Description", "Debit", "Credit", "Running Bal"}) {
+            addPdfHeaderCell(table, h);
+        }
+
+        GLAccountTotals current = new GLAccountTotals();
+        GLAccountTotals grand = new GLAccountTotals();
+        int[] pending = {0};
+
+        source.accept(r -> {
+            if (current.accountPK != null && !current.accountPK.equals(r.getAccountPK())) {
+                addGlSubtotalRow(table, "Subtotal " + current.accountName, current, dec);
+                current.reset();
+            }
+            current.add(r);
+            grand.add(r);
+
+            table.addCell(new PdfPCell(new Phrase(String.valueOf(r.getAccountPK()), DATA_FONT)));
+            table.addCell(new PdfPCell(new Phrase(r.getAccountName() != null ? r.getAccountName() : "", DATA_FONT)));
+            table.addCell(new PdfPCell(new Phrase(r.getTransactionDate().format(DATE_FMT), DATA_FONT)));
+            table.addCell(new PdfPCell(new Phrase(String.valueOf(r.getTransactionId()), DATA_FONT)));
+            table.addCell(new PdfPCell(new Phrase(String.valueOf(r.getEntryId()), DATA_FONT)));
+            table.addCell(new PdfPCell(new Phrase(r.getDescription() != null ? r.getDescription() : "", DATA_FONT)));
+            table.addCell(glAmountCell(r.getDebitAmount(), DATA_FONT, dec));
+            table.addCell(glAmountCell(r.getCreditAmount(), DATA_FONT, dec));
+            table.addCell(glAmountCell(r.getRunningBalance(), DATA_FONT, dec));
+
+            if (++pending[0] >= GL_ROWS_PER_FLUSH) {
+                doc.add(table);
+                pending[0] = 0;
+            }
+        });
+
+        if (current.accountPK != null) {
+            addGlSubtotalRow(table, "Subtotal " + current.accountName, current, dec);
+        }
+        grand.closingBalance = null; // a sum of running balances across accounts means nothing
+        addGlSubtotalRow(table, "Total", grand, dec);
+
+        table.setComplete(true);
+        doc.add(table);
+        doc.close();
+    }
+
+    private void addGlSubtotalRow(PdfPTable table, String label, GLAccountTotals totals, DecimalFormat dec) {
+        PdfPCell labelCell = new PdfPCell(new Phrase(label, BOLD_DATA_FONT));
+        labelCell.setColspan(6);
+        labelCell.setHorizontalAlignment(Element.ALIGN_RIGHT);
+        labelCell.setBackgroundColor(new Color(235, 235, 235));
+        table.addCell(labelCell);
+        table.addCell(glAmountCell(totals.debits, BOLD_DATA_FONT, dec));
+        table.addCell(glAmountCell(totals.credits, BOLD_DATA_FONT, dec));
+        table.addCell(glAmountCell(totals.closingBalance, BOLD_DATA_FONT, dec));
+    }
+
+    private PdfPCell glAmountCell(BigDecimal value, Font font, DecimalFormat dec) {
+        PdfPCell cell = new PdfPCell(new Phrase(value != null ? dec.format(value) : "", font));
+        cell.setHorizontalAlignment(Element.ALIGN_RIGHT);
+        return cell;
+    }
+
+    private static final class GLAccountTotals {
+        Long accountPK;
+        String accountName;
+        BigDecimal debits = BigDecimal.ZERO;
+        BigDecimal credits = BigDecimal.ZERO;
+        BigDecimal closingBalance;
+
+        void add(GLRowDTO r) {
+            accountPK = r.getAccountPK();
+            accountName = r.getAccountName();
+            if (r.getDebitAmount() != null) debits = debits.add(r.getDebitAmount());
+            if (r.getCreditAmount() != null) credits = credits.add(r.getCreditAmount());
+            closingBalance = r.getRunningBalance();
+        }
+
+        void reset() {
+            accountPK = null;
+            accountName = null;
+            debits = BigDecimal.ZERO;
+            credits = BigDecimal.ZERO;
+            closingBalance = null;
+        }
+    }
+
     public byte[] exportIncomeStatement(IncomeStatementDTO dto) {
         // Use A4 Portrait (unlike the A4.rotate() in the GL example)
         Document doc = new Document(PageSize.A4, 36, 36, 72, 72);
@@ -157,71 +286,7 @@ public class PDFExportService {
         try {
             PdfWriter.getInstance(doc, out);
             doc.open();
-
-            // Title
-            Paragraph title = new Paragraph("Income Statement (Profit & Loss)", TITLE_FONT);
-            title.setAlignment(Element.ALIGN_CENTER);
-            doc.add(title);
-
-            // Filters (Period)
-            String periodInfo = String.format("Period: %s (%s to %s)",
-                    dto.getPeriodLabel(),
-                    dto.getStartDate().format(DATE_FMT),
-                    dto.getEndDate().format(DATE_FMT));
-            Paragraph filters = new Paragraph(periodInfo);
-            filters.setAlignment(Element.ALIGN_CENTER);
-            doc.add(filters);
-            doc.add(Chunk.NEWLINE);
-
-            // Table definition (5 columns)
-            // [Line Item, Actual, Budget, Variance, Variance %]
-            PdfPTable table = new PdfPTable(5);
-            table.setWidthPercentage(100);
-            table.setWidths(new float[]{4f, 2f, 2f, 2f, 1.5f}); // Line item wider
-
-            // Column headers
-            addPdfHeaderCell(table, "Line Item");
-            addPdfHeaderCell(table, "Actual");
-            addPdfHeaderCell(table, "Budget");
-            addPdfHeaderCell(table, "Variance");
-            addPdfHeaderCell(table, "Variance %");
-
-            // --- Data Rows ---
-            // Revenue
-            addPdfRow(table, "Revenue", dto.getRevenueActual(), dto.getRevenueBudget(),
-                    dto.getRevenueVariance(), dto.getRevenueVariancePct(), DATA_FONT);
-
-            // COGS
-            addPdfRow(table, "Cost of Goods Sold (COGS)", dto.getCogsActual(), dto.getCogsBudget(),
-                    dto.getCogsVariance(), null, DATA_FONT); // No Pct for COGS in DTO
-
-            // Gross Profit (Bold)
-            addPdfSpacerRow(table);
-            addPdfRow(table, "Gross Profit", dto.getGrossProfitActual(), dto.getGrossProfitBudget(),
-                    dto.getGrossProfitVariance(), dto.getGrossProfitVariancePct(), BOLD_DATA_FONT);
-            addPdfSpacerRow(table);
-
-            // OpEx
-            addPdfRow(table, "Operating Expenses (OpEx)", dto.getOpexActual(), dto.getOpexBudget(),
-                    null, null, DATA_FONT); // No Variance for OpEx in DTO
-
-            // EBIT (Bold)
-            addPdfRow(table, "EBIT", dto.getEbitActual(), dto.getEbitBudget(),
-                    dto.getEbitVariance(), dto.getEbitVariancePct(), BOLD_DATA_FONT);
-            addPdfSpacerRow(table);
-
-            // Other Income/Expense
-            addPdfRow(table, "Other Income", dto.getOtherIncomeActual(), dto.getOtherIncomeBudget(),
-                    null, null, DATA_FONT);
-            addPdfRow(table, "Other Expense", dto.getOtherExpenseActual(), dto.getOtherExpenseBudget(),
-                    null, null, DATA_FONT);
-            addPdfSpacerRow(table);
-
-            // Net Income (Bold)
-            addPdfRow(table, "Net Income", dto.getNetIncomeActual(), dto.getNetIncomeBudget(),
-                    dto.getNetIncomeVariance(), dto.getNetIncomeVariancePct(), BOLD_DATA_FONT);
-
-            doc.add(table);
+            writeIncomeStatementSection(doc, dto);
             doc.close();
             return out.toByteArray();
 
@@ -230,6 +295,73 @@ public class PDFExportService {
         }
     }
 
+    private void writeIncomeStatementSection(Document doc, IncomeStatementDTO dto) {
+        // Title
+        Paragraph title = new Paragraph("Income Statement (Profit & Loss)", TITLE_FONT);
+        title.setAlignment(Element.ALIGN_CENTER);
+        doc.add(title);
+
+        // Filters (Period)
+        String periodInfo = String.format("Period: %s (%s to %s)",
+                dto.getPeriodLabel(),
+                dto.getStartDate().format(DATE_FMT),
+                dto.getEndDate().format(DATE_FMT));
+        Paragraph filters = new Paragraph(periodInfo);
+        filters.setAlignment(Element.ALIGN_CENTER);
+        doc.add(filters);
+        doc.add(Chunk.NEWLINE);
+
+        // Table definition (5 columns)
+        // [Line Item, Actual, Budget, Variance, Variance %]
+        PdfPTable table = new PdfPTable(5);
+        table.setWidthPercentage(100);
+        table.setWidths(new float[]{4f, 2f, 2f, 2f, 1.5f}); // Line item wider
+
+        // Column headers
+        addPdfHeaderCell(table, "Line Item");
+        addPdfHeaderCell(table, "Actual");
+        addPdfHeaderCell(table, "Budget");
+        addPdfHeaderCell(table, "Variance");
+        addPdfHeaderCell(table, "Variance %");
+
+        // --- Data Rows ---
+        // Revenue
+        addPdfRow(table, "Revenue", dto.getRevenueActual(), dto.getRevenueBudget(),
+                dto.getRevenueVariance(), dto.getRevenueVariancePct(), DATA_FONT);
+
+        // COGS
+        addPdfRow(table, "Cost of Goods Sold (COGS)", dto.getCogsActual(), dto.getCogsBudget(),
+                dto.getCogsVariance(), null, DATA_FONT); // No Pct for COGS in DTO
+
+        // Gross Profit (Bold)
+        addPdfSpacerRow(table);
+        addPdfRow(table, "Gross Profit", dto.getGrossProfitActual(), dto.getGrossProfitBudget(),
+                dto.getGrossProfitVariance(), dto.getGrossProfitVariancePct(), BOLD_DATA_FONT);
+        addPdfSpacerRow(table);
+
+        // OpEx
+        addPdfRow(table, "Operating Expenses (OpEx)", dto.getOpexActual(), dto.getOpexBudget(),
+                null, null, DATA_FONT); // No Variance for OpEx in DTO
+
+        // EBIT (Bold)
+        addPdfRow(table, "EBIT", dto.getEbitActual(), dto.getEbitBudget(),
+                dto.getEbitVariance(), dto.getEbitVariancePct(), BOLD_DATA_FONT);
+        addPdfSpacerRow(table);
+
+        // Other Income/Expense
+        addPdfRow(table, "Other Income", dto.getOtherIncomeActual(), dto.getOtherIncomeBudget(),
+                null, null, DATA_FONT);
+        addPdfRow(table, "Other Expense", dto.getOtherExpenseActual(), dto.getOtherExpenseBudget(),
+                null, null, DATA_FONT);
+        addPdfSpacerRow(table);
+
+        // Net Income (Bold)
+        addPdfRow(table, "Net Income", dto.getNetIncomeActual(), dto.getNetIncomeBudget(),
+                dto.getNetIncomeVariance(), dto.getNetIncomeVariancePct(), BOLD_DATA_FONT);
+
+        doc.add(table);
+    }
+
 
     public byte[] exportBalanceSheet(BalanceSheetReportDTO dto) {
         Document doc = new Document(PageSize.A4, 36, 36, 72, 72);
@@ -238,82 +370,85 @@ public class PDFExportService {
         try {
             PdfWriter.getInstance(doc, out);
             doc.open();
+            writeBalanceSheetSection(doc, dto);
+            doc.close();
+            return out.toByteArray();
 
-            // Title
-            Paragraph title = new Paragraph("Balance Sheet", TITLE_FONT);
-            title.setAlignment(Element.ALIGN_CENTER);
-            doc.add(title);
-
-            // As-of Date
-            Paragraph date = new Paragraph("As-of Date: " + dto.getAsOfDate().format(DATE_FMT));
-            date.setAlignment(Element.ALIGN_CENTER);
-            doc.add(date);
+        } catch (Exception ex) {
+            throw new RuntimeException("Failed to create Balance Sheet PDF", ex);
+        }
+    }
 
-            // Validation Status
-            boolean isBalanced = "Balanced".equalsIgnoreCase(dto.getValidationStatus());
-            Font statusFont = isBalanced ? STATUS_BALANCED_FONT : STATUS_UNBALANCED_FONT;
-            Paragraph status = new Paragraph("Status: " + dto.getValidationStatus(), statusFont);
-            status.setAlignment(Element.ALIGN_CENTER);
-            doc.add(status);
+    private void writeBalanceSheetSection(Document doc, BalanceSheetReportDTO dto) {
+        // Title
+        Paragraph title = new Paragraph("Balance Sheet", TITLE_FONT);
+        title.setAlignment(Element.ALIGN_CENTER);
+        doc.add(title);
+
+        // As-of Date
+        Paragraph date = new Paragraph("As-of Date: " + dto.getAsOfDate().format(DATE_FMT));
+        date.setAlignment(Element.ALIGN_CENTER);
+        doc.add(date);
+
+        // Validation Status
+        boolean isBalanced = "Balanced".equalsIgnoreCase(dto.getValidationStatus());
+        Font statusFont = isBalanced ? STATUS_BALANCED_FONT : STATUS_UNBALANCED_FONT;
+        Paragraph status = new Paragraph("Status: " + dto.getValidationStatus(), statusFont);
+        status.setAlignment(Element.ALIGN_CENTER);
+        doc.add(status);
 
-            doc.add(Chunk.NEWLINE);
+        doc.add(Chunk.NEWLINE);
 
-            // Table definition (3 columns: ID, Name, Balance)
-            PdfPTable table = new PdfPTable(3);
-            table.setWidthPercentage(100);
-            table.setWidths(new float[]{1.5f, 5f, 2f});
+        // Table definition (3 columns: ID, Name, Balance)
+        PdfPTable table = new PdfPTable(3);
+        table.setWidthPercentage(100);
+        table.setWidths(new float[]{1.5f, 5f, 2f});
 
-            // Column headers
-            addPdfHeaderCell(table, "Account ID");
-            addPdfHeaderCell(table, "Account Name");
-            addPdfHeaderCell(table, "Balance");
-
-            // --- Assets ---
-            addPdfSectionHeader(table, "Current Assets");
-            for (BalanceSheetAccountRowDTO row : dto.getAssetsCurrent()) {
-                addPdfAccountRow(table, row);
-            }
+        // Column headers
+        addPdfHeaderCell(table, "Account ID");
+        addPdfHeaderCell(table, "Account Name");
+        addPdfHeaderCell(table, "Balance");
 
-            addPdfSectionHeader(table, "Non-Current Assets");
-            for (BalanceSheetAccountRowDTO row : dto.getAssetsNonCurrent()) {
-                addPdfAccountRow(table, row);
-            }
-            addPdfTotalRow(table, "Total Assets", dto.getTotalAssets());
+        // --- Assets ---
+        addPdfSectionHeader(table, "Current Assets");
+        for (BalanceSheetAccountRowDTO row : dto.getAssetsCurrent()) {
+            addPdfAccountRow(table, row);
+        }
 
-            // --- Liabilities ---
-            addPdfSpacerRow(table);
-            addPdfSectionHeader(table, "Current Liabilities");
-            for (BalanceSheetAccountRowDTO row : dto.getLiabilitiesCurrent()) {
-                addPdfAccountRow(table, row);
-            }
+        addPdfSectionHeader(table, "Non-Current Assets");
+        for (BalanceSheetAccountRowDTO row : dto.getAssetsNonCurrent()) {
+            addPdfAccountRow(table, row);
+        }
+        addPdfTotalRow(table, "Total Assets", dto.getTotalAssets());
 
-            addPdfSectionHeader(table, "Non-Current Liabilities");
-            for (BalanceSheetAccountRowDTO row : dto.getLiabilitiesNonCurrent()) {
-                addPdfAccountRow(table, row);
-            }
-            addPdfTotalRow(table, "Total Liabilities", dto.getTotalLiabilities());
+        // --- Liabilities ---
+        addPdfSpacerRow(table);
+        addPdfSectionHeader(table, "Current Liabilities");
+        for (BalanceSheetAccountRowDTO row : dto.getLiabilitiesCurrent()) {
+            addPdfAccountRow(table, row);
+        }
 
-            // --- Equity ---
-            addPdfSpacerRow(table);
-            addPdfSectionHeader(table, "Equity");
-            for (BalanceSheetAccountRowDTO row : dto.getEquity()) {
-                addPdfAccountRow(table, row);
-            }
-            addPdfTotalRow(table, "Total Equity", dto.getTotalEquity());
+        addPdfSectionHeader(table, "Non-Current Liabilities");
+        for (BalanceSheetAccountRowDTO row : dto.getLiabilitiesNonCurrent()) {
+            addPdfAccountRow(table, row);
+        }
+        addPdfTotalRow(table, "Total Liabilities", dto.getTotalLiabilities());
 
-            // --- Final Validation Total ---
-            addPdfSpacerRow(table);
-            BigDecimal totalLiabilitiesAndEquity = dto.getTotalLiabilities().add(dto.getTotalEquity());
-            addPdfTotalRow(table, "Total Liabilities + Equity", totalLiabilitiesAndEquity);
+        // --- Equity ---
+        addPdfSpacerRow(table);
+        addPdfSectionHeader(table, "Equity");
+        for (BalanceSheetAccountRowDTO row : dto.getEquity()) {
+            addPdfAccountRow(table, row);
+        }
+        addPdfTotalRow(table, "Total Equity", dto.getTotalEquity());
 
+        // --- Final Validation Total ---
+        addPdfSpacerRow(table);
+        BigDecimal totalLiabilitiesAndEquity = dto.getTotalLiabilities().add(dto.getTotalEquity());
+        addPdfTotalRow(table, "Total Liabilities + Equity", totalLiabilitiesAndEquity);
 
-            doc.add(table);
-            doc.close();
-            return out.toByteArray();
 
-        } catch (Exception ex) {
-            throw new RuntimeException("Failed to create Balance Sheet PDF", ex);
-        }
+        doc.add(table);
     }
 
     public byte[] exportCashFlow(CashFlowReportDTO report) {
@@ -323,47 +458,7 @@ public class PDFExportService {
             Document document = new Document(PageSize.A4, 50, 50, 50, 50);
             PdfWriter.getInstance(document, out);
             document.open();
-
-            Font titleFont = new Font(Font.HELVETICA, 16, Font.BOLD);
-            Font headerFont = new Font(Font.HELVETICA, 12, Font.BOLD);
-            Font normalFont = new Font(Font.HELVETICA, 11);
-
-            // Title
-            Paragraph title = new Paragraph("Cash Flow Statement", titleFont);
-            title.setAlignment(Element.ALIGN_CENTER);
-            document.add(title);
-            document.add(Chunk.NEWLINE);
-
-            document.add(new Paragraph("Period: " + report.getPeriodLabel(), normalFont));
-            document.add(Chunk.NEWLINE);
-
-            // Table
-            PdfPTable table = new PdfPTable(2);
-            table.setWidthPercentage(90);
-            table.setSpacingBefore(10f);
-            table.setSpacingAfter(10f);
-            table.setWidths(new float[]{3, 2});
-
-            // Helper to add rows
-            BiConsumer<String, String> addRow = (label, value) -> {
-                PdfPCell c1 = new PdfPCell(new Phrase(label, headerFont));
-                PdfPCell c2 = new PdfPCell(new Phrase(value, normalFont));
-                c1.setBorder(Rectangle.BOX);
-                c2.setBorder(Rectangle.BOX);
-                table.addCell(c1);
-                table.addCell(c2);
-            };
-
-            addRow.accept("Opening Cash Balance", report.getOpeningCash().toPlainString());
-            addRow.accept("Cash Flow from Operations (CFO)", report.getCfo().toPlainString());
-            addRow.accept("Cash Flow from Investing (CFI)", report.getCfi().toPlainString());
-            addRow.accept("Cash Flow from Financing (CFF)", report.getCff().toPlainString());
-            addRow.accept("Net Change in Cash", report.getNetChange().toPlainString());
-            addRow.accept("Ending Cash Balance", report.getEndingCash().toPlainString());
-            addRow.accept("Cash (from Balance Sheet)", report.getBalanceSheetCash().toPlainString());
-            addRow.accept("Reconciled", report.isReconciled() ? "Yes" : "No");
-
-            document.add(table);
+            writeCashFlowSection(document, report);
             document.close();
 
             return out.toByteArray();
@@ -373,6 +468,199 @@ public class PDFExportService {
 
     }
 
+    private void writeCashFlowSection(Document document, CashFlowReportDTO report) {
+        Font titleFont = new Font(Font.HELVETICA, 16, Font.BOLD);
+        Font headerFont = new Font(Font.HELVETICA, 12, Font.BOLD);
+        Font normalFont = new Font(Font.HELVETICA, 11);
+
+        // Title
+        Paragraph title = new Paragraph("Cash Flow Statement", titleFont);
+        title.setAlignment(Element.ALIGN_CENTER);
+        document.add(title);
+        document.add(Chunk.NEWLINE);
+
+        document.add(new Paragraph("Period: " + report.getPeriodLabel(), normalFont));
+        document.add(Chunk.NEWLINE);
+
+        // Table
+        PdfPTable table = new PdfPTable(2);
+        table.setWidthPercentage(90);
+        table.setSpacingBefore(10f);
+        table.setSpacingAfter(10f);
+        table.setWidths(new float[]{3, 2});
+
+        // Helper to add rows
+        BiConsumer<String, String> addRow = (label, value) -> {
+            PdfPCell c1 = new PdfPCell(new Phrase(label, headerFont));
+            PdfPCell c2 = new PdfPCell(new Phrase(value, normalFont));
+            c1.setBorder(Rectangle.BOX);
+            c2.setBorder(Rectangle.BOX);
+            table.addCell(c1);
+            table.addCell(c2);
+        };
+
+        addRow.accept("Opening Cash Balance", report.getOpeningCash().toPlainString());
+        addRow.accept("Cash Flow from Operations (CFO)", report.getCfo().toPlainString());
+        addRow.accept("Cash Flow from Investing (CFI)", report.getCfi().toPlainString());
+        addRow.accept("Cash Flow from Financing (CFF)", report.getCff().toPlainString());
+        addRow.accept("Net Change in Cash", report.getNetChange().toPlainString());
+        addRow.accept("Ending Cash Balance", report.getEndingCash().toPlainString());
+        addRow.accept("Cash (from Balance Sheet)", report.getBalanceSheetCash().toPlainString());
+        addRow.accept("Reconciled", report.isReconciled() ? "Yes" : "No");
+
+        document.add(table);
+    }
+
+    /**
+     * The trial balance (landscape) followed by the income statement, balance sheet and cash flow, each on its own page.
+     */
+    public byte[] exportFinancialPack(FinancialPackDTO pack) {
+        Document doc = new Document(PageSize.A4.rotate(), 36, 36, 72, 72);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try {
+            PdfWriter.getInstance(doc, out);
+            doc.open();
+            writeTrialBalanceSection(doc, pack.getTrialBalance());
+
+            // page size applies from the next page on
+            doc.setPageSize(PageSize.A4);
+            doc.newPage();
+            writeIncomeStatementSection(doc, pack.getIncomeStatement());
+            doc.newPage();
+            writeBalanceSheetSection(doc, pack.getBalanceSheet());
+            doc.newPage();
+            writeCashFlowSection(doc, pack.getCashFlow());
+            doc.close();
+            return out.toByteArray();
+
+        } catch (Exception ex) {
+            throw new RuntimeException("Failed to create Financial Pack PDF", ex);
+        }
+    }
+
+    public byte[] exportComparativeIncomeStatement(ComparativeIncomeStatementDTO dto) {
+        return exportComparative("Comparative Income Statement", dto.getPeriods(), dto.getLines(), false, null);
+    }
+
+    public byte[] exportComparativeTrialBalance(ComparativeTrialBalanceDTO dto) {
+        return exportComparative("Comparative Trial Balance", dto.getPeriods(), dto.getLines(), true, table -> {
+            addComparativeTotalsRow(table, "Total Debits", dto.getTotalDebits());
+            addComparativeTotalsRow(table, "Total Credits", dto.getTotalCredits());
+            PdfPCell statusLabel = new PdfPCell(new Phrase("Status", TOTAL_FONT));
+            statusLabel.setColspan(2);
+            statusLabel.setHorizontalAlignment(Element.ALIGN_RIGHT);
+            statusLabel.setPadding(3f);
+            table.addCell(statusLabel);
+            for (String status : dto.getTbStatuses()) {
+                boolean balanced = "Balanced".equalsIgnoreCase(status);
+                PdfPCell cell = new PdfPCell(new Phrase(status, balanced ? BOLD_DATA_FONT : COMPARATIVE_UNBALANCED_FONT));
+                cell.setHorizontalAlignment(Element.ALIGN_RIGHT);
+                cell.setPadding(3f);
+                table.addCell(cell);
+            }
+        });
+    }
+
+    /**
+     * Periods run across the page, so amounts, changes and change percentages are laid out as
+     * three stacked tables rather than three columns per period.
+     */
+    private byte[] exportComparative(String title, java.util.List<ComparativePeriodDTO> periods,
+                                     java.util.List<ComparativeLineDTO> lines, boolean accountColumns,
+                                     Consumer<PdfPTable> totals) {
+        Document doc = new Document(PageSize.A4.rotate(), 24, 24, 36, 36);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try {
+            PdfWriter.getInstance(doc, out);
+            doc.open();
+
+            Paragraph titleParagraph = new Paragraph(title, TITLE_FONT);
+            titleParagraph.setAlignment(Element.ALIGN_CENTER);
+            doc.add(titleParagraph);
+            if (!periods.isEmpty()) {
+                Paragraph range = new Paragraph(String.format("%s to %s",
+                        periods.get(0).getStartDate().format(DATE_FMT),
+                        periods.get(periods.size() - 1).getEndDate().format(DATE_FMT)));
+                range.setAlignment(Element.ALIGN_CENTER);
+                doc.add(range);
+            }
+
+            String[] sections = {"Amounts", "Change vs Previous Period", "Change %"};
+            for (int section = 0; section < sections.length; section++) {
+                doc.add(Chunk.NEWLINE);
+                doc.add(new Paragraph(sections[section], SECTION_HEADER_FONT));
+
+                int labelColumns = accountColumns ? 2 : 1;
+                PdfPTable table = new PdfPTable(labelColumns + periods.size());
+                table.setWidthPercentage(100);
+                table.setHeaderRows(1);
+                float[] widths = new float[labelColumns + periods.size()];
+                Arrays.fill(widths, 1.6f);
+                widths[0] = accountColumns ? 1.2f : 3f;
+                if (accountColumns) widths[1] = 3f;
+                table.setWidths(widths);
+
+                if (accountColumns) {
+                    addPdfHeaderCell(table, "Account ID");
+                    addPdfHeaderCell(table, "Account Name");
+                } else {
+                    addPdfHeaderCell(table, "Line Item");
+                }
+                for (ComparativePeriodDTO p : periods) {
+                    addPdfHeaderCell(table, p.getPeriodLabel());
+                }
+
+                for (ComparativeLineDTO line : lines) {
+                    Font font = line.isSubtotal() ? COMPARATIVE_BOLD_FONT : COMPARATIVE_FONT;
+                    if (accountColumns) {
+                        PdfPCell idCell = new PdfPCell(new Phrase(line.getCode(), font));
+                        idCell.setPadding(3f);
+                        table.addCell(idCell);
+                    }
+                    PdfPCell labelCell = new PdfPCell(new Phrase(line.getLabel(), font));
+                    labelCell.setPadding(3f);
+                    table.addCell(labelCell);
+
+                    for (int i = 0; i < periods.size(); i++) {
+                        PdfPCell cell = switch (section) {
+                            case 0 -> createNumericPdfCell(line.getValues().get(i), font);
+                            case 1 -> createNumericPdfCell(line.getChanges().get(i), font);
+                            default -> createPercentagePdfCell(line.getChangePcts().get(i), font);
+                        };
+                        cell.setPadding(3f);
+                        table.addCell(cell);
+                    }
+                }
+
+                if (section == 0 && totals != null) {
+                    totals.accept(table);
+                }
+                doc.add(table);
+            }
+
+            doc.close();
+            return out.toByteArray();
+
+        } catch (Exception ex) {
+            throw new RuntimeException("Failed to create " + title + " PDF", ex);
+        }
+    }
+
+    private void addComparativeTotalsRow(PdfPTable table, String label, java.util.List<BigDecimal> totals) {
+        PdfPCell labelCell = new PdfPCell(new Phrase(label, TOTAL_FONT));
+        labelCell.setColspan(2);
+        labelCell.setHorizontalAlignment(Element.ALIGN_RIGHT);
+        labelCell.setPadding(3f);
+        table.addCell(labelCell);
+        for (BigDecimal total : totals) {
+            PdfPCell cell = createNumericPdfCell(total, COMPARATIVE_BOLD_FONT);
+            cell.setPadding(3f);
+            table.addCell(cell);
+        }
+    }
+
     /**
      * PDF Helper to add a styled header cell.
      */
@@ -0,0 +1,137 @@
+package com.konecta.financeservice.service;
+
+import com.konecta.financeservice.dto.AccountTotalsDTO;
+import com.konecta.financeservice.dto.PeriodCloseValidationDTO;
+import com.konecta.financeservice.dto.UnbalancedTransactionDTO;
+import com.konecta.financeservice.entity.Period;
+import com.konecta.financeservice.model.Money;
+import com.konecta.financeservice.repository.PeriodRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks that a period balances before it is closed, using a single aggregate pass over its entries.
+ */
+@Service
+public class PeriodCloseValidationService {
+
+    private final PeriodRepository periodRepository;
+    private final EntityManager entityManager;
+
+    @Autowired
+    public PeriodCloseValidationService(PeriodRepository periodRepository, EntityManager entityManager) {
+        this.periodRepository = periodRepository;
+        this.entityManager = entityManager;
+    }
+
+    public PeriodCloseValidationDTO validate(Long periodId) {
+        Period period = periodRepository.findById(periodId)
+                .orElseThrow(() -> new IllegalArgumentException("Period with id " + periodId + " does not exist"));
+        return validate(period);
+    }
+
+    public PeriodCloseValidationDTO validate(Period period) {
+        // one scan, three groupings: the period total (), every account, and only the
+        // transactions whose own debits and credits differ (HAVING drops the balanced ones)
+        String sql = """
+                  SELECT GROUPING(jt.transaction_id) AS g_tx,
+                         GROUPING(a.account_pk)      AS g_acc,
+                         jt.transaction_id,
+                         jt.transaction_date,
+                         jt.description,
+                         a.account_id,
+                         a.account_name,
+                         COALESCE(SUM(je.debit_amount), 0)  AS total_debits,
+                         COALESCE(SUM(je.credit_amount), 0) AS total_credits,
+                         COUNT(DISTINCT jt.transaction_id)  AS tx_count
+                  FROM journal_entries je
+                  JOIN journal_transactions jt ON je.transaction_id = jt.transaction_id
+                  JOIN accounts a ON je.account_pk = a.account_pk
+                  WHERE je.period_id = ?1
+                  GROUP BY GROUPING SETS (
+                      (jt.transaction_id, jt.transaction_date, jt.description),
+                      (a.account_pk, a.account_id, a.account_name),
+                      ()
+                  )
+                  HAVING GROUPING(jt.transaction_id) = 1
+                      OR SUM(je.debit_amount) <> SUM(je.credit_amount)
+                  ORDER BY g_tx, jt.transaction_date, jt.transaction_id, a.account_id
+                """;
+
+        Query q = entityManager.createNativeQuery(sql);
+        q.setParameter(1, period.getPeriodId());
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = q.getResultList();
+
+        BigDecimal totalDebits = BigDecimal.ZERO;
+        BigDecimal totalCredits = BigDecimal.ZERO;
+        long transactionCount = 0;
+        List<UnbalancedTransactionDTO> unbalanced = new ArrayList<>();
+        List<AccountTotalsDTO> accountTotals = new ArrayList<>();
+
+        for (Object[] r : rows) {
+            boolean txGrouped = ((Number) r[0]).intValue() == 0;
+            boolean accountGrouped = ((Number) r[1]).intValue() == 0;
+            BigDecimal debits = toBigDecimal(r[7]);
+            BigDecimal credits = toBigDecimal(r[8]);
+
+            if (txGrouped) {
+                unbalanced.add(new UnbalancedTransactionDTO(
+                        ((Number) r[2]).longValue(),
+                        toLocalDate(r[3]),
+                        r[4] == null ? null : r[4].toString(),
+                        debits,
+                        credits,
+                        debits.subtract(credits)
+                ));
+            } else if (accountGrouped) {
+                accountTotals.add(new AccountTotalsDTO(
+                        r[5] == null ? null : r[5].toString(),
+                        r[6] == null ? null : r[6].toString(),
+                        debits,
+                        credits
+                ));
+            } else {
+                totalDebits = debits;
+                totalCredits = credits;
+                transactionCount = ((Number) r[9]).longValue();
+            }
+        }
+
+        boolean balanced = unbalanced.isEmpty() && totalDebits.compareTo(totalCredits) == 0;
+
+        PeriodCloseValidationDTO dto = new PeriodCloseValidationDTO();
+        dto.setPeriodId(period.getPeriodId());
+        dto.setPeriodLabel(period.getLabel());
+        dto.setTransactionCount(transactionCount);
+        dto.setTotalDebits(totalDebits);
+        dto.setTotalCredits(totalCredits);
+        dto.setBalanced(balanced);
+        if (!balanced) {
+            dto.setUnbalancedTransactions(unbalanced);
+            dto.setAccountTotals(accountTotals);
+        }
+        return dto;
+    }
+
+    private BigDecimal toBigDecimal(Object val) {
+        if (val == null) return BigDecimal.ZERO;
+        if (val instanceof BigDecimal) return (BigDecimal) val;
+        return Money.toBigDecimal(Money.cents(val));
+    }
+
+    private LocalDate toLocalDate(Object val) {
+        if (val == null) return null;
+        if (val instanceof LocalDate) return (LocalDate) val;
+        if (val instanceof java.sql.Date) return ((java.sql.Date) val).toLocalDate();
+        return LocalDate.parse(val.toString());
+    }
+}
@@ -1,22 +1,20 @@
 package com.konecta.financeservice.service;
 
 import com.konecta.financeservice.dto.CreatePeriodDTO;
+import com.konecta.financeservice.dto.PeriodCloseValidationDTO;
 import com.konecta.financeservice.dto.PeriodDTO;
-import com.konecta.financeservice.entity.JournalEntry;
-import com.konecta.financeservice.entity.JournalTransaction;
 import com.konecta.financeservice.entity.Period;
+import com.konecta.financeservice.event.PeriodChangedEvent;
 import com.konecta.financeservice.model.enums.PeriodStatus;
-import com.konecta.financeservice.repository.JournalEntryRepository;
-import com.konecta.financeservice.repository.JournalTransactionRepository;
 import com.konecta.financeservice.repository.PeriodRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,15 +22,18 @@ public class PeriodService {
 
     private final PeriodRepository periodRepository;
 
-    private final JournalTransactionRepository journalTransactionRepository;
+    private final PeriodCloseValidationService periodCloseValidationService;
 
-    private final JournalEntryRepository journalEntryRepository;
+    private final PeriodSnapshotService periodSnapshotService;
+
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public PeriodService(PeriodRepository periodRepository, JournalTransactionRepository journalTransactionRepository, JournalEntryRepository journalEntryRepository) {
+    public PeriodService(PeriodRepository periodRepository, PeriodCloseValidationService periodCloseValidationService, PeriodSnapshotService periodSnapshotService, ApplicationEventPublisher eventPublisher) {
         this.periodRepository = periodRepository;
-        this.journalTransactionRepository = journalTransactionRepository;
-        this.journalEntryRepository = journalEntryRepository;
+        this.periodCloseValidationService = periodCloseValidationService;
+        this.periodSnapshotService = periodSnapshotService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -58,6 +59,7 @@ public class PeriodService {
         if (dto.getOtherExpenseBudget() != null) period.setOtherExpenseBudget(dto.getOtherExpenseBudget());
 
         Period savedPeriod = periodRepository.save(period);
+        eventPublisher.publishEvent(new PeriodChangedEvent(savedPeriod.getPeriodId()));
         return convertToDTO(savedPeriod);
     }
 
@@ -77,22 +79,16 @@ public class PeriodService {
             throw new IllegalArgumentException("Period must be open to start closing");
         }
 
-        BigDecimal totalDebit = BigDecimal.ZERO, totalCredit = BigDecimal.ZERO;
-        List<JournalTransaction> transactions = journalTransactionRepository.findByPeriod_PeriodId(id);
-        for (JournalTransaction jt : transactions) {
-            List<JournalEntry> entries = journalEntryRepository.findAllByTransaction_TransactionId(jt.getTransactionId());
-            for (JournalEntry e : entries) {
-                totalDebit = totalDebit.add(e.getDebitAmount());
-                totalCredit = totalCredit.add(e.getCreditAmount());
-            }
-        }
-
-        if (totalDebit.compareTo(totalCredit) != 0) {
-            throw new IllegalArgumentException("Cannot close unbalanced period");
+        PeriodCloseValidationDTO validation = periodCloseValidationService.validate(period);
+        if (!validation.isBalanced()) {
+            throw new IllegalArgumentException("Cannot close unbalanced period: debits " + validation.getTotalDebits()
+                    + " vs credits " + validation.getTotalCredits() + ", "
+                    + validation.getUnbalancedTransactions().size() + " unbalanced transaction(s)");
         }
 
         period.setStatus(PeriodStatus.CLOSING);
         Period savedPeriod = periodRepository.save(period);
+        eventPublisher.publishEvent(new PeriodChangedEvent(savedPeriod.getPeriodId()));
         return convertToDTO(savedPeriod);
     }
 
@@ -109,9 +105,53 @@ public class PeriodService {
         period.setTimeToClose(ChronoUnit.DAYS.between(period.getCreatedAt().toLocalDate(), period.getClosedAt().toLocalDate()));
         Period savedPeriod = periodRepository.save(period);
 
+        // closed periods never change again: freeze their reports once
+        periodSnapshotService.createSnapshot(savedPeriod);
+        eventPublisher.publishEvent(new PeriodChangedEvent(savedPeriod.getPeriodId()));
+
         return convertToDTO(savedPeriod);
     }
 
+    /**
+     * Either an explicit list of period ids or every period whose start lies between the start dates
+     * of the two boundary periods. Returned in chronological order.
+     */
+    public List<Period> resolvePeriods(List<Long> periodIds, Long fromPeriodId, Long toPeriodId, int maxPeriods) {
+        List<Period> periods;
+        if (periodIds != null && !periodIds.isEmpty()) {
+            if (fromPeriodId != null || toPeriodId != null) {
+                throw new IllegalArgumentException("Specify either periodIds or fromPeriodId/toPeriodId, not both");
+            }
+            Set<Long> distinct = new LinkedHashSet<>(periodIds);
+            if (distinct.size() > maxPeriods) {
+                throw new IllegalArgumentException("At most " + maxPeriods + " periods can be compared");
+            }
+            periods = new ArrayList<>(periodRepository.findAllById(distinct));
+            if (periods.size() != distinct.size()) {
+                Set<Long> missing = new LinkedHashSet<>(distinct);
+                periods.forEach(p -> missing.remove(p.getPeriodId()));
+                throw new IllegalArgumentException("Period not found: " + missing.iterator().next());
+            }
+            periods.sort(Comparator.comparing(Period::getStartDate));
+        } else {
+            if (fromPeriodId == null || toPeriodId == null) {
+                throw new IllegalArgumentException("Specify periodIds or both fromPeriodId and toPeriodId");
+            }
+            Period from = periodRepository.findById(fromPeriodId)
+                    .orElseThrow(() -> new IllegalArgumentException("Period not found: " + fromPeriodId));
+            Period to = periodRepository.findById(toPeriodId)
+                    .orElseThrow(() -> new IllegalArgumentException("Period not found: " + toPeriodId));
+            if (to.getStartDate().isBefore(from.getStartDate())) {
+                throw new IllegalArgumentException("fromPeriodId must not start after toPeriodId");
+            }
+            periods = periodRepository.findByStartDateBetweenOrderByStartDate(from.getStartDate(), to.getStartDate());
+            if (periods.size() > maxPeriods) {
+                throw new IllegalArgumentException("At most " + maxPeriods + " periods can be compared");
+            }
+        }
+        return periods;
+    }
+
     public PeriodDTO convertToDTO(Period period) {
         PeriodDTO dto = new PeriodDTO();
         dto.setPeriodId(period.getPeriodId());
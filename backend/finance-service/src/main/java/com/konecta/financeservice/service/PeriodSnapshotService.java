@@ -0,0 +1,115 @@
+package com.konecta.financeservice.service;
+
+import com.konecta.financeservice.dto.CashFlowReportDTO;
+import com.konecta.financeservice.dto.IncomeStatementDTO;
+import com.konecta.financeservice.dto.PeriodSnapshotDTO;
+import com.konecta.financeservice.dto.TrialBalanceReportDTO;
+import com.konecta.financeservice.dto.TrialBalanceRowDTO;
+import com.konecta.financeservice.entity.Period;
+import com.konecta.financeservice.entity.PeriodReportSnapshot;
+import com.konecta.financeservice.entity.TrialBalanceSnapshotRow;
+import com.konecta.financeservice.event.PeriodChangedEvent;
+import com.konecta.financeservice.model.enums.PeriodStatus;
+import com.konecta.financeservice.repository.PeriodReportSnapshotRepository;
+import com.konecta.financeservice.repository.PeriodRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Freezes the trial balance, income statement and cash flow totals of a period when it is locked.
+ */
+@Service
+public class PeriodSnapshotService {
+
+    private final PeriodReportSnapshotRepository snapshotRepository;
+    private final PeriodRepository periodRepository;
+    private final AnalyticsService analyticsService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public PeriodSnapshotService(PeriodReportSnapshotRepository snapshotRepository, PeriodRepository periodRepository, AnalyticsService analyticsService, ApplicationEventPublisher eventPublisher) {
+        this.snapshotRepository = snapshotRepository;
+        this.periodRepository = periodRepository;
+        this.analyticsService = analyticsService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public PeriodReportSnapshot createSnapshot(Period period) {
+        if (period.getStatus() != PeriodStatus.CLOSED) {
+            throw new IllegalArgumentException("Snapshots can only be taken of closed periods");
+        }
+
+        TrialBalanceReportDTO tb = analyticsService.computeTrialBalance(period);
+        IncomeStatementDTO is = analyticsService.computeIncomeStatement(period);
+        CashFlowReportDTO cf = analyticsService.computeCashFlow(period);
+
+        PeriodReportSnapshot snapshot = new PeriodReportSnapshot();
+        snapshot.setPeriod(period);
+        snapshot.setTbTotalDebits(tb.getTotalDebits());
+        snapshot.setTbTotalCredits(tb.getTotalCredits());
+        snapshot.setTbStatus(tb.getTbStatus());
+        snapshot.setRevenueActual(is.getRevenueActual());
+        snapshot.setCogsActual(is.getCogsActual());
+        snapshot.setOpexActual(is.getOpexActual());
+        snapshot.setOtherIncomeActual(is.getOtherIncomeActual());
+        snapshot.setOtherExpenseActual(is.getOtherExpenseActual());
+        snapshot.setOpeningCash(cf.getOpeningCash());
+        snapshot.setCfo(cf.getCfo());
+        snapshot.setCfi(cf.getCfi());
+        snapshot.setCff(cf.getCff());
+        snapshot.setBalanceSheetCash(cf.getBalanceSheetCash());
+        snapshot.setGeneratedAt(LocalDateTime.now());
+
+        for (TrialBalanceRowDTO r : tb.getRows()) {
+            TrialBalanceSnapshotRow row = new TrialBalanceSnapshotRow();
+            row.setSnapshot(snapshot);
+            row.setAccountId(r.getAccountId());
+            row.setAccountName(r.getAccountName());
+            row.setAccountType(r.getAccountType());
+            row.setTotalDebits(r.getTotalDebits());
+            row.setTotalCredits(r.getTotalCredits());
+            row.setDebitBalance(r.getDebitBalance());
+            row.setCreditBalance(r.getCreditBalance());
+            row.setAbnormal(r.isAbnormal());
+            snapshot.getTrialBalanceRows().add(row);
+        }
+
+        return snapshotRepository.save(snapshot);
+    }
+
+    /**
+     * Drops the stored snapshot of a closed period and recomputes it from the ledger.
+     */
+    @Transactional
+    public PeriodSnapshotDTO rebuildSnapshot(Long periodId) {
+        Period period = periodRepository.findById(periodId)
+                .orElseThrow(() -> new IllegalArgumentException("Period with id " + periodId + " does not exist"));
+        if (period.getStatus() != PeriodStatus.CLOSED) {
+            throw new IllegalArgumentException("Only closed periods have report snapshots");
+        }
+
+        snapshotRepository.findByPeriod_PeriodId(periodId).ifPresent(existing -> {
+            snapshotRepository.delete(existing);
+            snapshotRepository.flush();
+        });
+
+        PeriodReportSnapshot snapshot = createSnapshot(period);
+        eventPublisher.publishEvent(new PeriodChangedEvent(periodId));
+        return convertToDTO(snapshot);
+    }
+
+    public PeriodSnapshotDTO convertToDTO(PeriodReportSnapshot snapshot) {
+        PeriodSnapshotDTO dto = new PeriodSnapshotDTO();
+        dto.setPeriodId(snapshot.getPeriod().getPeriodId());
+        dto.setPeriodLabel(snapshot.getPeriod().getLabel());
+        dto.setTrialBalanceRows(snapshot.getTrialBalanceRows().size());
+        dto.setTbStatus(snapshot.getTbStatus());
+        dto.setGeneratedAt(snapshot.getGeneratedAt());
+        return dto;
+    }
+}
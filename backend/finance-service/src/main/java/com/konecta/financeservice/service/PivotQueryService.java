@@ -0,0 +1,257 @@
+package com.konecta.financeservice.service;
+
+import com.konecta.financeservice.dto.PivotQueryDTO;
+import com.konecta.financeservice.dto.PivotResultDTO;
+import com.konecta.financeservice.dto.PivotRowDTO;
+import com.konecta.financeservice.model.Money;
+import com.konecta.financeservice.model.enums.AccountType;
+import com.konecta.financeservice.model.enums.CashSource;
+import com.konecta.financeservice.model.enums.PivotDimension;
+import com.konecta.financeservice.model.enums.PivotMeasure;
+import com.konecta.financeservice.model.enums.ProfitLossMapping;
+import com.konecta.financeservice.service.ReportCacheService.ReportKey;
+import com.konecta.financeservice.service.ReportCacheService.ReportType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.QueryTimeoutException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Ad-hoc aggregation of the ledger: any combination of the whitelisted dimensions and measures is
+ * compiled into one parameterized GROUP BY. Only enum values reach the SQL text; filter values are
+ * bound. Queries that need dates (month dimension or a date filter) read journal entries plus the
+ * daily totals of archived periods, all others read the per-period account balances. Results are
+ * cached per parameter set like the fixed reports.
+ */
+@Service
+public class PivotQueryService {
+
+    private record PivotQuery(List<PivotDimension> dimensions, List<PivotMeasure> measures,
+                              LocalDate fromDate, LocalDate toDate, List<Long> periodIds, List<Long> accountPKs,
+                              List<AccountType> accountTypes, List<ProfitLossMapping> plMappings,
+                              List<CashSource> cashSources, boolean includeInactive, int limit) {
+    }
+
+    private final EntityManager entityManager;
+    private final ReportCacheService reportCache;
+    private final LedgerArchiveService archiveService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int defaultLimit;
+    private final int maxRows;
+    private final Duration timeout;
+
+    @Autowired
+    public PivotQueryService(EntityManager entityManager, ReportCacheService reportCache, LedgerArchiveService archiveService,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${finance.pivot.default-limit:1000}") int defaultLimit,
+                             @Value("${finance.pivot.max-rows:10000}") int maxRows,
+                             @Value("${finance.pivot.timeout:PT15S}") Duration timeout) {
+        this.entityManager = entityManager;
+        this.reportCache = reportCache;
+        this.archiveService = archiveService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.defaultLimit = defaultLimit;
+        this.maxRows = maxRows;
+        this.timeout = timeout;
+    }
+
+    public PivotResultDTO query(PivotQueryDTO dto) {
+        PivotQuery query = normalize(dto);
+        ReportKey key = new ReportKey(ReportType.PIVOT, null, query.toDate(), query);
+        return reportCache.get(key, () -> readOnlyTransaction.execute(status -> run(query)));
+    }
+
+    private PivotQuery normalize(PivotQueryDTO dto) {
+        List<PivotDimension> dimensions = dto.getDimensions() == null ? List.of() : List.copyOf(dto.getDimensions());
+        if (new HashSet<>(dimensions).size() != dimensions.size()) {
+            throw new IllegalArgumentException("Each dimension can be used only once");
+        }
+        List<PivotMeasure> measures = dto.getMeasures() == null ? List.of() : List.copyOf(dto.getMeasures());
+        if (measures.isEmpty()) {
+            throw new IllegalArgumentException("At least one measure is required");
+        }
+        if (new HashSet<>(measures).size() != measures.size()) {
+            throw new IllegalArgumentException("Each measure can be used only once");
+        }
+        if (dto.getFromDate() != null && dto.getToDate() != null && dto.getFromDate().isAfter(dto.getToDate())) {
+            throw new IllegalArgumentException("fromDate must not be after toDate");
+        }
+        int limit = dto.getLimit() == null ? defaultLimit : dto.getLimit();
+        if (limit < 1 || limit > maxRows) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxRows);
+        }
+        return new PivotQuery(dimensions, measures, dto.getFromDate(), dto.getToDate(),
+                sorted(dto.getPeriodIds()), sorted(dto.getAccountPKs()), sorted(dto.getAccountTypes()),
+                sorted(dto.getPlMappings()), sorted(dto.getCashSources()), dto.isIncludeInactive(), limit);
+    }
+
+    // filters are sets; sorting lets equal requests share a cache entry
+    private static <T extends Comparable<T>> List<T> sorted(List<T> values) {
+        if (values == null) return List.of();
+        return List.copyOf(new TreeSet<>(values));
+    }
+
+    private PivotResultDTO run(PivotQuery query) {
+        Map<String, Object> params = new HashMap<>();
+        boolean byDate = query.dimensions().contains(PivotDimension.MONTH)
+                || query.fromDate() != null || query.toDate() != null;
+
+        String source;
+        if (byDate) {
+            String dateFilter = "";
+            if (query.fromDate() != null) {
+                dateFilter += " AND %1$s.transaction_date >= :fromDate";
+                params.put("fromDate", java.sql.Date.valueOf(query.fromDate()));
+            }
+            if (query.toDate() != null) {
+                dateFilter += " AND %1$s.transaction_date <= :toDate";
+                params.put("toDate", java.sql.Date.valueOf(query.toDate()));
+            }
+            source = """
+                    SELECT je.period_id, je.account_pk, je.transaction_date, je.debit_amount AS debits, je.credit_amount AS credits
+                    FROM journal_entries je
+                    WHERE TRUE""" + dateFilter.formatted("je");
+            boolean archived = query.fromDate() == null || query.toDate() == null
+                    || archiveService.overlaps(query.fromDate(), query.toDate());
+            if (archived) {
+                // entries of archived periods only survive as daily totals per account
+                source += """
+
+                        UNION ALL
+                        SELECT d.period_id, d.account_pk, d.transaction_date, d.total_debits, d.total_credits
+                        FROM archived_account_days d
+                        WHERE TRUE""" + dateFilter.formatted("d");
+            }
+        } else {
+            source = """
+                    SELECT b.period_id, b.account_pk, b.total_debits AS debits, b.total_credits AS credits
+                    FROM account_period_balances b""";
+        }
+
+        List<String> select = new ArrayList<>();
+        List<String> groupBy = new ArrayList<>();
+        List<String> orderBy = new ArrayList<>();
+        for (PivotDimension d : query.dimensions()) {
+            switch (d) {
+                case ACCOUNT -> {
+                    select.add("a.account_id");
+                    groupBy.add("a.account_id");
+                    orderBy.add("a.account_id");
+                }
+                case ACCOUNT_TYPE -> {
+                    select.add("a.account_type");
+                    groupBy.add("a.account_type");
+                    orderBy.add("a.account_type");
+                }
+                case PL_MAPPING -> {
+                    select.add("a.pl_mapping");
+                    groupBy.add("a.pl_mapping");
+                    orderBy.add("a.pl_mapping");
+                }
+                case CASH_SOURCE -> {
+                    select.add("a.cash_source");
+                    groupBy.add("a.cash_source");
+                    orderBy.add("a.cash_source");
+                }
+                case MONTH -> {
+                    select.add("to_char(x.transaction_date, 'YYYY-MM')");
+                    groupBy.add("to_char(x.transaction_date, 'YYYY-MM')");
+                    orderBy.add("to_char(x.transaction_date, 'YYYY-MM')");
+                }
+                case PERIOD -> {
+                    select.add("p.period_label");
+                    groupBy.add("p.period_label");
+                    groupBy.add("p.start_date");
+                    orderBy.add("p.start_date");
+                }
+            }
+        }
+        for (PivotMeasure m : query.measures()) {
+            select.add(switch (m) {
+                case DEBIT -> "COALESCE(SUM(x.debits), 0)";
+                case CREDIT -> "COALESCE(SUM(x.credits), 0)";
+                case NET -> "COALESCE(SUM(x.debits - x.credits), 0)";
+            });
+        }
+
+        List<String> where = new ArrayList<>();
+        if (!query.includeInactive()) {
+            where.add("a.status = 'ACTIVE'");
+        }
+        if (!query.periodIds().isEmpty()) {
+            where.add("x.period_id IN (:periodIds)");
+            params.put("periodIds", query.periodIds());
+        }
+        if (!query.accountPKs().isEmpty()) {
+            where.add("x.account_pk IN (:accountPKs)");
+            params.put("accountPKs", query.accountPKs());
+        }
+        if (!query.accountTypes().isEmpty()) {
+            where.add("a.account_type IN (:accountTypes)");
+            params.put("accountTypes", query.accountTypes().stream().map(Enum::name).toList());
+        }
+        if (!query.plMappings().isEmpty()) {
+            where.add("a.pl_mapping IN (:plMappings)");
+            params.put("plMappings", query.plMappings().stream().map(Enum::name).toList());
+        }
+        if (!query.cashSources().isEmpty()) {
+            where.add("a.cash_source IN (:cashSources)");
+            params.put("cashSources", query.cashSources().stream().map(Enum::name).toList());
+        }
+
+        StringBuilder sql = new StringBuilder()
+                .append("SELECT ").append(String.join(", ", select))
+                .append("\nFROM (").append(source).append(") x")
+                .append("\nJOIN accounts a ON a.account_pk = x.account_pk");
+        if (query.dimensions().contains(PivotDimension.PERIOD)) {
+            sql.append("\nJOIN periods p ON p.period_id = x.period_id");
+        }
+        if (!where.isEmpty()) {
+            sql.append("\nWHERE ").append(String.join(" AND ", where));
+        }
+        if (!groupBy.isEmpty()) {
+            sql.append("\nGROUP BY ").append(String.join(", ", groupBy));
+            sql.append("\nORDER BY ").append(String.join(", ", orderBy));
+        }
+
+        Query q = entityManager.createNativeQuery(sql.toString());
+        params.forEach(q::setParameter);
+        q.setHint("jakarta.persistence.query.timeout", (int) timeout.toMillis());
+        q.setMaxResults(query.limit() + 1); // one extra row tells whether the result was cut
+
+        List<?> raw;
+        try {
+            raw = q.getResultList();
+        } catch (QueryTimeoutException e) {
+            throw new IllegalStateException("Pivot query exceeded " + timeout.toSeconds() + "s; narrow the filters or dimensions");
+        }
+
+        int dims = query.dimensions().size();
+        boolean truncated = raw.size() > query.limit();
+        List<PivotRowDTO> rows = new ArrayList<>(Math.min(raw.size(), query.limit()));
+        for (int i = 0; i < raw.size() && i < query.limit(); i++) {
+            Object row = raw.get(i);
+            Object[] r = row instanceof Object[] ? (Object[]) row : new Object[]{row};
+            List<String> keys = new ArrayList<>(dims);
+            for (int k = 0; k < dims; k++) {
+                keys.add(r[k] == null ? null : r[k].toString());
+            }
+            List<BigDecimal> values = new ArrayList<>(query.measures().size());
+            for (int k = dims; k < r.length; k++) {
+                values.add(Money.toBigDecimal(Money.cents(r[k])));
+            }
+            rows.add(new PivotRowDTO(keys, values));
+        }
+        return new PivotResultDTO(query.dimensions(), query.measures(), rows, truncated);
+    }
+}
@@ -0,0 +1,195 @@
+package com.konecta.financeservice.service;
+
+import com.konecta.financeservice.dto.PeriodRatiosDTO;
+import com.konecta.financeservice.dto.RatioResultDTO;
+import com.konecta.financeservice.entity.Period;
+import com.konecta.financeservice.entity.Ratio;
+import com.konecta.financeservice.model.Money;
+import com.konecta.financeservice.model.enums.RatioType;
+import com.konecta.financeservice.repository.RatioRepository;
+import com.konecta.financeservice.service.ReportCacheService.ReportKey;
+import com.konecta.financeservice.service.ReportCacheService.ReportType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Evaluates the standard ratios for any number of periods. The inputs of every uncached period come
+ * from one aggregated fetch over account_period_balances; balance sheet inputs are cumulated in
+ * memory up to each period's end. Computed values are cached per period and compared with the
+ * configured benchmark and warning threshold on every read, so changing a ratio needs no recompute.
+ */
+@Service
+public class RatioEngineService {
+
+    public static final int MAX_PERIODS = 60;
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    /**
+     * Cached per period; values are indexed by {@link RatioType#ordinal()}.
+     */
+    record RatioValues(BigDecimal currentAssets, BigDecimal inventory, BigDecimal currentLiabilities,
+                       BigDecimal totalLiabilities, BigDecimal totalEquity,
+                       BigDecimal revenue, BigDecimal grossProfit, BigDecimal netIncome,
+                       BigDecimal[] values) {
+    }
+
+    private final PeriodService periodService;
+    private final RatioRepository ratioRepository;
+    private final ReportCacheService reportCache;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Autowired
+    public RatioEngineService(PeriodService periodService, RatioRepository ratioRepository, ReportCacheService reportCache,
+                              EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.periodService = periodService;
+        this.ratioRepository = ratioRepository;
+        this.reportCache = reportCache;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public List<PeriodRatiosDTO> evaluate(List<Long> periodIds, Long fromPeriodId, Long toPeriodId) {
+        List<Period> periods = periodService.resolvePeriods(periodIds, fromPeriodId, toPeriodId, MAX_PERIODS);
+
+        Map<ReportKey, Period> byKey = new LinkedHashMap<>();
+        for (Period p : periods) {
+            byKey.put(new ReportKey(ReportType.RATIOS, p.getPeriodId(), p.getEndDate()), p);
+        }
+        Map<ReportKey, RatioValues> values = reportCache.getAll(byKey.keySet(), missing -> readOnlyTransaction.execute(status -> computeValues(missing)));
+
+        Map<RatioType, Ratio> config = new EnumMap<>(RatioType.class);
+        for (Ratio r : ratioRepository.findAll()) {
+            RatioType type = RatioType.fromName(r.getRatioName());
+            if (type != null) config.putIfAbsent(type, r);
+        }
+
+        List<PeriodRatiosDTO> result = new ArrayList<>(periods.size());
+        for (Map.Entry<ReportKey, Period> e : byKey.entrySet()) {
+            result.add(toDTO(e.getValue(), values.get(e.getKey()), config));
+        }
+        return result;
+    }
+
+    private Map<ReportKey, RatioValues> computeValues(Set<ReportKey> keys) {
+        LocalDate lastEnd = keys.stream().map(ReportKey::date).max(Comparator.naturalOrder()).orElseThrow();
+
+        // one row per period up to the latest requested one; balance sheet sums are per-period movements
+        String sql = """
+                SELECT p.period_id,
+                  COALESCE(SUM(CASE WHEN a.account_type = 'ASSET' AND a.is_current THEN b.total_debits - b.total_credits END), 0) AS current_assets,
+                  COALESCE(SUM(CASE WHEN a.account_type = 'ASSET' AND a.is_current AND a.is_inventory THEN b.total_debits - b.total_credits END), 0) AS inventory,
+                  COALESCE(SUM(CASE WHEN a.account_type = 'LIABILITY' AND a.is_current THEN b.total_credits - b.total_debits END), 0) AS current_liabilities,
+                  COALESCE(SUM(CASE WHEN a.account_type = 'LIABILITY' THEN b.total_credits - b.total_debits END), 0) AS total_liabilities,
+                  COALESCE(SUM(CASE WHEN a.account_type IN ('EQUITY', 'REVENUE', 'EXPENSE') THEN b.total_credits - b.total_debits END), 0) AS total_equity,
+                  COALESCE(SUM(CASE WHEN a.pl_mapping = 'REVENUE' THEN b.total_credits - b.total_debits END), 0) AS revenue,
+                  COALESCE(SUM(CASE WHEN a.pl_mapping = 'COGS' THEN b.total_debits - b.total_credits END), 0) AS cogs,
+                  COALESCE(SUM(CASE WHEN a.pl_mapping <> 'NONE' THEN b.total_credits - b.total_debits END), 0) AS net_income
+                FROM periods p
+                LEFT JOIN (account_period_balances b
+                           JOIN accounts a ON b.account_pk = a.account_pk AND a.status = 'ACTIVE')
+                       ON b.period_id = p.period_id
+                WHERE p.end_date <= :lastEnd
+                GROUP BY p.period_id, p.end_date
+                ORDER BY p.end_date
+                """;
+        Query q = entityManager.createNativeQuery(sql);
+        q.setParameter("lastEnd", java.sql.Date.valueOf(lastEnd));
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> raw = q.getResultList();
+
+        Map<Long, ReportKey> wanted = new HashMap<>();
+        for (ReportKey k : keys) wanted.put(k.periodId(), k);
+
+        Map<ReportKey, RatioValues> computed = new HashMap<>();
+        BigDecimal currentAssets = BigDecimal.ZERO, inventory = BigDecimal.ZERO, currentLiabilities = BigDecimal.ZERO,
+                totalLiabilities = BigDecimal.ZERO, totalEquity = BigDecimal.ZERO;
+        for (Object[] r : raw) {
+            currentAssets = currentAssets.add(toBigDecimal(r[1]));
+            inventory = inventory.add(toBigDecimal(r[2]));
+            currentLiabilities = currentLiabilities.add(toBigDecimal(r[3]));
+            totalLiabilities = totalLiabilities.add(toBigDecimal(r[4]));
+            totalEquity = totalEquity.add(toBigDecimal(r[5]));
+
+            ReportKey key = wanted.remove(((Number) r[0]).longValue());
+            if (key != null) {
+                BigDecimal revenue = toBigDecimal(r[6]);
+                BigDecimal grossProfit = revenue.subtract(toBigDecimal(r[7]));
+                computed.put(key, values(currentAssets, inventory, currentLiabilities, totalLiabilities, totalEquity,
+                        revenue, grossProfit, toBigDecimal(r[8])));
+            }
+        }
+
+        return computed;
+    }
+
+    private static RatioValues values(BigDecimal currentAssets, BigDecimal inventory, BigDecimal currentLiabilities,
+                                      BigDecimal totalLiabilities, BigDecimal totalEquity,
+                                      BigDecimal revenue, BigDecimal grossProfit, BigDecimal netIncome) {
+        BigDecimal[] v = new BigDecimal[RatioType.values().length];
+        v[RatioType.CURRENT_RATIO.ordinal()] = divide(currentAssets, currentLiabilities);
+        v[RatioType.QUICK_RATIO.ordinal()] = divide(currentAssets.subtract(inventory), currentLiabilities);
+        v[RatioType.GROSS_MARGIN.ordinal()] = percent(grossProfit, revenue);
+        v[RatioType.NET_MARGIN.ordinal()] = percent(netIncome, revenue);
+        v[RatioType.DEBT_TO_EQUITY.ordinal()] = divide(totalLiabilities, totalEquity);
+        return new RatioValues(currentAssets, inventory, currentLiabilities, totalLiabilities, totalEquity,
+                revenue, grossProfit, netIncome, v);
+    }
+
+    private static PeriodRatiosDTO toDTO(Period p, RatioValues v, Map<RatioType, Ratio> config) {
+        List<RatioResultDTO> ratios = new ArrayList<>();
+        for (RatioType type : RatioType.values()) {
+            BigDecimal value = v.values()[type.ordinal()];
+            Ratio r = config.get(type);
+            if (r == null) {
+                ratios.add(new RatioResultDTO(type, null, value, null, null, value == null ? "NOT_AVAILABLE" : "NOT_CONFIGURED"));
+            } else {
+                ratios.add(new RatioResultDTO(type, r.getRatioId(), value, r.getBenchmarkValue(), r.getWarningThreshold(),
+                        status(type, value, r.getBenchmarkValue(), r.getWarningThreshold())));
+            }
+        }
+        return new PeriodRatiosDTO(p.getPeriodId(), p.getLabel(), p.getStartDate(), p.getEndDate(),
+                v.currentAssets(), v.inventory(), v.currentLiabilities(), v.totalLiabilities(), v.totalEquity(),
+                v.revenue(), v.grossProfit(), v.netIncome(), ratios);
+    }
+
+    /**
+     * ON_TARGET when the value meets the benchmark, WARNING when it is past the warning threshold,
+     * OFF_TARGET in between. "Meets" and "past" follow the ratio's direction (lower is better for debt-to-equity).
+     */
+    private static String status(RatioType type, BigDecimal value, BigDecimal benchmark, BigDecimal warning) {
+        if (value == null) return "NOT_AVAILABLE";
+        int sign = type.isHigherIsBetter() ? 1 : -1;
+        if (value.compareTo(benchmark) * sign >= 0) return "ON_TARGET";
+        if (value.compareTo(warning) * sign < 0) return "WARNING";
+        return "OFF_TARGET";
+    }
+
+    private static BigDecimal divide(BigDecimal numerator, BigDecimal denominator) {
+        if (denominator.signum() == 0) return null;
+        return numerator.divide(denominator, 4, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal percent(BigDecimal numerator, BigDecimal denominator) {
+        if (denominator.signum() == 0) return null;
+        return numerator.multiply(HUNDRED).divide(denominator, 2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal toBigDecimal(Object val) {
+        if (val == null) return BigDecimal.ZERO;
+        if (val instanceof BigDecimal) return (BigDecimal) val;
+        return Money.toBigDecimal(Money.cents(val));
+    }
+}
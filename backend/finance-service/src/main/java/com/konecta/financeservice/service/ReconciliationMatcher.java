@@ -0,0 +1,290 @@
+package com.konecta.financeservice.service;
+
+import com.konecta.financeservice.model.enums.MatchRule;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory matcher of bank statement lines against cash account entries, both held as primitive
+ * columns (cents, epoch day) and each added in (amount, date) order.
+ * <ol>
+ *     <li>Reference pass: a hash index keyed on (amount, reference token) of the entries' descriptions;
+ *     every line with a reference takes the closest-dated entry with the same amount and token.</li>
+ *     <li>Amount/date pass: a merge over both sorted sides; within one amount, lines and entries are
+ *     paired in date order when they are at most the window apart.</li>
+ * </ol>
+ * Every line and entry is matched at most once. Not thread-safe; one instance per run.
+ */
+final class ReconciliationMatcher {
+
+    private static final Pattern TOKEN_SEPARATORS = Pattern.compile("[\\s,;:/()\\[\\]#]+");
+    private static final int MIN_TOKEN_LENGTH = 3;
+    private static final int INITIAL_CAPACITY = 1 << 10;
+
+    private final int window;
+
+    private int lineCount;
+    private long[] lineId = new long[INITIAL_CAPACITY];
+    private long[] lineCents = new long[INITIAL_CAPACITY];
+    private int[] lineDay = new int[INITIAL_CAPACITY];
+    private String[] lineRef = new String[INITIAL_CAPACITY];
+
+    private int entryCount;
+    private long[] entryId = new long[INITIAL_CAPACITY];
+    private long[] entryTransactionId = new long[INITIAL_CAPACITY];
+    private long[] entryCents = new long[INITIAL_CAPACITY];
+    private int[] entryDay = new int[INITIAL_CAPACITY];
+    private String[] entryText = new String[INITIAL_CAPACITY];
+
+    // results: matched entry index (or -1) and rule per line
+    private int[] lineMatch;
+    private MatchRule[] lineRule;
+    private boolean[] entryMatched;
+
+    ReconciliationMatcher(int windowDays) {
+        this.window = windowDays;
+    }
+
+    void addLine(long id, long cents, int day, String reference) {
+        if (lineCount == lineId.length) {
+            int capacity = lineCount + (lineCount >> 1);
+            lineId = Arrays.copyOf(lineId, capacity);
+            lineCents = Arrays.copyOf(lineCents, capacity);
+            lineDay = Arrays.copyOf(lineDay, capacity);
+            lineRef = Arrays.copyOf(lineRef, capacity);
+        }
+        lineId[lineCount] = id;
+        lineCents[lineCount] = cents;
+        lineDay[lineCount] = day;
+        lineRef[lineCount] = normalize(reference);
+        lineCount++;
+    }
+
+    void addEntry(long id, long transactionId, long cents, int day, String description) {
+        if (entryCount == entryId.length) {
+            int capacity = entryCount + (entryCount >> 1);
+            entryId = Arrays.copyOf(entryId, capacity);
+            entryTransactionId = Arrays.copyOf(entryTransactionId, capacity);
+            entryCents = Arrays.copyOf(entryCents, capacity);
+            entryDay = Arrays.copyOf(entryDay, capacity);
+            entryText = Arrays.copyOf(entryText, capacity);
+        }
+        entryId[entryCount] = id;
+        entryTransactionId[entryCount] = transactionId;
+        entryCents[entryCount] = cents;
+        entryDay[entryCount] = day;
+        entryText[entryCount] = description;
+        entryCount++;
+    }
+
+    int lineCount() {
+        return lineCount;
+    }
+
+    int entryCount() {
+        return entryCount;
+    }
+
+    void match() {
+        lineMatch = new int[lineCount];
+        Arrays.fill(lineMatch, -1);
+        lineRule = new MatchRule[lineCount];
+        entryMatched = new boolean[entryCount];
+        matchByReference();
+        matchByAmountAndDate();
+    }
+
+    /**
+     * Index of the entry matched to line i, or -1.
+     */
+    int matchOf(int line) {
+        return lineMatch[line];
+    }
+
+    MatchRule ruleOf(int line) {
+        return lineRule[line];
+    }
+
+    long lineId(int line) {
+        return lineId[line];
+    }
+
+    long entryId(int entry) {
+        return entryId[entry];
+    }
+
+    long entryTransactionId(int entry) {
+        return entryTransactionId[entry];
+    }
+
+    private void matchByReference() {
+        TokenIndex index = new TokenIndex(entryCount);
+        for (int e = 0; e < entryCount; e++) {
+            String text = entryText[e];
+            if (text == null) continue;
+            String whole = normalize(text);
+            if (whole != null) index.add(entryCents[e], whole, e);
+            for (String raw : TOKEN_SEPARATORS.split(text)) {
+                String token = normalize(raw);
+                if (token != null && !token.equals(whole) && isReferenceLike(token)) {
+                    index.add(entryCents[e], token, e);
+                }
+            }
+        }
+
+        for (int l = 0; l < lineCount; l++) {
+            String ref = lineRef[l];
+            if (ref == null) continue;
+            long cents = lineCents[l];
+            int best = -1, bestDistance = Integer.MAX_VALUE;
+            for (int n = index.head(cents, ref); n >= 0; n = index.next[n]) {
+                int e = index.entry[n];
+                if (entryMatched[e] || entryCents[e] != cents || !ref.equals(index.token[n])) continue;
+                int distance = Math.abs(entryDay[e] - lineDay[l]);
+                if (distance <= window && (distance < bestDistance || (distance == bestDistance && e < best))) {
+                    best = e;
+                    bestDistance = distance;
+                }
+            }
+            if (best >= 0) pair(l, best, MatchRule.REFERENCE);
+        }
+    }
+
+    /*
+     * Both sides are sorted by (cents, day). For one amount, pairing the earliest unmatched line
+     * with the earliest entry inside its window is optimal when every line has the same window.
+     */
+    private void matchByAmountAndDate() {
+        int l = 0, e = 0;
+        while (l < lineCount && e < entryCount) {
+            if (lineMatch[l] >= 0) {
+                l++;
+            } else if (entryMatched[e]) {
+                e++;
+            } else if (lineCents[l] < entryCents[e]) {
+                l++;
+            } else if (lineCents[l] > entryCents[e]) {
+                e++;
+            } else if (entryDay[e] < lineDay[l] - window) {
+                e++;
+            } else if (entryDay[e] > lineDay[l] + window) {
+                l++;
+            } else {
+                pair(l++, e++, MatchRule.AMOUNT_DATE);
+            }
+        }
+    }
+
+    private void pair(int line, int entry, MatchRule rule) {
+        lineMatch[line] = entry;
+        lineRule[line] = rule;
+        entryMatched[entry] = true;
+    }
+
+    /*
+     * Upper-case letters and digits only, so "INV-1001" and "inv 1001" compare equal; null when nothing is left.
+     */
+    static String normalize(String s) {
+        if (s == null) return null;
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (Character.isLetterOrDigit(c)) sb.append(c);
+        }
+        return sb.length() == 0 ? null : sb.toString().toUpperCase(Locale.ROOT);
+    }
+
+    // words of a description are only indexed when they look like a document number
+    private static boolean isReferenceLike(String token) {
+        if (token.length() < MIN_TOKEN_LENGTH) return false;
+        for (int i = 0; i < token.length(); i++) {
+            if (Character.isDigit(token.charAt(i))) return true;
+        }
+        return false;
+    }
+
+    /*
+     * Open-addressing table from a 64-bit hash of (cents, token) to a chain of nodes. Equal hashes
+     * share a chain, so callers compare cents and token on every node.
+     */
+    private static final class TokenIndex {
+        private long[] slotKey;
+        private int[] slotHead;
+        private int mask;
+        private int usedSlots;
+
+        private int size;
+        private int[] entry;
+        private String[] token;
+        private int[] next;
+
+        TokenIndex(int expectedEntries) {
+            int capacity = Integer.highestOneBit(Math.max(16, expectedEntries * 4) - 1) << 1;
+            slotKey = new long[capacity];
+            slotHead = new int[capacity];
+            Arrays.fill(slotHead, -1);
+            mask = capacity - 1;
+            int nodes = Math.max(16, expectedEntries * 2);
+            entry = new int[nodes];
+            token = new String[nodes];
+            next = new int[nodes];
+        }
+
+        void add(long cents, String tok, int e) {
+            if (size == entry.length) {
+                int capacity = size + (size >> 1);
+                entry = Arrays.copyOf(entry, capacity);
+                token = Arrays.copyOf(token, capacity);
+                next = Arrays.copyOf(next, capacity);
+            }
+            long key = key(cents, tok);
+            int slot = find(key);
+            if (slotHead[slot] < 0) {
+                if (2 * (usedSlots + 1) > slotHead.length) {
+                    rehash();
+                    slot = find(key);
+                }
+                slotKey[slot] = key;
+                usedSlots++;
+            }
+            entry[size] = e;
+            token[size] = tok;
+            next[size] = slotHead[slot];
+            slotHead[slot] = size++;
+        }
+
+        int head(long cents, String tok) {
+            return slotHead[find(key(cents, tok))];
+        }
+
+        private int find(long key) {
+            int slot = (int) (key ^ (key >>> 32)) & mask;
+            while (slotHead[slot] >= 0 && slotKey[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void rehash() {
+            long[] oldKeys = slotKey;
+            int[] oldHeads = slotHead;
+            slotKey = new long[oldKeys.length * 2];
+            slotHead = new int[oldHeads.length * 2];
+            Arrays.fill(slotHead, -1);
+            mask = slotHead.length - 1;
+            for (int i = 0; i < oldHeads.length; i++) {
+                if (oldHeads[i] < 0) continue;
+                int slot = find(oldKeys[i]);
+                slotKey[slot] = oldKeys[i];
+                slotHead[slot] = oldHeads[i];
+            }
+        }
+
+        private static long key(long cents, String tok) {
+            long h = cents * 0x9E3779B97F4A7C15L + tok.hashCode();
+            return h ^ (h >>> 29);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.konecta.financeservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.konecta.financeservice.event.AccountChangedEvent;
+import com.konecta.financeservice.event.JournalPostedEvent;
+import com.konecta.financeservice.event.PeriodChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of generated reports. Entries are dropped after commit of any posting that can
+ * change them, so a cached report is never older than the last committed posting it depends on.
+ * Hit/miss/eviction counts are published as the "finance.reports" cache metrics.
+ */
+@Service
+public class ReportCacheService {
+
+    public enum ReportType {
+        TRIAL_BALANCE, INCOME_STATEMENT, CASH_FLOW, BALANCE_SHEET, RATIOS, PIVOT
+    }
+
+    /**
+     * @param periodId period the report covers (null for balance sheets and pivots)
+     * @param date     last date the report depends on: period end for cash flow and ratios, as-of date for balance
+     *                 sheets, upper date filter for pivots (null when unbounded)
+     * @param params   remaining parameters of reports that take more than a period or date (pivot queries)
+     */
+    public record ReportKey(ReportType type, Long periodId, LocalDate date, Object params) {
+
+        public ReportKey(ReportType type, Long periodId, LocalDate date) {
+            this(type, periodId, date, null);
+        }
+
+        public static ReportKey forPeriod(ReportType type, Long periodId) {
+            return new ReportKey(type, periodId, null);
+        }
+    }
+
+    private final Cache<ReportKey, Object> cache;
+
+    // bumped on every invalidation; a load that raced with one is not kept
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public ReportCacheService(@Value("${finance.report-cache.max-size:500}") long maxSize,
+                              @Value("${finance.report-cache.ttl:PT10M}") Duration ttl,
+                              MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "finance.reports");
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(ReportKey key, Supplier<T> loader) {
+        Object cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+
+        long before = generation.get();
+        T value = loader.get();
+        cache.put(key, value);
+        if (generation.get() != before) {
+            // a posting committed while we were computing; the value may predate it
+            cache.invalidate(key);
+        }
+        return value;
+    }
+
+    /**
+     * Bulk variant of {@link #get}: the loader receives every key that was not cached and computes
+     * them together.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Map<ReportKey, T> getAll(Collection<ReportKey> keys, Function<Set<ReportKey>, Map<ReportKey, T>> loader) {
+        Map<ReportKey, T> result = new HashMap<>();
+        Set<ReportKey> missing = new LinkedHashSet<>();
+        for (ReportKey key : keys) {
+            Object cached = cache.getIfPresent(key);
+            if (cached != null) {
+                result.put(key, (T) cached);
+            } else {
+                missing.add(key);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        long before = generation.get();
+        Map<ReportKey, T> loaded = loader.apply(missing);
+        cache.putAll(loaded);
+        if (generation.get() != before) {
+            cache.invalidateAll(loaded.keySet());
+        }
+        result.putAll(loaded);
+        return result;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onJournalPosted(JournalPostedEvent event) {
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> switch (key.type()) {
+            case TRIAL_BALANCE, INCOME_STATEMENT -> event.periodIds().contains(key.periodId());
+            // opening cash and balance sheet cash of every period ending on/after the posting move
+            case CASH_FLOW, BALANCE_SHEET, RATIOS -> !key.date().isBefore(event.earliestDate());
+            case PIVOT -> key.date() == null || !key.date().isBefore(event.earliestDate());
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        // classification feeds every report
+        invalidateAll();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPeriodChanged(PeriodChangedEvent event) {
+        generation.incrementAndGet();
+        // pivots group and filter by period dates and labels
+        cache.asMap().keySet().removeIf(key -> key.type() == ReportType.PIVOT || event.periodId().equals(key.periodId()));
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+}
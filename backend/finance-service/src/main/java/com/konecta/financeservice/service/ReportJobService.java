@@ -0,0 +1,403 @@
+package com.konecta.financeservice.service;
+
+import com.konecta.financeservice.dto.ReportJobDTO;
+import com.konecta.financeservice.dto.SubmitReportJobDTO;
+import com.konecta.financeservice.model.enums.ReportFormat;
+import com.konecta.financeservice.model.enums.ReportJobStatus;
+import com.konecta.financeservice.model.enums.ReportJobType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runs report exports in the background and keeps the finished files on local disk until they expire.
+ * Jobs go through a per-type dispatcher in front of a bounded worker pool: a type never occupies more
+ * than its limit of workers, so one slow report kind cannot starve the others. An identical request
+ * that is still queued or running is answered with the existing job instead of a new one; the job is then
+ * shared with the new requester. Jobs and their files are visible to the users who requested them and to the CFO.
+ */
+@Service
+public class ReportJobService {
+
+    /** Normalized request parameters; two submissions with equal keys produce the same file. */
+    record JobKey(ReportJobType type, ReportFormat format, Long periodId, LocalDate fromDate, LocalDate toDate,
+                  List<Long> accountPKs, LocalDate asOfDate, List<Long> periodIds, Long fromPeriodId, Long toPeriodId) {
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobService.class);
+
+    /** Names this service gives its files: job id plus a format extension, or .tmp while rendering. */
+    private static final Pattern JOB_FILE = Pattern.compile(
+            "[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}\\.(tmp|"
+                    + Arrays.stream(ReportFormat.values()).map(ReportFormat::getExtension).collect(Collectors.joining("|"))
+                    + ")");
+
+    private static final class Job {
+        final String id;
+        final JobKey key;
+        final String requestedBy;
+        final Set<String> requesters = ConcurrentHashMap.newKeySet(); // requestedBy plus users whose duplicate joined this job
+        final LocalDateTime submittedAt = LocalDateTime.now();
+        volatile ReportJobStatus status = ReportJobStatus.QUEUED;
+        volatile LocalDateTime startedAt;
+        volatile LocalDateTime finishedAt;
+        volatile LocalDateTime expiresAt;
+        volatile String fileName;
+        volatile Long fileSize;
+        volatile String error;
+
+        Job(String id, JobKey key, String requestedBy) {
+            this.id = id;
+            this.key = key;
+            this.requestedBy = requestedBy;
+            if (requestedBy != null) requesters.add(requestedBy);
+        }
+
+        boolean visibleTo(String user, boolean cfo) {
+            return cfo || (user != null && requesters.contains(user));
+        }
+    }
+
+    /** Guarded by the service monitor. */
+    private static final class TypeLane {
+        int running;
+        final Deque<Job> pending = new ArrayDeque<>();
+    }
+
+    private final AnalyticsService analyticsService;
+    private final ComparativeReportService comparativeReportService;
+    private final FinancialPackService financialPackService;
+    private final GLStreamService glStreamService;
+    private final ExcelExportService excelExportService;
+    private final PDFExportService pdfExportService;
+    private final Path jobDir;
+    private final int perTypeLimit;
+    private final int queueCapacity;
+    private final Duration ttl;
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService reaper;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Map<JobKey, Job> inFlight = new HashMap<>();
+    private final Map<ReportJobType, TypeLane> lanes = new EnumMap<>(ReportJobType.class);
+    private int queued;
+
+    @Autowired
+    public ReportJobService(AnalyticsService analyticsService, ComparativeReportService comparativeReportService,
+                            FinancialPackService financialPackService, GLStreamService glStreamService, ExcelExportService excelExportService, PDFExportService pdfExportService,
+                            @Value("${finance.report-jobs.dir:report-jobs}") String jobDir,
+                            @Value("${finance.report-jobs.pool-size:4}") int poolSize,
+                            @Value("${finance.report-jobs.per-type-limit:2}") int perTypeLimit,
+                            @Value("${finance.report-jobs.queue-capacity:100}") int queueCapacity,
+                            @Value("${finance.report-jobs.ttl:PT1H}") Duration ttl) {
+        this.analyticsService = analyticsService;
+        this.comparativeReportService = comparativeReportService;
+        this.financialPackService = financialPackService;
+        this.glStreamService = glStreamService;
+        this.excelExportService = excelExportService;
+        this.pdfExportService = pdfExportService;
+        this.jobDir = Path.of(jobDir);
+        this.perTypeLimit = Math.max(1, perTypeLimit);
+        this.queueCapacity = queueCapacity;
+        this.ttl = ttl;
+        for (ReportJobType type : ReportJobType.values()) lanes.put(type, new TypeLane());
+
+        // the dispatcher hands over at most perTypeLimit jobs per type, which bounds the work queue
+        int threads = Math.max(1, poolSize);
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), daemon("report-job-"));
+        this.reaper = Executors.newSingleThreadScheduledExecutor(daemon("report-job-reaper"));
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        // jobs live in memory only, so files left by a previous run can never be downloaded; anything
+        // else in the directory is not ours to delete
+        Files.createDirectories(jobDir);
+        try (Stream<Path> files = Files.list(jobDir)) {
+            files.filter(f -> Files.isRegularFile(f) && JOB_FILE.matcher(f.getFileName().toString()).matches())
+                    .forEach(ReportJobService::deleteQuietly);
+        }
+        long period = Math.max(1, Math.min(ttl.toSeconds(), 60));
+        reaper.scheduleWithFixedDelay(this::expireJobs, period, period, TimeUnit.SECONDS);
+    }
+
+    public ReportJobDTO submit(SubmitReportJobDTO dto, String requestedBy) {
+        JobKey key = normalize(dto);
+        synchronized (this) {
+            Job existing = inFlight.get(key);
+            if (existing != null) {
+                if (requestedBy != null) existing.requesters.add(requestedBy);
+                return toDTO(existing);
+            }
+            if (queued >= queueCapacity) {
+                throw new IllegalStateException("Too many report jobs are queued, try again later");
+            }
+
+            Job job = new Job(UUID.randomUUID().toString(), key, requestedBy);
+            jobs.put(job.id, job);
+            inFlight.put(key, job);
+            lanes.get(key.type()).pending.addLast(job);
+            queued++;
+            dispatch(key.type());
+            return toDTO(job);
+        }
+    }
+
+    /**
+     * Jobs the user requested, or every job for the CFO.
+     */
+    public List<ReportJobDTO> getJobs(String user, boolean cfo) {
+        return jobs.values().stream()
+                .filter(j -> j.visibleTo(user, cfo))
+                .sorted(Comparator.comparing((Job j) -> j.submittedAt).reversed())
+                .map(ReportJobService::toDTO)
+                .toList();
+    }
+
+    public ReportJobDTO getJob(String jobId, String user, boolean cfo) {
+        return toDTO(find(jobId, user, cfo));
+    }
+
+    /**
+     * Path of the finished file. The caller should stream it right away: the reaper may delete it once the job expires.
+     */
+    public Path getResultFile(String jobId, String user, boolean cfo) {
+        Job job = find(jobId, user, cfo);
+        if (job.status != ReportJobStatus.COMPLETED) {
+            throw new IllegalStateException("Report job is " + job.status + ", the file is not available");
+        }
+        Path file = resultPath(job);
+        if (!Files.exists(file)) {
+            throw new EntityNotFoundException("Report file has expired");
+        }
+        return file;
+    }
+
+    /*
+     * Another user's job is reported as missing rather than forbidden, so job ids cannot be probed.
+     */
+    private Job find(String jobId, String user, boolean cfo) {
+        Job job = jobs.get(jobId);
+        if (job == null || !job.visibleTo(user, cfo)) {
+            throw new EntityNotFoundException("Report job not found");
+        }
+        return job;
+    }
+
+    private synchronized void dispatch(ReportJobType type) {
+        TypeLane lane = lanes.get(type);
+        while (lane.running < perTypeLimit && !lane.pending.isEmpty()) {
+            Job job = lane.pending.pollFirst();
+            lane.running++;
+            queued--;
+            workers.execute(() -> run(job));
+        }
+    }
+
+    private void run(Job job) {
+        job.startedAt = LocalDateTime.now();
+        job.status = ReportJobStatus.RUNNING;
+        Path target = resultPath(job);
+        Path tmp = jobDir.resolve(job.id + ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                render(job.key, out);
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.fileSize = Files.size(target);
+            job.fileName = fileName(job.key);
+            job.status = ReportJobStatus.COMPLETED;
+        } catch (Exception e) {
+            deleteQuietly(tmp);
+            logger.error("Report job {} ({} {}) failed", job.id, job.key.type(), job.key.format(), e);
+            job.error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            job.status = ReportJobStatus.FAILED;
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+            job.expiresAt = job.finishedAt.plus(ttl);
+            synchronized (this) {
+                inFlight.remove(job.key, job);
+                lanes.get(job.key.type()).running--;
+                dispatch(job.key.type());
+            }
+        }
+    }
+
+    private void render(JobKey k, OutputStream out) throws IOException {
+        boolean excel = k.format() == ReportFormat.EXCEL;
+        switch (k.type()) {
+            case TRIAL_BALANCE -> {
+                var report = analyticsService.generateTrialBalance(k.periodId());
+                out.write(excel ? excelExportService.exportTrialBalance(report) : pdfExportService.exportTrialBalance(report));
+            }
+            case INCOME_STATEMENT -> {
+                var report = analyticsService.generateIncomeStatement(k.periodId());
+                out.write(excel ? excelExportService.exportIncomeStatement(report) : pdfExportService.exportIncomeStatement(report));
+            }
+            case BALANCE_SHEET -> {
+                var report = analyticsService.generateBalanceSheet(k.asOfDate());
+                out.write(excel ? excelExportService.exportBalanceSheet(report) : pdfExportService.exportBalanceSheet(report));
+            }
+            case CASH_FLOW -> {
+                var report = analyticsService.generateCashFlow(k.periodId());
+                out.write(excel ? excelExportService.exportCashFlow(report) : pdfExportService.exportCashFlow(report));
+            }
+            case COMPARATIVE_INCOME_STATEMENT -> {
+                var report = comparativeReportService.generateIncomeStatements(k.periodIds(), k.fromPeriodId(), k.toPeriodId());
+                out.write(excel ? excelExportService.exportComparativeIncomeStatement(report)
+                        : pdfExportService.exportComparativeIncomeStatement(report));
+            }
+            case COMPARATIVE_TRIAL_BALANCE -> {
+                var report = comparativeReportService.generateTrialBalances(k.periodIds(), k.fromPeriodId(), k.toPeriodId());
+                out.write(excel ? excelExportService.exportComparativeTrialBalance(report)
+                        : pdfExportService.exportComparativeTrialBalance(report));
+            }
+            case FINANCIAL_PACK -> {
+                var pack = financialPackService.generate(k.periodId());
+                out.write(excel ? excelExportService.exportFinancialPack(pack) : pdfExportService.exportFinancialPack(pack));
+            }
+            case GENERAL_LEDGER -> {
+                // same cursor-backed path as the /gl/stream exports
+                List<Long> pks = glStreamService.resolveAccountPKs(k.accountPKs());
+                List<String> accountIds = glStreamService.resolveAccountIds(pks);
+                if (excel) {
+                    excelExportService.exportGlStreaming(k.fromDate(), k.toDate(), accountIds,
+                            handler -> glStreamService.streamEntries(k.fromDate(), k.toDate(), pks, handler), out);
+                } else {
+                    pdfExportService.exportGlStreaming(k.fromDate(), k.toDate(), accountIds,
+                            handler -> glStreamService.streamEntries(k.fromDate(), k.toDate(), pks, handler), out);
+                }
+            }
+        }
+    }
+
+    /**
+     * Validates the parameters the report type needs and drops the others, so that requests differing
+     * only in unused fields de-duplicate.
+     */
+    private static JobKey normalize(SubmitReportJobDTO dto) {
+        ReportJobType type = dto.getReportType();
+        if (type == null) throw new IllegalArgumentException("Report type is required");
+        if (dto.getFormat() == null) throw new IllegalArgumentException("Report format is required");
+
+        Long periodId = null, fromPeriodId = null, toPeriodId = null;
+        LocalDate fromDate = null, toDate = null, asOfDate = null;
+        List<Long> accountPKs = null, periodIds = null;
+        switch (type) {
+            case TRIAL_BALANCE, INCOME_STATEMENT, CASH_FLOW, FINANCIAL_PACK -> {
+                if (dto.getPeriodId() == null) throw new IllegalArgumentException("periodId is required for " + type);
+                periodId = dto.getPeriodId();
+            }
+            case BALANCE_SHEET -> {
+                if (dto.getAsOfDate() == null) throw new IllegalArgumentException("asOfDate is required for " + type);
+                asOfDate = dto.getAsOfDate();
+            }
+            case GENERAL_LEDGER -> {
+                if (dto.getFromDate() == null || dto.getToDate() == null) {
+                    throw new IllegalArgumentException("fromDate and toDate are required for " + type);
+                }
+                if (dto.getFromDate().isAfter(dto.getToDate())) {
+                    throw new IllegalArgumentException("fromDate must not be after toDate");
+                }
+                fromDate = dto.getFromDate();
+                toDate = dto.getToDate();
+                accountPKs = sortedDistinct(dto.getAccountPKs());
+            }
+            case COMPARATIVE_INCOME_STATEMENT, COMPARATIVE_TRIAL_BALANCE -> {
+                periodIds = sortedDistinct(dto.getPeriodIds());
+                if (periodIds == null) {
+                    if (dto.getFromPeriodId() == null || dto.getToPeriodId() == null) {
+                        throw new IllegalArgumentException("periodIds or fromPeriodId and toPeriodId are required for " + type);
+                    }
+                    fromPeriodId = dto.getFromPeriodId();
+                    toPeriodId = dto.getToPeriodId();
+                }
+            }
+        }
+        return new JobKey(type, dto.getFormat(), periodId, fromDate, toDate, accountPKs, asOfDate, periodIds, fromPeriodId, toPeriodId);
+    }
+
+    private static List<Long> sortedDistinct(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) return null;
+        return ids.stream().filter(Objects::nonNull).distinct().sorted().toList();
+    }
+
+    private void expireJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        for (Job job : jobs.values()) {
+            if (job.expiresAt != null && job.expiresAt.isBefore(now)) {
+                jobs.remove(job.id);
+                deleteQuietly(resultPath(job));
+            }
+        }
+    }
+
+    private Path resultPath(Job job) {
+        return jobDir.resolve(job.id + "." + job.key.format().getExtension());
+    }
+
+    private static String fileName(JobKey k) {
+        String base = switch (k.type()) {
+            case TRIAL_BALANCE -> "trial_balance_" + k.periodId();
+            case INCOME_STATEMENT -> "income_statement_" + k.periodId();
+            case CASH_FLOW -> "cash_flow_" + k.periodId();
+            case FINANCIAL_PACK -> "financial_pack_" + k.periodId();
+            case BALANCE_SHEET -> "balance_sheet_" + k.asOfDate();
+            case GENERAL_LEDGER -> "GL_" + k.fromDate() + "_" + k.toDate();
+            case COMPARATIVE_INCOME_STATEMENT -> "comparative_income_statement";
+            case COMPARATIVE_TRIAL_BALANCE -> "comparative_trial_balance";
+        };
+        return base + "." + k.format().getExtension();
+    }
+
+    private static ReportJobDTO toDTO(Job job) {
+        return new ReportJobDTO(job.id, job.key.type(), job.key.format(), job.status, job.requestedBy,
+                job.submittedAt, job.startedAt, job.finishedAt, job.expiresAt, job.fileName, job.fileSize, job.error);
+    }
+
+    private static ThreadFactory daemon(String prefix) {
+        return new ThreadFactory() {
+            private int n;
+
+            @Override
+            public synchronized Thread newThread(Runnable r) {
+                Thread t = new Thread(r, prefix.endsWith("-") ? prefix + (++n) : prefix);
+                t.setDaemon(true);
+                return t;
+            }
+        };
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reaper.shutdownNow();
+        workers.shutdownNow();
+    }
+}
@@ -4,41 +4,195 @@ import ai.onnxruntime.OnnxTensor;
 import ai.onnxruntime.OrtEnvironment;
 import ai.onnxruntime.OrtException;
 import ai.onnxruntime.OrtSession;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.konecta.financeservice.dto.ForecastResponseDTO;
+import com.konecta.financeservice.dto.LedgerForecastDTO;
+import com.konecta.financeservice.dto.QuarterForecastDTO;
+import com.konecta.financeservice.dto.QuarterRevenueDTO;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PreDestroy;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Collections;
-import java.util.Map;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class RevenueForecastingService {
 
+    private static final Logger logger = LoggerFactory.getLogger(RevenueForecastingService.class);
+
     // --- Scaler Constants (Derived from finance_lstm_scaler.json) ---
     // These match the logic: scaled = (value * scale) + min
     private static final double SCALE_FACTOR = 0.7020179033431557;
     private static final double MIN_OFFSET = -13.819729501558403;
 
+    private static final int MAX_BATCH_SIZE = 10_000;
+    private static final String MODEL_PATH = "/ml/finance_lstm.onnx";
+    private static final int[] WARMUP_BATCH_SIZES = {1, 8, 64};
+
     private final OrtEnvironment env;
-    private final OrtSession session;
+    private final EntityManager entityManager;
+
+    // runtime tuning; 0 threads means "let ONNX Runtime decide"
+    private final int intraOpThreads;
+    private final int interOpThreads;
+    private final OrtSession.SessionOptions.OptLevel optimizationLevel;
+    private final String optimizedModelPath;
+    private final int warmupIterations;
+
+    // created on first use (or by the warm-up) so bean creation does not pay for loading the model
+    private volatile OrtSession session;
+    private OrtSession.SessionOptions sessionOptions;
+
+    private final Timer requestInferenceTimer;
+    private final Timer warmupInferenceTimer;
+    private final DistributionSummary batchSizeSummary;
+
+    // the model is deterministic, so a forecast only depends on its two inputs and never goes stale
+    private final Cache<SeriesKey, Double> forecastCache;
+
+    private record SeriesKey(double twoQuartersAgo, double lastQuarter) {
+    }
+
+    @Autowired
+    public RevenueForecastingService(EntityManager entityManager,
+                                     @Value("${finance.forecast-cache.max-size:10000}") long cacheSize,
+                                     @Value("${finance.forecast.intra-op-threads:0}") int intraOpThreads,
+                                     @Value("${finance.forecast.inter-op-threads:0}") int interOpThreads,
+                                     @Value("${finance.forecast.optimization-level:ALL_OPT}") OrtSession.SessionOptions.OptLevel optimizationLevel,
+                                     @Value("${finance.forecast.optimized-model-path:}") String optimizedModelPath,
+                                     @Value("${finance.forecast.warmup-iterations:50}") int warmupIterations,
+                                     MeterRegistry meterRegistry) {
+        this.entityManager = entityManager;
+        this.intraOpThreads = intraOpThreads;
+        this.interOpThreads = interOpThreads;
+        this.optimizationLevel = optimizationLevel;
+        this.optimizedModelPath = optimizedModelPath;
+        this.warmupIterations = warmupIterations;
+        this.forecastCache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, forecastCache, "finance.forecasts");
 
-    public RevenueForecastingService() throws OrtException, IOException {
-        // 1. Initialize the ONNX Runtime Environment
+        this.requestInferenceTimer = inferenceTimer("request", meterRegistry);
+        this.warmupInferenceTimer = inferenceTimer("warmup", meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("finance.forecast.batch.size")
+                .description("Series scored per ONNX session run")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        // Initialize the ONNX Runtime Environment; the model itself is loaded lazily
         this.env = OrtEnvironment.getEnvironment();
+    }
+
+    private static Timer inferenceTimer(String phase, MeterRegistry meterRegistry) {
+        return Timer.builder("finance.forecast.inference")
+                .description("Latency of one ONNX session run")
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private OrtSession session() throws OrtException {
+        OrtSession s = session;
+        if (s == null) {
+            synchronized (this) {
+                s = session;
+                if (s == null) {
+                    long start = System.nanoTime();
+                    s = createSession();
+                    session = s;
+                    logger.info("Loaded forecasting model in {} ms", (System.nanoTime() - start) / 1_000_000);
+                }
+            }
+        }
+        return s;
+    }
+
+    private OrtSession createSession() throws OrtException {
+        sessionOptions = new OrtSession.SessionOptions();
+        if (intraOpThreads > 0) sessionOptions.setIntraOpNumThreads(intraOpThreads);
+        if (interOpThreads > 0) {
+            // inter-op threads are only used when independent graph nodes may run in parallel
+            sessionOptions.setExecutionMode(OrtSession.SessionOptions.ExecutionMode.PARALLEL);
+            sessionOptions.setInterOpNumThreads(interOpThreads);
+        }
+
+        Path optimizedModel = optimizedModelPath.isBlank() ? null : Path.of(optimizedModelPath);
+        if (optimizedModel != null && Files.isRegularFile(optimizedModel)) {
+            // graph rewrites were already applied when the file was written; delete it when the model changes
+            sessionOptions.setOptimizationLevel(OrtSession.SessionOptions.OptLevel.NO_OPT);
+            return env.createSession(optimizedModel.toString(), sessionOptions);
+        }
 
-        // 2. Load the Model from src/main/resources/ml/finance_lstm.onnx
-        String modelPath = "/ml/finance_lstm.onnx";
-        InputStream modelStream = getClass().getResourceAsStream(modelPath);
+        sessionOptions.setOptimizationLevel(optimizationLevel);
+        try {
+            if (optimizedModel != null) {
+                if (optimizedModel.getParent() != null) Files.createDirectories(optimizedModel.getParent());
+                sessionOptions.setOptimizedModelFilePath(optimizedModel.toString());
+            }
 
-        if (modelStream == null) {
-            throw new IOException("ONNX Model not found at path: " + modelPath);
+            // Load the Model from src/main/resources/ml/finance_lstm.onnx
+            try (InputStream modelStream = getClass().getResourceAsStream(MODEL_PATH)) {
+                if (modelStream == null) {
+                    throw new IOException("ONNX Model not found at path: " + MODEL_PATH);
+                }
+                return env.createSession(modelStream.readAllBytes(), sessionOptions);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+    }
 
-        byte[] modelBytes = modelStream.readAllBytes();
-        this.session = env.createSession(modelBytes, new OrtSession.SessionOptions());
+    /**
+     * Loads the model and runs synthetic inferences in the background once the application is up,
+     * so the first real request does not pay for model loading, graph optimization and JIT.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (warmupIterations <= 0) return;
+        Thread warmup = new Thread(() -> {
+            try {
+                Random random = new Random(42);
+                for (int i = 0; i < warmupIterations; i++) {
+                    int batchSize = WARMUP_BATCH_SIZES[i % WARMUP_BATCH_SIZES.length];
+                    float[][][] inputData = new float[batchSize][2][1];
+                    for (int b = 0; b < batchSize; b++) {
+                        inputData[b][0][0] = preProcess(1e6 + random.nextDouble() * 1e9);
+                        inputData[b][1][0] = preProcess(1e6 + random.nextDouble() * 1e9);
+                    }
+                    run(inputData, warmupInferenceTimer);
+                }
+                logger.info("Forecasting model warmed up with {} inferences", warmupIterations);
+            } catch (Exception e) {
+                logger.error("Forecasting model warm-up failed", e);
+            }
+        }, "forecast-warmup");
+        warmup.setDaemon(true);
+        warmup.start();
     }
 
     /**
@@ -49,34 +203,180 @@ public class RevenueForecastingService {
      * @throws OrtException If the ONNX runtime encounters an error.
      */
     public ForecastResponseDTO predictNextQuarter(double[] lastTwoQuartersRevenue) throws OrtException {
-        if (lastTwoQuartersRevenue == null || lastTwoQuartersRevenue.length != 2) {
-            throw new IllegalArgumentException("Prediction requires exactly 2 quarters of historical revenue.");
+        return new ForecastResponseDTO(predictBatch(List.of(lastTwoQuartersRevenue)).get(0));
+    }
+
+    /**
+     * Predicts the next quarter for many series at once. Cached series are answered from memory,
+     * the rest are scored together in a single session run with batch dimension N.
+     *
+     * @param series each element holds the raw revenue of the previous two quarters, oldest first
+     * @return predictions in the order of the input series
+     */
+    public List<Double> predictBatch(List<double[]> series) throws OrtException {
+        if (series == null || series.isEmpty()) {
+            throw new IllegalArgumentException("At least one series is required.");
+        }
+        if (series.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("A batch may hold at most " + MAX_BATCH_SIZE + " series.");
         }
 
-        // --- Step 1: Pre-Processing ---
-        // Input Shape for Model: [BatchSize=1, Lookback=2, Features=1]
-        float[][][] inputData = new float[1][2][1];
+        Double[] predictions = new Double[series.size()];
+        // distinct uncached inputs -> positions in the request that share them
+        Map<SeriesKey, List<Integer>> misses = new LinkedHashMap<>();
+        for (int i = 0; i < series.size(); i++) {
+            double[] s = series.get(i);
+            if (s == null || s.length != 2) {
+                throw new IllegalArgumentException("Prediction requires exactly 2 quarters of historical revenue.");
+            }
+            for (double v : s) {
+                if (!Double.isFinite(v) || v < 0) {
+                    throw new IllegalArgumentException("Revenue figures must be finite and non-negative.");
+                }
+            }
+            SeriesKey key = new SeriesKey(s[0], s[1]);
+            Double cached = forecastCache.getIfPresent(key);
+            if (cached != null) {
+                predictions[i] = cached;
+            } else {
+                misses.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+            }
+        }
+        if (misses.isEmpty()) {
+            return Arrays.asList(predictions);
+        }
 
-        for (int i = 0; i < 2; i++) {
-            inputData[0][i][0] = preProcess(lastTwoQuartersRevenue[i]);
+        // --- Step 1: Pre-Processing ---
+        // Input Shape for Model: [BatchSize=N, Lookback=2, Features=1]
+        List<SeriesKey> keys = new ArrayList<>(misses.keySet());
+        float[][][] inputData = new float[keys.size()][2][1];
+        for (int b = 0; b < keys.size(); b++) {
+            inputData[b][0][0] = preProcess(keys.get(b).twoQuartersAgo());
+            inputData[b][1][0] = preProcess(keys.get(b).lastQuarter());
         }
 
         // --- Step 2: Inference (Running the Model) --
+        float[][] output = run(inputData, requestInferenceTimer);
+        batchSizeSummary.record(keys.size());
+
+        // --- Step 3: Post-Processing ---
+        for (int b = 0; b < keys.size(); b++) {
+            double predicted = postProcess(output[b][0]);
+            forecastCache.put(keys.get(b), predicted);
+            for (int i : misses.get(keys.get(b))) {
+                predictions[i] = predicted;
+            }
+        }
+        return Arrays.asList(predictions);
+    }
+
+    private float[][] run(float[][][] inputData, Timer timer) throws OrtException {
+        OrtSession s = session();
         try (OnnxTensor inputTensor = OnnxTensor.createTensor(env, inputData)) {
 
             // Map the input tensor to the model's input name
             Map<String, OnnxTensor> inputs = Collections.singletonMap("input", inputTensor);
 
             // Run the session
-            try (OrtSession.Result results = session.run(inputs)) {
-                // Extract the result. Model returns [BatchSize=1, Forecast=1]
+            long start = System.nanoTime();
+            try (OrtSession.Result results = s.run(inputs)) {
+                // Extract the result. Model returns [BatchSize=N, Forecast=1]
                 float[][] output = (float[][]) results.get(0).getValue();
-                float predictedScaledValue = output[0][0];
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return output;
+            }
+        }
+    }
+
+    /**
+     * Forecasts from the ledger: sums REVENUE-mapped activity per calendar quarter (periods are assigned
+     * by their start date) and predicts the quarter following every pair of consecutive quarters,
+     * including the one after the latest quarter. All windows are scored in one batch.
+     *
+     * @param fromDate optional lower bound on period start dates
+     * @param toDate   optional upper bound on period start dates
+     */
+    public LedgerForecastDTO forecastFromLedger(LocalDate fromDate, LocalDate toDate) throws OrtException {
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("fromDate must not be after toDate");
+        }
+        List<QuarterRevenueDTO> quarters = fetchQuarterlyRevenue(fromDate, toDate);
 
-                // --- Step 3: Post-Processing ---
-                return new ForecastResponseDTO(postProcess(predictedScaledValue));
+        Map<LocalDate, QuarterRevenueDTO> byStart = new HashMap<>();
+        for (QuarterRevenueDTO q : quarters) {
+            byStart.put(quarterStart(q.getStartDate()), q);
+        }
+
+        List<QuarterForecastDTO> forecasts = new ArrayList<>();
+        List<double[]> series = new ArrayList<>();
+        List<QuarterForecastDTO> scored = new ArrayList<>();
+        for (int i = 0; i + 1 < quarters.size(); i++) {
+            QuarterRevenueDTO older = quarters.get(i);
+            QuarterRevenueDTO last = quarters.get(i + 1);
+            LocalDate lastStart = quarterStart(last.getStartDate());
+            if (!quarterStart(older.getStartDate()).plusMonths(3).equals(lastStart)) {
+                continue; // a gap in the calendar; no window
             }
+            LocalDate target = lastStart.plusMonths(3);
+            QuarterRevenueDTO actual = byStart.get(target);
+
+            QuarterForecastDTO f = new QuarterForecastDTO(quarterLabel(target), older.getQuarter(), last.getQuarter(),
+                    null, actual != null ? actual.getRevenue() : null);
+            forecasts.add(f);
+            if (older.getRevenue().signum() >= 0 && last.getRevenue().signum() >= 0) {
+                series.add(new double[]{older.getRevenue().doubleValue(), last.getRevenue().doubleValue()});
+                scored.add(f);
+            }
+        }
+
+        if (!series.isEmpty()) {
+            List<Double> predictions = predictBatch(series);
+            for (int i = 0; i < scored.size(); i++) {
+                scored.get(i).setPredictedRevenue(predictions.get(i));
+            }
+        }
+        return new LedgerForecastDTO(quarters, forecasts);
+    }
+
+    private List<QuarterRevenueDTO> fetchQuarterlyRevenue(LocalDate fromDate, LocalDate toDate) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT CAST(date_trunc('quarter', p.start_date) AS date) AS quarter_start,
+                       MIN(p.start_date), MAX(p.end_date), COUNT(DISTINCT p.period_id),
+                       COALESCE(SUM(CASE WHEN a.pl_mapping = 'REVENUE' THEN (b.total_credits - b.total_debits) END), 0) AS revenue
+                FROM periods p
+                LEFT JOIN account_period_balances b ON b.period_id = p.period_id
+                LEFT JOIN accounts a ON a.account_pk = b.account_pk AND a.status = 'ACTIVE'
+                WHERE 1 = 1
+                """);
+        if (fromDate != null) sql.append(" AND p.start_date >= :fromDate");
+        if (toDate != null) sql.append(" AND p.start_date <= :toDate");
+        sql.append(" GROUP BY 1 ORDER BY 1");
+
+        Query q = entityManager.createNativeQuery(sql.toString());
+        if (fromDate != null) q.setParameter("fromDate", fromDate);
+        if (toDate != null) q.setParameter("toDate", toDate);
+
+        List<QuarterRevenueDTO> quarters = new ArrayList<>();
+        for (Object r : q.getResultList()) {
+            Object[] row = (Object[]) r;
+            LocalDate start = toLocalDate(row[0]);
+            quarters.add(new QuarterRevenueDTO(quarterLabel(start), toLocalDate(row[1]), toLocalDate(row[2]),
+                    ((Number) row[3]).intValue(), new BigDecimal(row[4].toString()).setScale(2, RoundingMode.HALF_UP)));
         }
+        return quarters;
+    }
+
+    private static LocalDate quarterStart(LocalDate date) {
+        return LocalDate.of(date.getYear(), ((date.getMonthValue() - 1) / 3) * 3 + 1, 1);
+    }
+
+    private static String quarterLabel(LocalDate date) {
+        return date.getYear() + "-Q" + ((date.getMonthValue() - 1) / 3 + 1);
+    }
+
+    private static LocalDate toLocalDate(Object val) {
+        if (val instanceof LocalDate d) return d;
+        return ((Date) val).toLocalDate();
     }
 
     /**
@@ -106,9 +406,10 @@ public class RevenueForecastingService {
     public void close() {
         try {
             if (session != null) session.close();
+            if (sessionOptions != null) sessionOptions.close();
             if (env != null) env.close();
         } catch (OrtException e) {
-            e.printStackTrace();
+            logger.warn("Closing the forecasting model session failed", e);
         }
     }
 }
\ No newline at end of file
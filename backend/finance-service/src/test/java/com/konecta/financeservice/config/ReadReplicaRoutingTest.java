@@ -0,0 +1,230 @@
+package com.konecta.financeservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing against two embedded Postgres instances: a primary and a streaming standby cloned from it.
+ * The monitor is polled by hand instead of on its schedule, so every step is deterministic.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReadReplicaRoutingTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(1);
+    private static final Duration CHECK_INTERVAL = Duration.ofMillis(100);
+
+    private static Path baseDir;
+    private static String primaryConninfo;
+    private static EmbeddedPostgres primaryDb;
+    private static EmbeddedPostgres replicaDb;
+    private static HikariDataSource primary;
+    private static HikariDataSource replica;
+    private static ReplicaLagMonitor monitor;
+    private static JdbcTemplate jdbc;
+    private static TransactionTemplate readOnly;
+    private static TransactionTemplate readWrite;
+
+    @BeforeAll
+    static void startDatabases() throws Exception {
+        baseDir = Files.createTempDirectory("replica-routing");
+        Path primaryDir = baseDir.resolve("primary");
+        Path replicaDir = baseDir.resolve("replica");
+
+        primaryDb = EmbeddedPostgres.builder().setDataDirectory(primaryDir).setCleanDataDirectory(false).start();
+        int primaryPort = primaryDb.getPort();
+        new JdbcTemplate(primaryDb.getPostgresDatabase())
+                .execute("CREATE TABLE journal_entries (entry_id bigserial PRIMARY KEY, amount numeric(19, 2))");
+        primaryDb.close();
+
+        // a cold copy of the stopped primary becomes the standby
+        copyTree(primaryDir, replicaDir);
+        Files.deleteIfExists(replicaDir.resolve("postmaster.pid"));
+        Files.setPosixFilePermissions(replicaDir, PosixFilePermissions.fromString("rwx------"));
+        Files.createFile(replicaDir.resolve("standby.signal"));
+        primaryConninfo = "host=localhost port=" + primaryPort + " user=postgres";
+        Files.writeString(replicaDir.resolve("postgresql.auto.conf"),
+                "primary_conninfo = '" + primaryConninfo + "'\n", StandardOpenOption.APPEND);
+
+        primaryDb = EmbeddedPostgres.builder().setDataDirectory(primaryDir).setCleanDataDirectory(false)
+                .setPort(primaryPort).start();
+        replicaDb = EmbeddedPostgres.builder().setDataDirectory(replicaDir).setCleanDataDirectory(false).start();
+
+        primary = pool("primary", primaryDb.getPort(), false);
+        replica = pool("replica", replicaDb.getPort(), true);
+        monitor = new ReplicaLagMonitor(primary, replica, MAX_LAG, CHECK_INTERVAL);
+        DataSource dataSource = new ReadReplicaConfig().dataSource(primary, replica, monitor);
+
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterAll
+    static void stopDatabases() throws IOException {
+        monitor.shutdown();
+        primary.close();
+        replica.close();
+        if (replicaDb != null) replicaDb.close();
+        primaryDb.close();
+        try (Stream<Path> files = Files.walk(baseDir)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Test
+    @Order(1)
+    void reportsReadTheReplicaOnceItHasCaughtUp() {
+        post();
+        awaitCheck(() -> monitor.getLagMillis() == 0);
+        sleep(CHECK_INTERVAL.multipliedBy(2));
+
+        assertThat(monitor.isReplicaUsable()).isTrue();
+        assertThat(readServedByStandby()).isTrue();
+        Long replicated = readOnly.execute(s -> jdbc.queryForObject("SELECT COUNT(*) FROM journal_entries", Long.class));
+        assertThat(replicated).isEqualTo(1);
+        // writes never leave the primary
+        Boolean writeOnStandby = readWrite.execute(s -> jdbc.queryForObject("SELECT pg_is_in_recovery()", Boolean.class));
+        assertThat(writeOnStandby).isFalse();
+    }
+
+    @Test
+    @Order(2)
+    void readsRightAfterAPostingGoToThePrimary() {
+        post();
+        monitor.onJournalPosted(null);
+        assertThat(readServedByStandby()).isFalse();
+
+        awaitCheck(() -> monitor.getLagMillis() == 0);
+        sleep(CHECK_INTERVAL.multipliedBy(2));
+        assertThat(readServedByStandby()).isTrue();
+    }
+
+    @Test
+    @Order(3)
+    void replicaThatStopsReplayingIsMeasuredAgainstThePrimary() {
+        new JdbcTemplate(replica).execute("SELECT pg_wal_replay_pause()");
+        try {
+            post();
+            sleep(MAX_LAG.plus(CHECK_INTERVAL.multipliedBy(3)));
+            monitor.check();
+            monitor.check();
+
+            assertThat(monitor.getLagMillis()).isGreaterThan(MAX_LAG.toMillis());
+            assertThat(monitor.isReplicaUsable()).isFalse();
+            assertThat(readServedByStandby()).isFalse();
+        } finally {
+            new JdbcTemplate(replica).execute("SELECT pg_wal_replay_resume()");
+        }
+        awaitCheck(() -> monitor.isReplicaUsable());
+        assertThat(readServedByStandby()).isTrue();
+    }
+
+    @Test
+    @Order(4)
+    void replicaWithoutWalReceiverIsNotUsed() {
+        JdbcTemplate standby = new JdbcTemplate(replica);
+        standby.execute("ALTER SYSTEM SET primary_conninfo = ''");
+        standby.execute("SELECT pg_reload_conf()");
+        try {
+            awaitCheck(() -> !monitor.isReplicaUsable());
+            // nothing was posted, so replay is level with the primary, but the standby is cut off
+            assertThat(readServedByStandby()).isFalse();
+        } finally {
+            standby.execute("ALTER SYSTEM SET primary_conninfo = '" + primaryConninfo + "'");
+            standby.execute("SELECT pg_reload_conf()");
+        }
+        awaitCheck(() -> monitor.isReplicaUsable());
+        assertThat(readServedByStandby()).isTrue();
+    }
+
+    @Test
+    @Order(5)
+    void stoppedReplicaFallsBackToThePrimary() throws IOException {
+        assertThat(readServedByStandby()).isTrue();
+        replicaDb.close();
+        replicaDb = null;
+        replica.getHikariPoolMXBean().softEvictConnections();
+
+        // before the monitor notices, the refused connection itself sends the read to the primary
+        assertThat(readServedByStandby()).isFalse();
+        assertThat(monitor.isReplicaUsable()).isFalse();
+        monitor.check();
+        assertThat(monitor.isReplicaUsable()).isFalse();
+        assertThat(readServedByStandby()).isFalse();
+    }
+
+    private static boolean readServedByStandby() {
+        return readOnly.execute(s -> jdbc.queryForObject("SELECT pg_is_in_recovery()", Boolean.class));
+    }
+
+    private static void post() {
+        readWrite.executeWithoutResult(s -> jdbc.update("INSERT INTO journal_entries (amount) VALUES (100.00)"));
+    }
+
+    private static void awaitCheck(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 15_000;
+        do {
+            monitor.check();
+            if (condition.getAsBoolean()) return;
+            sleep(CHECK_INTERVAL);
+        } while (System.currentTimeMillis() < deadline);
+        throw new AssertionError("Replica monitor did not reach the expected state; lag " + monitor.getLagMillis() + " ms");
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static HikariDataSource pool(String name, int port, boolean readOnly) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl("jdbc:postgresql://localhost:" + port + "/postgres");
+        dataSource.setUsername("postgres");
+        dataSource.setMaximumPoolSize(2);
+        dataSource.setMinimumIdle(0);
+        dataSource.setConnectionTimeout(1000);
+        dataSource.setReadOnly(readOnly);
+        return dataSource;
+    }
+
+    private static void copyTree(Path from, Path to) throws IOException {
+        try (Stream<Path> files = Files.walk(from)) {
+            for (Path source : (Iterable<Path>) files::iterator) {
+                Path target = to.resolve(from.relativize(source).toString());
+                if (Files.isDirectory(source)) {
+                    Files.createDirectories(target);
+                } else {
+                    Files.copy(source, target);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.konecta.financeservice.service;
+
+import com.konecta.financeservice.service.LedgerArchiveFile.ArchivedRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Round trips through the archive format and the checks that keep a damaged file from being served.
+ */
+class LedgerArchiveFileTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 1);
+    private static final long LARGE = 900_000_000_000_000L;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void writtenPeriodReadsBackRowForRow() throws IOException {
+        LedgerArchiveFile.Writer writer = new LedgerArchiveFile.Writer(7);
+        writer.add(10, 100, 1000, DAY, 12_345, 0, "Office rent");
+        writer.add(10, 101, 1001, DAY.plusDays(3), 0, 500, "");
+        writer.add(10, 102, 1002, DAY.minusDays(400), -2_500, 0, null);
+        writer.add(20, 99, 1000, DAY, 0, 12_345, "Office rent");
+        writer.add(20, Long.MAX_VALUE - 1, 1003, DAY.plusDays(30), LARGE, 0, "Überweisung – 请款单 №42 🧾");
+        writer.add(30, 5, 1004, DAY, 0, -LARGE, "Reversal");
+
+        Path file = dir.resolve("period-7.kla");
+        long size = writer.writeTo(file);
+        LedgerArchiveFile.Reader reader = LedgerArchiveFile.Reader.open(file);
+
+        assertThat(size).isEqualTo(Files.size(file));
+        assertThat(reader.sizeBytes).isEqualTo(size);
+        assertThat(reader.periodId).isEqualTo(7);
+        assertThat(reader.rowCount).isEqualTo(6);
+        assertThat(reader.totalDebitCents).isEqualTo(12_345 - 2_500 + LARGE);
+        assertThat(reader.totalCreditCents).isEqualTo(500 + 12_345 - LARGE);
+        assertThat(reader.accountPks()).containsExactly(10, 20, 30);
+
+        assertThat(reader.rows(10)).containsExactly(
+                new ArchivedRow(100, 1000, DAY, 12_345, 0),
+                new ArchivedRow(101, 1001, DAY.plusDays(3), 0, 500),
+                new ArchivedRow(102, 1002, DAY.minusDays(400), -2_500, 0));
+        assertThat(reader.rows(20)).containsExactly(
+                new ArchivedRow(99, 1000, DAY, 0, 12_345),
+                new ArchivedRow(Long.MAX_VALUE - 1, 1003, DAY.plusDays(30), LARGE, 0));
+        assertThat(reader.rows(30)).containsExactly(new ArchivedRow(5, 1004, DAY, 0, -LARGE));
+        assertThat(reader.rows(15)).isEmpty();
+
+        assertThat(reader.description(1000)).isEqualTo("Office rent");
+        assertThat(reader.description(1001)).isEmpty();
+        assertThat(reader.description(1002)).isEmpty();
+        assertThat(reader.description(1003)).isEqualTo("Überweisung – 请款单 №42 🧾");
+        assertThat(reader.description(1005)).isNull();
+
+        reader.verify(writer.rowCount(), writer.totalDebitCents(), writer.totalCreditCents());
+    }
+
+    @Test
+    void emptyPeriodWritesAReadableFile() throws IOException {
+        LedgerArchiveFile.Writer writer = new LedgerArchiveFile.Writer(3);
+        Path file = dir.resolve("period-3.kla");
+        writer.writeTo(file);
+
+        LedgerArchiveFile.Reader reader = LedgerArchiveFile.Reader.open(file);
+        assertThat(reader.periodId).isEqualTo(3);
+        assertThat(reader.rowCount).isZero();
+        assertThat(reader.accountPks()).isEmpty();
+        assertThat(reader.rows(1)).isEmpty();
+        assertThat(reader.description(1)).isNull();
+        reader.verify(0, 0, 0);
+    }
+
+    @Test
+    void rowsOutOfAccountOrderAreRejected() {
+        LedgerArchiveFile.Writer writer = new LedgerArchiveFile.Writer(1);
+        writer.add(20, 1, 1, DAY, 100, 0, "a");
+        assertThatThrownBy(() -> writer.add(10, 2, 2, DAY, 0, 100, "b"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void verifyFailsWhenTotalsDifferFromWhatWasWritten() throws IOException {
+        Path file = sample();
+        LedgerArchiveFile.Reader reader = LedgerArchiveFile.Reader.open(file);
+
+        assertThatThrownBy(() -> reader.verify(3, 1_000, 1_000)).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> reader.verify(2, 999, 1_000)).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> reader.verify(2, 1_000, 1_001)).isInstanceOf(IOException.class);
+        reader.verify(2, 1_000, 1_000);
+    }
+
+    @Test
+    void corruptedChecksumFailsOpen() throws IOException {
+        Path file = sample();
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 0x01;
+        Files.write(file, bytes);
+
+        assertThatThrownBy(() -> LedgerArchiveFile.Reader.open(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("checksum");
+    }
+
+    @Test
+    void corruptedBodyFailsOpen() throws IOException {
+        Path file = sample();
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x40;
+        Files.write(file, bytes);
+
+        assertThatThrownBy(() -> LedgerArchiveFile.Reader.open(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("checksum");
+    }
+
+    @Test
+    void truncatedFileFailsOpen() throws IOException {
+        Path file = sample();
+        byte[] bytes = Files.readAllBytes(file);
+
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+        assertThatThrownBy(() -> LedgerArchiveFile.Reader.open(file)).isInstanceOf(IOException.class);
+
+        Files.write(file, Arrays.copyOf(bytes, 5));
+        assertThatThrownBy(() -> LedgerArchiveFile.Reader.open(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("truncated");
+
+        Files.write(file, new byte[0]);
+        assertThatThrownBy(() -> LedgerArchiveFile.Reader.open(file)).isInstanceOf(IOException.class);
+    }
+
+    private Path sample() throws IOException {
+        LedgerArchiveFile.Writer writer = new LedgerArchiveFile.Writer(1);
+        writer.add(10, 1, 1, DAY, 1_000, 0, "Invoice 1");
+        writer.add(20, 2, 1, DAY, 0, 1_000, "Invoice 1");
+        Path file = dir.resolve("period-1.kla");
+        writer.writeTo(file);
+        return file;
+    }
+}
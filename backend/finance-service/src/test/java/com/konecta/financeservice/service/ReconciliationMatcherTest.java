@@ -0,0 +1,165 @@
+package com.konecta.financeservice.service;
+
+import com.konecta.financeservice.model.enums.MatchRule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pairings of the reference (hash index) pass and the amount/date (sort-merge) pass, alone and together.
+ */
+class ReconciliationMatcherTest {
+
+    private static final int DAY = (int) LocalDate.of(2025, 6, 2).toEpochDay();
+
+    @Test
+    void sameAmountAndDayMatchesByAmountAndDate() {
+        ReconciliationMatcher m = new ReconciliationMatcher(0);
+        m.addLine(1, 10_000, DAY, null);
+        m.addEntry(100, 1000, 10_000, DAY, "Customer payment");
+        m.match();
+
+        assertThat(m.matchOf(0)).isZero();
+        assertThat(m.ruleOf(0)).isEqualTo(MatchRule.AMOUNT_DATE);
+    }
+
+    @Test
+    void datesWithinTheWindowMatchAndDatesOutsideDoNot() {
+        ReconciliationMatcher m = new ReconciliationMatcher(3);
+        m.addLine(1, 5_000, DAY, null);
+        m.addLine(2, 7_500, DAY, null);
+        m.addEntry(100, 1000, 5_000, DAY + 3, null);
+        m.addEntry(101, 1001, 7_500, DAY - 4, null);
+        m.match();
+
+        assertThat(m.matchOf(0)).isZero();
+        assertThat(m.matchOf(1)).isEqualTo(-1);
+    }
+
+    @Test
+    void differentAmountsNeverMatch() {
+        ReconciliationMatcher m = new ReconciliationMatcher(5);
+        m.addLine(1, 5_000, DAY, "INV-1001");
+        m.addEntry(100, 1000, -5_000, DAY, "INV-1001");
+        m.addEntry(101, 1001, 5_001, DAY, "INV-1001");
+        m.match();
+
+        assertThat(m.matchOf(0)).isEqualTo(-1);
+    }
+
+    @Test
+    void duplicateAmountsArePairedOneToOneInDateOrder() {
+        ReconciliationMatcher m = new ReconciliationMatcher(2);
+        m.addLine(1, 2_000, DAY, null);
+        m.addLine(2, 2_000, DAY + 1, null);
+        m.addLine(3, 2_000, DAY + 10, null);
+        m.addEntry(100, 1000, 2_000, DAY, null);
+        m.addEntry(101, 1001, 2_000, DAY, null);
+        m.addEntry(102, 1002, 2_000, DAY + 1, null);
+        m.match();
+
+        assertThat(m.matchOf(0)).isZero();
+        assertThat(m.matchOf(1)).isEqualTo(1);
+        assertThat(m.matchOf(2)).isEqualTo(-1);
+        assertMatchedAtMostOnce(m);
+    }
+
+    @Test
+    void referenceTakesTheClosestDatedEntryAndTheLowestIndexOnTies() {
+        ReconciliationMatcher m = new ReconciliationMatcher(5);
+        m.addLine(1, 3_000, DAY, "inv 1001");
+        m.addLine(2, 3_000, DAY, "INV/1001");
+        m.addLine(3, 3_000, DAY, "INV-1001");
+        m.addEntry(100, 1000, 3_000, DAY - 2, "Invoice INV-1001");
+        m.addEntry(101, 1001, 3_000, DAY + 1, "Payment INV-1001 part 2");
+        m.addEntry(102, 1002, 3_000, DAY + 1, "INV-1001 duplicate posting");
+        m.match();
+
+        assertThat(m.matchOf(0)).isEqualTo(1);
+        assertThat(m.matchOf(1)).isEqualTo(2);
+        assertThat(m.matchOf(2)).isZero();
+        for (int l = 0; l < 3; l++) {
+            assertThat(m.ruleOf(l)).isEqualTo(MatchRule.REFERENCE);
+        }
+        assertMatchedAtMostOnce(m);
+    }
+
+    @Test
+    void referenceMatchesLeaveTheRestToTheAmountPass() {
+        ReconciliationMatcher m = new ReconciliationMatcher(1);
+        m.addLine(1, 4_000, DAY, null);
+        m.addLine(2, 4_000, DAY, "PO-778");
+        m.addEntry(100, 1000, 4_000, DAY, "Supplier PO-778");
+        m.addEntry(101, 1001, 4_000, DAY + 1, "Supplier");
+        m.match();
+
+        assertThat(m.matchOf(1)).isZero();
+        assertThat(m.ruleOf(1)).isEqualTo(MatchRule.REFERENCE);
+        assertThat(m.matchOf(0)).isEqualTo(1);
+        assertThat(m.ruleOf(0)).isEqualTo(MatchRule.AMOUNT_DATE);
+    }
+
+    @Test
+    void hashAndMergePassesAgreeWhenAmountsAreUnique() {
+        // every amount occurs once per side, so both passes have exactly one candidate per line
+        Random rnd = new Random(7);
+        List<long[]> pairs = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            long cents = (i + 1) * 137L * (rnd.nextBoolean() ? 1 : -1);
+            int lineDay = DAY + rnd.nextInt(60);
+            int entryDay = lineDay + rnd.nextInt(9) - 4;
+            pairs.add(new long[]{cents, lineDay, entryDay, i});
+        }
+        // a few lines without a counterpart and entries outside the window
+        for (int i = 0; i < 500; i++) {
+            pairs.add(new long[]{10_000_000L + i, DAY, DAY + 30, 20_000 + i});
+        }
+        pairs.sort(Comparator.<long[]>comparingLong(p -> p[0]).thenComparingLong(p -> p[1]));
+
+        ReconciliationMatcher byReference = build(pairs, true);
+        ReconciliationMatcher byAmount = build(pairs, false);
+        byReference.match();
+        byAmount.match();
+
+        int matched = 0;
+        for (int l = 0; l < byReference.lineCount(); l++) {
+            assertThat(byReference.matchOf(l)).isEqualTo(byAmount.matchOf(l));
+            if (byReference.matchOf(l) < 0) continue;
+            matched++;
+            assertThat(byReference.ruleOf(l)).isEqualTo(MatchRule.REFERENCE);
+            assertThat(byAmount.ruleOf(l)).isEqualTo(MatchRule.AMOUNT_DATE);
+            assertThat(byReference.entryId(byReference.matchOf(l))).isEqualTo(byReference.lineId(l) + 1_000_000);
+        }
+        assertThat(matched).isEqualTo(20_000);
+        assertMatchedAtMostOnce(byReference);
+    }
+
+    private static ReconciliationMatcher build(List<long[]> pairs, boolean withReferences) {
+        ReconciliationMatcher m = new ReconciliationMatcher(4);
+        for (long[] p : pairs) {
+            m.addLine(p[3], p[0], (int) p[1], withReferences ? "TRX-" + p[3] : null);
+        }
+        // entries go in (amount, date) order too; with unique amounts the line order already is that.
+        // Four index keys per entry push the table past its initial capacity, so it rehashes.
+        for (long[] p : pairs) {
+            m.addEntry(p[3] + 1_000_000, p[3], p[0], (int) p[2], "Transfer TRX-" + p[3] + " batch B" + p[3] + " ref R" + p[3]);
+        }
+        return m;
+    }
+
+    private static void assertMatchedAtMostOnce(ReconciliationMatcher m) {
+        boolean[] seen = new boolean[m.entryCount()];
+        for (int l = 0; l < m.lineCount(); l++) {
+            int e = m.matchOf(l);
+            if (e < 0) continue;
+            assertThat(seen[e]).as("entry %d matched twice", e).isFalse();
+            seen[e] = true;
+        }
+    }
+}